@@ -1,5 +1,8 @@
 package org.folio.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.vertx.micrometer.backends.BackendRegistries;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
@@ -49,4 +52,13 @@ public class ApplicationConfig {
 
     return kafkaConfig;
   }
+
+  /**
+   * Registry of the metrics backend enabled for Vert.x, the global registry is used if Vert.x metrics are disabled
+   */
+  @Bean
+  public MeterRegistry meterRegistry() {
+    MeterRegistry backendRegistry = BackendRegistries.getDefaultNow();
+    return backendRegistry != null ? backendRegistry : Metrics.globalRegistry;
+  }
 }
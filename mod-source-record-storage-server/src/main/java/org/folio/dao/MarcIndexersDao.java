@@ -0,0 +1,28 @@
+package org.folio.dao;
+
+import io.vertx.core.Future;
+
+/**
+ * Data access object for asynchronous maintenance of marc_indexers and marc_indexers_leader tables
+ */
+public interface MarcIndexersDao {
+
+  /**
+   * Takes ids of changed MARC records from marc_indexers_outbox table in order they were added
+   * and recreates marc indexers of these records in one transaction
+   *
+   * @param limit    max number of MARC records to process
+   * @param tenantId tenant id
+   * @return future with number of processed MARC records
+   */
+  Future<Integer> processOutbox(int limit, String tenantId);
+
+  /**
+   * Returns lag of marc indexers which is the age of the oldest not processed entry of marc_indexers_outbox table
+   *
+   * @param tenantId tenant id
+   * @return future with lag in milliseconds, 0 if there are no pending entries
+   */
+  Future<Long> getIndexingLag(String tenantId);
+
+}
@@ -0,0 +1,136 @@
+package org.folio.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.util.MarcIndexersUtil;
+import org.folio.dao.util.MarcIndexersUtil.MarcIndexer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MarcIndexersDaoImpl implements MarcIndexersDao {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final String MARC_ID = "marc_id";
+  private static final String ID = "id";
+  private static final String CONTENT = "content";
+  private static final String LAG = "lag";
+
+  private static final String POLL_OUTBOX_SQL =
+    "DELETE FROM marc_indexers_outbox WHERE marc_id IN " +
+      "(SELECT marc_id FROM marc_indexers_outbox ORDER BY created_date LIMIT $1 FOR UPDATE SKIP LOCKED) " +
+      "RETURNING marc_id";
+  private static final String SELECT_MARC_RECORDS_SQL = "SELECT id, content FROM marc_records_lb WHERE id = ANY($1)";
+  private static final String DELETE_MARC_INDEXERS_SQL = "DELETE FROM marc_indexers WHERE marc_id = ANY($1)";
+  private static final String DELETE_MARC_INDEXERS_LEADER_SQL = "DELETE FROM marc_indexers_leader WHERE marc_id = ANY($1)";
+  private static final String INSERT_MARC_INDEXERS_SQL =
+    "INSERT INTO marc_indexers (field_no, ind1, ind2, subfield_no, value, marc_id) " +
+      "SELECT * FROM unnest($1::varchar[], $2::varchar[], $3::varchar[], $4::varchar[], $5::text[], $6::uuid[])";
+  private static final String INSERT_MARC_INDEXERS_LEADER_SQL =
+    "INSERT INTO marc_indexers_leader (p_00_04, p_05, p_06, p_07, p_08, p_09, p_10, p_11, p_12_16, p_17, p_18, p_19, p_20, p_21, p_22, marc_id) " +
+      "SELECT * FROM unnest($1::varchar[], $2::varchar[], $3::varchar[], $4::varchar[], $5::varchar[], $6::varchar[], $7::varchar[], " +
+      "$8::varchar[], $9::varchar[], $10::varchar[], $11::varchar[], $12::varchar[], $13::varchar[], $14::varchar[], $15::varchar[], $16::uuid[])";
+  private static final String SELECT_INDEXING_LAG_SQL =
+    "SELECT coalesce(floor(extract(epoch FROM now() - min(created_date)) * 1000), 0)::bigint AS lag FROM marc_indexers_outbox";
+
+  private static final int LEADER_POSITIONS_NUMBER = 15;
+
+  private final PostgresClientFactory postgresClientFactory;
+
+  @Autowired
+  public MarcIndexersDaoImpl(final PostgresClientFactory postgresClientFactory) {
+    this.postgresClientFactory = postgresClientFactory;
+  }
+
+  @Override
+  public Future<Integer> processOutbox(int limit, String tenantId) {
+    return postgresClientFactory.getCachedPool(tenantId).getDelegate().withTransaction(connection ->
+      connection.preparedQuery(POLL_OUTBOX_SQL).execute(Tuple.of(limit))
+        .map(rows -> toIds(rows, MARC_ID))
+        .compose(marcIds -> marcIds.length == 0
+          ? Future.succeededFuture(0)
+          : connection.preparedQuery(SELECT_MARC_RECORDS_SQL).execute(Tuple.of(marcIds))
+            .compose(marcRecords -> reindex(connection, marcIds, marcRecords))
+            .map(marcIds.length)))
+      .onSuccess(processed -> LOG.debug("processOutbox:: Marc indexers of {} records have been rebuilt for tenant {}", processed, tenantId))
+      .onFailure(e -> LOG.warn("processOutbox:: Failed to rebuild marc indexers for tenant {}", tenantId, e));
+  }
+
+  @Override
+  public Future<Long> getIndexingLag(String tenantId) {
+    return postgresClientFactory.getCachedPool(tenantId).getDelegate()
+      .query(SELECT_INDEXING_LAG_SQL)
+      .execute()
+      .map(rows -> rows.iterator().next().getLong(LAG));
+  }
+
+  private Future<RowSet<Row>> reindex(SqlConnection connection, UUID[] marcIds, RowSet<Row> marcRecords) {
+    List<String> fieldNos = new ArrayList<>();
+    List<String> ind1s = new ArrayList<>();
+    List<String> ind2s = new ArrayList<>();
+    List<String> subfieldNos = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    List<UUID> indexerMarcIds = new ArrayList<>();
+    List<List<String>> leaderPositions = new ArrayList<>();
+    List<UUID> leaderMarcIds = new ArrayList<>();
+    for (int i = 0; i < LEADER_POSITIONS_NUMBER; i++) {
+      leaderPositions.add(new ArrayList<>());
+    }
+
+    for (Row row : marcRecords) {
+      UUID marcId = row.getUUID(ID);
+      JsonObject content = row.getJsonObject(CONTENT);
+      if (Objects.isNull(content)) {
+        continue;
+      }
+      Set<MarcIndexer> indexers = MarcIndexersUtil.toMarcIndexers(content);
+      for (MarcIndexer indexer : indexers) {
+        fieldNos.add(indexer.getFieldNo());
+        ind1s.add(indexer.getInd1());
+        ind2s.add(indexer.getInd2());
+        subfieldNos.add(indexer.getSubfieldNo());
+        values.add(indexer.getValue());
+        indexerMarcIds.add(marcId);
+      }
+      List<String> leader = MarcIndexersUtil.toLeaderPositions(content);
+      if (Objects.nonNull(leader)) {
+        for (int i = 0; i < LEADER_POSITIONS_NUMBER; i++) {
+          leaderPositions.get(i).add(leader.get(i));
+        }
+        leaderMarcIds.add(marcId);
+      }
+    }
+
+    Tuple indexersParams = Tuple.of(fieldNos.toArray(String[]::new), ind1s.toArray(String[]::new),
+      ind2s.toArray(String[]::new), subfieldNos.toArray(String[]::new), values.toArray(String[]::new),
+      indexerMarcIds.toArray(UUID[]::new));
+    Tuple leaderParams = Tuple.tuple();
+    leaderPositions.forEach(positions -> leaderParams.addArrayOfString(positions.toArray(String[]::new)));
+    leaderParams.addArrayOfUUID(leaderMarcIds.toArray(UUID[]::new));
+
+    return connection.preparedQuery(DELETE_MARC_INDEXERS_SQL).execute(Tuple.of(marcIds))
+      .compose(ar -> connection.preparedQuery(DELETE_MARC_INDEXERS_LEADER_SQL).execute(Tuple.of(marcIds)))
+      .compose(ar -> connection.preparedQuery(INSERT_MARC_INDEXERS_SQL).execute(indexersParams))
+      .compose(ar -> connection.preparedQuery(INSERT_MARC_INDEXERS_LEADER_SQL).execute(leaderParams));
+  }
+
+  private UUID[] toIds(RowSet<Row> rows, String column) {
+    List<UUID> ids = new ArrayList<>(rows.size());
+    rows.forEach(row -> ids.add(row.getUUID(column)));
+    return ids.toArray(UUID[]::new);
+  }
+
+}
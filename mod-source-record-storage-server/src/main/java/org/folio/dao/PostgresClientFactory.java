@@ -4,15 +4,28 @@ import static java.lang.String.format;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
 
 import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
 
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.folio.dao.util.MarcIndexersMode;
 import org.folio.rest.persist.LoadConfs;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.Envs;
@@ -21,16 +34,21 @@ import org.jooq.Configuration;
 import org.jooq.SQLDialect;
 import org.jooq.impl.DefaultConfiguration;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
+import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.pubsub.PgSubscriber;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.pgclient.PgPool;
 import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlConnection;
 
 @Component
 public class PostgresClientFactory {
@@ -39,32 +57,117 @@ public class PostgresClientFactory {
 
   public static final Configuration configuration = new DefaultConfiguration().set(SQLDialect.POSTGRES);
 
+  public static final String POOL_SIZE_METRIC = "srs.db.pool.size";
+  public static final String POOL_CONNECTIONS_METRIC = "srs.db.pool.connections";
+  public static final String POOL_UTILIZATION_METRIC = "srs.db.pool.utilization";
+  public static final String ALLOCATED_CONNECTIONS_METRIC = "srs.db.connections.allocated";
+  private static final String TENANT_TAG = "tenant";
+
   public static final String HOST = "host";
   public static final String PORT = "port";
   public static final String DATABASE = "database";
   public static final String PASSWORD = "password";
   public static final String USERNAME = "username";
   public static final String DB_MAXPOOLSIZE = "maxPoolSize";
+  /* read replicas, RMB naming of DB_HOST_READER and DB_PORT_READER environment variables, several hosts are comma separated */
+  public static final String HOST_READER = "host_reader";
+  public static final String PORT_READER = "port_reader";
   private static final String IDLE_TIMEOUT = "connectionReleaseDelay";
   private static final String MODULE_NAME = ModuleName.getModuleName();
 
   private static final String DEFAULT_SCHEMA_PROPERTY = "search_path";
+  private static final String MARC_INDEXERS_MODE_PROPERTY = "srs.marc_indexers_mode";
+  /* records and their content are hash partitioned by id, so joins on id are done partition by partition */
+  private static final String PARTITIONWISE_JOIN_PROPERTY = "enable_partitionwise_join";
+  private static final String JDBC_OPTIONS_PROPERTY = "options";
 
   private static final int DB_MAXPOOLSIZE_DEFAULT_VALUE = 15;
+  private static final int MIN_POOL_SIZE_DEFAULT_VALUE = 2;
+  private static final long POOL_IDLE_EVICTION_TIME_DEFAULT_VALUE = 1800000;
+  private static final long POOLS_EVICTION_INTERVAL_MS = 60000;
+  /* evicted pools are closed once they have no open connections, so operations which have got the pool before are completed */
+  private static final long EVICTED_POOLS_CHECK_INTERVAL_MS = 1000;
+  /* pools used recently may be being created or have just been given to an operation, so they are not evicted to free the budget */
+  private static final long BUDGET_EVICTION_MIN_IDLE_MS = 1000;
+  private static final int PREPARED_STATEMENT_CACHE_SIZE_DEFAULT_VALUE = 256;
+  /* statements with long IN lists are not worth caching */
+  private static final int PREPARED_STATEMENT_CACHE_SQL_LIMIT = 16384;
+  /*
+   * lag is 0 if all received WAL is replayed, otherwise it is time since the last replayed transaction; 0 on primary.
+   * Lag is unknown (null) if replica has no WAL receiver connected to the primary, as nothing new is received then
+   */
+  private static final String READER_LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+    + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN NULL "
+    + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+    + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END::bigint AS lag";
+
+  private static final Map<String, TenantPools> TENANT_POOLS = new ConcurrentHashMap<>();
+
+  /* pool metrics of a tenant are kept after eviction of its pools, so they are registered once per registry */
+  private static final Set<String> METERED_TENANTS = ConcurrentHashMap.newKeySet();
+
+  private static MeterRegistry meterRegistry;
 
-  private static final Map<String, PgPool> POOL_CACHE = new HashMap<>();
+  /* connections which pools of all tenants to the primary and read replicas are allowed to open, guarded by class lock */
+  private static final AtomicInteger ALLOCATED_CONNECTIONS = new AtomicInteger();
 
-  private static final Map<String, DataSource> DATA_SOURCE_CACHE = new HashMap<>();
+  private static final AtomicInteger READER_COUNTER = new AtomicInteger();
+
+  private static List<Reader> readers = Collections.emptyList();
 
   private static JsonObject postgresConfig;
 
   private static String postgresConfigFilePath;
 
+  private static MarcIndexersMode marcIndexersMode = MarcIndexersMode.SYNC;
+
+  private static int preparedStatementCacheSize = PREPARED_STATEMENT_CACHE_SIZE_DEFAULT_VALUE;
+
+  private static int minPoolSize = MIN_POOL_SIZE_DEFAULT_VALUE;
+
+  private static int maxConnections;
+
   private final Vertx vertx;
 
-  @Autowired
+  private final long readerMaxLag;
+
+  private Long readersCheckTimerId;
+
+  private Long poolsEvictionTimerId;
+
   public PostgresClientFactory(io.vertx.core.Vertx vertx) {
+    this(vertx, MarcIndexersMode.SYNC, PREPARED_STATEMENT_CACHE_SIZE_DEFAULT_VALUE);
+  }
+
+  public PostgresClientFactory(io.vertx.core.Vertx vertx, MarcIndexersMode marcIndexersMode, int preparedStatementCacheSize) {
+    this(vertx, marcIndexersMode, preparedStatementCacheSize, 0, 0, MIN_POOL_SIZE_DEFAULT_VALUE, 0, POOL_IDLE_EVICTION_TIME_DEFAULT_VALUE);
+  }
+
+  public PostgresClientFactory(io.vertx.core.Vertx vertx, MarcIndexersMode marcIndexersMode, int preparedStatementCacheSize,
+                               long readerMaxLag, long readersCheckInterval, int minPoolSize, int maxConnections,
+                               long poolIdleEvictionTime) {
+    this(vertx, marcIndexersMode, preparedStatementCacheSize, readerMaxLag, readersCheckInterval, minPoolSize, maxConnections,
+      poolIdleEvictionTime, Metrics.globalRegistry);
+  }
+
+  @Autowired
+  public PostgresClientFactory(io.vertx.core.Vertx vertx,
+                               @Value("${srs.marcIndexers.mode:SYNC}") MarcIndexersMode marcIndexersMode,
+                               @Value("${srs.db.preparedStatementCacheSize:256}") int preparedStatementCacheSize,
+                               @Value("${srs.db.reader.maxLagMs:5000}") long readerMaxLag,
+                               @Value("${srs.db.reader.checkIntervalMs:2000}") long readersCheckInterval,
+                               @Value("${srs.db.minPoolSize:2}") int minPoolSize,
+                               @Value("${srs.db.maxConnections:0}") int maxConnections,
+                               @Value("${srs.db.pool.idleEvictionMs:1800000}") long poolIdleEvictionTime,
+                               MeterRegistry meterRegistry) {
     this.vertx = Vertx.newInstance(vertx);
+    setMeterRegistry(meterRegistry);
+    this.readerMaxLag = readerMaxLag;
+    PostgresClientFactory.marcIndexersMode = marcIndexersMode;
+    PostgresClientFactory.preparedStatementCacheSize = preparedStatementCacheSize;
+    PostgresClientFactory.minPoolSize = Math.max(1, minPoolSize);
+    PostgresClientFactory.maxConnections = maxConnections;
+    LOG.info("PostgresClientFactory:: Using {} marc indexers mode, prepared statement cache size {}", marcIndexersMode, preparedStatementCacheSize);
     // check environment variables for postgres config
     if (Envs.allDBConfs().size() > 0) {
       LOG.info("DB config read from environment variables");
@@ -77,10 +180,21 @@ public class PostgresClientFactory {
       // no env variables passed in, read for module's config file
       postgresConfig = LoadConfs.loadConfig(postgresConfigFilePath);
     }
+    initReaders(readersCheckInterval);
+    if (poolIdleEvictionTime > 0) {
+      poolsEvictionTimerId = vertx.setPeriodic(Math.min(poolIdleEvictionTime, POOLS_EVICTION_INTERVAL_MS),
+        id -> evictIdlePools(poolIdleEvictionTime));
+    }
   }
 
   @PreDestroy
   public void close() {
+    if (Objects.nonNull(readersCheckTimerId)) {
+      vertx.cancelTimer(readersCheckTimerId);
+    }
+    if (Objects.nonNull(poolsEvictionTimerId)) {
+      vertx.cancelTimer(poolsEvictionTimerId);
+    }
     closeAll();
   }
 
@@ -105,14 +219,55 @@ public class PostgresClientFactory {
   }
 
   /**
-   * Get database {@link Connection}
+   * Get {@link ReactiveClassicGenericQueryExecutor} of a read replica which lag does not exceed the configured bound,
+   * replicas are used in turn. Should only be used for read-only queries which tolerate the lag
+   *
+   * @param tenantId tenant id
+   * @return optional reactive query executor, empty if there is no available read replica
+   */
+  public Optional<ReactiveClassicGenericQueryExecutor> getReaderQueryExecutor(String tenantId) {
+    return getCachedReaderPool(tenantId)
+      .map(pool -> new ReactiveClassicGenericQueryExecutor(configuration, pool.getDelegate()));
+  }
+
+  /**
+   * Get {@link PgPool} of a read replica which lag does not exceed the configured bound
+   *
+   * @param tenantId tenant id
+   * @return optional pooled database client, empty if there is no available read replica
+   */
+  Optional<PgPool> getCachedReaderPool(String tenantId) {
+    List<Reader> availableReaders = readers.stream()
+      .filter(reader -> reader.available)
+      .collect(Collectors.toList());
+    if (availableReaders.isEmpty()) {
+      return Optional.empty();
+    }
+    Reader reader = availableReaders.get(Math.floorMod(READER_COUNTER.getAndIncrement(), availableReaders.size()));
+    // replica pool is not created when connections budget is used up, queries go to the primary then
+    return Optional.ofNullable(getTenantPools(tenantId).getReaderPool(this.vertx, reader));
+  }
+
+  /**
+   * Create {@link PgSubscriber} to listen to database notifications, the subscriber holds its own connection
+   * which is not bound to any tenant schema and is not closed when idle
+   *
+   * @return notifications subscriber
+   */
+  public PgSubscriber createSubscriber() {
+    return PgSubscriber.subscriber(this.vertx.getDelegate(), getConnectOptions());
+  }
+
+  /**
+   * Get database {@link Connection}, the data source is created on demand and is only required for
+   * operations which are not supported by reactive client such as COPY
    *
    * @param tenantId tenant id
    * @return pooled database connection
    * @throws SQLException
    */
   Connection getConnection(String tenantId) throws SQLException {
-    return getDataSource(tenantId).getConnection();
+    return getTenantPools(tenantId).getDataSource(this.vertx).getConnection();
   }
 
   /**
@@ -139,8 +294,21 @@ public class PostgresClientFactory {
    * Close all cached connections.
    */
   public static void closeAll() {
-    POOL_CACHE.values().forEach(PostgresClientFactory::close);
-    POOL_CACHE.clear();
+    TENANT_POOLS.keySet().forEach(tenantId -> Optional.ofNullable(TENANT_POOLS.remove(tenantId)).ifPresent(tenantPools -> {
+      releasePoolSizes(tenantPools);
+      tenantPools.close();
+    }));
+    readers.forEach(reader -> close(reader.checkPool));
+    readers = Collections.emptyList();
+  }
+
+  /**
+   * Get {@link MarcIndexersMode} which is applied to database sessions
+   *
+   * @return marc indexers mode
+   */
+  public static MarcIndexersMode getMarcIndexersMode() {
+    return marcIndexersMode;
   }
 
   /**
@@ -161,41 +329,216 @@ public class PostgresClientFactory {
     return postgresConfigFilePath;
   }
 
+  /**
+   * Getter used for testing.
+   *
+   * @return prepared statement cache size
+   */
+  static int getPreparedStatementCacheSize() {
+    return preparedStatementCacheSize;
+  }
+
+  /**
+   * Getter used for testing.
+   *
+   * @param tenantId tenant id
+   * @param host     read replica host
+   * @param port     read replica port
+   * @return connections of the tenant opened to the read replica
+   */
+  static int getReaderConnections(String tenantId, String host, int port) {
+    return Optional.ofNullable(TENANT_POOLS.get(tenantId))
+      .map(tenantPools -> tenantPools.readerPools.get(host + ":" + port))
+      .map(readerPool -> readerPool.getDelegate().size())
+      .orElse(0);
+  }
+
   private static PgPool getCachedPool(Vertx vertx, String tenantId) {
-    // assumes a single thread Vert.x model so no synchronized needed
-    if (POOL_CACHE.containsKey(tenantId)) {
-      LOG.debug("getCachedPool:: Using existing database connection pool for tenant {}", tenantId);
-      return POOL_CACHE.get(tenantId);
+    return getTenantPools(tenantId).getPool(vertx);
+  }
+
+  private static TenantPools getTenantPools(String tenantId) {
+    TenantPools tenantPools = TENANT_POOLS.computeIfAbsent(tenantId, TenantPools::new);
+    tenantPools.lastUsedTime = System.currentTimeMillis();
+    if (METERED_TENANTS.add(tenantId)) {
+      registerPoolMetrics(tenantId);
     }
+    return tenantPools;
+  }
+
+  private static synchronized void setMeterRegistry(MeterRegistry registry) {
+    if (registry != meterRegistry) {
+      meterRegistry = registry;
+      METERED_TENANTS.clear();
+    }
+    Gauge.builder(ALLOCATED_CONNECTIONS_METRIC, ALLOCATED_CONNECTIONS, AtomicInteger::get)
+      .register(meterRegistry);
+  }
 
-    Integer maxPoolSize = postgresConfig.getInteger(DB_MAXPOOLSIZE, DB_MAXPOOLSIZE_DEFAULT_VALUE);
-    LOG.info("getCachedPool:: Creating new database connection for tenant {} with poolSize {}", tenantId, maxPoolSize);
-    PgConnectOptions connectOptions = getConnectOptions(tenantId);
-    PoolOptions poolOptions = new PoolOptions().setMaxSize(maxPoolSize);
-    PgPool client = PgPool.pool(vertx, connectOptions, poolOptions);
-    POOL_CACHE.put(tenantId, client);
-    return client;
+  private static void registerPoolMetrics(String tenantId) {
+    Gauge.builder(POOL_SIZE_METRIC, TENANT_POOLS, pools -> getPoolMetric(pools, tenantId, tenantPools -> tenantPools.poolSize))
+      .tag(TENANT_TAG, tenantId)
+      .register(meterRegistry);
+    Gauge.builder(POOL_CONNECTIONS_METRIC, TENANT_POOLS, pools -> getPoolMetric(pools, tenantId, TenantPools::getConnections))
+      .tag(TENANT_TAG, tenantId)
+      .register(meterRegistry);
+    Gauge.builder(POOL_UTILIZATION_METRIC, TENANT_POOLS, pools -> getPoolMetric(pools, tenantId, TenantPools::getUtilization))
+      .tag(TENANT_TAG, tenantId)
+      .register(meterRegistry);
+  }
+
+  private static double getPoolMetric(Map<String, TenantPools> pools, String tenantId, ToDoubleFunction<TenantPools> metric) {
+    TenantPools tenantPools = pools.get(tenantId);
+    return Objects.nonNull(tenantPools) ? metric.applyAsDouble(tenantPools) : 0;
+  }
+
+  /*
+   * Pool gets max size but not more than half of the rest of the global budget, so tenants which come later get
+   * connections too, and not less than min size. If the rest of the budget is less than min size, pools of other tenants
+   * which have no open connections are evicted starting from the least recently used one. Size 0 is returned if the
+   * budget is still used up, the budget is never exceeded
+   */
+  private static synchronized int allocatePoolSize(Vertx vertx, TenantPools tenantPools) {
+    int maxPoolSize = postgresConfig.getInteger(DB_MAXPOOLSIZE, DB_MAXPOOLSIZE_DEFAULT_VALUE);
+    int size = maxPoolSize;
+    if (maxConnections > 0) {
+      int requiredSize = Math.min(minPoolSize, maxPoolSize);
+      if (maxConnections - ALLOCATED_CONNECTIONS.get() < requiredSize) {
+        evictLeastRecentlyUsedPools(vertx, tenantPools.tenantId, requiredSize);
+      }
+      int rest = maxConnections - ALLOCATED_CONNECTIONS.get();
+      if (rest < requiredSize) {
+        LOG.warn("allocatePoolSize:: Connections budget {} is used up, no pool is created for tenant {}", maxConnections, tenantPools.tenantId);
+        return 0;
+      }
+      size = Math.min(maxPoolSize, Math.max(requiredSize, rest / 2));
+    }
+    ALLOCATED_CONNECTIONS.addAndGet(size);
+    tenantPools.allocatedSize += size;
+    return size;
+  }
+
+  private static synchronized void releasePoolSizes(TenantPools tenantPools) {
+    ALLOCATED_CONNECTIONS.addAndGet(-tenantPools.allocatedSize);
+    tenantPools.allocatedSize = 0;
+  }
+
+  private static void evictLeastRecentlyUsedPools(Vertx vertx, String tenantId, int requiredSize) {
+    long now = System.currentTimeMillis();
+    List<Map.Entry<String, TenantPools>> candidates = TENANT_POOLS.entrySet().stream()
+      .filter(entry -> !entry.getKey().equals(tenantId) && entry.getValue().allocatedSize > 0
+        && now - entry.getValue().lastUsedTime > BUDGET_EVICTION_MIN_IDLE_MS && entry.getValue().isIdle())
+      .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedTime))
+      .collect(Collectors.toList());
+    for (Map.Entry<String, TenantPools> candidate : candidates) {
+      if (maxConnections - ALLOCATED_CONNECTIONS.get() >= requiredSize) {
+        return;
+      }
+      if (evictPools(vertx, candidate.getKey(), candidate.getValue())) {
+        LOG.info("evictLeastRecentlyUsedPools:: Closing idle database connection pools of tenant {} to give connections to tenant {}",
+          candidate.getKey(), tenantId);
+      }
+    }
+  }
+
+  /*
+   * Evicted pools have no open connections, so their sizes are given back to the budget at once. Operations which have got
+   * the pools before eviction, such as streams and long transactions, hold their connections until they are completed,
+   * the pools are closed once all their connections are closed
+   */
+  private static boolean evictPools(Vertx vertx, String tenantId, TenantPools tenantPools) {
+    if (!TENANT_POOLS.remove(tenantId, tenantPools)) {
+      return false;
+    }
+    releasePoolSizes(tenantPools);
+    vertx.setPeriodic(EVICTED_POOLS_CHECK_INTERVAL_MS, id -> {
+      if (tenantPools.isIdle()) {
+        vertx.cancelTimer(id);
+        tenantPools.close();
+      }
+    });
+    return true;
+  }
+
+  /*
+   * Pools of a tenant which are not used for idle eviction time and have no open connections are closed,
+   * they are created again on demand
+   */
+  private void evictIdlePools(long idleEvictionTime) {
+    long now = System.currentTimeMillis();
+    TENANT_POOLS.forEach((tenantId, tenantPools) -> {
+      if (now - tenantPools.lastUsedTime > idleEvictionTime && tenantPools.isIdle() && evictPools(vertx, tenantId, tenantPools)) {
+        LOG.info("evictIdlePools:: Closing idle database connection pools of tenant {}", tenantId);
+      }
+    });
+  }
+
+  private void initReaders(long readersCheckInterval) {
+    String hosts = postgresConfig.getString(HOST_READER);
+    if (Objects.isNull(hosts) || hosts.isBlank() || readersCheckInterval <= 0) {
+      return;
+    }
+    // port may be either string or number depending on config source
+    int port = Integer.parseInt(String.valueOf(Objects.requireNonNullElse(postgresConfig.getValue(PORT_READER), postgresConfig.getValue(PORT))));
+    readers.forEach(reader -> close(reader.checkPool));
+    readers = Arrays.stream(hosts.split(","))
+      .map(String::trim)
+      .filter(host -> !host.isEmpty())
+      .map(host -> new Reader(host, port, PgPool.pool(vertx, getConnectOptions().setHost(host).setPort(port), new PoolOptions().setMaxSize(1))))
+      .collect(Collectors.toList());
+    LOG.info("initReaders:: Using read replicas {} with max lag {} ms", hosts, readerMaxLag);
+    checkReaders();
+    readersCheckTimerId = vertx.setPeriodic(readersCheckInterval, id -> checkReaders());
+  }
+
+  /*
+   * Replica is not used until its lag is checked, it is excluded if it is not reachable, does not receive WAL from the primary
+   * or lags behind the bound
+   */
+  private void checkReaders() {
+    readers.forEach(reader -> reader.checkPool.getDelegate()
+      .query(READER_LAG_SQL)
+      .execute()
+      .onComplete(ar -> {
+        boolean available = ar.succeeded() && toLag(ar.result().iterator().next()) <= readerMaxLag;
+        if (available != reader.available) {
+          LOG.info("checkReaders:: Read replica {}:{} is {}", reader.host, reader.port, available ? "available" : "not available");
+        }
+        if (ar.failed()) {
+          LOG.debug("checkReaders:: Failed to check read replica {}:{}", reader.host, reader.port, ar.cause());
+        }
+        reader.available = available;
+      }));
+  }
+
+  private static long toLag(Row row) {
+    return Objects.requireNonNullElse(row.getLong(0), Long.MAX_VALUE);
   }
 
   private static PgConnectOptions getConnectOptions(String tenantId) {
+    return getConnectOptions()
+      .setIdleTimeout(postgresConfig.getInteger(IDLE_TIMEOUT, 60000))
+      .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
+      // statements are prepared once per connection and their plans are reused by subsequent executions
+      .setCachePreparedStatements(preparedStatementCacheSize > 0)
+      .setPreparedStatementCacheMaxSize(Math.max(1, preparedStatementCacheSize))
+      .setPreparedStatementCacheSqlFilter(sql -> sql.length() <= PREPARED_STATEMENT_CACHE_SQL_LIMIT)
+      .addProperty(DEFAULT_SCHEMA_PROPERTY, convertToPsqlStandard(tenantId))
+      .addProperty(MARC_INDEXERS_MODE_PROPERTY, marcIndexersMode.getSettingValue())
+      .addProperty(PARTITIONWISE_JOIN_PROPERTY, "on");
+  }
+
+  private static PgConnectOptions getConnectOptions() {
     return new PgConnectOptions()
       .setHost(postgresConfig.getString(HOST))
       .setPort(postgresConfig.getInteger(PORT))
       .setDatabase(postgresConfig.getString(DATABASE))
       .setUser(postgresConfig.getString(USERNAME))
-      .setPassword(postgresConfig.getString(PASSWORD))
-      .setIdleTimeout(postgresConfig.getInteger(IDLE_TIMEOUT, 60000))
-      .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
-      .addProperty(DEFAULT_SCHEMA_PROPERTY, convertToPsqlStandard(tenantId));
+      .setPassword(postgresConfig.getString(PASSWORD));
   }
 
-  private static DataSource getDataSource(String tenantId) {
-    if (DATA_SOURCE_CACHE.containsKey(tenantId)) {
-      LOG.debug("getDataSource:: Using existing data source for tenant {}", tenantId);
-      return DATA_SOURCE_CACHE.get(tenantId);
-    }
-    Integer maxPoolSize = postgresConfig.getInteger(DB_MAXPOOLSIZE, DB_MAXPOOLSIZE_DEFAULT_VALUE);
-    LOG.info("getDataSource:: Creating new data source for tenant {} with poolSize {}", tenantId, maxPoolSize);
+  private static HikariDataSource createDataSource(String tenantId, int maxPoolSize) {
+    LOG.info("createDataSource:: Creating new data source for tenant {} with poolSize {}", tenantId, maxPoolSize);
     HikariDataSource dataSource = new HikariDataSource();
     dataSource.setPoolName(format("%s-data-source", tenantId));
     dataSource.setMaximumPoolSize(maxPoolSize);
@@ -205,7 +548,10 @@ public class PostgresClientFactory {
     dataSource.setPassword(postgresConfig.getString(PASSWORD));
     dataSource.setIdleTimeout(postgresConfig.getLong(IDLE_TIMEOUT, 60000L));
     dataSource.setSchema(convertToPsqlStandard(tenantId));
-    DATA_SOURCE_CACHE.put(tenantId, dataSource);
+    dataSource.addDataSourceProperty(JDBC_OPTIONS_PROPERTY, format("-c %s=%s -c %s=on",
+      MARC_INDEXERS_MODE_PROPERTY, marcIndexersMode.getSettingValue(), PARTITIONWISE_JOIN_PROPERTY));
+    // connection acquire time and usage are reported as hikaricp metrics
+    dataSource.setMetricRegistry(meterRegistry);
     return dataSource;
   }
 
@@ -223,4 +569,130 @@ public class PostgresClientFactory {
     client.close();
   }
 
+  private static void close(HikariDataSource dataSource) {
+    dataSource.close();
+  }
+
+  /**
+   * Database connection pools of a tenant, pools are created on demand
+   */
+  private static class TenantPools {
+
+    private final String tenantId;
+    private final Map<String, PgPool> readerPools = new ConcurrentHashMap<>();
+    private volatile long lastUsedTime;
+    /* connections of the budget allocated to the pools, guarded by class lock */
+    private int allocatedSize;
+    private volatile PgPool pool;
+    /* pool which fails operations while the connections budget is used up, it never opens connections */
+    private volatile PgPool rejectingPool;
+    private volatile int poolSize;
+    private volatile HikariDataSource dataSource;
+
+    private TenantPools(String tenantId) {
+      this.tenantId = tenantId;
+    }
+
+    private PgPool getPool(Vertx vertx) {
+      if (Objects.isNull(pool)) {
+        synchronized (this) {
+          if (Objects.isNull(pool)) {
+            int size = allocatePoolSize(vertx, this);
+            if (size == 0) {
+              // operations get failed futures instead of an exception thrown to the caller, the pool is allocated by the next call
+              return getRejectingPool(vertx);
+            }
+            LOG.info("getPool:: Creating new database connection for tenant {} with poolSize {}", tenantId, size);
+            // named pools are reported by Vert.x pool metrics including queue time
+            PoolOptions poolOptions = new PoolOptions().setMaxSize(size).setName(format("%s-pool", tenantId));
+            poolSize = size;
+            pool = PgPool.pool(vertx, getConnectOptions(tenantId), poolOptions);
+          }
+        }
+      }
+      return pool;
+    }
+
+    private PgPool getRejectingPool(Vertx vertx) {
+      if (Objects.isNull(rejectingPool)) {
+        String message = format("Connections budget %s is used up, database connection pool of tenant %s is not created", maxConnections, tenantId);
+        rejectingPool = PgPool.newInstance(io.vertx.pgclient.PgPool.pool(vertx.getDelegate(), getConnectOptions(tenantId), new PoolOptions().setMaxSize(1))
+          .connectionProvider(context -> Future.<SqlConnection>failedFuture(new IllegalStateException(message))));
+      }
+      return rejectingPool;
+    }
+
+    private PgPool getReaderPool(Vertx vertx, Reader reader) {
+      return readerPools.computeIfAbsent(reader.host + ":" + reader.port, key -> {
+        int size = allocatePoolSize(vertx, this);
+        if (size == 0) {
+          return null;
+        }
+        LOG.info("getReaderPool:: Creating new read replica {} connection for tenant {} with poolSize {}", key, tenantId, size);
+        PgConnectOptions connectOptions = getConnectOptions(tenantId)
+          .setHost(reader.host)
+          .setPort(reader.port);
+        return PgPool.pool(vertx, connectOptions, new PoolOptions().setMaxSize(size));
+      });
+    }
+
+    /* data source is only used by blocking code, so the exception thrown when the budget is used up fails the blocking operation */
+    private DataSource getDataSource(Vertx vertx) {
+      if (Objects.isNull(dataSource)) {
+        synchronized (this) {
+          if (Objects.isNull(dataSource)) {
+            int size = allocatePoolSize(vertx, this);
+            if (size == 0) {
+              throw new IllegalStateException(format("Connections budget %s is used up, data source of tenant %s is not created",
+                maxConnections, tenantId));
+            }
+            dataSource = createDataSource(tenantId, size);
+          }
+        }
+      }
+      return dataSource;
+    }
+
+    private int getConnections() {
+      return Objects.nonNull(pool) ? pool.getDelegate().size() : 0;
+    }
+
+    private double getUtilization() {
+      return poolSize > 0 ? (double) getConnections() / poolSize : 0;
+    }
+
+    private boolean isIdle() {
+      return getConnections() == 0
+        && readerPools.values().stream().allMatch(readerPool -> readerPool.getDelegate().size() == 0)
+        && (Objects.isNull(dataSource) || dataSource.getHikariPoolMXBean().getActiveConnections() == 0);
+    }
+
+    private synchronized void close() {
+      if (Objects.nonNull(pool)) {
+        PostgresClientFactory.close(pool);
+      }
+      if (Objects.nonNull(rejectingPool)) {
+        PostgresClientFactory.close(rejectingPool);
+      }
+      if (Objects.nonNull(dataSource)) {
+        PostgresClientFactory.close(dataSource);
+      }
+      readerPools.values().forEach(PostgresClientFactory::close);
+    }
+  }
+
+  private static class Reader {
+
+    private final String host;
+    private final int port;
+    private final PgPool checkPool;
+    private volatile boolean available;
+
+    private Reader(String host, int port, PgPool checkPool) {
+      this.host = host;
+      this.port = port;
+      this.checkPool = checkPool;
+    }
+  }
+
 }
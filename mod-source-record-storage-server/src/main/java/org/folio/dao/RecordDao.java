@@ -2,12 +2,15 @@ package org.folio.dao;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
 import io.vertx.sqlclient.Row;
 import org.folio.dao.util.IdType;
+import org.folio.dao.util.RecordProjection;
 import org.folio.dao.util.RecordType;
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.rest.jaxrs.model.MarcBibCollection;
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.ParsedRecordsBatchResponse;
@@ -28,6 +31,7 @@ import org.jooq.OrderField;
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.reactivex.Flowable;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 
 /**
  * Data access object for {@link Record}
@@ -47,6 +51,39 @@ public interface RecordDao {
    */
   Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit,
+   * total records number is calculated according to {@link TotalRecordsMode}
+   *
+   * @param condition        query where condition
+   * @param recordType       record type
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records calculation mode
+   * @param tenantId         tenant id
+   * @return {@link Future} of {@link RecordCollection}
+   */
+  Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                      TotalRecordsMode totalRecordsMode, String tenantId);
+
+  /**
+   * Searches for {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit,
+   * total records number is calculated according to {@link TotalRecordsMode}, properties are selected according to {@link RecordProjection}
+   *
+   * @param condition        query where condition
+   * @param recordType       record type
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records calculation mode
+   * @param projection       record properties to return
+   * @param tenantId         tenant id
+   * @return {@link Future} of {@link RecordCollection}
+   */
+  Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                      TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId);
+
   /**
    *  Searches for {@link Record} by {@link MatchField}  with offset and limit
    *
@@ -59,6 +96,17 @@ public interface RecordDao {
    */
   Future<List<Record>> getMatchedRecords(MatchField matchField, TypeConnection recordType, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for ids of actual records matching each of {@link MatchField}. Candidate ids are resolved by one query
+   * for all match fields of the same tag, indicators and subfield
+   *
+   * @param matchFields    Marc fields that need to be matched
+   * @param typeConnection record type
+   * @param tenantId       tenant id
+   * @return future with lists of up to 2 matched record ids in the order of match fields
+   */
+  Future<List<List<String>>> getMatchedRecordIds(List<MatchField> matchFields, TypeConnection typeConnection, String tenantId);
+
   /**
    * Streams {@link Record} by {@link Condition} and ordered by collection of {@link OrderField}
    *
@@ -72,6 +120,55 @@ public interface RecordDao {
    */
   Flowable<Record> streamRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Streams batches of {@link Record} by {@link Condition} and ordered by collection of {@link OrderField},
+   * each batch holds rows of one database cursor fetch
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records
+   * @param fetchSize   max number of rows fetched from the cursor per round trip
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of {@link Record} batches
+   */
+  Flowable<List<Record>> streamRecordBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                             int fetchSize, String tenantId);
+
+  /**
+   * Streams batches of {@link Record} encoded to JSON lines, parsed record content is written as it is stored
+   * without decoding, each batch holds rows of one database cursor fetch
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records
+   * @param fetchSize   max number of rows fetched from the cursor per round trip
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of JSON lines buffers
+   */
+  Flowable<Buffer> streamRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                           int fetchSize, String tenantId);
+
+  /**
+   * Streams batches of {@link Record} encoded to JSON lines, properties are selected according to {@link RecordProjection},
+   * each batch holds rows of one database cursor fetch
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records
+   * @param fetchSize   max number of rows fetched from the cursor per round trip
+   * @param projection  record properties to return
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of JSON lines buffers
+   */
+  Flowable<Buffer> streamRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                           int fetchSize, RecordProjection projection, String tenantId);
+
 
   /**
    * Stream [instanceId, totalCount] of the marc record by search expressions with offset and limit
@@ -138,6 +235,25 @@ public interface RecordDao {
    */
   Future<Optional<Record>> getRecordByCondition(ReactiveClassicGenericQueryExecutor txQE, Condition condition);
 
+  /**
+   * Searches for {@link Record}s by ids, records are fetched along with raw, parsed and error records in a single query
+   *
+   * @param ids      Record ids
+   * @param tenantId tenant id
+   * @return future with map of found {@link Record}s keyed by record id
+   */
+  Future<Map<String, Record>> getRecordsByIds(List<String> ids, String tenantId);
+
+  /**
+   * Searches for {@link Record}s by ids using {@link ReactiveClassicGenericQueryExecutor}, records are fetched
+   * along with raw, parsed and error records in a single query
+   *
+   * @param txQE query executor
+   * @param ids  Record ids
+   * @return future with map of found {@link Record}s keyed by record id
+   */
+  Future<Map<String, Record>> getRecordsByIds(ReactiveClassicGenericQueryExecutor txQE, List<String> ids);
+
   /**
    * Saves {@link Record} to the db
    *
@@ -150,11 +266,12 @@ public interface RecordDao {
   /**
    * Saves {@link Record} to the db using {@link ReactiveClassicGenericQueryExecutor}
    *
-   * @param txQE   query executor
-   * @param record Record to save
+   * @param txQE     query executor
+   * @param record   Record to save
+   * @param tenantId tenant id
    * @return future with saved Record
    */
-  Future<Record> saveRecord(ReactiveClassicGenericQueryExecutor txQE, Record record);
+  Future<Record> saveRecord(ReactiveClassicGenericQueryExecutor txQE, Record record, String tenantId);
 
   /**
    * Saves {@link RecordCollection} to the db
@@ -202,6 +319,40 @@ public interface RecordDao {
    */
   Future<ParsedRecordsBatchResponse> updateParsedRecords(RecordCollection recordCollection, String tenantId);
 
+  /**
+   * Updates parsed records and external relations ids of records from collection in one transaction
+   * the same way as {@link #updateParsedRecord(Record, String)} does for a single record:
+   * parsed records are not validated and external ids of records are replaced, so the missing ones are cleared
+   *
+   * @param recordCollection collection of records from which parsed records and external ids will be updated
+   * @param tenantId         tenant id
+   * @return future with response containing list of successfully updated records and error messages for records that were not updated
+   */
+  Future<ParsedRecordsBatchResponse> updateParsedRecordsAndExternalIds(RecordCollection recordCollection, String tenantId);
+
+  /**
+   * Sets state OLD to records of specified type which have specified external id
+   * and belong to a snapshot other than specified one
+   *
+   * @param externalId external id
+   * @param snapshotId snapshot id of actual record
+   * @param recordType record type
+   * @param tenantId   tenant id
+   * @return future with ids of records which state was set to OLD
+   */
+  Future<List<String>> updatePreviousRecordsState(String externalId, String snapshotId, RecordType recordType, String tenantId);
+
+  /**
+   * Sets state OLD to records of specified type which have one of the external ids
+   * and belong to a snapshot other than the one specified for the external id
+   *
+   * @param snapshotIdsByExternalId snapshot ids of actual records by external ids
+   * @param recordType              record type
+   * @param tenantId                tenant id
+   * @return future with ids of records which state was set to OLD
+   */
+  Future<List<String>> updatePreviousRecordsState(Map<String, String> snapshotIdsByExternalId, RecordType recordType, String tenantId);
+
   /**
    * Searches for {@link Record} by id of external entity which was created from desired record
    *
@@ -222,6 +373,17 @@ public interface RecordDao {
    */
   Future<Optional<Record>> getRecordByExternalId(ReactiveClassicGenericQueryExecutor txQE, String externalId, IdType idType);
 
+  /**
+   * Searches for {@link Record} by id of external entity which was created from desired record,
+   * parsed record of found record contains formatted content stored along with it
+   *
+   * @param externalId external relation id
+   * @param idType     external id type
+   * @param tenantId   tenant id
+   * @return future with optional {@link Record}, formatted content is null if it was not stored
+   */
+  Future<Optional<Record>> getFormattedRecordByExternalId(String externalId, IdType idType, String tenantId);
+
   /**
    * Searches for {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit
    *
@@ -235,6 +397,39 @@ public interface RecordDao {
    */
   Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit,
+   * total records number is calculated according to {@link TotalRecordsMode}
+   *
+   * @param condition        query where condition
+   * @param recordType       record type
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records calculation mode
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                  TotalRecordsMode totalRecordsMode, String tenantId);
+
+  /**
+   * Searches for {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit,
+   * total records number is calculated according to {@link TotalRecordsMode}, properties are selected according to {@link RecordProjection}
+   *
+   * @param condition        query where condition
+   * @param recordType       record type
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records calculation mode
+   * @param projection       record properties to return
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                  TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId);
+
   /**
    * Stream {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit
    *
@@ -248,6 +443,55 @@ public interface RecordDao {
    */
   Flowable<SourceRecord> streamSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Stream batches of {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit,
+   * each batch holds rows of one database cursor fetch
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records for pagination
+   * @param fetchSize   max number of rows fetched from the cursor per round trip
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of {@link SourceRecord} batches
+   */
+  Flowable<List<SourceRecord>> streamSourceRecordBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                         int offset, int limit, int fetchSize, String tenantId);
+
+  /**
+   * Stream batches of {@link SourceRecord} encoded to JSON lines, parsed record content is written as it is stored
+   * without decoding, each batch holds rows of one database cursor fetch
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records for pagination
+   * @param fetchSize   max number of rows fetched from the cursor per round trip
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of JSON lines buffers
+   */
+  Flowable<Buffer> streamSourceRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                 int offset, int limit, int fetchSize, String tenantId);
+
+  /**
+   * Stream batches of {@link SourceRecord} encoded to JSON lines, properties are selected according to {@link RecordProjection},
+   * each batch holds rows of one database cursor fetch
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records for pagination
+   * @param fetchSize   max number of rows fetched from the cursor per round trip
+   * @param projection  record properties to return
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of JSON lines buffers
+   */
+  Flowable<Buffer> streamSourceRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                 int offset, int limit, int fetchSize, RecordProjection projection, String tenantId);
+
   /**
    * Searches for {@link SourceRecord} where id in a list of ids defined by external id type. i.e. INSTANCE or RECORD
    *
@@ -260,6 +504,37 @@ public interface RecordDao {
    */
   Future<SourceRecordCollection> getSourceRecords(List<String> ids, IdType idType, RecordType recordType, Boolean deleted, String tenantId);
 
+  /**
+   * Searches for {@link SourceRecord} where id in a list of ids defined by external id type. i.e. INSTANCE or RECORD,
+   * total records number is calculated according to {@link TotalRecordsMode}
+   *
+   * @param ids              list of ids
+   * @param idType           external id type on which source record will be searched
+   * @param recordType       record type
+   * @param deleted          filter by state DELETED or leader record status d, s, or x
+   * @param totalRecordsMode total records calculation mode
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(List<String> ids, IdType idType, RecordType recordType, Boolean deleted,
+                                                  TotalRecordsMode totalRecordsMode, String tenantId);
+
+  /**
+   * Searches for {@link SourceRecord} where id in a list of ids defined by external id type. i.e. INSTANCE or RECORD,
+   * total records number is calculated according to {@link TotalRecordsMode}, properties are selected according to {@link RecordProjection}
+   *
+   * @param ids              list of ids
+   * @param idType           external id type on which source record will be searched
+   * @param recordType       record type
+   * @param deleted          filter by state DELETED or leader record status d, s, or x
+   * @param totalRecordsMode total records calculation mode
+   * @param projection       record properties to return
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(List<String> ids, IdType idType, RecordType recordType, Boolean deleted,
+                                                  TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId);
+
   /**
    * Searches for {@link SourceRecord} by {@link Condition}
    *
@@ -289,15 +564,48 @@ public interface RecordDao {
   Future<Boolean> deleteRecordsBySnapshotId(String snapshotId, String tenantId);
 
   /**
-   *  Performs purge the 'DELETED' records.
-   *  Purges a given limited number of 'DELETED' records updated more the than given number of days back.
+   * Searches for distinct external ids of records of the snapshot, ids are ordered and the page starts after the given external id
+   *
+   * @param snapshotId     snapshot id
+   * @param recordType     record type
+   * @param lastExternalId external id the page starts after, the first page is returned if null
+   * @param limit          max number of external ids
+   * @param tenantId       tenant id
+   * @return future with list of external ids
+   */
+  Future<List<String>> getExternalIdsBySnapshotId(String snapshotId, RecordType recordType, String lastExternalId, int limit, String tenantId);
+
+  /**
+   * Deletes a batch of records of the snapshot, so records of a large snapshot are not deleted by one transaction
+   *
+   * @param snapshotId snapshot id
+   * @param limit      maximum number of records deleted by the batch
+   * @param tenantId   tenant id
+   * @return future with number of deleted records
+   */
+  Future<Integer> purgeRecordsBySnapshotId(String snapshotId, int limit, String tenantId);
+
+  /**
+   * Purges a batch of 'DELETED' records updated more than the given number of days back. Records are purged
+   * in order of creation date starting after the checkpoint saved by the previous batch, the checkpoint is reset
+   * once there are no more records to purge after it
    *
    * @param lastUpdatedDays number of days when the records were updated the last time
-   * @param limit           maximum number of records allowed to purge
+   * @param limit           maximum number of records purged by the batch
    * @param tenantId        tenant id
-   * @return void future
+   * @return future with number of purged records
    */
-  Future<Void> deleteRecords(int lastUpdatedDays, int limit, String tenantId);
+  Future<Integer> purgeDeletedRecords(int lastUpdatedDays, int limit, String tenantId);
+
+  /**
+   * Deletes a batch of raw records contents which are not referenced by raw records anymore.
+   * Contents locked by records being saved are skipped
+   *
+   * @param limit    maximum number of contents deleted by the batch
+   * @param tenantId tenant id
+   * @return future with number of deleted contents
+   */
+  Future<Integer> purgeUnreferencedRawRecordContents(int limit, String tenantId);
 
   /**
    * Creates new Record and updates status of the "old" one,
@@ -307,9 +615,10 @@ public interface RecordDao {
    * @param txQE      query execution
    * @param newRecord new Record to create
    * @param oldRecord old Record that has to be marked as "old"
+   * @param tenantId  tenant id
    * @return future with new "updated" Record
    */
-  Future<Record> saveUpdatedRecord(ReactiveClassicGenericQueryExecutor txQE, Record newRecord, Record oldRecord);
+  Future<Record> saveUpdatedRecord(ReactiveClassicGenericQueryExecutor txQE, Record newRecord, Record oldRecord, String tenantId);
 
   /**
    * Change suppress from discovery flag for record by external relation id
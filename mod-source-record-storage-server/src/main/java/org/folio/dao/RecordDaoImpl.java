@@ -3,25 +3,41 @@ package org.folio.dao;
 import com.google.common.collect.Lists;
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.github.jklingsporn.vertx.jooq.shared.internal.QueryResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.reactivex.Flowable;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgException;
 import io.vertx.reactivex.pgclient.PgPool;
+import io.vertx.sqlclient.PreparedQuery;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
 import org.apache.commons.lang.ArrayUtils;
-import org.apache.commons.lang.text.StrSubstitutor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.util.ErrorRecordDaoUtil;
+import org.folio.dao.util.FormatRecordException;
 import org.folio.dao.util.IdType;
 import org.folio.dao.util.MatchField;
 import org.folio.dao.util.ParsedRecordDaoUtil;
+import org.folio.dao.util.PgBinaryCopyWriter;
+import org.folio.dao.util.PreparedQueryUtil;
 import org.folio.dao.util.RawRecordDaoUtil;
 import org.folio.dao.util.RecordDaoUtil;
+import org.folio.dao.util.RecordJsonEncoder;
+import org.folio.dao.util.RecordProjection;
 import org.folio.dao.util.RecordType;
+import org.folio.dao.util.TotalRecordsMode;
+import org.folio.dao.util.RecordsSaveMode;
 import org.folio.dao.util.SnapshotDaoUtil;
 import org.folio.kafka.exception.DuplicateEventException;
 import org.folio.okapi.common.GenericCompositeFuture;
@@ -45,52 +61,68 @@ import org.folio.rest.jooq.tables.records.RawRecordsLbRecord;
 import org.folio.rest.jooq.tables.records.RecordsLbRecord;
 import org.folio.rest.jooq.tables.records.SnapshotsLbRecord;
 import org.folio.services.RecordSearchParameters;
+import org.folio.services.caches.RecordsCache;
+import org.folio.rest.util.QueryParamUtil;
 import org.folio.services.util.TypeConnection;
 import org.folio.services.util.parser.ParseFieldsResult;
 import org.folio.services.util.parser.ParseLeaderResult;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.EnumType;
 import org.jooq.Field;
 import org.jooq.JSONB;
-import org.jooq.LoaderError;
 import org.jooq.Name;
 import org.jooq.OrderField;
-import org.jooq.Record2;
+import org.jooq.Query;
+import org.jooq.Record3;
+import org.jooq.Select;
+import org.jooq.SelectConditionStep;
 import org.jooq.SelectJoinStep;
+import org.jooq.SelectSeekStep2;
 import org.jooq.SortOrder;
 import org.jooq.Table;
-import org.jooq.UpdateConditionStep;
-import org.jooq.UpdateSetFirstStep;
-import org.jooq.UpdateSetMoreStep;
-import org.jooq.conf.ParamType;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static org.folio.dao.util.ErrorRecordDaoUtil.ERROR_RECORD_CONTENT;
 import static org.folio.dao.util.ParsedRecordDaoUtil.PARSED_RECORD_CONTENT;
+import static org.folio.dao.util.ParsedRecordDaoUtil.PARSED_RECORD_FORMATTED_CONTENT;
 import static org.folio.dao.util.RawRecordDaoUtil.RAW_RECORD_CONTENT;
+import static org.folio.dao.util.RawRecordDaoUtil.RAW_RECORD_CONTENT_FIELD;
 import static org.folio.dao.util.RecordDaoUtil.RECORD_NOT_FOUND_TEMPLATE;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByState;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByType;
@@ -100,16 +132,16 @@ import static org.folio.dao.util.SnapshotDaoUtil.SNAPSHOT_NOT_FOUND_TEMPLATE;
 import static org.folio.dao.util.SnapshotDaoUtil.SNAPSHOT_NOT_STARTED_MESSAGE_TEMPLATE;
 import static org.folio.rest.jooq.Tables.ERROR_RECORDS_LB;
 import static org.folio.rest.jooq.Tables.RAW_RECORDS_LB;
+import static org.folio.rest.jooq.Tables.RECORDS_CURRENT;
 import static org.folio.rest.jooq.Tables.RECORDS_LB;
 import static org.folio.rest.jooq.Tables.SNAPSHOTS_LB;
 import static org.folio.rest.jooq.enums.RecordType.MARC_BIB;
 import static org.folio.rest.util.QueryParamUtil.toRecordType;
-import static org.jooq.impl.DSL.condition;
+import static org.jooq.impl.DSL.castNull;
+import static org.jooq.impl.DSL.coalesce;
 import static org.jooq.impl.DSL.countDistinct;
 import static org.jooq.impl.DSL.field;
-import static org.jooq.impl.DSL.max;
 import static org.jooq.impl.DSL.name;
-import static org.jooq.impl.DSL.select;
 import static org.jooq.impl.DSL.table;
 import static org.jooq.impl.DSL.trueCondition;
 
@@ -122,16 +154,36 @@ public class RecordDaoImpl implements RecordDao {
 
   private static final String ID = "id";
   private static final String MARC_ID = "marc_id";
+  private static final String VALUE = "value";
+  private static final String IND1 = "ind1";
+  private static final String IND2 = "ind2";
+  private static final String SUBFIELD_NO = "subfield_no";
+  private static final String DEFAULT_INDICATOR = "#";
+  private static final String IDS = "ids";
+  /* it is only needed to know whether there are no, single or multiple matched records,
+   slice bounds are inlined since a colon followed by a digit is taken for a named parameter */
+  private static final String MATCHED_IDS_TEMPLATE = "(array_agg(distinct {0}))[{1}:{2}]";
   private static final String HRID = "hrid";
   private static final String CONTENT = "content";
+  private static final String FORMATTED_CONTENT = "formatted_content";
   private static final String COUNT = "count";
+  private static final String CREATED_DATE = "created_date";
+  private static final String LAST_CREATED_DATE = "last_created_date";
+  private static final String LAST_ID = "last_id";
+  private static final String MATCHED_ID = "matched_id";
+  private static final String EXTERNAL_ID = "external_id";
+  private static final String WRITTEN = "written";
   private static final String TABLE_FIELD_TEMPLATE = "{0}.{1}";
+  private static final String CONTENT_BYTES_TEMPLATE = "convert_to({0}.{1}::text, 'UTF8')";
 
   private static final int DEFAULT_LIMIT_FOR_GET_RECORDS = 1;
+  private static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+  private static final int DEFAULT_MARC_RECORD_IDS_FETCH_SIZE = 10000;
   private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
-
-  public static final String CONTROL_FIELD_CONDITION_TEMPLATE = "\"{partition}\".\"value\" = '{value}'";
-  public static final String DATA_FIELD_CONDITION_TEMPLATE = "\"{partition}\".\"value\" = '{value}' and \"{partition}\".\"ind1\" = '{ind1}' and \"{partition}\".\"ind2\" = '{ind2}' and \"{partition}\".\"subfield_no\" = '{subfield}'";
+  private static final String EXPLAIN_QUERY_TEMPLATE = "EXPLAIN (FORMAT JSON) {0}";
+  private static final String PLAN = "Plan";
+  private static final String PLAN_ROWS = "Plan Rows";
+  private static final String NOTIFY_TEMPLATE = "pg_notify({0}, {1})";
 
   private static final String RECORD_NOT_FOUND_BY_ID_TYPE = "Record with %s id: %s was not found";
   private static final String INVALID_PARSED_RECORD_MESSAGE_TEMPLATE = "Record %s has invalid parsed record; %s";
@@ -156,11 +208,101 @@ public class RecordDaoImpl implements RecordDao {
     RECORDS_LB.EXTERNAL_HRID
   };
 
+  private static final String STAGING_TABLE_SUFFIX = "_staging";
+  private static final String CREATE_STAGING_TABLE_TEMPLATE = "CREATE TEMP TABLE %s (LIKE %s INCLUDING DEFAULTS) ON COMMIT DROP";
+  private static final String COPY_IN_TEMPLATE = "COPY %s (%s) FROM STDIN (FORMAT binary)";
+  private static final String INSERT_FROM_STAGING_TABLE_TEMPLATE = "INSERT INTO %1$s (%2$s) SELECT %2$s FROM %3$s";
+  private static final String UPSERT_FROM_STAGING_TABLE_TEMPLATE = "INSERT INTO %1$s (%2$s) SELECT DISTINCT ON (id) %2$s FROM %3$s ON CONFLICT (id) DO UPDATE SET %4$s";
+  private static final String RECORDS_COLUMNS = Arrays.stream(RECORD_FIELDS)
+    .map(recordField -> "\"" + recordField.getName() + "\"")
+    .collect(Collectors.joining(", "));
+  private static final String CONTENT_COLUMNS = "id, content";
+  private static final String PARSED_CONTENT_COLUMNS = "id, content, formatted_content";
+  private static final String PARSED_CONTENT_UPSERT_ASSIGNMENTS = "content = EXCLUDED.content, formatted_content = EXCLUDED.formatted_content";
+  /* content hash of the inserted row is calculated by trigger, so the same content is not written again */
+  private static final String PARSED_CONTENT_UPSERT_CONDITION_TEMPLATE = " WHERE %s.content_hash IS DISTINCT FROM EXCLUDED.content_hash";
+  /* raw content is replaced by its hash by trigger before insert */
+  private static final String RAW_CONTENT_UPSERT_ASSIGNMENTS = "content = EXCLUDED.content, content_hash = EXCLUDED.content_hash";
+  private static final String ERROR_CONTENT_COLUMNS = "id, content, description";
+  private static final String ERROR_CONTENT_UPSERT_ASSIGNMENTS = "content = EXCLUDED.content, description = EXCLUDED.description";
+
+  private static final String INSERT_RECORDS_SQL = format("INSERT INTO records_lb (%s) VALUES (%s)", RECORDS_COLUMNS,
+    IntStream.rangeClosed(1, RECORD_FIELDS.length).mapToObj(i -> "$" + i).collect(Collectors.joining(", ")));
+  private static final String UPSERT_CONTENT_SQL_TEMPLATE = "INSERT INTO %1$s (" + PARSED_CONTENT_COLUMNS + ") VALUES ($1, $2, $3) ON CONFLICT (id) DO UPDATE SET "
+    + PARSED_CONTENT_UPSERT_ASSIGNMENTS + format(PARSED_CONTENT_UPSERT_CONDITION_TEMPLATE, "%1$s");
+  private static final String UPSERT_RAW_RECORDS_SQL = "INSERT INTO raw_records_lb (" + CONTENT_COLUMNS + ") VALUES ($1, $2) ON CONFLICT (id) DO UPDATE SET " + RAW_CONTENT_UPSERT_ASSIGNMENTS;
+  private static final String UPSERT_ERROR_RECORDS_SQL = "INSERT INTO error_records_lb (" + ERROR_CONTENT_COLUMNS + ") VALUES ($1, $2, $3) ON CONFLICT (id) DO UPDATE SET " + ERROR_CONTENT_UPSERT_ASSIGNMENTS;
+  /* values of each column are bound as a single array, so the whole batch is updated by one statement */
+  private static final String UPDATE_RECORDS_SQL = "UPDATE records_lb SET external_id = COALESCE(u.external_id, records_lb.external_id), "
+    + "external_hrid = COALESCE(u.external_hrid, records_lb.external_hrid), suppress_discovery = COALESCE(u.suppress_discovery, records_lb.suppress_discovery), "
+    + "created_by_user_id = COALESCE(u.created_by_user_id, records_lb.created_by_user_id), created_date = COALESCE(u.created_date, records_lb.created_date), "
+    + "updated_by_user_id = COALESCE(u.updated_by_user_id, records_lb.updated_by_user_id), updated_date = COALESCE(u.updated_date, records_lb.updated_date) "
+    + "FROM unnest($1::uuid[], $2::uuid[], $3::text[], $4::boolean[], $5::uuid[], $6::timestamptz[], $7::uuid[], $8::timestamptz[]) "
+    + "AS u(id, external_id, external_hrid, suppress_discovery, created_by_user_id, created_date, updated_by_user_id, updated_date) "
+    + "WHERE records_lb.id = u.id RETURNING records_lb.id";
+  /* external ids are replaced by the ones of the record as they are, so the missing ones are cleared */
+  private static final String UPDATE_RECORDS_EXTERNAL_IDS_SQL = "UPDATE records_lb SET external_id = u.external_id, "
+    + "external_hrid = u.external_hrid, suppress_discovery = COALESCE(u.suppress_discovery, records_lb.suppress_discovery), "
+    + "created_by_user_id = COALESCE(u.created_by_user_id, records_lb.created_by_user_id), created_date = COALESCE(u.created_date, records_lb.created_date), "
+    + "updated_by_user_id = COALESCE(u.updated_by_user_id, records_lb.updated_by_user_id), updated_date = COALESCE(u.updated_date, records_lb.updated_date) "
+    + "FROM unnest($1::uuid[], $2::uuid[], $3::text[], $4::boolean[], $5::uuid[], $6::timestamptz[], $7::uuid[], $8::timestamptz[]) "
+    + "AS u(id, external_id, external_hrid, suppress_discovery, created_by_user_id, created_date, updated_by_user_id, updated_date) "
+    + "WHERE records_lb.id = u.id RETURNING records_lb.id";
+  /* parsed records with the same content are not written, but are returned along with the written ones */
+  private static final String UPDATE_CONTENT_SQL_TEMPLATE = "WITH u AS (SELECT * FROM unnest($1::uuid[], $2::jsonb[], $3::text[]) AS v(id, content, formatted_content)), "
+    + "written AS (UPDATE %1$s AS t SET content = u.content, formatted_content = u.formatted_content FROM u "
+    + "WHERE t.id = u.id AND t.content_hash IS DISTINCT FROM parsed_content_hash(u.content) RETURNING t.id) "
+    + "SELECT t.id, written.id IS NOT NULL AS written FROM %1$s AS t JOIN u ON t.id = u.id LEFT JOIN written ON written.id = t.id";
+  private static final String UPDATE_PREVIOUS_RECORD_STATE_SQL = "UPDATE records_lb SET state = 'OLD' "
+    + "WHERE external_id = $1 AND snapshot_id <> $2 AND record_type = $3::record_type AND state <> 'OLD' RETURNING id";
+  private static final String UPDATE_PREVIOUS_RECORDS_STATE_SQL = "UPDATE records_lb SET state = 'OLD' "
+    + "FROM unnest($1::uuid[], $2::uuid[]) AS actual(external_id, snapshot_id) "
+    + "WHERE records_lb.external_id = actual.external_id AND records_lb.snapshot_id <> actual.snapshot_id "
+    + "AND records_lb.record_type = $3::record_type AND records_lb.state <> 'OLD' RETURNING records_lb.id";
+  private static final String SELECT_PURGE_PROGRESS_SQL = "SELECT last_created_date, last_id FROM records_purge_progress FOR UPDATE";
+  private static final String SELECT_RECORDS_TO_PURGE_SQL_TEMPLATE = "SELECT id, created_date FROM records_lb "
+    + "WHERE state = 'DELETED' AND updated_date <= $1%s ORDER BY created_date, id LIMIT $2";
+  private static final String SELECT_RECORDS_TO_PURGE_SQL = format(SELECT_RECORDS_TO_PURGE_SQL_TEMPLATE, "");
+  private static final String SELECT_RECORDS_TO_PURGE_AFTER_SQL = format(SELECT_RECORDS_TO_PURGE_SQL_TEMPLATE, " AND (created_date, id) > ($3, $4)");
+  private static final String DELETE_RECORDS_BY_IDS_SQL = "DELETE FROM records_lb WHERE id = ANY($1)";
+  private static final String UPDATE_PURGE_PROGRESS_SQL = "UPDATE records_purge_progress SET last_created_date = $1, last_id = $2";
+  private static final String SELECT_SNAPSHOT_EXTERNAL_IDS_SQL_TEMPLATE = "SELECT DISTINCT external_id FROM records_lb "
+    + "WHERE snapshot_id = $1 AND record_type = $2::record_type AND external_id IS NOT NULL%s ORDER BY external_id LIMIT $3";
+  private static final String SELECT_SNAPSHOT_EXTERNAL_IDS_SQL = format(SELECT_SNAPSHOT_EXTERNAL_IDS_SQL_TEMPLATE, "");
+  private static final String SELECT_SNAPSHOT_EXTERNAL_IDS_AFTER_SQL = format(SELECT_SNAPSHOT_EXTERNAL_IDS_SQL_TEMPLATE, " AND external_id > $4");
+  private static final String DELETE_SNAPSHOT_RECORDS_SQL = "DELETE FROM records_lb WHERE id IN "
+    + "(SELECT id FROM records_lb WHERE snapshot_id = $1 LIMIT $2) RETURNING id, matched_id, external_id";
+  private static final String DELETE_UNREFERENCED_RAW_RECORD_CONTENTS_SQL = "DELETE FROM raw_record_contents WHERE hash IN "
+    + "(SELECT hash FROM raw_record_contents c WHERE NOT EXISTS (SELECT 1 FROM raw_records_lb r WHERE r.content_hash = c.hash) "
+    + "LIMIT $1 FOR UPDATE SKIP LOCKED)";
+
   private final PostgresClientFactory postgresClientFactory;
+  private final RecordsSaveMode saveMode;
+  private final RecordsCache recordsCache;
+  private final MeterRegistry meterRegistry;
 
-  @Autowired
   public RecordDaoImpl(final PostgresClientFactory postgresClientFactory) {
+    this(postgresClientFactory, RecordsSaveMode.BATCH);
+  }
+
+  public RecordDaoImpl(final PostgresClientFactory postgresClientFactory, final RecordsSaveMode saveMode) {
+    this(postgresClientFactory, saveMode, null);
+  }
+
+  public RecordDaoImpl(final PostgresClientFactory postgresClientFactory, final RecordsSaveMode saveMode, final RecordsCache recordsCache) {
+    this(postgresClientFactory, saveMode, recordsCache, Metrics.globalRegistry);
+  }
+
+  @Autowired
+  public RecordDaoImpl(final PostgresClientFactory postgresClientFactory,
+                       @Value("${srs.records.save.mode:BATCH}") final RecordsSaveMode saveMode,
+                       final RecordsCache recordsCache,
+                       final MeterRegistry meterRegistry) {
     this.postgresClientFactory = postgresClientFactory;
+    this.saveMode = saveMode;
+    this.recordsCache = recordsCache;
+    this.meterRegistry = meterRegistry;
+    LOG.info("RecordDaoImpl:: Records batch save mode: {}", saveMode);
   }
 
   @Override
@@ -170,29 +312,72 @@ public class RecordDaoImpl implements RecordDao {
 
   @Override
   public Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId) {
-    Name cte = name(CTE);
+    return getRecords(condition, recordType, orderFields, offset, limit, TotalRecordsMode.EXACT, tenantId);
+  }
+
+  @Override
+  public Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                             TotalRecordsMode totalRecordsMode, String tenantId) {
+    return getRecords(condition, recordType, orderFields, offset, limit, totalRecordsMode, RecordProjection.FULL, tenantId);
+  }
+
+  @Override
+  public Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                             TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId) {
     Name prt = name(recordType.getTableName());
+    Function<Row, Record> mapper = projection == RecordProjection.FULL ? this::toRecord : RecordDaoUtil::toRecord;
+    if (totalRecordsMode != TotalRecordsMode.EXACT) {
+      Condition recordsCondition = condition.and(recordType.getRecordImplicitCondition());
+      int pageLimit = limit > 0 ? limit : DEFAULT_LIMIT_FOR_GET_RECORDS;
+      return getQueryExecutor(tenantId).transaction(txQE -> txQE.query(dsl -> dsl
+        .select(getRecordFields(prt, projection))
+          .from(getRecordsTable(prt, projection))
+          .where(recordsCondition)
+          .orderBy(orderFields)
+          .offset(offset)
+          .limit(pageLimit))
+        .compose(queryResult -> {
+          List<Record> records = queryResult.stream().map(res -> asRow(res.unwrap())).map(mapper).collect(Collectors.toList());
+          return getTotalRecords(txQE, dsl -> dsl.selectOne().from(RECORDS_LB).where(recordsCondition), offset, pageLimit, records.size(), totalRecordsMode)
+            .map(totalRecords -> new RecordCollection().withRecords(records).withTotalRecords(totalRecords));
+        }));
+    }
+    Name cte = name(CTE);
     return getQueryExecutor(tenantId).transaction(txQE -> txQE.query(dsl -> dsl
       .with(cte.as(dsl.selectCount()
         .from(RECORDS_LB)
         .where(condition.and(recordType.getRecordImplicitCondition()))))
-      .select(getAllRecordFieldsWithCount(prt))
-        .from(RECORDS_LB)
-        .leftJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID))))
-        .leftJoin(RAW_RECORDS_LB).on(RECORDS_LB.ID.eq(RAW_RECORDS_LB.ID))
-        .leftJoin(ERROR_RECORDS_LB).on(RECORDS_LB.ID.eq(ERROR_RECORDS_LB.ID))
+      .select((Field<?>[]) ArrayUtils.add(getRecordFields(prt, projection), COUNT_FIELD))
+        .from(getRecordsTable(prt, projection))
         .rightJoin(dsl.select().from(table(cte))).on(trueCondition())
         .where(condition.and(recordType.getRecordImplicitCondition()))
         .orderBy(orderFields)
         .offset(offset)
         .limit(limit > 0 ? limit : DEFAULT_LIMIT_FOR_GET_RECORDS)
-    )).map(queryResult -> toRecordCollectionWithLimitCheck(queryResult, limit));
+    )).map(queryResult -> toRecordCollectionWithLimitCheck(queryResult, limit, mapper));
+  }
+
+  /* associated records are joined only if they are selected */
+  private Table<?> getRecordsTable(Name prt, RecordProjection projection) {
+    if (projection == RecordProjection.METADATA) {
+      return RECORDS_LB;
+    }
+    return RECORDS_LB
+      .leftJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID))))
+      .leftJoin(RAW_RECORDS_LB).on(RECORDS_LB.ID.eq(RAW_RECORDS_LB.ID))
+      .leftJoin(ERROR_RECORDS_LB).on(RECORDS_LB.ID.eq(ERROR_RECORDS_LB.ID));
   }
 
   public Future<List<Record>> getMatchedRecords(MatchField matchedField, TypeConnection typeConnection, int offset, int limit, String tenantId) {
+    return getQueryExecutor(tenantId).transaction(txQE -> txQE.query(dsl -> getMatchedRecordsQuery(dsl, matchedField, typeConnection, offset, limit)))
+      .map(queryResult -> queryResult.stream().map(res -> asRow(res.unwrap())).map(this::toRecord).collect(Collectors.toList()));
+  }
+
+  /* query is built separately to be planned by the match benchmark */
+  Select<org.jooq.Record> getMatchedRecordsQuery(DSLContext dsl, MatchField matchedField, TypeConnection typeConnection, int offset, int limit) {
     Name prt = name(typeConnection.getDbType().getTableName());
     Table marcIndexersPartitionTable = table(name("marc_indexers_" + matchedField.getTag()));
-    return getQueryExecutor(tenantId).transaction(txQE -> txQE.query(dsl -> dsl
+    return dsl
       .select(getAllRecordFields(prt))
       .from(RECORDS_LB)
       .leftJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID))))
@@ -202,55 +387,125 @@ public class RecordDaoImpl implements RecordDao {
       .where(
         filterRecordByType(typeConnection.getRecordType().value())
           .and(filterRecordByState(Record.State.ACTUAL.value()))
-          .and(getMatchedFieldCondition(matchedField, marcIndexersPartitionTable.getName()))
+          .and(getMatchedFieldCondition(matchedField, marcIndexersPartitionTable))
       )
       .offset(offset)
-      .limit(limit > 0 ? limit : DEFAULT_LIMIT_FOR_GET_RECORDS)
-    )).map(queryResult -> queryResult.stream().map(res -> asRow(res.unwrap())).map(this::toRecord).collect(Collectors.toList()));
+      .limit(limit > 0 ? limit : DEFAULT_LIMIT_FOR_GET_RECORDS);
+  }
+
+  @Override
+  public Future<List<List<String>>> getMatchedRecordIds(List<MatchField> matchFields, TypeConnection typeConnection, String tenantId) {
+    Map<String, List<MatchField>> matchFieldsByPath = matchFields.stream()
+      .collect(Collectors.groupingBy(this::toMatchedFieldPath, LinkedHashMap::new, Collectors.toList()));
+    List<String> paths = new ArrayList<>(matchFieldsByPath.keySet());
+    ReactiveClassicGenericQueryExecutor queryExecutor = getQueryExecutor(tenantId);
+    List<Future<Map<String, List<String>>>> futures = paths.stream()
+      .map(path -> getMatchedRecordIds(queryExecutor, matchFieldsByPath.get(path), typeConnection))
+      .collect(Collectors.toList());
+    return GenericCompositeFuture.all(futures)
+      .map(result -> {
+        Map<String, Map<String, List<String>>> idsByPath = new HashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+          idsByPath.put(paths.get(i), result.resultAt(i));
+        }
+        return matchFields.stream()
+          .map(matchField -> idsByPath.get(toMatchedFieldPath(matchField)).getOrDefault(matchField.getValue(), List.of()))
+          .collect(Collectors.toList());
+      });
   }
 
-  private Condition getMatchedFieldCondition(MatchField matchedField, String partition) {
+  /* ids of records matching all values are resolved by one query */
+  private Future<Map<String, List<String>>> getMatchedRecordIds(ReactiveClassicGenericQueryExecutor queryExecutor, List<MatchField> matchFields,
+                                                              TypeConnection typeConnection) {
+    MatchField matchField = matchFields.get(0);
+    Table<?> partition = table(name("marc_indexers_" + matchField.getTag()));
+    Field<String> value = field(TABLE_FIELD_TEMPLATE, String.class, partition, name(VALUE));
+    Field<UUID> marcId = field(TABLE_FIELD_TEMPLATE, UUID.class, partition, name(MARC_ID));
+    String[] values = matchFields.stream().map(MatchField::getValue).distinct().toArray(String[]::new);
+    Field<UUID[]> matchedIds = field(MATCHED_IDS_TEMPLATE, SQLDataType.UUID.getArrayDataType(), marcId, DSL.inline(1), DSL.inline(2));
+    return queryExecutor.findManyRow(dsl -> dsl.select(value, matchedIds.as(IDS))
+        .from(partition)
+        .innerJoin(RECORDS_LB).on(RECORDS_LB.ID.eq(marcId))
+        .where(value.eq(DSL.any(values))
+          .and(getMatchedSubfieldCondition(matchField, partition))
+          .and(filterRecordByType(typeConnection.getRecordType().value()))
+          .and(filterRecordByState(Record.State.ACTUAL.value())))
+        .groupBy(value))
+      .map(rows -> {
+        Map<String, List<String>> idsByValue = new HashMap<>();
+        rows.forEach(row -> idsByValue.put(row.getString(VALUE), Arrays.stream(row.getArrayOfUUIDs(IDS))
+          .map(UUID::toString)
+          .collect(Collectors.toList())));
+        return idsByValue;
+      });
+  }
+
+  private String toMatchedFieldPath(MatchField matchField) {
+    if (matchField.isControlField()) {
+      return matchField.getTag();
+    }
+    return String.join("|", matchField.getTag(), toIndicator(matchField.getInd1()), toIndicator(matchField.getInd2()), matchField.getSubfield());
+  }
+
+  /* values are bound, so the statement text is the same for all matches of the field and its plan can be reused */
+  private Condition getMatchedFieldCondition(MatchField matchedField, Table<?> partition) {
+    return field(TABLE_FIELD_TEMPLATE, String.class, partition, name(VALUE)).eq(matchedField.getValue())
+      .and(getMatchedSubfieldCondition(matchedField, partition));
+  }
+
+  private Condition getMatchedSubfieldCondition(MatchField matchedField, Table<?> partition) {
     if (matchedField.isControlField()) {
-      Map<String, String> params = new HashMap<>();
-      params.put("partition", partition);
-      params.put("value", matchedField.getValue());
-      String sql = StrSubstitutor.replace(CONTROL_FIELD_CONDITION_TEMPLATE, params, "{", "}");
-      return condition(sql);
-    } else {
-      Map<String, String> params = new HashMap<>();
-      params.put("partition", partition);
-      params.put("value", matchedField.getValue());
-      params.put("ind1", matchedField.getInd1().isBlank() ? "#" : matchedField.getInd1());
-      params.put("ind2", matchedField.getInd2().isBlank() ? "#" : matchedField.getInd2());
-      params.put("subfield", matchedField.getSubfield());
-      String sql = StrSubstitutor.replace(DATA_FIELD_CONDITION_TEMPLATE, params, "{", "}");
-      return condition(sql);
+      return DSL.noCondition();
     }
+    return field(TABLE_FIELD_TEMPLATE, String.class, partition, name(IND1)).eq(toIndicator(matchedField.getInd1()))
+      .and(field(TABLE_FIELD_TEMPLATE, String.class, partition, name(IND2)).eq(toIndicator(matchedField.getInd2())))
+      .and(field(TABLE_FIELD_TEMPLATE, String.class, partition, name(SUBFIELD_NO)).eq(matchedField.getSubfield()));
+  }
+
+  private String toIndicator(String indicator) {
+    return indicator.isBlank() ? DEFAULT_INDICATOR : indicator;
   }
 
   @Override
   public Flowable<Record> streamRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId) {
+    return streamRecordBatches(condition, recordType, orderFields, offset, limit, DEFAULT_STREAM_FETCH_SIZE, tenantId)
+      .concatMapIterable(records -> records);
+  }
+
+  @Override
+  public Flowable<List<Record>> streamRecordBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset,
+                                                    int limit, int fetchSize, String tenantId) {
     Name prt = name(recordType.getTableName());
-    String sql = DSL.select(getAllRecordFields(prt))
-      .from(RECORDS_LB)
-      .leftJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID))))
-      .leftJoin(RAW_RECORDS_LB).on(RECORDS_LB.ID.eq(RAW_RECORDS_LB.ID))
-      .leftJoin(ERROR_RECORDS_LB).on(RECORDS_LB.ID.eq(ERROR_RECORDS_LB.ID))
+    Query query = getStreamRecordsQuery(getAllRecordFields(prt), RecordProjection.FULL, condition, recordType, orderFields, offset, limit);
+    return streamBatches(query, toFetchSize(fetchSize, limit), this::toRecord, tenantId);
+  }
+
+  @Override
+  public Flowable<Buffer> streamRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset,
+                                                  int limit, int fetchSize, String tenantId) {
+    return streamRecordJsonBatches(condition, recordType, orderFields, offset, limit, fetchSize, RecordProjection.FULL, tenantId);
+  }
+
+  @Override
+  public Flowable<Buffer> streamRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset,
+                                                  int limit, int fetchSize, RecordProjection projection, String tenantId) {
+    Name prt = name(recordType.getTableName());
+    boolean full = projection == RecordProjection.FULL;
+    Query query = getStreamRecordsQuery(full ? getAllRecordFieldsWithRawParsedContent(prt) : RECORD_FIELDS, projection, condition, recordType,
+      orderFields, offset, limit);
+    return streamBatches(query, toFetchSize(fetchSize, limit), row -> row, tenantId)
+      .map(rows -> toJsonLines(rows, full ? this::appendRecordJson : this::appendRecordMetadataJson));
+  }
+
+  private Query getStreamRecordsQuery(Field<?>[] fields, RecordProjection projection, Condition condition, RecordType recordType,
+                                      Collection<OrderField<?>> orderFields, int offset, int limit) {
+    Name prt = name(recordType.getTableName());
+    return DSL.select(fields)
+      .from(getRecordsTable(prt, projection))
       .where(condition.and(recordType.getRecordImplicitCondition()))
       .orderBy(orderFields)
       .offset(offset)
-      .limit(limit)
-      .getSQL(ParamType.INLINED);
-
-    return getCachedPool(tenantId)
-      .rxGetConnection()
-      .flatMapPublisher(conn -> conn.rxBegin()
-        .flatMapPublisher(tx -> conn.rxPrepare(sql)
-          .flatMapPublisher(pq -> pq.createStream(1)
-            .toFlowable()
-            .map(this::toRow)
-            .map(this::toRecord))
-          .doAfterTerminate(tx::commit)));
+      .limit(limit);
   }
 
   @Override
@@ -270,15 +525,10 @@ public class RecordDaoImpl implements RecordDao {
     appendJoin(countQuery, parseLeaderResult, parseFieldsResult);
     appendWhere(countQuery, parseLeaderResult, parseFieldsResult, searchParameters);
     /* Join both in one query */
-    String sql = DSL.select().from(searchQuery).rightJoin(countQuery).on(DSL.trueCondition()).getSQL(ParamType.INLINED);
+    Query query = DSL.select().from(searchQuery).rightJoin(countQuery).on(DSL.trueCondition());
+    int fetchSize = Objects.requireNonNullElse(searchParameters.getFetchSize(), DEFAULT_MARC_RECORD_IDS_FETCH_SIZE);
 
-    return getCachedPool(tenantId)
-      .rxGetConnection()
-      .flatMapPublisher(conn -> conn.rxBegin()
-        .flatMapPublisher(tx -> conn.rxPrepare(sql)
-          .flatMapPublisher(pq -> pq.createStream(10000)
-            .toFlowable().map(this::toRow))
-          .doAfterTerminate(tx::commit)));
+    return streamOnReader(pool -> streamRows(pool, query, fetchSize, this::toRow), tenantId);
   }
 
   private void appendJoin(SelectJoinStep selectJoinStep, ParseLeaderResult parseLeaderResult, ParseFieldsResult parseFieldsResult) {
@@ -330,7 +580,7 @@ public class RecordDaoImpl implements RecordDao {
 
   @Override
   public Future<Optional<Record>> getRecordByMatchedId(ReactiveClassicGenericQueryExecutor txQE, String id) {
-    Condition condition = RECORDS_LB.MATCHED_ID.eq(UUID.fromString(id))
+    Condition condition = RecordDaoUtil.getCurrentRecordCondition(id, IdType.RECORD)
       .and(RECORDS_LB.STATE.eq(RecordState.ACTUAL)
         .or(RECORDS_LB.STATE.eq(RecordState.DELETED)));
     return getRecordByCondition(txQE, condition);
@@ -343,137 +593,237 @@ public class RecordDaoImpl implements RecordDao {
 
   @Override
   public Future<Optional<Record>> getRecordByCondition(ReactiveClassicGenericQueryExecutor txQE, Condition condition) {
-    return RecordDaoUtil.findByCondition(txQE, condition)
-      .compose(record -> lookupAssociatedRecords(txQE, record, true));
+    return findRecordsWithAssociatedRecords(txQE, condition, List.of(RECORDS_LB.STATE.sort(SortOrder.ASC)), 1, true)
+      .map(records -> records.stream().findFirst());
+  }
+
+  @Override
+  public Future<Map<String, Record>> getRecordsByIds(List<String> ids, String tenantId) {
+    return getQueryExecutor(tenantId).transaction(txQE -> getRecordsByIds(txQE, ids));
+  }
+
+  @Override
+  public Future<Map<String, Record>> getRecordsByIds(ReactiveClassicGenericQueryExecutor txQE, List<String> ids) {
+    if (ids.isEmpty()) {
+      return Future.succeededFuture(new LinkedHashMap<>());
+    }
+    UUID[] uuids = ids.stream().map(UUID::fromString).distinct().toArray(UUID[]::new);
+    return findRecordsWithAssociatedRecords(txQE, RECORDS_LB.ID.eq(DSL.any(uuids)), List.of(), uuids.length, true)
+      .map(records -> records.stream()
+        .collect(Collectors.toMap(Record::getId, Function.identity(), (r1, r2) -> r1, LinkedHashMap::new)));
   }
 
   @Override
   public Future<Record> saveRecord(Record record, String tenantId) {
-    return getQueryExecutor(tenantId).transaction(txQE -> saveRecord(txQE, record));
+    return getQueryExecutor(tenantId).transaction(txQE -> saveRecord(txQE, record, tenantId));
   }
 
   @Override
-  public Future<Record> saveRecord(ReactiveClassicGenericQueryExecutor txQE, Record record) {
-    return insertOrUpdateRecord(txQE, record);
+  public Future<Record> saveRecord(ReactiveClassicGenericQueryExecutor txQE, Record record, String tenantId) {
+    return insertOrUpdateRecord(txQE, record)
+      .compose(savedRecord -> invalidateCachedRecords(txQE, tenantId, RecordsCache.getRecordIds(savedRecord)).map(savedRecord));
   }
 
   @Override
   public Future<RecordsBatchResponse> saveRecords(RecordCollection recordCollection, String tenantId) {
     LOG.trace("saveRecords:: Saving records for tenant: {}", tenantId);
-    Promise<RecordsBatchResponse> finalPromise = Promise.promise();
-    Context context = Vertx.currentContext();
-    if(context == null) return Future.failedFuture("saveRecords must be executed by a Vertx thread");
-    context.owner().<RecordsBatchResponse>executeBlocking(promise -> {
-      Set<UUID> matchedIds = new HashSet<>();
-      Set<String> snapshotIds = new HashSet<>();
-      Set<String> recordTypes = new HashSet<>();
+    RecordsBatch recordsBatch;
+    try {
+      recordsBatch = toRecordsBatch(recordCollection);
+    } catch (Exception e) {
+      LOG.warn("saveRecords:: Error during batch record save", e);
+      return Future.failedFuture(e);
+    }
+
+    Future<Void> saveFuture = saveMode == RecordsSaveMode.COPY
+      ? copyRecords(recordsBatch, tenantId)
+      : insertRecords(recordsBatch, tenantId);
+
+    return saveFuture
+      .compose(v -> invalidateCachedRecords(getQueryExecutor(tenantId), tenantId, getRecordIds(recordCollection.getRecords())))
+      .map(v -> new RecordsBatchResponse()
+        .withRecords(recordCollection.getRecords())
+        .withTotalRecords(recordCollection.getRecords().size())
+        .withErrorMessages(recordsBatch.errorMessages))
+      .onComplete(ar -> {
+        if (ar.succeeded()) {
+          LOG.debug("saveRecords:: batch record save was successful");
+        } else if (ar.cause() instanceof DuplicateEventException) {
+          LOG.info("saveRecords:: Skipped saving records due to duplicate event: {}", ar.cause().getMessage());
+        } else {
+          LOG.warn("saveRecords:: Error during batch record save", ar.cause());
+        }
+      });
+  }
 
-      List<RecordsLbRecord> dbRecords = new ArrayList<>();
-      List<RawRecordsLbRecord> dbRawRecords = new ArrayList<>();
-      List<Record2<UUID, JSONB>> dbParsedRecords = new ArrayList<>();
-      List<ErrorRecordsLbRecord> dbErrorRecords = new ArrayList<>();
+  private RecordsBatch toRecordsBatch(RecordCollection recordCollection) {
+    Set<UUID> matchedIds = new HashSet<>();
+    Set<String> snapshotIds = new HashSet<>();
+    Set<String> recordTypes = new HashSet<>();
+
+    RecordsBatch recordsBatch = new RecordsBatch();
+
+    recordCollection.getRecords()
+      .stream()
+      .map(RecordDaoUtil::ensureRecordHasId)
+      .map(RecordDaoUtil::ensureRecordHasSuppressDiscovery)
+      .map(RecordDaoUtil::ensureRecordForeignKeys)
+      .forEach(record -> {
+        // collect unique matched ids to query to determine generation
+        matchedIds.add(UUID.fromString(record.getMatchedId()));
+
+        // make sure only one snapshot id
+        snapshotIds.add(record.getSnapshotId());
+        if (snapshotIds.size() > 1) {
+          throw new BadRequestException("Batch record collection only supports single snapshot");
+        }
 
-      List<String> errorMessages = new ArrayList<>();
+        if(Objects.nonNull(record.getRecordType())) {
+          recordTypes.add(record.getRecordType().name());
+        } else {
+          throw new BadRequestException(StringUtils.defaultIfEmpty(record.getErrorRecord().getDescription(), String.format("Record with id %s has not record type", record.getId())));
+        }
 
-      recordCollection.getRecords()
-        .stream()
-        .map(RecordDaoUtil::ensureRecordHasId)
-        .map(RecordDaoUtil::ensureRecordHasSuppressDiscovery)
-        .map(RecordDaoUtil::ensureRecordForeignKeys)
-        .forEach(record -> {
-          // collect unique matched ids to query to determine generation
-          matchedIds.add(UUID.fromString(record.getMatchedId()));
-
-          // make sure only one snapshot id
-          snapshotIds.add(record.getSnapshotId());
-          if (snapshotIds.size() > 1) {
-            throw new BadRequestException("Batch record collection only supports single snapshot");
-          }
+        // make sure only one record type
+        if (recordTypes.size() > 1) {
+          throw new BadRequestException("Batch record collection only supports single record type");
+        }
 
-          if(Objects.nonNull(record.getRecordType())) {
-            recordTypes.add(record.getRecordType().name());
-          } else {
-            throw new BadRequestException(StringUtils.defaultIfEmpty(record.getErrorRecord().getDescription(), String.format("Record with id %s has not record type", record.getId())));
+        // if record has parsed record, validate its structure
+        if (Objects.nonNull(record.getParsedRecord())) {
+          try {
+            validateParsedRecord(record);
+            UUID parsedRecordId = UUID.fromString(record.getParsedRecord().getId());
+            recordsBatch.parsedRecords.put(parsedRecordId, ParsedRecordDaoUtil.normalizeJsonContent(record.getParsedRecord()));
+            recordsBatch.formattedContents.put(parsedRecordId, ParsedRecordDaoUtil.getStorableFormattedContent(record.getParsedRecord()));
+          } catch (Exception e) {
+            // create error record and remove from record
+            Object content = Objects.nonNull(record.getParsedRecord())
+              ? record.getParsedRecord().getContent()
+              : null;
+            ErrorRecord errorRecord = new ErrorRecord()
+              .withId(record.getId())
+              .withDescription(e.getMessage())
+              .withContent(content);
+            recordsBatch.errorMessages.add(format(INVALID_PARSED_RECORD_MESSAGE_TEMPLATE, record.getId(), e.getMessage()));
+            record.withErrorRecord(errorRecord)
+              .withParsedRecord(null)
+              .withLeaderRecordStatus(null);
           }
+        }
+        if (Objects.nonNull(record.getRawRecord())) {
+          recordsBatch.rawRecords.add(RawRecordDaoUtil.toDatabaseRawRecord(record.getRawRecord()));
+        }
+        if (Objects.nonNull(record.getErrorRecord())) {
+          recordsBatch.errorRecords.add(ErrorRecordDaoUtil.toDatabaseErrorRecord(record.getErrorRecord()));
+        }
+        recordsBatch.records.add(RecordDaoUtil.toDatabaseRecord(record));
+      });
 
-          // make sure only one record type
-          if (recordTypes.size() > 1) {
-            throw new BadRequestException("Batch record collection only supports single record type");
-          }
+    recordsBatch.matchedIds = matchedIds;
+    recordsBatch.snapshotId = UUID.fromString(snapshotIds.stream().findFirst().orElseThrow());
+    recordsBatch.recordType = toRecordType(recordTypes.stream().findFirst().orElseThrow());
+    return recordsBatch;
+  }
 
-          // if record has parsed record, validate by attempting format
-          if (Objects.nonNull(record.getParsedRecord())) {
-            try {
-              RecordType recordType = toRecordType(record.getRecordType().name());
-              recordType.formatRecord(record);
-              Record2<UUID, JSONB> dbParsedRecord = recordType.toDatabaseRecord2(record.getParsedRecord());
-              dbParsedRecords.add(dbParsedRecord);
-            } catch (Exception e) {
-              // create error record and remove from record
-              Object content = Objects.nonNull(record.getParsedRecord())
-                ? record.getParsedRecord().getContent()
-                : null;
-              ErrorRecord errorRecord = new ErrorRecord()
-                .withId(record.getId())
-                .withDescription(e.getMessage())
-                .withContent(content);
-              errorMessages.add(format(INVALID_PARSED_RECORD_MESSAGE_TEMPLATE, record.getId(), e.getMessage()));
-              record.withErrorRecord(errorRecord)
-                .withParsedRecord(null)
-                .withLeaderRecordStatus(null);
-            }
+  private Future<Void> insertRecords(RecordsBatch recordsBatch, String tenantId) {
+    return getCachedPool(tenantId).getDelegate().withTransaction(connection -> {
+      ReactiveClassicGenericQueryExecutor txQE = new ReactiveClassicGenericQueryExecutor(PostgresClientFactory.configuration, connection);
+      return SnapshotDaoUtil.findById(txQE, recordsBatch.snapshotId.toString())
+        .compose(optionalSnapshot -> {
+          // validate snapshot
+          if (optionalSnapshot.isEmpty()) {
+            return Future.failedFuture(new NotFoundException(format(SNAPSHOT_NOT_FOUND_TEMPLATE, recordsBatch.snapshotId)));
           }
-          if (Objects.nonNull(record.getRawRecord())) {
-            dbRawRecords.add(RawRecordDaoUtil.toDatabaseRawRecord(record.getRawRecord()));
+          if (Objects.isNull(optionalSnapshot.get().getProcessingStartedDate())) {
+            return Future.failedFuture(new BadRequestException(format(SNAPSHOT_NOT_STARTED_MESSAGE_TEMPLATE, optionalSnapshot.get().getStatus())));
           }
-          if (Objects.nonNull(record.getErrorRecord())) {
-            dbErrorRecords.add(ErrorRecordDaoUtil.toDatabaseErrorRecord(record.getErrorRecord()));
+          // lookup current generation by matched id and committed snapshot updated before current snapshot
+          return txQE.query(dsl -> selectCurrentGenerations(dsl, recordsBatch.snapshotId, recordsBatch.matchedIds));
+        })
+        .compose(queryResult -> {
+          List<UUID> ids = new ArrayList<>();
+          collectGenerations(queryResult, ids, recordsBatch);
+          Set<UUID> notResolvedIds = recordsBatch.getNotResolvedMatchedIds();
+          if (notResolvedIds.isEmpty()) {
+            return Future.succeededFuture(ids);
           }
-          dbRecords.add(RecordDaoUtil.toDatabaseRecord(record));
-        });
-
-      UUID snapshotId = UUID.fromString(snapshotIds.stream().findFirst().orElseThrow());
+          // lookup latest generation in records history if current generation is not committed before current snapshot
+          return txQE.query(dsl -> selectLatestGenerations(dsl, recordsBatch.snapshotId, notResolvedIds))
+            .map(historyResult -> {
+              collectGenerations(historyResult, ids, recordsBatch);
+              return ids;
+            });
+        })
+        .compose(ids -> {
+          if (ids.isEmpty()) {
+            return Future.succeededFuture(0);
+          }
+          // update matching records state
+          return txQE.execute(dsl -> dsl.update(RECORDS_LB)
+            .set(RECORDS_LB.STATE, RecordState.OLD)
+            .where(RECORDS_LB.ID.eq(DSL.any(ids.toArray(UUID[]::new)))));
+        })
+        .compose(v -> {
+          recordsBatch.updateGenerations();
+          return executeBatch(connection, INSERT_RECORDS_SQL, recordsBatch.records.stream()
+            .map(this::toInsertRecordTuple)
+            .collect(Collectors.toList()));
+        })
+        // statements below are pipelined on the transaction connection
+        .compose(v -> GenericCompositeFuture.all(List.of(
+          executeBatch(connection, UPSERT_RAW_RECORDS_SQL, recordsBatch.rawRecords.stream()
+            .map(rawRecord -> Tuple.of(rawRecord.getId(), rawRecord.getContent()))
+            .collect(Collectors.toList())),
+          executeBatch(connection, format(UPSERT_CONTENT_SQL_TEMPLATE, recordsBatch.recordType.getTableName()), recordsBatch.parsedRecords.entrySet().stream()
+            .map(parsedRecord -> Tuple.of(parsedRecord.getKey(), parsedRecord.getValue(), recordsBatch.formattedContents.get(parsedRecord.getKey())))
+            .collect(Collectors.toList()))
+            .onSuccess(results -> ParsedRecordDaoUtil.countSkippedWrites(meterRegistry, recordsBatch.recordType, countNotAffected(results))),
+          executeBatch(connection, UPSERT_ERROR_RECORDS_SQL, recordsBatch.errorRecords.stream()
+            .map(errorRecord -> Tuple.of(errorRecord.getId(), errorRecord.getContent(), errorRecord.getDescription()))
+            .collect(Collectors.toList()))
+        )))
+        .<Void>mapEmpty();
+    }).recover(e -> {
+      if (e instanceof PgException && UNIQUE_VIOLATION_SQL_STATE.equals(((PgException) e).getCode())) {
+        return Future.failedFuture(new DuplicateEventException("SQL Unique constraint violation prevented repeatedly saving the record"));
+      }
+      return Future.failedFuture(e);
+    });
+  }
 
-      RecordType recordType = toRecordType(recordTypes.stream().findFirst().orElseThrow());
+  private Future<Void> copyRecords(RecordsBatch recordsBatch, String tenantId) {
+    Context context = Vertx.currentContext();
+    if(context == null) return Future.failedFuture("saveRecords must be executed by a Vertx thread");
 
+    return context.owner().<Void>executeBlocking(promise -> {
       try (Connection connection = getConnection(tenantId)) {
         DSL.using(connection).transaction(ctx -> {
           DSLContext dsl = DSL.using(ctx);
 
           // validate snapshot
           Optional<SnapshotsLbRecord> snapshot = DSL.using(ctx).selectFrom(SNAPSHOTS_LB)
-            .where(SNAPSHOTS_LB.ID.eq(snapshotId))
+            .where(SNAPSHOTS_LB.ID.eq(recordsBatch.snapshotId))
             .fetchOptional();
           if (snapshot.isPresent()) {
             if (Objects.isNull(snapshot.get().getProcessingStartedDate())) {
               throw new BadRequestException(format(SNAPSHOT_NOT_STARTED_MESSAGE_TEMPLATE, snapshot.get().getStatus()));
             }
           } else {
-            throw new NotFoundException(format(SNAPSHOT_NOT_FOUND_TEMPLATE, snapshotId));
+            throw new NotFoundException(format(SNAPSHOT_NOT_FOUND_TEMPLATE, recordsBatch.snapshotId));
           }
 
           List<UUID> ids = new ArrayList<>();
-          Map<UUID, Integer> matchedGenerations = new HashMap<>();
-
-          // lookup latest generation by matched id and committed snapshot updated before current snapshot
-          dsl.select(RECORDS_LB.MATCHED_ID, RECORDS_LB.ID, RECORDS_LB.GENERATION)
-            .distinctOn(RECORDS_LB.MATCHED_ID)
-            .from(RECORDS_LB)
-            .innerJoin(SNAPSHOTS_LB).on(RECORDS_LB.SNAPSHOT_ID.eq(SNAPSHOTS_LB.ID))
-            .where(RECORDS_LB.MATCHED_ID.in(matchedIds)
-              .and(SNAPSHOTS_LB.STATUS.in(JobExecutionStatus.COMMITTED, JobExecutionStatus.ERROR, JobExecutionStatus.CANCELLED))
-              .and(SNAPSHOTS_LB.UPDATED_DATE.lessThan(dsl
-                .select(SNAPSHOTS_LB.PROCESSING_STARTED_DATE)
-                .from(SNAPSHOTS_LB)
-                .where(SNAPSHOTS_LB.ID.eq(snapshotId)))))
-            .orderBy(RECORDS_LB.MATCHED_ID.asc(), RECORDS_LB.GENERATION.desc())
-            .fetchStream().forEach(r -> {
-              UUID id = r.get(RECORDS_LB.ID);
-              UUID matchedId = r.get(RECORDS_LB.MATCHED_ID);
-              int generation = r.get(RECORDS_LB.GENERATION);
-              ids.add(id);
-              matchedGenerations.put(matchedId, generation);
-            });
+
+          // lookup current generation by matched id and committed snapshot updated before current snapshot
+          selectCurrentGenerations(dsl, recordsBatch.snapshotId, recordsBatch.matchedIds)
+            .fetchStream().forEach(r -> collectGeneration(r, ids, recordsBatch));
+          // lookup latest generation in records history if current generation is not committed before current snapshot
+          Set<UUID> notResolvedIds = recordsBatch.getNotResolvedMatchedIds();
+          if (!notResolvedIds.isEmpty()) {
+            selectLatestGenerations(dsl, recordsBatch.snapshotId, notResolvedIds)
+              .fetchStream().forEach(r -> collectGeneration(r, ids, recordsBatch));
+          }
 
           // update matching records state
           if(!ids.isEmpty())
@@ -484,163 +834,189 @@ public class RecordDaoImpl implements RecordDao {
               .execute();
           }
 
-          // batch insert records updating generation if required
-          List<LoaderError> recordsLoadingErrors = dsl.loadInto(RECORDS_LB)
-            .batchAfter(1000)
-            .bulkAfter(500)
-            .commitAfter(1000)
-            .onErrorAbort()
-            .loadRecords(dbRecords.stream().map(record -> {
-              Integer generation = matchedGenerations.get(record.getMatchedId());
-              if (Objects.nonNull(generation)) {
-                record.setGeneration(generation + 1);
-              } else if (Objects.isNull(record.getGeneration())) {
-                record.setGeneration(0);
-              }
-              return record;
-            }).collect(Collectors.toList()))
-            .fieldsFromSource()
-            .execute()
-            .errors();
-
-          recordsLoadingErrors.forEach(error -> {
-            if(error.exception().sqlState().equals(UNIQUE_VIOLATION_SQL_STATE)) {
-              throw new DuplicateEventException("SQL Unique constraint violation prevented repeatedly saving the record");
-            }
-            LOG.warn("saveRecords:: Error occurred on batch execution: {}", error.exception().getCause().getMessage());
-            LOG.debug("saveRecords:: Failed to execute statement from batch: {}", error.query());
-          });
-
-          // batch insert raw records
-          dsl.loadInto(RAW_RECORDS_LB)
-            .batchAfter(250)
-            .commitAfter(1000)
-            .onDuplicateKeyUpdate()
-            .onErrorAbort()
-            .loadRecords(dbRawRecords)
-            .fieldsFromSource()
-            .execute();
-
-          // batch insert parsed records
-          recordType.toLoaderOptionsStep(dsl)
-            .batchAfter(250)
-            .commitAfter(1000)
-            .onDuplicateKeyUpdate()
-            .onErrorAbort()
-            .loadRecords(dbParsedRecords)
-            .fieldsFromSource()
-            .execute();
-
-          if (!dbErrorRecords.isEmpty()) {
-            // batch insert error records
-            dsl.loadInto(ERROR_RECORDS_LB)
-              .batchAfter(250)
-              .commitAfter(1000)
-              .onDuplicateKeyUpdate()
-              .onErrorAbort()
-              .loadRecords(dbErrorRecords)
-              .fieldsFromSource()
-              .execute();
-          }
-
-          promise.complete(new RecordsBatchResponse()
-            .withRecords(recordCollection.getRecords())
-            .withTotalRecords(recordCollection.getRecords().size())
-            .withErrorMessages(errorMessages));
+          recordsBatch.updateGenerations();
+          copyRecords(connection, dsl, recordsBatch);
         });
+        promise.complete();
       } catch (DuplicateEventException e) {
-        LOG.info("saveRecords:: Skipped saving records due to duplicate event: {}", e.getMessage());
         promise.fail(e);
       } catch (SQLException | DataAccessException e) {
         LOG.warn("saveRecords:: Failed to save records", e);
         promise.fail(e);
       }
-    },
-    false,
-    r -> {
-      if (r.failed()) {
-        LOG.warn("saveRecords:: Error during batch record save", r.cause());
-        finalPromise.fail(r.cause());
-      } else {
-        LOG.debug("saveRecords:: batch record save was successful");
-        finalPromise.complete(r.result());
-      }
+    }, false);
+  }
+
+  /* primary key lookup of records_current, matched ids without current generation committed before the snapshot are not resolved */
+  private SelectConditionStep<Record3<UUID, UUID, Integer>> selectCurrentGenerations(DSLContext dsl, UUID snapshotId, Set<UUID> matchedIds) {
+    return dsl.select(RECORDS_CURRENT.MATCHED_ID.as(RECORDS_LB.MATCHED_ID.getName()), RECORDS_CURRENT.RECORD_ID.as(RECORDS_LB.ID.getName()),
+        RECORDS_CURRENT.GENERATION.as(RECORDS_LB.GENERATION.getName()))
+      .from(RECORDS_CURRENT)
+      .innerJoin(SNAPSHOTS_LB).on(RECORDS_CURRENT.SNAPSHOT_ID.eq(SNAPSHOTS_LB.ID))
+      .where(RECORDS_CURRENT.MATCHED_ID.eq(DSL.any(matchedIds.toArray(UUID[]::new)))
+        .and(isCommittedBefore(dsl, snapshotId)));
+  }
+
+  private SelectSeekStep2<Record3<UUID, UUID, Integer>, UUID, Integer> selectLatestGenerations(DSLContext dsl, UUID snapshotId, Set<UUID> matchedIds) {
+    return dsl.select(RECORDS_LB.MATCHED_ID, RECORDS_LB.ID, RECORDS_LB.GENERATION)
+      .distinctOn(RECORDS_LB.MATCHED_ID)
+      .from(RECORDS_LB)
+      .innerJoin(SNAPSHOTS_LB).on(RECORDS_LB.SNAPSHOT_ID.eq(SNAPSHOTS_LB.ID))
+      .where(RECORDS_LB.MATCHED_ID.eq(DSL.any(matchedIds.toArray(UUID[]::new)))
+        .and(isCommittedBefore(dsl, snapshotId)))
+      .orderBy(RECORDS_LB.MATCHED_ID.asc(), RECORDS_LB.GENERATION.desc());
+  }
+
+  private Condition isCommittedBefore(DSLContext dsl, UUID snapshotId) {
+    return SNAPSHOTS_LB.STATUS.in(JobExecutionStatus.COMMITTED, JobExecutionStatus.ERROR, JobExecutionStatus.CANCELLED)
+      .and(SNAPSHOTS_LB.UPDATED_DATE.lessThan(dsl
+        .select(SNAPSHOTS_LB.PROCESSING_STARTED_DATE)
+        .from(SNAPSHOTS_LB)
+        .where(SNAPSHOTS_LB.ID.eq(snapshotId))));
+  }
+
+  private void collectGenerations(QueryResult queryResult, List<UUID> ids, RecordsBatch recordsBatch) {
+    queryResult.stream().forEach(res -> {
+      ids.add(res.get(RECORDS_LB.ID));
+      recordsBatch.matchedGenerations.put(res.get(RECORDS_LB.MATCHED_ID), res.get(RECORDS_LB.GENERATION));
     });
+  }
 
-    return finalPromise.future();
+  private void collectGeneration(Record3<UUID, UUID, Integer> generation, List<UUID> ids, RecordsBatch recordsBatch) {
+    ids.add(generation.value2());
+    recordsBatch.matchedGenerations.put(generation.value1(), generation.value3());
   }
 
   @Override
   public Future<Record> updateRecord(Record record, String tenantId) {
     return getQueryExecutor(tenantId).transaction(txQE -> getRecordById(txQE, record.getId())
       .compose(optionalRecord -> optionalRecord
-        .map(r -> saveRecord(txQE, record))
+        .map(r -> saveRecord(txQE, record, tenantId))
         .orElse(Future.failedFuture(new NotFoundException(format(RECORD_NOT_FOUND_TEMPLATE, record.getId()))))));
   }
 
   @Override
   public Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId) {
-    Name cte = name(CTE);
+    return getSourceRecords(condition, recordType, orderFields, offset, limit, TotalRecordsMode.EXACT, tenantId);
+  }
+
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                         TotalRecordsMode totalRecordsMode, String tenantId) {
+    return getSourceRecords(condition, recordType, orderFields, offset, limit, totalRecordsMode, RecordProjection.FULL, tenantId);
+  }
+
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                         TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId) {
     Name prt = name(recordType.getTableName());
-    return getQueryExecutor(tenantId).transaction(txQE -> txQE.query(dsl -> dsl
+    if (totalRecordsMode != TotalRecordsMode.EXACT) {
+      return getSourceRecords(condition.and(recordType.getSourceRecordImplicitCondition()), prt, orderFields, offset, limit, totalRecordsMode,
+        projection, tenantId);
+    }
+    Name cte = name(CTE);
+    return executeOnReader(queryExecutor -> queryExecutor.transaction(txQE -> txQE.query(dsl -> dsl
       .with(cte.as(dsl.selectCount()
         .from(RECORDS_LB)
         .where(condition.and(recordType.getSourceRecordImplicitCondition()))))
-      .select(getRecordFieldsWithCount(prt))
-      .from(RECORDS_LB)
-      .leftJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID))))
+      .select((Field<?>[]) ArrayUtils.add(getSourceRecordFields(prt, projection), COUNT_FIELD))
+      .from(getSourceRecordsTable(prt, projection))
       .rightJoin(dsl.select().from(table(cte))).on(trueCondition())
       .where(condition.and(recordType.getSourceRecordImplicitCondition()))
       .orderBy(orderFields)
       .offset(offset)
       .limit(limit)
-    )).map(this::toSourceRecordCollection);
+    )), tenantId).map(queryResult -> toSourceRecordCollection(queryResult, projection));
+  }
+
+  /* parsed records are joined only if they are selected */
+  private Table<?> getSourceRecordsTable(Name prt, RecordProjection projection) {
+    if (projection == RecordProjection.METADATA) {
+      return RECORDS_LB;
+    }
+    return RECORDS_LB.leftJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID))));
   }
 
   @Override
   public Flowable<SourceRecord> streamSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId) {
+    return streamSourceRecordBatches(condition, recordType, orderFields, offset, limit, DEFAULT_STREAM_FETCH_SIZE, tenantId)
+      .concatMapIterable(sourceRecords -> sourceRecords);
+  }
+
+  @Override
+  public Flowable<List<SourceRecord>> streamSourceRecordBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                                int offset, int limit, int fetchSize, String tenantId) {
     Name prt = name(recordType.getTableName());
-    String sql = DSL.select(getRecordFields(prt))
-      .from(RECORDS_LB)
-      .innerJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID))))
+    Query query = getStreamSourceRecordsQuery(getRecordFields(prt), RecordProjection.FULL, condition, recordType, orderFields, offset, limit);
+    return streamBatches(query, toFetchSize(fetchSize, limit), this::toSourceRecord, tenantId);
+  }
+
+  @Override
+  public Flowable<Buffer> streamSourceRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                        int offset, int limit, int fetchSize, String tenantId) {
+    return streamSourceRecordJsonBatches(condition, recordType, orderFields, offset, limit, fetchSize, RecordProjection.FULL, tenantId);
+  }
+
+  @Override
+  public Flowable<Buffer> streamSourceRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                        int offset, int limit, int fetchSize, RecordProjection projection, String tenantId) {
+    Name prt = name(recordType.getTableName());
+    boolean full = projection == RecordProjection.FULL;
+    Query query = getStreamSourceRecordsQuery(full ? getRecordFieldsWithRawContent(prt) : RECORD_FIELDS, projection, condition, recordType,
+      orderFields, offset, limit);
+    return streamBatches(query, toFetchSize(fetchSize, limit), row -> row, tenantId)
+      .map(rows -> toJsonLines(rows, full ? this::appendSourceRecordJson : this::appendSourceRecordMetadataJson));
+  }
+
+  /* parsed record is joined only if its content is selected, the same as for pages of source records */
+  private Query getStreamSourceRecordsQuery(Field<?>[] fields, RecordProjection projection, Condition condition, RecordType recordType,
+                                            Collection<OrderField<?>> orderFields, int offset, int limit) {
+    Name prt = name(recordType.getTableName());
+    return DSL.select(fields)
+      .from(projection == RecordProjection.METADATA ? RECORDS_LB
+        : RECORDS_LB.innerJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID)))))
       .where(condition.and(recordType.getSourceRecordImplicitCondition()))
       .orderBy(orderFields)
       .offset(offset)
-      .limit(limit)
-      .getSQL(ParamType.INLINED);
-
-    return getCachedPool(tenantId)
-      .rxGetConnection()
-      .flatMapPublisher(conn -> conn.rxBegin()
-        .flatMapPublisher(tx -> conn.rxPrepare(sql)
-          .flatMapPublisher(pq -> pq.createStream(1)
-            .toFlowable()
-            .map(this::toRow)
-            .map(this::toSourceRecord))
-          .doAfterTerminate(tx::commit)));
+      .limit(limit);
   }
 
   @Override
   public Future<SourceRecordCollection> getSourceRecords(List<String> externalIds, IdType idType, RecordType recordType, Boolean deleted, String tenantId) {
+    return getSourceRecords(externalIds, idType, recordType, deleted, TotalRecordsMode.EXACT, tenantId);
+  }
+
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(List<String> externalIds, IdType idType, RecordType recordType, Boolean deleted,
+                                                         TotalRecordsMode totalRecordsMode, String tenantId) {
+    return getSourceRecords(externalIds, idType, recordType, deleted, totalRecordsMode, RecordProjection.FULL, tenantId);
+  }
+
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(List<String> externalIds, IdType idType, RecordType recordType, Boolean deleted,
+                                                         TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId) {
     Condition condition = RecordDaoUtil.getExternalIdsCondition(externalIds, idType)
       .and(RecordDaoUtil.filterRecordByDeleted(deleted));
-    Name cte = name(CTE);
     Name prt = name(recordType.getTableName());
-    return getQueryExecutor(tenantId).transaction(txQE -> txQE.query(dsl -> dsl
+    if (totalRecordsMode != TotalRecordsMode.EXACT) {
+      return getSourceRecords(condition.and(recordType.getSourceRecordImplicitCondition()), prt, List.of(), 0, Integer.MAX_VALUE,
+        totalRecordsMode, projection, tenantId);
+    }
+    Name cte = name(CTE);
+    return executeOnReader(queryExecutor -> queryExecutor.transaction(txQE -> txQE.query(dsl -> dsl
       .with(cte.as(dsl.selectCount()
         .from(RECORDS_LB)
         .where(condition.and(recordType.getRecordImplicitCondition()))))
-      .select(getRecordFieldsWithCount(prt))
-      .from(RECORDS_LB)
-      .leftJoin(table(prt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, prt, name(ID))))
+      .select((Field<?>[]) ArrayUtils.add(getSourceRecordFields(prt, projection), COUNT_FIELD))
+      .from(getSourceRecordsTable(prt, projection))
       .rightJoin(dsl.select().from(table(cte))).on(trueCondition())
       .where(condition.and(recordType.getSourceRecordImplicitCondition()))
-    )).map(this::toSourceRecordCollection);
+    )), tenantId).map(queryResult -> toSourceRecordCollection(queryResult, projection));
   }
 
   @Override
   public Future<Optional<SourceRecord>> getSourceRecordByExternalId(String externalId, IdType idType, String tenantId) {
-    Condition condition = RecordDaoUtil.getExternalIdCondition(externalId, idType)
+    Condition condition = RecordDaoUtil.getCurrentRecordCondition(externalId, idType)
       .and(RECORDS_LB.STATE.eq(RecordState.ACTUAL))
       .and(RECORDS_LB.LEADER_RECORD_STATUS.isNotNull());
     return getSourceRecordByCondition(condition, tenantId);
@@ -649,203 +1025,189 @@ public class RecordDaoImpl implements RecordDao {
   @Override
   public Future<Optional<SourceRecord>> getSourceRecordByCondition(Condition condition, String tenantId) {
     return getQueryExecutor(tenantId)
-      .transaction(txQE -> txQE.findOneRow(dsl -> dsl.selectFrom(RECORDS_LB)
-        .where(condition))
-          .map(RecordDaoUtil::toOptionalRecord)
-      .compose(optionalRecord -> {
-        if (optionalRecord.isPresent()) {
-          return lookupAssociatedRecords(txQE, optionalRecord.get(), false)
-            .map(RecordDaoUtil::toSourceRecord)
-            .map(sourceRecord -> {
-              if (Objects.nonNull(sourceRecord.getParsedRecord())) {
-                return Optional.of(sourceRecord);
-              }
-              return Optional.empty();
-            });
-        }
-        return Future.succeededFuture(Optional.empty());
-      }));
+      .transaction(txQE -> findRecordsWithAssociatedRecords(txQE, condition, List.of(), 1, false))
+      .map(records -> records.stream()
+        .findFirst()
+        .map(RecordDaoUtil::toSourceRecord)
+        .filter(sourceRecord -> Objects.nonNull(sourceRecord.getParsedRecord())));
   }
 
   @Override
   public Future<Integer> calculateGeneration(ReactiveClassicGenericQueryExecutor txQE, Record record) {
-    return txQE.query(dsl -> dsl.select(max(RECORDS_LB.GENERATION).as(RECORDS_LB.GENERATION))
-      .from(RECORDS_LB.innerJoin(SNAPSHOTS_LB).on(RECORDS_LB.SNAPSHOT_ID.eq(SNAPSHOTS_LB.ID)))
-      .where(RECORDS_LB.MATCHED_ID.eq(UUID.fromString(record.getMatchedId()))
-        .and(SNAPSHOTS_LB.STATUS.in(JobExecutionStatus.COMMITTED, JobExecutionStatus.ERROR, JobExecutionStatus.CANCELLED))
-        .and(SNAPSHOTS_LB.UPDATED_DATE.lessThan(dsl.select(SNAPSHOTS_LB.PROCESSING_STARTED_DATE)
-          .from(SNAPSHOTS_LB)
-          .where(SNAPSHOTS_LB.ID.eq(UUID.fromString(record.getSnapshotId())))))))
-            .map(res -> {
-              Integer generation = res.get(RECORDS_LB.GENERATION);
-              return Objects.nonNull(generation) ? ++generation : 0;
-            });
+    Set<UUID> matchedIds = Set.of(UUID.fromString(record.getMatchedId()));
+    UUID snapshotId = UUID.fromString(record.getSnapshotId());
+    return txQE.query(dsl -> selectCurrentGenerations(dsl, snapshotId, matchedIds))
+      .compose(res -> res.hasResults()
+        ? Future.succeededFuture(res)
+        : txQE.query(dsl -> selectLatestGenerations(dsl, snapshotId, matchedIds)))
+      .map(res -> {
+        Integer generation = res.hasResults() ? res.get(RECORDS_LB.GENERATION) : null;
+        return Objects.nonNull(generation) ? ++generation : 0;
+      });
   }
 
   @Override
   public Future<ParsedRecord> updateParsedRecord(Record record, String tenantId) {
+    formatParsedRecord(record);
     return getQueryExecutor(tenantId).transaction(txQE -> GenericCompositeFuture.all(Lists.newArrayList(
       updateExternalIdsForRecord(txQE, record),
-      ParsedRecordDaoUtil.update(txQE, record.getParsedRecord(), ParsedRecordDaoUtil.toRecordType(record))
-    )).map(res -> record.getParsedRecord()));
+      ParsedRecordDaoUtil.update(txQE, record.getParsedRecord(), ParsedRecordDaoUtil.toRecordType(record), meterRegistry)
+    )).compose(res -> invalidateCachedRecords(txQE, tenantId, RecordsCache.getRecordIds(record)))
+      .map(res -> record.getParsedRecord()));
   }
 
   @Override
   public Future<ParsedRecordsBatchResponse> updateParsedRecords(RecordCollection recordCollection, String tenantId) {
-    Promise<ParsedRecordsBatchResponse> promise = Promise.promise();
-    Context context = Vertx.currentContext();
-    if(context == null) return Future.failedFuture("updateParsedRecords must be called by a vertx thread");
-
-    context.owner().<ParsedRecordsBatchResponse>executeBlocking(blockingPromise ->
-      {
-        Set<String> recordTypes = new HashSet<>();
+    return updateParsedRecords(recordCollection, UPDATE_RECORDS_SQL, true, tenantId);
+  }
 
-        List<Record> records = new ArrayList<>();
-        List<String> errorMessages = new ArrayList<>();
+  @Override
+  public Future<ParsedRecordsBatchResponse> updateParsedRecordsAndExternalIds(RecordCollection recordCollection, String tenantId) {
+    return updateParsedRecords(recordCollection, UPDATE_RECORDS_EXTERNAL_IDS_SQL, false, tenantId);
+  }
 
-        List<UpdateConditionStep<RecordsLbRecord>> recordUpdates = new ArrayList<>();
-        List<UpdateConditionStep<org.jooq.Record>> parsedRecordUpdates = new ArrayList<>();
+  private Future<ParsedRecordsBatchResponse> updateParsedRecords(RecordCollection recordCollection, String updateRecordsSql,
+                                                                 boolean validateParsedRecords, String tenantId) {
+    Set<String> recordTypes = new HashSet<>();
 
-        Field<UUID> prtId = field(name(ID), UUID.class);
-        Field<JSONB> prtContent = field(name(CONTENT), JSONB.class);
+    List<Record> records = new ArrayList<>();
+    List<String> errorMessages = new ArrayList<>();
 
-        List<ParsedRecord> parsedRecords = recordCollection.getRecords()
-          .stream()
-          .map(this::validateParsedRecordId)
-          .peek(record -> {
+    // the last update of a record wins, as a single statement can not update the same row twice
+    Map<UUID, Tuple> recordUpdates = new LinkedHashMap<>();
+    Map<UUID, Tuple> parsedRecordUpdates = new LinkedHashMap<>();
 
-            // make sure only one record type
-            recordTypes.add(record.getRecordType().name());
-            if (recordTypes.size() > 1) {
-              throw new BadRequestException("Batch record collection only supports single record type");
-            }
+    List<ParsedRecord> parsedRecords;
+    RecordType parsedRecordType;
+    try {
+      parsedRecords = recordCollection.getRecords()
+        .stream()
+        .map(this::validateParsedRecordId)
+        .peek(record -> {
 
-            UpdateSetFirstStep<RecordsLbRecord> updateFirstStep = DSL.update(RECORDS_LB);
-            UpdateSetMoreStep<RecordsLbRecord> updateStep = null;
-
-            // check for external record properties to update
-            ExternalIdsHolder externalIdsHolder = record.getExternalIdsHolder();
-            AdditionalInfo additionalInfo = record.getAdditionalInfo();
-            Metadata metadata = record.getMetadata();
-
-            if (Objects.nonNull(externalIdsHolder)) {
-              var recordType = record.getRecordType();
-              String externalId = getExternalId(externalIdsHolder, recordType);
-              String externalHrid = getExternalHrid(externalIdsHolder, recordType);
-              if (StringUtils.isNotEmpty(externalId)) {
-                  updateStep = updateFirstStep
-                    .set(RECORDS_LB.EXTERNAL_ID, UUID.fromString(externalId));
-              }
-              if (StringUtils.isNotEmpty(externalHrid)) {
-                updateStep = (Objects.isNull(updateStep) ? updateFirstStep : updateStep)
-                  .set(RECORDS_LB.EXTERNAL_HRID, externalHrid);
-              }
-            }
+          // make sure only one record type
+          recordTypes.add(record.getRecordType().name());
+          if (recordTypes.size() > 1) {
+            throw new BadRequestException("Batch record collection only supports single record type");
+          }
 
-            if (Objects.nonNull(additionalInfo)) {
-              if (Objects.nonNull(additionalInfo.getSuppressDiscovery())) {
-                updateStep = (Objects.isNull(updateStep) ? updateFirstStep : updateStep)
-                  .set(RECORDS_LB.SUPPRESS_DISCOVERY, additionalInfo.getSuppressDiscovery());
-              }
-            }
+          // only attempt update if has id and external values to update
+          Tuple recordUpdate = toUpdateRecordTuple(record);
+          if (Objects.nonNull(recordUpdate) && Objects.nonNull(record.getId())) {
+            records.add(record);
+            recordUpdates.put(recordUpdate.getUUID(0), recordUpdate);
+          }
 
-            if (Objects.nonNull(metadata)) {
-              if (StringUtils.isNotEmpty(metadata.getCreatedByUserId())) {
-                updateStep = (Objects.isNull(updateStep) ? updateFirstStep : updateStep)
-                  .set(RECORDS_LB.CREATED_BY_USER_ID, UUID.fromString(metadata.getCreatedByUserId()));
-              }
-              if (Objects.nonNull(metadata.getCreatedDate())) {
-                updateStep = (Objects.isNull(updateStep) ? updateFirstStep : updateStep)
-                  .set(RECORDS_LB.CREATED_DATE, metadata.getCreatedDate().toInstant().atOffset(ZoneOffset.UTC));
-              }
-              if (StringUtils.isNotEmpty(metadata.getUpdatedByUserId())) {
-                updateStep = (Objects.isNull(updateStep) ? updateFirstStep : updateStep)
-                  .set(RECORDS_LB.UPDATED_BY_USER_ID, UUID.fromString(metadata.getUpdatedByUserId()));
-              }
-              if (Objects.nonNull(metadata.getUpdatedDate())) {
-                updateStep = (Objects.isNull(updateStep) ? updateFirstStep : updateStep)
-                  .set(RECORDS_LB.UPDATED_DATE, metadata.getUpdatedDate().toInstant().atOffset(ZoneOffset.UTC));
-              }
+          try {
+            if (validateParsedRecords) {
+              validateParsedRecord(record);
+            } else {
+              formatParsedRecord(record);
             }
 
-            // only attempt update if has id and external values to update
-            if (Objects.nonNull(updateStep) && Objects.nonNull(record.getId())) {
-              records.add(record);
-              recordUpdates.add(updateStep.where(RECORDS_LB.ID.eq(UUID.fromString(record.getId()))));
-            }
+            UUID parsedRecordId = UUID.fromString(record.getParsedRecord().getId());
+            parsedRecordUpdates.put(parsedRecordId, Tuple.of(parsedRecordId,
+              ParsedRecordDaoUtil.normalizeJsonContent(record.getParsedRecord()),
+              ParsedRecordDaoUtil.getStorableFormattedContent(record.getParsedRecord())));
 
-            try {
-              RecordType recordType = toRecordType(record.getRecordType().name());
-              recordType.formatRecord(record);
-
-              parsedRecordUpdates.add(
-                DSL.update(table(name(recordType.getTableName())))
-                  .set(prtContent, JSONB.valueOf(ParsedRecordDaoUtil.normalizeContent(record.getParsedRecord())))
-                  .where(prtId.eq(UUID.fromString(record.getParsedRecord().getId())))
-              );
-
-            } catch (Exception e) {
-              errorMessages.add(format(INVALID_PARSED_RECORD_MESSAGE_TEMPLATE, record.getId(), e.getMessage()));
-              // if invalid parsed record, set id to null to filter out
-              record.getParsedRecord()
-                .setId(null);
-            }
+          } catch (Exception e) {
+            errorMessages.add(format(INVALID_PARSED_RECORD_MESSAGE_TEMPLATE, record.getId(), e.getMessage()));
+            // if invalid parsed record, set id to null to filter out
+            record.getParsedRecord()
+              .setId(null);
+          }
 
-          }).map(Record::getParsedRecord)
-            .filter(parsedRecord -> Objects.nonNull(parsedRecord.getId()))
-            .collect(Collectors.toList());
+        }).map(Record::getParsedRecord)
+          .filter(parsedRecord -> Objects.nonNull(parsedRecord.getId()))
+          .collect(Collectors.toList());
+      parsedRecordType = recordTypes.stream().findFirst().map(QueryParamUtil::toRecordType).orElse(null);
+    } catch (Exception e) {
+      LOG.warn("updateParsedRecords:: Error during update of parsed records", e);
+      return Future.failedFuture(e);
+    }
 
-        try (Connection connection = getConnection(tenantId)) {
-          DSL.using(connection).transaction(ctx -> {
-            DSLContext dsl = DSL.using(ctx);
+    return getCachedPool(tenantId).getDelegate().withTransaction(connection ->
+        // update records, parsed records update is pipelined on the same connection
+        GenericCompositeFuture.all(List.of(
+          executeArrayUpdate(connection, updateRecordsSql, recordUpdates.values(), toUpdateRecordsParams(recordUpdates.values())),
+          Objects.nonNull(parsedRecordType)
+            ? updateContents(connection, parsedRecordType, parsedRecordUpdates.values())
+            : Future.<Set<UUID>>succeededFuture(Set.of())
+        )))
+      .compose(results -> invalidateCachedRecords(getQueryExecutor(tenantId), tenantId, getRecordIds(recordCollection.getRecords())).map(results))
+      .map(results -> {
+        // check record update results
+        Set<UUID> updatedRecordIds = results.resultAt(0);
+        for (Record record : records) {
+          if (!updatedRecordIds.contains(UUID.fromString(record.getId()))) {
+            errorMessages.add(format("Record with id %s was not updated", record.getId()));
+          }
+        }
 
-            // update records
-            int[] recordUpdateResults = dsl.batch(recordUpdates).execute();
+        // check parsed record update results
+        Set<UUID> updatedParsedRecordIds = results.resultAt(1);
+        List<ParsedRecord> parsedRecordsUpdated = new ArrayList<>();
+        for (ParsedRecord parsedRecord : parsedRecords) {
+          if (!updatedParsedRecordIds.contains(UUID.fromString(parsedRecord.getId()))) {
+            errorMessages.add(format("Parsed Record with id '%s' was not updated", parsedRecord.getId()));
+          } else {
+            parsedRecordsUpdated.add(parsedRecord);
+          }
+        }
 
-            // check record update results
-            for (int i = 0; i < recordUpdateResults.length; i++) {
-              int result = recordUpdateResults[i];
-              if (result == 0) {
-                errorMessages.add(format("Record with id %s was not updated", records.get(i).getId()));
-              }
-            }
+        return new ParsedRecordsBatchResponse()
+          .withErrorMessages(errorMessages)
+          .withParsedRecords(parsedRecordsUpdated)
+          .withTotalRecords(parsedRecordsUpdated.size());
+      })
+      .onComplete(result -> {
+        if (result.failed()) {
+          LOG.warn("updateParsedRecords:: Error during update of parsed records", result.cause());
+        } else {
+          LOG.debug("updateParsedRecords:: Parsed records update was successful");
+        }
+      });
+  }
 
-            // update parsed records
-            int[] parsedRecordUpdateResults = dsl.batch(parsedRecordUpdates).execute();
-
-            // check parsed record update results
-            List<ParsedRecord> parsedRecordsUpdated = new ArrayList<>();
-            for (int i = 0; i < parsedRecordUpdateResults.length; i++) {
-              int result = parsedRecordUpdateResults[i];
-              ParsedRecord parsedRecord = parsedRecords.get(i);
-              if (result == 0) {
-                errorMessages.add(format("Parsed Record with id '%s' was not updated", parsedRecord.getId()));
-              } else {
-                parsedRecordsUpdated.add(parsedRecord);
-              }
-            }
+  @Override
+  public Future<List<String>> updatePreviousRecordsState(String externalId, String snapshotId, RecordType recordType, String tenantId) {
+    return updatePreviousRecordsState(UPDATE_PREVIOUS_RECORD_STATE_SQL,
+      Tuple.of(UUID.fromString(externalId), UUID.fromString(snapshotId), recordType.name()), List.of(externalId), tenantId);
+  }
 
-            blockingPromise.complete(new ParsedRecordsBatchResponse()
-              .withErrorMessages(errorMessages)
-              .withParsedRecords(parsedRecordsUpdated)
-              .withTotalRecords(parsedRecordsUpdated.size()));
-          });
-        } catch (SQLException e) {
-          LOG.warn("updateParsedRecords:: Failed to update records", e);
-          blockingPromise.fail(e);
-        }},
-        false,
-          result -> {
-            if (result.failed()) {
-              LOG.warn("updateParsedRecords:: Error during update of parsed records", result.cause());
-              promise.fail(result.cause());
-            } else {
-              LOG.debug("updateParsedRecords:: Parsed records update was successful");
-              promise.complete(result.result());
-            }
-          });
+  @Override
+  public Future<List<String>> updatePreviousRecordsState(Map<String, String> snapshotIdsByExternalId, RecordType recordType, String tenantId) {
+    if (snapshotIdsByExternalId.size() == 1) {
+      Map.Entry<String, String> entry = snapshotIdsByExternalId.entrySet().iterator().next();
+      return updatePreviousRecordsState(entry.getKey(), entry.getValue(), recordType, tenantId);
+    }
+    UUID[] externalIds = new UUID[snapshotIdsByExternalId.size()];
+    UUID[] snapshotIds = new UUID[snapshotIdsByExternalId.size()];
+    int i = 0;
+    for (Map.Entry<String, String> entry : snapshotIdsByExternalId.entrySet()) {
+      externalIds[i] = UUID.fromString(entry.getKey());
+      snapshotIds[i++] = UUID.fromString(entry.getValue());
+    }
+    return updatePreviousRecordsState(UPDATE_PREVIOUS_RECORDS_STATE_SQL,
+      Tuple.tuple().addArrayOfUUID(externalIds).addArrayOfUUID(snapshotIds).addString(recordType.name()),
+      snapshotIdsByExternalId.keySet(), tenantId);
+  }
 
-    return promise.future();
+  private Future<List<String>> updatePreviousRecordsState(String sql, Tuple params, Collection<String> externalIds, String tenantId) {
+    return getCachedPool(tenantId).getDelegate()
+      .preparedQuery(sql)
+      .execute(params)
+      .map(rows -> {
+        List<String> ids = new ArrayList<>();
+        rows.forEach(row -> ids.add(row.getUUID(0).toString()));
+        return ids;
+      })
+      .compose(ids -> {
+        Set<String> changedIds = new HashSet<>(externalIds);
+        changedIds.addAll(ids);
+        return invalidateCachedRecords(getQueryExecutor(tenantId), tenantId, changedIds).map(ids);
+      })
+      .onFailure(e -> LOG.warn("updatePreviousRecordsState:: Failed to update state of previous records", e));
   }
 
   @Override
@@ -860,15 +1222,21 @@ public class RecordDaoImpl implements RecordDao {
       String externalId, IdType idType) {
     Condition condition = RecordDaoUtil.getExternalIdCondition(externalId, idType)
       .and(RECORDS_LB.STATE.eq(RecordState.ACTUAL));
-    return txQE.findOneRow(dsl -> dsl.selectFrom(RECORDS_LB)
-      .where(condition)
-      .orderBy(RECORDS_LB.GENERATION.sort(SortOrder.DESC))
-      .limit(1))
-        .map(RecordDaoUtil::toOptionalRecord)
-        .compose(optionalRecord -> optionalRecord
-          .map(record -> lookupAssociatedRecords(txQE, record, false).map(Optional::of))
-          .orElse(Future.failedFuture(new NotFoundException(format(RECORD_NOT_FOUND_BY_ID_TYPE, idType, externalId)))))
-        .onFailure(v -> txQE.rollback());
+    return findRecordsWithAssociatedRecords(txQE, condition, List.of(RECORDS_LB.GENERATION.sort(SortOrder.DESC)), 1, false)
+      .compose(records -> records.stream()
+        .findFirst()
+        .map(record -> Future.succeededFuture(Optional.of(record)))
+        .orElse(Future.failedFuture(new NotFoundException(format(RECORD_NOT_FOUND_BY_ID_TYPE, idType, externalId)))))
+      .onFailure(v -> txQE.rollback());
+  }
+
+  @Override
+  public Future<Optional<Record>> getFormattedRecordByExternalId(String externalId, IdType idType, String tenantId) {
+    Condition condition = RecordDaoUtil.getExternalIdCondition(externalId, idType)
+      .and(RECORDS_LB.STATE.eq(RecordState.ACTUAL));
+    return findRecordsWithAssociatedRecords(getQueryExecutor(tenantId), condition,
+        List.of(RECORDS_LB.GENERATION.sort(SortOrder.DESC)), 1, false, true)
+      .map(records -> records.stream().findFirst());
   }
 
   @Override
@@ -878,14 +1246,14 @@ public class RecordDaoImpl implements RecordDao {
     }
     var marcHrid = DSL.field("marc.hrid");
 
-    return getQueryExecutor(tenantId).transaction(txQE -> txQE.query(dsl ->
+    return executeOnReader(queryExecutor -> queryExecutor.transaction(txQE -> txQE.query(dsl ->
       dsl.selectDistinct(marcHrid)
         .from("(SELECT unnest(" + DSL.array(marcBibIds.toArray()) + ") as hrid) as marc")
         .leftJoin(RECORDS_LB)
         .on(RECORDS_LB.EXTERNAL_HRID.eq(marcHrid.cast(String.class))
           .and(RECORDS_LB.RECORD_TYPE.equal(MARC_BIB)))
         .where(RECORDS_LB.EXTERNAL_HRID.isNull())
-    )).map(this::toMarcBibCollection);
+    )), tenantId).map(this::toMarcBibCollection);
   }
 
   private MarcBibCollection toMarcBibCollection(QueryResult result) {
@@ -901,52 +1269,268 @@ public class RecordDaoImpl implements RecordDao {
   }
 
   @Override
-  public Future<Record> saveUpdatedRecord(ReactiveClassicGenericQueryExecutor txQE, Record newRecord, Record oldRecord) {
-    return insertOrUpdateRecord(txQE, oldRecord).compose(r -> insertOrUpdateRecord(txQE, newRecord));
+  public Future<Record> saveUpdatedRecord(ReactiveClassicGenericQueryExecutor txQE, Record newRecord, Record oldRecord, String tenantId) {
+    return insertOrUpdateRecord(txQE, oldRecord)
+      .compose(r -> insertOrUpdateRecord(txQE, newRecord))
+      .compose(savedRecord -> invalidateCachedRecords(txQE, tenantId, getRecordIds(List.of(oldRecord, savedRecord))).map(savedRecord));
   }
 
   @Override
   public Future<Boolean> updateSuppressFromDiscoveryForRecord(String id, IdType idType, Boolean suppress, String tenantId) {
     return getQueryExecutor(tenantId).transaction(txQE -> getRecordByExternalId(txQE, id, idType)
       .compose(optionalRecord -> optionalRecord
-        .map(record -> RecordDaoUtil.update(txQE, record.withAdditionalInfo(record.getAdditionalInfo().withSuppressDiscovery(suppress))))
+        .map(record -> RecordDaoUtil.update(txQE, record.withAdditionalInfo(record.getAdditionalInfo().withSuppressDiscovery(suppress)))
+          .compose(updatedRecord -> invalidateCachedRecords(txQE, tenantId, RecordsCache.getRecordIds(record))))
       .orElse(Future.failedFuture(new NotFoundException(format(RECORD_NOT_FOUND_BY_ID_TYPE, idType, id))))))
         .map(u -> true);
   }
 
   @Override
   public Future<Boolean> deleteRecordsBySnapshotId(String snapshotId, String tenantId) {
-    return SnapshotDaoUtil.delete(getQueryExecutor(tenantId), snapshotId);
+    return SnapshotDaoUtil.delete(getQueryExecutor(tenantId), snapshotId)
+      .compose(deleted -> invalidateCachedRecords(tenantId).map(deleted));
   }
 
   @Override
-  public Future<Void> deleteRecords(int lastUpdatedDays, int limit, String tenantId) {
-    Promise<Void> promise = Promise.promise();
-    var selectIdsForDeleteQuery = select(RECORDS_LB.ID)
-      .from(RECORDS_LB)
-      .where(RECORDS_LB.STATE.eq(RecordState.DELETED)).and(RECORDS_LB.UPDATED_DATE.le(OffsetDateTime.now().minusDays(lastUpdatedDays)))
-      .orderBy(RECORDS_LB.CREATED_DATE.asc());
-    if (limit > 0) {
-      selectIdsForDeleteQuery.limit(limit);
+  public Future<List<String>> getExternalIdsBySnapshotId(String snapshotId, RecordType recordType, String lastExternalId, int limit,
+                                                         String tenantId) {
+    UUID snapshotUuid = RecordDaoUtil.toUUID(snapshotId);
+    PreparedQuery<RowSet<Row>> query = getCachedPool(tenantId).getDelegate().preparedQuery(Objects.isNull(lastExternalId)
+      ? SELECT_SNAPSHOT_EXTERNAL_IDS_SQL : SELECT_SNAPSHOT_EXTERNAL_IDS_AFTER_SQL);
+    Tuple params = Objects.isNull(lastExternalId)
+      ? Tuple.of(snapshotUuid, recordType.name(), limit)
+      : Tuple.of(snapshotUuid, recordType.name(), limit, RecordDaoUtil.toUUID(lastExternalId));
+    return query.execute(params)
+      .map(rows -> {
+        List<String> externalIds = new ArrayList<>(rows.size());
+        rows.forEach(row -> externalIds.add(row.getUUID(EXTERNAL_ID).toString()));
+        return externalIds;
+      });
+  }
+
+  @Override
+  public Future<Integer> purgeRecordsBySnapshotId(String snapshotId, int limit, String tenantId) {
+    return getCachedPool(tenantId).getDelegate().preparedQuery(DELETE_SNAPSHOT_RECORDS_SQL)
+      .execute(Tuple.of(RecordDaoUtil.toUUID(snapshotId), limit))
+      .compose(rows -> {
+        Set<String> ids = new HashSet<>();
+        rows.forEach(row -> Stream.of(row.getUUID(ID), row.getUUID(MATCHED_ID), row.getUUID(EXTERNAL_ID))
+          .filter(Objects::nonNull)
+          .forEach(id -> ids.add(id.toString())));
+        return invalidateCachedRecords(getQueryExecutor(tenantId), tenantId, ids).map(rows.rowCount());
+      });
+  }
+
+  @Override
+  public Future<Integer> purgeDeletedRecords(int lastUpdatedDays, int limit, String tenantId) {
+    OffsetDateTime updatedBefore = OffsetDateTime.now().minusDays(lastUpdatedDays);
+    // progress row is locked, so module instances do not purge the same batch concurrently
+    return getCachedPool(tenantId).getDelegate().withTransaction(connection -> connection.query(SELECT_PURGE_PROGRESS_SQL).execute()
+      .compose(progress -> selectRecordsToPurge(connection, progress, updatedBefore, limit))
+      .compose(records -> {
+        List<UUID> ids = new ArrayList<>();
+        Row lastRecord = null;
+        for (Row record : records) {
+          ids.add(record.getUUID(ID));
+          lastRecord = record;
+        }
+        // pass starts over once records after the checkpoint are purged, so records deleted behind the checkpoint are purged by the next pass
+        Tuple checkpoint = ids.size() < limit || Objects.isNull(lastRecord.getOffsetDateTime(CREATED_DATE))
+          ? Tuple.of(null, null)
+          : Tuple.of(lastRecord.getOffsetDateTime(CREATED_DATE), lastRecord.getUUID(ID));
+        // cached records are not invalidated since only records in ACTUAL state are cached
+        return (ids.isEmpty() ? Future.<RowSet<Row>>succeededFuture()
+          : connection.preparedQuery(DELETE_RECORDS_BY_IDS_SQL).execute(Tuple.of(ids.toArray(UUID[]::new))))
+          .compose(deleted -> connection.preparedQuery(UPDATE_PURGE_PROGRESS_SQL).execute(checkpoint))
+          .map(ids.size());
+      }));
+  }
+
+  @Override
+  public Future<Integer> purgeUnreferencedRawRecordContents(int limit, String tenantId) {
+    return getCachedPool(tenantId).getDelegate().preparedQuery(DELETE_UNREFERENCED_RAW_RECORD_CONTENTS_SQL)
+      .execute(Tuple.of(limit))
+      .map(RowSet::rowCount);
+  }
+
+  private Future<RowSet<Row>> selectRecordsToPurge(SqlConnection connection, RowSet<Row> progress, OffsetDateTime updatedBefore, int limit) {
+    Row checkpoint = progress.iterator().hasNext() ? progress.iterator().next() : null;
+    if (Objects.isNull(checkpoint) || Objects.isNull(checkpoint.getOffsetDateTime(LAST_CREATED_DATE))) {
+      return connection.preparedQuery(SELECT_RECORDS_TO_PURGE_SQL).execute(Tuple.of(updatedBefore, limit));
     }
-    getQueryExecutor(tenantId).execute(dsl -> dsl.deleteFrom(RECORDS_LB).where(RECORDS_LB.ID.in(selectIdsForDeleteQuery)))
-      .onSuccess(succeededAr -> promise.complete())
-      .onFailure(promise::fail);
-    return promise.future();
+    return connection.preparedQuery(SELECT_RECORDS_TO_PURGE_AFTER_SQL)
+      .execute(Tuple.of(updatedBefore, limit, checkpoint.getOffsetDateTime(LAST_CREATED_DATE), checkpoint.getUUID(LAST_ID)));
   }
 
   @Override
   public Future<Void> updateRecordsState(String matchedId, RecordState state, String tenantId) {
     Promise<Void> promise = Promise.promise();
-    getQueryExecutor(tenantId).execute(dsl -> dsl.update(RECORDS_LB)
+    // cached source records are looked up by record id and external id only, so ids of all generations are returned
+    getQueryExecutor(tenantId).findManyRow(dsl -> dsl.update(RECORDS_LB)
         .set(RECORDS_LB.STATE, state)
         .where(RECORDS_LB.MATCHED_ID.eq(UUID.fromString(matchedId)))
+        .returning(RECORDS_LB.ID, RECORDS_LB.EXTERNAL_ID)
       )
+      .compose(rows -> {
+        Set<String> ids = new HashSet<>(List.of(matchedId));
+        rows.forEach(row -> Stream.of(row.getUUID(ID), row.getUUID(EXTERNAL_ID))
+          .filter(Objects::nonNull)
+          .forEach(id -> ids.add(id.toString())));
+        return invalidateCachedRecords(getQueryExecutor(tenantId), tenantId, ids);
+      })
       .onSuccess(succeededAr -> promise.complete())
       .onFailure(promise::fail);
     return promise.future();
   }
 
+  private Set<String> getRecordIds(List<Record> records) {
+    return records.stream()
+      .flatMap(record -> RecordsCache.getRecordIds(record).stream())
+      .collect(Collectors.toSet());
+  }
+
+  /**
+   * Invalidates cached records which have any of provided ids and notifies other module instances about changed records,
+   * notifications sent by the query executor in transaction are delivered once the transaction is committed
+   */
+  private Future<Void> invalidateCachedRecords(ReactiveClassicGenericQueryExecutor queryExecutor, String tenantId, Collection<String> ids) {
+    if (Objects.isNull(recordsCache) || ids.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    recordsCache.invalidate(tenantId, ids);
+    return notifyRecordsChanged(queryExecutor, recordsCache.toNotifications(tenantId, ids));
+  }
+
+  private Future<Void> invalidateCachedRecords(String tenantId) {
+    if (Objects.isNull(recordsCache)) {
+      return Future.succeededFuture();
+    }
+    recordsCache.invalidateAll(tenantId);
+    return notifyRecordsChanged(getQueryExecutor(tenantId), List.of(recordsCache.toNotification(tenantId)));
+  }
+
+  /* notifications are sent by one statement, so they are delivered on commit of the transaction changing the records */
+  private Future<Void> notifyRecordsChanged(ReactiveClassicGenericQueryExecutor queryExecutor, List<String> notifications) {
+    return queryExecutor.execute(dsl -> dsl.select(notifications.stream()
+        .map(notification -> field(NOTIFY_TEMPLATE, DSL.val(recordsCache.getChannel()), DSL.val(notification)))
+        .collect(Collectors.toList())))
+      .<Void>mapEmpty()
+      .recover(e -> {
+        // changed records are still evicted from cache of other instances on expiration
+        LOG.warn("notifyRecordsChanged:: Failed to notify about changed records", e);
+        return Future.succeededFuture();
+      });
+  }
+
+  private Future<SourceRecordCollection> getSourceRecords(Condition condition, Name prt, Collection<OrderField<?>> orderFields, int offset,
+                                                          int limit, TotalRecordsMode totalRecordsMode, RecordProjection projection,
+                                                          String tenantId) {
+    return executeOnReader(queryExecutor -> queryExecutor.transaction(txQE -> txQE.query(dsl -> dsl
+      .select(getSourceRecordFields(prt, projection))
+        .from(getSourceRecordsTable(prt, projection))
+        .where(condition)
+        .orderBy(orderFields)
+        .offset(offset)
+        .limit(limit))
+      .compose(queryResult -> {
+        List<SourceRecord> sourceRecords = queryResult.stream()
+          .map(res -> asRow(res.unwrap()))
+          .map(row -> toSourceRecord(row, projection))
+          .collect(Collectors.toList());
+        return getTotalRecords(txQE, dsl -> dsl.selectOne().from(RECORDS_LB).where(condition), offset, limit, sourceRecords.size(), totalRecordsMode)
+          .map(totalRecords -> new SourceRecordCollection().withSourceRecords(sourceRecords).withTotalRecords(totalRecords));
+      })), tenantId);
+  }
+
+  /*
+   * Total records number is known without counting if the page is not full, otherwise it is estimated by query planner
+   * for ESTIMATED mode and is not provided for NONE mode. Estimate is kept consistent with the page: it is not less
+   * than the number of rows up to the end of a full page plus one, as more rows may follow it, and not greater
+   * than the offset if there are no rows after it
+   */
+  private Future<Integer> getTotalRecords(ReactiveClassicGenericQueryExecutor txQE, Function<DSLContext, Select<?>> countQuery,
+                                          int offset, int limit, int pageSize, TotalRecordsMode totalRecordsMode) {
+    if (totalRecordsMode == TotalRecordsMode.NONE) {
+      return Future.succeededFuture();
+    }
+    if (pageSize < limit && (pageSize > 0 || offset == 0)) {
+      return Future.succeededFuture(offset + pageSize);
+    }
+    return txQE.findOneRow(dsl -> dsl.resultQuery(EXPLAIN_QUERY_TEMPLATE, countQuery.apply(dsl)))
+      .map(this::toEstimatedRows)
+      .map(estimatedRows -> pageSize == 0 && limit > 0
+        ? Math.min(estimatedRows, offset)
+        : Math.max(estimatedRows, pageSize > 0 ? offset + pageSize + 1 : offset));
+  }
+
+  private Integer toEstimatedRows(Row row) {
+    Object plan = row.getValue(0);
+    JsonArray plans = plan instanceof JsonArray ? (JsonArray) plan : new JsonArray(String.valueOf(plan));
+    return plans.getJsonObject(0).getJsonObject(PLAN).getNumber(PLAN_ROWS).intValue();
+  }
+
+  /*
+   * Rows are read through the cursor by fetchSize rows per round trip and emitted in batches of the same size,
+   * so the consumer can process a whole fetch at once
+   */
+  private <T> Flowable<List<T>> streamBatches(Query query, int fetchSize, Function<Row, T> mapper, String tenantId) {
+    return streamOnReader(pool -> streamRows(pool, query, fetchSize, row -> mapper.apply(toRow(row))).buffer(fetchSize), tenantId);
+  }
+
+  private <T> Flowable<T> streamRows(PgPool pool, Query query, int fetchSize, Function<io.vertx.reactivex.sqlclient.Row, T> mapper) {
+    return pool.rxGetConnection()
+      .flatMapPublisher(conn -> conn.rxBegin()
+        .flatMapPublisher(tx -> conn.rxPrepare(PreparedQueryUtil.toPreparedSql(query))
+          .flatMapPublisher(pq -> pq.createStream(fetchSize, toBindValues(query))
+            .toFlowable()
+            .map(mapper::apply))
+          .doAfterTerminate(tx::commit)));
+  }
+
+  /*
+   * Read-only stream is read from a read replica if there is an available one, stream which fails before
+   * emitting anything is read from the primary
+   */
+  private <T> Flowable<T> streamOnReader(Function<PgPool, Flowable<T>> stream, String tenantId) {
+    Optional<PgPool> readerPool = postgresClientFactory.getCachedReaderPool(tenantId);
+    if (readerPool.isEmpty()) {
+      return stream.apply(getCachedPool(tenantId));
+    }
+    AtomicBoolean emitted = new AtomicBoolean();
+    return stream.apply(readerPool.get())
+      .doOnNext(item -> emitted.set(true))
+      .onErrorResumeNext(e -> {
+        if (emitted.get()) {
+          return Flowable.error(e);
+        }
+        LOG.warn("streamOnReader:: Failed to stream from read replica, streaming from primary", e);
+        return stream.apply(getCachedPool(tenantId));
+      });
+  }
+
+  /*
+   * Read-only query is executed on a read replica if there is an available one, query which fails
+   * on the replica is repeated on the primary
+   */
+  private <T> Future<T> executeOnReader(Function<ReactiveClassicGenericQueryExecutor, Future<T>> action, String tenantId) {
+    return postgresClientFactory.getReaderQueryExecutor(tenantId)
+      .map(readerQE -> action.apply(readerQE)
+        .recover(e -> {
+          LOG.warn("executeOnReader:: Failed to query read replica, querying primary", e);
+          return action.apply(getQueryExecutor(tenantId));
+        }))
+      .orElseGet(() -> action.apply(getQueryExecutor(tenantId)));
+  }
+
+  private io.vertx.reactivex.sqlclient.Tuple toBindValues(Query query) {
+    return io.vertx.reactivex.sqlclient.Tuple.newInstance(PreparedQueryUtil.toBindValues(query));
+  }
+
+  /* there is no need to fetch more rows than the limit */
+  private int toFetchSize(int fetchSize, int limit) {
+    return Math.max(1, Math.min(fetchSize, limit));
+  }
+
   private ReactiveClassicGenericQueryExecutor getQueryExecutor(String tenantId) {
     return postgresClientFactory.getQueryExecutor(tenantId);
   }
@@ -967,30 +1551,47 @@ public class RecordDaoImpl implements RecordDao {
     return row;
   }
 
-  private Future<Optional<Record>> lookupAssociatedRecords(ReactiveClassicGenericQueryExecutor txQE, Optional<Record> record, boolean includeErrorRecord) {
-    if (record.isPresent()) {
-      return lookupAssociatedRecords(txQE, record.get(), includeErrorRecord).map(Optional::of);
-    }
-    return Future.succeededFuture(record);
-  }
-
-  private Future<Record> lookupAssociatedRecords(ReactiveClassicGenericQueryExecutor txQE, Record record, boolean includeErrorRecord) {
-    List<Future<Record>> futures = new ArrayList<>();
-    futures.add(RawRecordDaoUtil.findById(txQE, record.getId()).map(rr -> {
-      rr.ifPresent(record::withRawRecord);
-      return record;
-    }));
-    futures.add(ParsedRecordDaoUtil.findById(txQE, record.getId(), ParsedRecordDaoUtil.toRecordType(record)).map(pr -> {
-      pr.ifPresent(record::withParsedRecord);
-      return record;
-    }));
-    if (includeErrorRecord) {
-      futures.add(ErrorRecordDaoUtil.findById(txQE, record.getId()).map(er -> {
-        er.ifPresent(record::withErrorRecord);
-        return record;
-      }));
-    }
-    return GenericCompositeFuture.all(futures).map(res -> record);
+  /*
+   * Searches for records along with raw, parsed and error records in a single query,
+   * parsed record content is taken from the table of corresponding record type
+   */
+  private Future<List<Record>> findRecordsWithAssociatedRecords(ReactiveClassicGenericQueryExecutor txQE, Condition condition,
+                                                                Collection<OrderField<?>> orderFields, int limit,
+                                                                boolean includeErrorRecord) {
+    return findRecordsWithAssociatedRecords(txQE, condition, orderFields, limit, includeErrorRecord, false);
+  }
+
+  /*
+   * Searches for records along with associated records, formatted content stored along with parsed record
+   * is selected if requested
+   */
+  private Future<List<Record>> findRecordsWithAssociatedRecords(ReactiveClassicGenericQueryExecutor txQE, Condition condition,
+                                                                Collection<OrderField<?>> orderFields, int limit,
+                                                                boolean includeErrorRecord, boolean includeFormattedContent) {
+    Name marcPrt = name(RecordType.MARC_BIB.getTableName());
+    Name edifactPrt = name(RecordType.EDIFACT.getTableName());
+    return txQE.query(dsl -> {
+      Table<?> associatedRecords = RECORDS_LB
+        .leftJoin(RAW_RECORDS_LB).on(RECORDS_LB.ID.eq(RAW_RECORDS_LB.ID))
+        .leftJoin(table(marcPrt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, marcPrt, name(ID))))
+        .leftJoin(table(edifactPrt)).on(RECORDS_LB.ID.eq(field(TABLE_FIELD_TEMPLATE, UUID.class, edifactPrt, name(ID))));
+      if (includeErrorRecord) {
+        associatedRecords = associatedRecords.leftJoin(ERROR_RECORDS_LB).on(RECORDS_LB.ID.eq(ERROR_RECORDS_LB.ID));
+      }
+      Field<?>[] fields = getRecordWithAssociatedRecordsFields(marcPrt, edifactPrt, includeErrorRecord);
+      if (includeFormattedContent) {
+        fields = (Field<?>[]) ArrayUtils.add(fields, coalesce(field(TABLE_FIELD_TEMPLATE, String.class, marcPrt, name(FORMATTED_CONTENT)),
+          field(TABLE_FIELD_TEMPLATE, String.class, edifactPrt, name(FORMATTED_CONTENT))).as(PARSED_RECORD_FORMATTED_CONTENT));
+      }
+      return dsl.select(fields)
+        .from(associatedRecords)
+        .where(condition)
+        .orderBy(orderFields)
+        .limit(limit);
+    }).map(queryResult -> queryResult.stream()
+      .map(res -> asRow(res.unwrap()))
+      .map(this::toRecord)
+      .collect(Collectors.toList()));
   }
 
   private Future<Record> insertOrUpdateRecord(ReactiveClassicGenericQueryExecutor txQE, Record record) {
@@ -1021,13 +1622,34 @@ public class RecordDaoImpl implements RecordDao {
       });
   }
 
+  /*
+   * Parsed record is validated by a check of its structure, formatted content is stored if the record can be formatted,
+   * so full formatting does not reject records
+   */
+  private void validateParsedRecord(Record record) throws FormatRecordException {
+    record.getParsedRecord().setFormattedContent(null);
+    toRecordType(record.getRecordType().name()).validateRecord(record);
+    if (Objects.isNull(record.getParsedRecord().getFormattedContent())) {
+      formatParsedRecord(record);
+    }
+  }
+
+  private void formatParsedRecord(Record record) {
+    // formatted content sent along with the parsed record may be stale
+    record.getParsedRecord().setFormattedContent(null);
+    try {
+      ParsedRecordDaoUtil.toRecordType(record).formatRecord(record);
+    } catch (Exception e) {
+      // record which can not be formatted is formatted on read
+      LOG.warn("formatParsedRecord:: Couldn't format {} record", record.getRecordType(), e);
+    }
+  }
+
   private Future<ParsedRecord> insertOrUpdateParsedRecord(ReactiveClassicGenericQueryExecutor txQE, Record record) {
     try {
       LOG.trace("insertOrUpdateParsedRecord:: Inserting or updating {} parsed record", record.getRecordType());
-      // attempt to format record to validate
-      RecordType recordType = toRecordType(record.getRecordType().name());
-      recordType.formatRecord(record);
-      return ParsedRecordDaoUtil.save(txQE, record.getParsedRecord(), ParsedRecordDaoUtil.toRecordType(record))
+      validateParsedRecord(record);
+      return ParsedRecordDaoUtil.save(txQE, record.getParsedRecord(), ParsedRecordDaoUtil.toRecordType(record), meterRegistry)
         .map(parsedRecord -> {
           record.withLeaderRecordStatus(ParsedRecordDaoUtil.getLeaderStatus(record.getParsedRecord()));
           return parsedRecord;
@@ -1044,6 +1666,243 @@ public class RecordDaoImpl implements RecordDao {
     }
   }
 
+  private Future<RowSet<Row>> executeBatch(SqlConnection connection, String sql, List<Tuple> batch) {
+    if (batch.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    return connection.preparedQuery(sql).executeBatch(batch);
+  }
+
+  /* executes update which binds values as arrays and returns ids of updated rows */
+  private Future<Set<UUID>> executeArrayUpdate(SqlConnection connection, String sql, Collection<Tuple> updates, Tuple params) {
+    if (updates.isEmpty()) {
+      return Future.succeededFuture(Set.of());
+    }
+    return connection.preparedQuery(sql).execute(params)
+      .map(rows -> {
+        Set<UUID> ids = new HashSet<>();
+        rows.forEach(row -> ids.add(row.getUUID(0)));
+        return ids;
+      });
+  }
+
+  private Future<Set<UUID>> updateContents(SqlConnection connection, RecordType recordType, Collection<Tuple> contentUpdates) {
+    if (contentUpdates.isEmpty()) {
+      return Future.succeededFuture(Set.of());
+    }
+    return connection.preparedQuery(format(UPDATE_CONTENT_SQL_TEMPLATE, recordType.getTableName()))
+      .execute(toUpdateContentParams(contentUpdates))
+      .map(rows -> {
+        Set<UUID> ids = new HashSet<>();
+        long skipped = 0;
+        for (Row row : rows) {
+          ids.add(row.getUUID(ID));
+          if (!row.getBoolean(WRITTEN)) {
+            skipped++;
+          }
+        }
+        ParsedRecordDaoUtil.countSkippedWrites(meterRegistry, recordType, skipped);
+        return ids;
+      });
+  }
+
+  private long countNotAffected(RowSet<Row> results) {
+    long count = 0;
+    for (RowSet<Row> result = results; Objects.nonNull(result); result = result.next()) {
+      if (result.rowCount() == 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private Tuple toUpdateRecordsParams(Collection<Tuple> recordUpdates) {
+    // values are bound in the order of toUpdateRecordTuple values
+    return Tuple.tuple()
+      .addArrayOfUUID(toArray(recordUpdates, 0, UUID.class, UUID[]::new))
+      .addArrayOfUUID(toArray(recordUpdates, 1, UUID.class, UUID[]::new))
+      .addArrayOfString(toArray(recordUpdates, 2, String.class, String[]::new))
+      .addArrayOfBoolean(toArray(recordUpdates, 3, Boolean.class, Boolean[]::new))
+      .addArrayOfUUID(toArray(recordUpdates, 4, UUID.class, UUID[]::new))
+      .addArrayOfOffsetDateTime(toArray(recordUpdates, 5, OffsetDateTime.class, OffsetDateTime[]::new))
+      .addArrayOfUUID(toArray(recordUpdates, 6, UUID.class, UUID[]::new))
+      .addArrayOfOffsetDateTime(toArray(recordUpdates, 7, OffsetDateTime.class, OffsetDateTime[]::new));
+  }
+
+  private Tuple toUpdateContentParams(Collection<Tuple> contentUpdates) {
+    return Tuple.tuple()
+      .addArrayOfUUID(toArray(contentUpdates, 0, UUID.class, UUID[]::new))
+      .addArrayOfJsonObject(toArray(contentUpdates, 1, JsonObject.class, JsonObject[]::new))
+      .addArrayOfString(toArray(contentUpdates, 2, String.class, String[]::new));
+  }
+
+  private static <T> T[] toArray(Collection<Tuple> tuples, int position, Class<T> type, IntFunction<T[]> generator) {
+    return tuples.stream()
+      .map(tuple -> tuple.get(type, position))
+      .toArray(generator);
+  }
+
+  private Tuple toInsertRecordTuple(RecordsLbRecord dbRecord) {
+    // values are bound in the order of RECORD_FIELDS
+    return Tuple.of(dbRecord.getId(),
+      dbRecord.getSnapshotId(),
+      dbRecord.getMatchedId(),
+      dbRecord.getGeneration(),
+      toLiteral(dbRecord.getRecordType()),
+      dbRecord.getExternalId(),
+      toLiteral(dbRecord.getState()),
+      dbRecord.getLeaderRecordStatus(),
+      dbRecord.getOrder(),
+      dbRecord.getSuppressDiscovery(),
+      dbRecord.getCreatedByUserId(),
+      dbRecord.getCreatedDate(),
+      dbRecord.getUpdatedByUserId(),
+      dbRecord.getUpdatedDate(),
+      dbRecord.getExternalHrid());
+  }
+
+  private Tuple toUpdateRecordTuple(Record record) {
+    UUID externalId = null;
+    String externalHrid = null;
+    Boolean suppressDiscovery = null;
+    UUID createdByUserId = null;
+    OffsetDateTime createdDate = null;
+    UUID updatedByUserId = null;
+    OffsetDateTime updatedDate = null;
+
+    // check for external record properties to update
+    ExternalIdsHolder externalIdsHolder = record.getExternalIdsHolder();
+    AdditionalInfo additionalInfo = record.getAdditionalInfo();
+    Metadata metadata = record.getMetadata();
+
+    if (Objects.nonNull(externalIdsHolder)) {
+      var recordType = record.getRecordType();
+      String externalIdValue = getExternalId(externalIdsHolder, recordType);
+      if (StringUtils.isNotEmpty(externalIdValue)) {
+        externalId = UUID.fromString(externalIdValue);
+      }
+      externalHrid = StringUtils.defaultIfEmpty(getExternalHrid(externalIdsHolder, recordType), null);
+    }
+
+    if (Objects.nonNull(additionalInfo)) {
+      suppressDiscovery = additionalInfo.getSuppressDiscovery();
+    }
+
+    if (Objects.nonNull(metadata)) {
+      if (StringUtils.isNotEmpty(metadata.getCreatedByUserId())) {
+        createdByUserId = UUID.fromString(metadata.getCreatedByUserId());
+      }
+      if (Objects.nonNull(metadata.getCreatedDate())) {
+        createdDate = metadata.getCreatedDate().toInstant().atOffset(ZoneOffset.UTC);
+      }
+      if (StringUtils.isNotEmpty(metadata.getUpdatedByUserId())) {
+        updatedByUserId = UUID.fromString(metadata.getUpdatedByUserId());
+      }
+      if (Objects.nonNull(metadata.getUpdatedDate())) {
+        updatedDate = metadata.getUpdatedDate().toInstant().atOffset(ZoneOffset.UTC);
+      }
+    }
+
+    Tuple tuple = Tuple.of(Objects.nonNull(record.getId()) ? UUID.fromString(record.getId()) : null,
+      externalId, externalHrid, suppressDiscovery, createdByUserId, createdDate, updatedByUserId, updatedDate);
+    // nothing to update if all values besides id are empty
+    for (int i = 1; i < tuple.size(); i++) {
+      if (Objects.nonNull(tuple.getValue(i))) {
+        return tuple;
+      }
+    }
+    return null;
+  }
+
+  private static String toLiteral(EnumType value) {
+    return Objects.nonNull(value) ? value.getLiteral() : null;
+  }
+
+  private void copyRecords(Connection connection, DSLContext dsl, RecordsBatch recordsBatch) throws SQLException, IOException {
+    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+    // copy records, values are written in the order of RECORD_FIELDS
+    String recordsStagingTable = createStagingTable(dsl, RECORDS_LB.getName());
+    try (PgBinaryCopyWriter writer = copyIn(pgConnection, recordsStagingTable, RECORDS_COLUMNS)) {
+      for (RecordsLbRecord dbRecord : recordsBatch.records) {
+        writer.startRow(RECORD_FIELDS.length)
+          .writeUuid(dbRecord.getId())
+          .writeUuid(dbRecord.getSnapshotId())
+          .writeUuid(dbRecord.getMatchedId())
+          .writeInteger(dbRecord.getGeneration())
+          .writeText(toLiteral(dbRecord.getRecordType()))
+          .writeUuid(dbRecord.getExternalId())
+          .writeText(toLiteral(dbRecord.getState()))
+          .writeText(dbRecord.getLeaderRecordStatus())
+          .writeInteger(dbRecord.getOrder())
+          .writeBoolean(dbRecord.getSuppressDiscovery())
+          .writeUuid(dbRecord.getCreatedByUserId())
+          .writeTimestamp(dbRecord.getCreatedDate())
+          .writeUuid(dbRecord.getUpdatedByUserId())
+          .writeTimestamp(dbRecord.getUpdatedDate())
+          .writeText(dbRecord.getExternalHrid());
+      }
+    }
+    try {
+      dsl.execute(format(INSERT_FROM_STAGING_TABLE_TEMPLATE, RECORDS_LB.getName(), RECORDS_COLUMNS, recordsStagingTable));
+    } catch (DataAccessException e) {
+      if (UNIQUE_VIOLATION_SQL_STATE.equals(e.sqlState())) {
+        throw new DuplicateEventException("SQL Unique constraint violation prevented repeatedly saving the record");
+      }
+      throw e;
+    }
+
+    // copy raw records
+    String rawRecordsStagingTable = createStagingTable(dsl, RAW_RECORDS_LB.getName());
+    try (PgBinaryCopyWriter writer = copyIn(pgConnection, rawRecordsStagingTable, CONTENT_COLUMNS)) {
+      for (RawRecordsLbRecord dbRawRecord : recordsBatch.rawRecords) {
+        writer.startRow(2)
+          .writeUuid(dbRawRecord.getId())
+          .writeText(dbRawRecord.getContent());
+      }
+    }
+    dsl.execute(format(UPSERT_FROM_STAGING_TABLE_TEMPLATE, RAW_RECORDS_LB.getName(), CONTENT_COLUMNS, rawRecordsStagingTable, RAW_CONTENT_UPSERT_ASSIGNMENTS));
+
+    // copy parsed records
+    String parsedTableName = recordsBatch.recordType.getTableName();
+    String parsedRecordsStagingTable = createStagingTable(dsl, parsedTableName);
+    try (PgBinaryCopyWriter writer = copyIn(pgConnection, parsedRecordsStagingTable, PARSED_CONTENT_COLUMNS)) {
+      for (Map.Entry<UUID, JsonObject> parsedRecord : recordsBatch.parsedRecords.entrySet()) {
+        writer.startRow(3)
+          .writeUuid(parsedRecord.getKey())
+          .writeJsonb(parsedRecord.getValue().encode())
+          .writeText(recordsBatch.formattedContents.get(parsedRecord.getKey()));
+      }
+    }
+    int writtenParsedRecords = dsl.execute(format(UPSERT_FROM_STAGING_TABLE_TEMPLATE, parsedTableName, PARSED_CONTENT_COLUMNS, parsedRecordsStagingTable,
+      PARSED_CONTENT_UPSERT_ASSIGNMENTS + format(PARSED_CONTENT_UPSERT_CONDITION_TEMPLATE, parsedTableName)));
+    ParsedRecordDaoUtil.countSkippedWrites(meterRegistry, recordsBatch.recordType, (long) recordsBatch.parsedRecords.size() - writtenParsedRecords);
+
+    if (!recordsBatch.errorRecords.isEmpty()) {
+      // copy error records
+      String errorRecordsStagingTable = createStagingTable(dsl, ERROR_RECORDS_LB.getName());
+      try (PgBinaryCopyWriter writer = copyIn(pgConnection, errorRecordsStagingTable, ERROR_CONTENT_COLUMNS)) {
+        for (ErrorRecordsLbRecord dbErrorRecord : recordsBatch.errorRecords) {
+          writer.startRow(3)
+            .writeUuid(dbErrorRecord.getId())
+            .writeText(dbErrorRecord.getContent())
+            .writeText(dbErrorRecord.getDescription());
+        }
+      }
+      dsl.execute(format(UPSERT_FROM_STAGING_TABLE_TEMPLATE, ERROR_RECORDS_LB.getName(), ERROR_CONTENT_COLUMNS, errorRecordsStagingTable, ERROR_CONTENT_UPSERT_ASSIGNMENTS));
+    }
+  }
+
+  private String createStagingTable(DSLContext dsl, String tableName) {
+    String stagingTableName = tableName + STAGING_TABLE_SUFFIX;
+    dsl.execute(format(CREATE_STAGING_TABLE_TEMPLATE, stagingTableName, tableName));
+    return stagingTableName;
+  }
+
+  private PgBinaryCopyWriter copyIn(PGConnection pgConnection, String stagingTableName, String columns) throws SQLException, IOException {
+    return new PgBinaryCopyWriter(new PGCopyOutputStream(pgConnection, format(COPY_IN_TEMPLATE, stagingTableName, columns)));
+  }
+
   private Future<Boolean> updateExternalIdsForRecord(ReactiveClassicGenericQueryExecutor txQE, Record record) {
     LOG.trace("updateExternalIdsForRecord:: Updating external ids for {} record", record.getRecordType());
     return RecordDaoUtil.findById(txQE, record.getId())
@@ -1077,32 +1936,54 @@ public class RecordDaoImpl implements RecordDao {
     });
   }
 
-  private Field<?>[] getRecordFieldsWithCount(Name prt) {
-    return (Field<?>[]) ArrayUtils.addAll(getRecordFields(prt), new Field<?>[] {
-      COUNT_FIELD
+  /* parsed record content is selected as UTF-8 bytes of jsonb text to be written to the output as is */
+  private Field<?>[] getRecordFieldsWithRawContent(Name prt) {
+    return (Field<?>[]) ArrayUtils.addAll(RECORD_FIELDS, new Field<?>[] {
+      field(CONTENT_BYTES_TEMPLATE, byte[].class, prt, name(CONTENT)).as(CONTENT)
     });
   }
 
+  private Field<?>[] getSourceRecordFields(Name prt, RecordProjection projection) {
+    return projection == RecordProjection.FULL ? getRecordFields(prt) : RECORD_FIELDS;
+  }
+
   private Field<?>[] getAllRecordFields(Name prt) {
     return (Field<?>[]) ArrayUtils.addAll(RECORD_FIELDS, new Field<?>[] {
       field(TABLE_FIELD_TEMPLATE, JSONB.class, prt, name(CONTENT)).as(PARSED_RECORD_CONTENT),
-      RAW_RECORDS_LB.CONTENT.as(RAW_RECORD_CONTENT),
+      RAW_RECORD_CONTENT_FIELD.as(RAW_RECORD_CONTENT),
       ERROR_RECORDS_LB.CONTENT.as(ERROR_RECORD_CONTENT),
       ERROR_RECORDS_LB.DESCRIPTION
     });
   }
 
-  private Field<?>[] getAllRecordFieldsWithCount(Name prt) {
-    return (Field<?>[]) ArrayUtils.addAll(getAllRecordFields(prt), new Field<?>[] {
-      COUNT_FIELD
+  private Field<?>[] getAllRecordFieldsWithRawParsedContent(Name prt) {
+    return (Field<?>[]) ArrayUtils.addAll(RECORD_FIELDS, new Field<?>[] {
+      field(CONTENT_BYTES_TEMPLATE, byte[].class, prt, name(CONTENT)).as(PARSED_RECORD_CONTENT),
+      RAW_RECORD_CONTENT_FIELD.as(RAW_RECORD_CONTENT),
+      ERROR_RECORDS_LB.CONTENT.as(ERROR_RECORD_CONTENT),
+      ERROR_RECORDS_LB.DESCRIPTION
     });
   }
 
-  private RecordCollection toRecordCollection(QueryResult result) {
+  private Field<?>[] getRecordWithAssociatedRecordsFields(Name marcPrt, Name edifactPrt, boolean includeErrorRecord) {
+    return (Field<?>[]) ArrayUtils.addAll(RECORD_FIELDS, new Field<?>[] {
+      coalesce(field(TABLE_FIELD_TEMPLATE, JSONB.class, marcPrt, name(CONTENT)),
+        field(TABLE_FIELD_TEMPLATE, JSONB.class, edifactPrt, name(CONTENT))).as(PARSED_RECORD_CONTENT),
+      RAW_RECORD_CONTENT_FIELD.as(RAW_RECORD_CONTENT),
+      includeErrorRecord ? ERROR_RECORDS_LB.CONTENT.as(ERROR_RECORD_CONTENT) : castNull(String.class).as(ERROR_RECORD_CONTENT),
+      includeErrorRecord ? ERROR_RECORDS_LB.DESCRIPTION : castNull(String.class).as(ERROR_RECORDS_LB.DESCRIPTION.getName())
+    });
+  }
+
+  private Field<?>[] getRecordFields(Name prt, RecordProjection projection) {
+    return projection == RecordProjection.FULL ? getAllRecordFields(prt) : RECORD_FIELDS;
+  }
+
+  private RecordCollection toRecordCollection(QueryResult result, Function<Row, Record> mapper) {
     RecordCollection recordCollection = new RecordCollection().withTotalRecords(0);
     List<Record> records = result.stream().map(res -> asRow(res.unwrap())).map(row -> {
       recordCollection.setTotalRecords(row.getInteger(COUNT));
-      return toRecord(row);
+      return mapper.apply(row);
     }).collect(Collectors.toList());
     if (!records.isEmpty() && Objects.nonNull(records.get(0).getId())) {
       recordCollection.withRecords(records);
@@ -1113,22 +1994,21 @@ public class RecordDaoImpl implements RecordDao {
   /*
    * Code to avoid the occurrence of records when limit equals to zero
    */
-  private RecordCollection toRecordCollectionWithLimitCheck(QueryResult result, int limit) {
+  private RecordCollection toRecordCollectionWithLimitCheck(QueryResult result, int limit, Function<Row, Record> mapper) {
     // Validation to ignore records insertion to the returned recordCollection when limit equals zero
     if (limit == 0) {
       return new RecordCollection().withTotalRecords(asRow(result.unwrap()).getInteger(COUNT));
     }
     else {
-      return toRecordCollection(result);
+      return toRecordCollection(result, mapper);
     }
   }
 
-  private SourceRecordCollection toSourceRecordCollection(QueryResult result) {
+  private SourceRecordCollection toSourceRecordCollection(QueryResult result, RecordProjection projection) {
     SourceRecordCollection sourceRecordCollection = new SourceRecordCollection().withTotalRecords(0);
     List<SourceRecord> sourceRecords = result.stream().map(res -> asRow(res.unwrap())).map(row -> {
       sourceRecordCollection.setTotalRecords(row.getInteger(COUNT));
-      return RecordDaoUtil.toSourceRecord(RecordDaoUtil.toRecord(row))
-        .withParsedRecord(ParsedRecordDaoUtil.toParsedRecord(row));
+      return toSourceRecord(row, projection);
     }).collect(Collectors.toList());
     if (!sourceRecords.isEmpty() && Objects.nonNull(sourceRecords.get(0).getRecordId())) {
       sourceRecordCollection.withSourceRecords(sourceRecords);
@@ -1136,6 +2016,11 @@ public class RecordDaoImpl implements RecordDao {
     return sourceRecordCollection;
   }
 
+  private SourceRecord toSourceRecord(Row row, RecordProjection projection) {
+    SourceRecord sourceRecord = RecordDaoUtil.toSourceRecord(RecordDaoUtil.toRecord(row));
+    return projection == RecordProjection.FULL ? sourceRecord.withParsedRecord(ParsedRecordDaoUtil.toParsedRecord(row)) : sourceRecord;
+  }
+
   private SourceRecord toSourceRecord(Row row) {
     SourceRecord sourceRecord = RecordDaoUtil.toSourceRecord(row);
     ParsedRecord parsedRecord = ParsedRecordDaoUtil.toParsedRecord(row);
@@ -1145,6 +2030,40 @@ public class RecordDaoImpl implements RecordDao {
     return sourceRecord;
   }
 
+  private Buffer toJsonLines(List<Row> rows, BiConsumer<Buffer, Row> appender) {
+    Buffer buffer = Buffer.buffer();
+    rows.forEach(row -> appender.accept(buffer, row));
+    return buffer;
+  }
+
+  private void appendSourceRecordJson(Buffer buffer, Row row) {
+    SourceRecord sourceRecord = RecordDaoUtil.toSourceRecord(row);
+    RecordJsonEncoder.appendJsonLine(buffer, sourceRecord, sourceRecord.getRecordId(), row.getBuffer(CONTENT));
+  }
+
+  private void appendSourceRecordMetadataJson(Buffer buffer, Row row) {
+    SourceRecord sourceRecord = RecordDaoUtil.toSourceRecord(row);
+    RecordJsonEncoder.appendJsonLine(buffer, sourceRecord, sourceRecord.getRecordId(), null);
+  }
+
+  private void appendRecordMetadataJson(Buffer buffer, Row row) {
+    Record record = RecordDaoUtil.toRecord(row);
+    RecordJsonEncoder.appendJsonLine(buffer, record, record.getId(), null);
+  }
+
+  private void appendRecordJson(Buffer buffer, Row row) {
+    Record record = RecordDaoUtil.toRecord(row);
+    RawRecord rawRecord = RawRecordDaoUtil.toJoinedRawRecord(row);
+    if (Objects.nonNull(rawRecord.getContent())) {
+      record.setRawRecord(rawRecord);
+    }
+    ErrorRecord errorRecord = ErrorRecordDaoUtil.toJoinedErrorRecord(row);
+    if (Objects.nonNull(errorRecord.getContent())) {
+      record.setErrorRecord(errorRecord);
+    }
+    RecordJsonEncoder.appendJsonLine(buffer, record, record.getId(), row.getBuffer(PARSED_RECORD_CONTENT));
+  }
+
   private Record toRecord(Row row) {
     Record record = RecordDaoUtil.toRecord(row);
     RawRecord rawRecord = RawRecordDaoUtil.toJoinedRawRecord(row);
@@ -1162,4 +2081,44 @@ public class RecordDaoImpl implements RecordDao {
     return record;
   }
 
+  /**
+   * Records of a batch save prepared for persisting
+   */
+  private static class RecordsBatch {
+
+    private final List<RecordsLbRecord> records = new ArrayList<>();
+    private final List<RawRecordsLbRecord> rawRecords = new ArrayList<>();
+    private final Map<UUID, JsonObject> parsedRecords = new LinkedHashMap<>();
+    private final Map<UUID, String> formattedContents = new HashMap<>();
+    private final List<ErrorRecordsLbRecord> errorRecords = new ArrayList<>();
+    private final List<String> errorMessages = new ArrayList<>();
+    private final Map<UUID, Integer> matchedGenerations = new HashMap<>();
+    private Set<UUID> matchedIds;
+    private UUID snapshotId;
+    private RecordType recordType;
+
+    /**
+     * Returns matched ids which generation is not found yet
+     */
+    private Set<UUID> getNotResolvedMatchedIds() {
+      return matchedIds.stream()
+        .filter(matchedId -> !matchedGenerations.containsKey(matchedId))
+        .collect(Collectors.toSet());
+    }
+
+    /**
+     * Updates generation of records incrementing latest generation of matched records if required
+     */
+    private void updateGenerations() {
+      records.forEach(record -> {
+        Integer generation = matchedGenerations.get(record.getMatchedId());
+        if (Objects.nonNull(generation)) {
+          record.setGeneration(generation + 1);
+        } else if (Objects.isNull(record.getGeneration())) {
+          record.setGeneration(0);
+        }
+      });
+    }
+  }
+
 }
@@ -4,6 +4,10 @@ public class FormatRecordException extends Exception {
 
   private static final long serialVersionUID = -3673091076895158554L;
 
+  public FormatRecordException(String message) {
+    super(message);
+  }
+
   public FormatRecordException(Throwable cause) {
     super(cause);
   }
@@ -0,0 +1,34 @@
+package org.folio.dao.util;
+
+/**
+ * Strategy used to maintain marc_indexers and marc_indexers_leader tables on changes of MARC records
+ */
+public enum MarcIndexersMode {
+
+  /**
+   * Indexers are populated by the row-level trigger within the transaction that changes MARC record
+   */
+  SYNC,
+
+  /**
+   * Same as {@link #SYNC} for created records, on update of MARC record the trigger only deletes and inserts
+   * indexers which differ between old and new content, leader indexers are rewritten only if leader is changed
+   */
+  INCREMENTAL,
+
+  /**
+   * Ids of changed MARC records are appended to marc_indexers_outbox table and indexers are populated
+   * in the background by {@link org.folio.verticle.MarcIndexersVerticle}
+   */
+  ASYNC;
+
+  /**
+   * Value of srs.marc_indexers_mode setting of database session which is checked by insert_marc_indexers() trigger
+   *
+   * @return setting value
+   */
+  public String getSettingValue() {
+    return name().toLowerCase();
+  }
+
+}
@@ -0,0 +1,215 @@
+package org.folio.dao.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Utility class to compute rows of marc_indexers and marc_indexers_leader tables from MARC json content.
+ * The computation mirrors fill_in_marc_indexers() database function.
+ */
+public final class MarcIndexersUtil {
+
+  private static final String FIELDS = "fields";
+  private static final String SUBFIELDS = "subfields";
+  private static final String LEADER = "leader";
+  private static final String IND1 = "ind1";
+  private static final String IND2 = "ind2";
+  private static final String DEFAULT_INDICATOR = "#";
+  private static final String DEFAULT_SUBFIELD_NO = "0";
+  private static final String DOUBLE_QUOTE = "\"";
+  private static final String SPACE = " ";
+
+  /* marc_indexers table is partitioned by field_no in range of '000'..'999' */
+  private static final Pattern FIELD_NO_PATTERN = Pattern.compile("\\d{3}");
+
+  /* start and end (exclusive) positions of leader columns p_00_04, p_05, ..., p_12_16, p_17, ..., p_22 */
+  private static final int[][] LEADER_POSITIONS = {
+    {0, 5}, {5, 6}, {6, 7}, {7, 8}, {8, 9}, {9, 10}, {10, 11}, {11, 12}, {12, 17},
+    {17, 18}, {18, 19}, {19, 20}, {20, 21}, {21, 22}, {22, 23}
+  };
+
+  private MarcIndexersUtil() { }
+
+  /**
+   * Computes distinct rows of marc_indexers table for MARC json content
+   *
+   * @param content MARC json content
+   * @return set of marc indexers
+   */
+  public static Set<MarcIndexer> toMarcIndexers(JsonObject content) {
+    Set<MarcIndexer> indexers = new LinkedHashSet<>();
+    JsonArray fields = content.getJsonArray(FIELDS);
+    if (Objects.isNull(fields)) {
+      return indexers;
+    }
+    for (Object field : fields) {
+      if (!(field instanceof JsonObject)) {
+        continue;
+      }
+      for (Map.Entry<String, Object> entry : (JsonObject) field) {
+        String fieldNo = entry.getKey().toLowerCase();
+        if (!FIELD_NO_PATTERN.matcher(fieldNo).matches()) {
+          continue;
+        }
+        addFieldIndexers(indexers, fieldNo, entry.getValue());
+      }
+    }
+    return indexers;
+  }
+
+  /**
+   * Computes values of marc_indexers_leader table columns from p_00_04 to p_22 for MARC json content
+   *
+   * @param content MARC json content
+   * @return list of leader positions or null if content has no leader
+   */
+  public static List<String> toLeaderPositions(JsonObject content) {
+    if (!content.containsKey(LEADER)) {
+      return null;
+    }
+    String leader = StringUtils.strip(toJsonText(content.getValue(LEADER)), DOUBLE_QUOTE)
+      .toLowerCase()
+      .replace(SPACE, DEFAULT_INDICATOR);
+    String[] positions = new String[LEADER_POSITIONS.length];
+    for (int i = 0; i < LEADER_POSITIONS.length; i++) {
+      positions[i] = substring(leader, LEADER_POSITIONS[i][0], LEADER_POSITIONS[i][1]);
+    }
+    return Arrays.asList(positions);
+  }
+
+  private static void addFieldIndexers(Set<MarcIndexer> indexers, String fieldNo, Object fieldValue) {
+    String ind1 = DEFAULT_INDICATOR;
+    String ind2 = DEFAULT_INDICATOR;
+    Object subfields = null;
+    if (fieldValue instanceof JsonObject) {
+      JsonObject dataField = (JsonObject) fieldValue;
+      ind1 = toIndicator(dataField.getValue(IND1));
+      ind2 = toIndicator(dataField.getValue(IND2));
+      subfields = dataField.getValue(SUBFIELDS);
+    }
+    if (Objects.isNull(subfields)) {
+      add(indexers, new MarcIndexer(fieldNo, ind1, ind2, DEFAULT_SUBFIELD_NO, toValue(fieldValue)));
+      return;
+    }
+    if (!(subfields instanceof JsonArray)) {
+      return;
+    }
+    for (Object subfield : (JsonArray) subfields) {
+      if (!(subfield instanceof JsonObject)) {
+        continue;
+      }
+      for (Map.Entry<String, Object> entry : (JsonObject) subfield) {
+        String subfieldNo = StringUtils.isBlank(entry.getKey()) ? DEFAULT_SUBFIELD_NO : entry.getKey();
+        add(indexers, new MarcIndexer(fieldNo, ind1, ind2, subfieldNo, toValue(entry.getValue())));
+      }
+    }
+  }
+
+  /* ind1, ind2 and subfield_no columns are varchar(1), rows which do not fit are skipped */
+  private static void add(Set<MarcIndexer> indexers, MarcIndexer indexer) {
+    if (indexer.getInd1().length() == 1 && indexer.getInd2().length() == 1 && indexer.getSubfieldNo().length() == 1) {
+      indexers.add(indexer);
+    }
+  }
+
+  private static String toIndicator(Object value) {
+    String indicator = Objects.isNull(value) ? null : StringUtils.strip(value.toString(), SPACE);
+    return StringUtils.isEmpty(indicator) ? DEFAULT_INDICATOR : indicator;
+  }
+
+  private static String toValue(Object value) {
+    return StringUtils.strip(toJsonText(value), DOUBLE_QUOTE);
+  }
+
+  /* text representation of json value as it is done by jsonb::text cast */
+  private static String toJsonText(Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).encode();
+    }
+    if (value instanceof JsonArray) {
+      return ((JsonArray) value).encode();
+    }
+    return Json.encode(value);
+  }
+
+  private static String substring(String value, int start, int end) {
+    if (start >= value.length()) {
+      return StringUtils.EMPTY;
+    }
+    return value.substring(start, Math.min(end, value.length()));
+  }
+
+  /**
+   * Row of marc_indexers table
+   */
+  public static final class MarcIndexer {
+
+    private final String fieldNo;
+    private final String ind1;
+    private final String ind2;
+    private final String subfieldNo;
+    private final String value;
+
+    public MarcIndexer(String fieldNo, String ind1, String ind2, String subfieldNo, String value) {
+      this.fieldNo = fieldNo;
+      this.ind1 = ind1;
+      this.ind2 = ind2;
+      this.subfieldNo = subfieldNo;
+      this.value = value;
+    }
+
+    public String getFieldNo() {
+      return fieldNo;
+    }
+
+    public String getInd1() {
+      return ind1;
+    }
+
+    public String getInd2() {
+      return ind2;
+    }
+
+    public String getSubfieldNo() {
+      return subfieldNo;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      MarcIndexer that = (MarcIndexer) o;
+      return fieldNo.equals(that.fieldNo) && ind1.equals(that.ind1) && ind2.equals(that.ind2)
+        && subfieldNo.equals(that.subfieldNo) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fieldNo, ind1, ind2, subfieldNo, value);
+    }
+
+    @Override
+    public String toString() {
+      return String.join("|", fieldNo, ind1, ind2, subfieldNo, value);
+    }
+  }
+
+}
@@ -8,13 +8,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
 
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import org.marc4j.MarcException;
 import org.marc4j.MarcJsonReader;
 import org.marc4j.MarcJsonWriter;
 import org.marc4j.MarcStreamReader;
 import org.marc4j.MarcStreamWriter;
 import org.marc4j.MarcTxtWriter;
+import org.marc4j.marc.MarcFactory;
 import org.marc4j.marc.Record;
 
 /**
@@ -25,6 +31,17 @@ public class MarcUtil {
   public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
   private static final String MARC_RECORD_ERROR_MESSAGE = "Unable to read marc record!";
 
+  private static final String LEADER = "leader";
+  private static final String FIELDS = "fields";
+  private static final String SUBFIELDS = "subfields";
+  private static final String IND1 = "ind1";
+  private static final String IND2 = "ind2";
+  private static final String CONTROL_NUMBER_TAG = "001";
+  private static final int LEADER_LENGTH = 24;
+  /* tag 000 is treated by marc4j as leader */
+  private static final Pattern TAG_PATTERN = Pattern.compile("(?!000)\\d{3}");
+  private static final MarcFactory MARC_FACTORY = MarcFactory.newInstance();
+
   private MarcUtil() { }
 
   /**
@@ -75,6 +92,93 @@ public class MarcUtil {
     return recordToTxtMarc(record);
   }
 
+  /**
+   * Converts MARC json to text formatted MARC. Records of common structure are formatted directly
+   * the same way as {@link MarcTxtWriter} does it, so the conversion is cheap enough to validate the structure
+   * of records on save, other records are read by marc4j
+   *
+   * @param marcJson MARC json
+   * @return text formatted MARC
+   * @throws IOException - throws while converting MARC json to MARC text formatted
+   */
+  public static String marcJsonToTxtMarc(JsonObject marcJson) throws IOException {
+    String txtMarc = formatTxtMarc(marcJson);
+    return Objects.nonNull(txtMarc) ? txtMarc : marcJsonToTxtMarc(marcJson.encode());
+  }
+
+  /**
+   * Formats MARC json of common structure to text formatted MARC
+   *
+   * @param marcJson MARC json
+   * @return text formatted MARC or null if the structure is not supported
+   */
+  private static String formatTxtMarc(JsonObject marcJson) {
+    Object leader = marcJson.getValue(LEADER);
+    Object fields = marcJson.getValue(FIELDS);
+    if (!(leader instanceof String) || ((String) leader).length() != LEADER_LENGTH || !(fields instanceof JsonArray)) {
+      return null;
+    }
+    String controlNumberField = null;
+    StringBuilder controlFields = new StringBuilder();
+    StringBuilder dataFields = new StringBuilder();
+    for (Object field : (JsonArray) fields) {
+      if (!(field instanceof JsonObject) || ((JsonObject) field).size() != 1) {
+        return null;
+      }
+      Map.Entry<String, Object> tagValue = ((JsonObject) field).iterator().next();
+      String tag = tagValue.getKey();
+      if (!TAG_PATTERN.matcher(tag).matches()) {
+        return null;
+      }
+      if (tagValue.getValue() instanceof String) {
+        // the only control number field is placed first
+        if (CONTROL_NUMBER_TAG.equals(tag)) {
+          controlNumberField = tag + ' ' + tagValue.getValue() + '\n';
+        } else {
+          controlFields.append(tag).append(' ').append(tagValue.getValue()).append('\n');
+        }
+      } else if (!(tagValue.getValue() instanceof JsonObject) || !appendDataField(dataFields, tag, (JsonObject) tagValue.getValue())) {
+        return null;
+      }
+    }
+    StringBuilder txtMarc = new StringBuilder("LEADER ").append(MARC_FACTORY.newLeader((String) leader)).append('\n');
+    if (Objects.nonNull(controlNumberField)) {
+      txtMarc.append(controlNumberField);
+    }
+    return txtMarc.append(controlFields)
+      .append(dataFields)
+      .append(System.lineSeparator())
+      .toString();
+  }
+
+  private static boolean appendDataField(StringBuilder dataFields, String tag, JsonObject dataField) {
+    Character ind1 = toIndicator(dataField.getValue(IND1));
+    Character ind2 = toIndicator(dataField.getValue(IND2));
+    Object subfields = dataField.getValue(SUBFIELDS);
+    if (Objects.isNull(ind1) || Objects.isNull(ind2) || (Objects.nonNull(subfields) && !(subfields instanceof JsonArray))) {
+      return false;
+    }
+    StringBuilder line = new StringBuilder(tag).append(' ').append(ind1).append(ind2);
+    if (Objects.nonNull(subfields)) {
+      for (Object subfield : (JsonArray) subfields) {
+        if (!(subfield instanceof JsonObject) || ((JsonObject) subfield).size() != 1) {
+          return false;
+        }
+        Map.Entry<String, Object> codeValue = ((JsonObject) subfield).iterator().next();
+        if (codeValue.getKey().length() != 1 || !(codeValue.getValue() instanceof String)) {
+          return false;
+        }
+        line.append('$').append(codeValue.getKey()).append(codeValue.getValue());
+      }
+    }
+    dataFields.append(line).append('\n');
+    return true;
+  }
+
+  private static Character toIndicator(Object indicator) {
+    return indicator instanceof String && !((String) indicator).isEmpty() ? ((String) indicator).charAt(0) : null;
+  }
+
   private static Record rawMarcToRecord(String rawMarc) throws IOException {
     try (InputStream in = new ByteArrayInputStream(rawMarc.getBytes(DEFAULT_CHARSET))) {
       final MarcStreamReader reader = new MarcStreamReader(in, DEFAULT_CHARSET.name());
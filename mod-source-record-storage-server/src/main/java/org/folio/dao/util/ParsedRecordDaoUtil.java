@@ -2,8 +2,10 @@ package org.folio.dao.util;
 
 import static java.lang.String.format;
 import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.function;
 import static org.jooq.impl.DSL.name;
 import static org.jooq.impl.DSL.table;
+import static org.jooq.impl.DSL.val;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -23,6 +25,8 @@ import org.jooq.impl.SQLDataType;
 
 import io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor;
 import io.github.jklingsporn.vertx.jooq.shared.postgres.JSONBToJsonObjectConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
@@ -34,14 +38,23 @@ public final class ParsedRecordDaoUtil {
 
   private static final String ID = "id";
   private static final String CONTENT = "content";
+  private static final String FORMATTED_CONTENT = "formatted_content";
   private static final String LEADER = "leader";
+  private static final String CONTENT_HASH = "content_hash";
+  private static final String EXCLUDED = "excluded";
+  private static final String CONTENT_HASH_FUNCTION = "parsed_content_hash";
+  private static final String RECORD_TYPE_TAG = "record_type";
 
   private static final Field<UUID> ID_FIELD = field(name(ID), UUID.class);
   private static final Field<JsonObject> CONTENT_FIELD = field(name(CONTENT), SQLDataType.JSONB.asConvertedDataType(new JSONBToJsonObjectConverter()));
+  private static final Field<String> FORMATTED_CONTENT_FIELD = field(name(FORMATTED_CONTENT), String.class);
 
   public static final String PARSED_RECORD_NOT_FOUND_TEMPLATE = "Parsed Record with id '%s' was not found";
 
+  public static final String SKIPPED_WRITES_METRIC = "srs.parsed_records.skipped_writes";
+
   public static final String PARSED_RECORD_CONTENT = "parsed_record_content";
+  public static final String PARSED_RECORD_FORMATTED_CONTENT = "parsed_record_formatted_content";
 
   private ParsedRecordDaoUtil() { }
 
@@ -63,46 +76,73 @@ public final class ParsedRecordDaoUtil {
 
   /**
    * Saves {@link ParsedRecord} to the db table defined by {@link RecordType} using
-   * {@link ReactiveClassicGenericQueryExecutor}
+   * {@link ReactiveClassicGenericQueryExecutor}, existing parsed record with the same content is not written
    *
    * @param queryExecutor query executor
    * @param parsedRecord  parsed record
    * @param recordType    record type to save
+   * @param meterRegistry meter registry to count skipped writes
    * @return future with updated ParsedRecord
    */
   public static Future<ParsedRecord> save(ReactiveClassicGenericQueryExecutor queryExecutor,
-      ParsedRecord parsedRecord, RecordType recordType) {
+      ParsedRecord parsedRecord, RecordType recordType, MeterRegistry meterRegistry) {
     UUID id = UUID.fromString(parsedRecord.getId());
     JsonObject content = normalize(parsedRecord.getContent());
+    String formattedContent = getStorableFormattedContent(parsedRecord);
     return queryExecutor.executeAny(dsl -> dsl.insertInto(table(name(recordType.getTableName())))
       .set(ID_FIELD, id)
       .set(CONTENT_FIELD, content)
+      .set(FORMATTED_CONTENT_FIELD, formattedContent)
       .onConflict(ID_FIELD)
       .doUpdate()
       .set(CONTENT_FIELD, content)
+      .set(FORMATTED_CONTENT_FIELD, formattedContent)
+      // content hash of the inserted row is calculated by trigger
+      .where(contentHashField(recordType).isDistinctFrom(field(name(EXCLUDED, CONTENT_HASH), byte[].class)))
       .returning())
-      .map(res -> parsedRecord
-        .withContent(content.getMap()));
+      .map(res -> {
+        if (res.rowCount() == 0) {
+          countSkippedWrites(meterRegistry, recordType, 1);
+        }
+        return parsedRecord
+          .withContent(content.getMap());
+      });
   }
 
   /**
    * Updates {@link ParsedRecord} to the db table defined by {@link RecordType} using
-   * {@link ReactiveClassicGenericQueryExecutor}
+   * {@link ReactiveClassicGenericQueryExecutor}, parsed record with the same content is not written
    *
    * @param queryExecutor query executor
    * @param parsedRecord  parsed record to update
    * @param recordType    record type to update
+   * @param meterRegistry meter registry to count skipped writes
    * @return future of updated ParsedRecord
    */
   public static Future<ParsedRecord> update(ReactiveClassicGenericQueryExecutor queryExecutor,
-      ParsedRecord parsedRecord, RecordType recordType) {
+      ParsedRecord parsedRecord, RecordType recordType, MeterRegistry meterRegistry) {
     UUID id = UUID.fromString(parsedRecord.getId());
     JsonObject content = normalize(parsedRecord.getContent());
+    String formattedContent = getStorableFormattedContent(parsedRecord);
     return queryExecutor.executeAny(dsl -> dsl.update(table(name(recordType.getTableName())))
       .set(CONTENT_FIELD, content)
-      .where(ID_FIELD.eq(id)))
-      .map(update -> {
-        if (update.rowCount() > 0) {
+      .set(FORMATTED_CONTENT_FIELD, formattedContent)
+      .where(ID_FIELD.eq(id))
+      .and(contentHashField(recordType).isDistinctFrom(function(CONTENT_HASH_FUNCTION, byte[].class, val(content, CONTENT_FIELD)))))
+      .compose(update -> update.rowCount() > 0
+        ? Future.succeededFuture(true)
+        // not updated parsed record either has the same content or does not exist
+        : queryExecutor.findOneRow(dsl -> dsl.selectOne()
+            .from(table(name(recordType.getTableName())))
+            .where(ID_FIELD.eq(id)))
+          .map(row -> {
+            if (Objects.nonNull(row)) {
+              countSkippedWrites(meterRegistry, recordType, 1);
+            }
+            return Objects.nonNull(row);
+          }))
+      .map(updated -> {
+        if (Boolean.TRUE.equals(updated)) {
           return parsedRecord
             .withContent(content.getMap());
         }
@@ -111,6 +151,26 @@ public final class ParsedRecordDaoUtil {
       });
   }
 
+  /**
+   * Counts writes of parsed records skipped because stored content is the same
+   *
+   * @param meterRegistry meter registry
+   * @param recordType    record type
+   * @param count         number of skipped writes
+   */
+  public static void countSkippedWrites(MeterRegistry meterRegistry, RecordType recordType, long count) {
+    if (count > 0) {
+      Counter.builder(SKIPPED_WRITES_METRIC)
+        .tag(RECORD_TYPE_TAG, recordType.name())
+        .register(meterRegistry)
+        .increment(count);
+    }
+  }
+
+  private static Field<byte[]> contentHashField(RecordType recordType) {
+    return field(name(recordType.getTableName(), CONTENT_HASH), byte[].class);
+  }
+
   /**
    * Convert database query result {@link Row} to {@link ParsedRecord}
    *
@@ -146,6 +206,9 @@ public final class ParsedRecordDaoUtil {
     if (Objects.nonNull(content)) {
       parsedRecord.withContent(normalize(content).getMap());
     }
+    if (row.getColumnIndex(PARSED_RECORD_FORMATTED_CONTENT) != -1) {
+      parsedRecord.withFormattedContent(row.getString(PARSED_RECORD_FORMATTED_CONTENT));
+    }
     return parsedRecord;
   }
 
@@ -169,6 +232,28 @@ public final class ParsedRecordDaoUtil {
     return normalize(parsedRecord.getContent()).encode();
   }
 
+  /**
+   * Normalize parsed record content of {@link ParsedRecord} to {@link JsonObject}
+   *
+   * @param parsedRecord parsed record
+   * @return parsed record normalized json content
+   */
+  public static JsonObject normalizeJsonContent(ParsedRecord parsedRecord) {
+    return normalize(parsedRecord.getContent());
+  }
+
+  /**
+   * Get formatted content of {@link ParsedRecord} to be stored along with its content
+   *
+   * @param parsedRecord parsed record
+   * @return formatted content or null if it can not be stored and has to be formatted on read
+   */
+  public static String getStorableFormattedContent(ParsedRecord parsedRecord) {
+    String formattedContent = parsedRecord.getFormattedContent();
+    // text column does not accept NUL characters which marc4j puts in place of absent indicators
+    return Objects.nonNull(formattedContent) && formattedContent.indexOf('\u0000') == -1 ? formattedContent : null;
+  }
+
   /**
    * Extract MARC Leader status 05 from {@link ParsedRecord} content.
    *
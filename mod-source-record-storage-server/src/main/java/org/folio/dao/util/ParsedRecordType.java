@@ -17,6 +17,14 @@ public interface ParsedRecordType {
 
   void formatRecord(Record record) throws FormatRecordException;
 
+  /**
+   * Checks structure of parsed record content, record is formatted only if there is no other way to check it
+   *
+   * @param record record to validate
+   * @throws FormatRecordException if parsed record content can not be formatted
+   */
+  void validateRecord(Record record) throws FormatRecordException;
+
   Condition getRecordImplicitCondition();
 
   Condition getSourceRecordImplicitCondition();
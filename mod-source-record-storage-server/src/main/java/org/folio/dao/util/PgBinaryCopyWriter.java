@@ -0,0 +1,133 @@
+package org.folio.dao.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Writer of tuples in PostgreSQL binary COPY format, see
+ * <a href="https://www.postgresql.org/docs/current/sql-copy.html#id-1.9.3.55.9.4">Binary Format</a>
+ *
+ * Values are written in the order of the column list of the corresponding COPY statement.
+ */
+public class PgBinaryCopyWriter implements Closeable {
+
+  private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+  private static final int BUFFER_SIZE = 65536;
+  private static final int NULL_LENGTH = -1;
+  private static final short TRAILER = -1;
+  private static final byte JSONB_VERSION = 1;
+  private static final OffsetDateTime POSTGRES_EPOCH = OffsetDateTime.parse("2000-01-01T00:00:00Z");
+
+  private final DataOutputStream out;
+
+  public PgBinaryCopyWriter(OutputStream outputStream) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+    out.write(SIGNATURE);
+    // flags field
+    out.writeInt(0);
+    // header extension area length
+    out.writeInt(0);
+  }
+
+  /**
+   * Start new tuple
+   *
+   * @param fieldCount number of fields in tuple
+   * @return this writer
+   * @throws IOException if failed to write
+   */
+  public PgBinaryCopyWriter startRow(int fieldCount) throws IOException {
+    out.writeShort(fieldCount);
+    return this;
+  }
+
+  public PgBinaryCopyWriter writeUuid(UUID value) throws IOException {
+    if (Objects.isNull(value)) {
+      return writeNull();
+    }
+    out.writeInt(16);
+    out.writeLong(value.getMostSignificantBits());
+    out.writeLong(value.getLeastSignificantBits());
+    return this;
+  }
+
+  public PgBinaryCopyWriter writeInteger(Integer value) throws IOException {
+    if (Objects.isNull(value)) {
+      return writeNull();
+    }
+    out.writeInt(4);
+    out.writeInt(value);
+    return this;
+  }
+
+  public PgBinaryCopyWriter writeBoolean(Boolean value) throws IOException {
+    if (Objects.isNull(value)) {
+      return writeNull();
+    }
+    out.writeInt(1);
+    out.writeByte(Boolean.TRUE.equals(value) ? 1 : 0);
+    return this;
+  }
+
+  /**
+   * Write text value, applicable for text, varchar, char and enum columns
+   *
+   * @param value text value
+   * @return this writer
+   * @throws IOException if failed to write
+   */
+  public PgBinaryCopyWriter writeText(String value) throws IOException {
+    if (Objects.isNull(value)) {
+      return writeNull();
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+    return this;
+  }
+
+  public PgBinaryCopyWriter writeJsonb(String value) throws IOException {
+    if (Objects.isNull(value)) {
+      return writeNull();
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length + 1);
+    out.writeByte(JSONB_VERSION);
+    out.write(bytes);
+    return this;
+  }
+
+  public PgBinaryCopyWriter writeTimestamp(OffsetDateTime value) throws IOException {
+    if (Objects.isNull(value)) {
+      return writeNull();
+    }
+    out.writeInt(8);
+    out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+    return this;
+  }
+
+  public PgBinaryCopyWriter writeNull() throws IOException {
+    out.writeInt(NULL_LENGTH);
+    return this;
+  }
+
+  /**
+   * Write file trailer and close underlying stream which completes the COPY operation
+   *
+   * @throws IOException if failed to write
+   */
+  @Override
+  public void close() throws IOException {
+    out.writeShort(TRAILER);
+    out.close();
+  }
+
+}
@@ -0,0 +1,66 @@
+package org.folio.dao.util;
+
+import java.util.Objects;
+
+import io.github.jklingsporn.vertx.jooq.shared.postgres.PgConverter;
+import io.vertx.sqlclient.Tuple;
+import org.jooq.DSLContext;
+import org.jooq.EnumType;
+import org.jooq.Param;
+import org.jooq.Query;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+
+/**
+ * Utility class to execute jOOQ queries by reactive client as prepared statements with bound parameters,
+ * the same way it is done by {@link io.github.jklingsporn.vertx.jooq.classic.reactivepg.ReactiveClassicGenericQueryExecutor}.
+ * Statement text does not depend on parameter values, so it is parsed and planned once per connection
+ * when prepared statements are cached.
+ */
+public final class PreparedQueryUtil {
+
+  private static final DSLContext DSL_CONTEXT = DSL.using(SQLDialect.POSTGRES, new Settings().withRenderNamedParamPrefix("$"));
+
+  private PreparedQueryUtil() { }
+
+  /**
+   * Renders query SQL with $1, $2, ... placeholders of bind values
+   *
+   * @param query query
+   * @return SQL of prepared statement
+   */
+  public static String toPreparedSql(Query query) {
+    return DSL_CONTEXT.renderNamedParams(query);
+  }
+
+  /**
+   * Extracts bind values of the query in the order of placeholders rendered by {@link #toPreparedSql(Query)}
+   *
+   * @param query query
+   * @return tuple of bind values
+   */
+  public static Tuple toBindValues(Query query) {
+    Tuple bindValues = Tuple.tuple();
+    DSL_CONTEXT.extractParams(query).values().stream()
+      .filter(param -> !param.isInline())
+      .forEach(param -> bindValues.addValue(toDatabaseValue(param)));
+    return bindValues;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <U> Object toDatabaseValue(Param<U> param) {
+    Object value = param.getValue();
+    if (Objects.isNull(value)) {
+      return null;
+    }
+    if (value instanceof EnumType) {
+      return ((EnumType) value).getLiteral();
+    }
+    if (param.getBinding().converter() instanceof PgConverter) {
+      return ((PgConverter<?, ?, U>) param.getBinding().converter()).rowConverter().to(param.getValue());
+    }
+    return param.getBinding().converter().to(param.getValue());
+  }
+
+}
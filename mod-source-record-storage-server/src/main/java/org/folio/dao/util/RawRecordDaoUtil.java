@@ -7,6 +7,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
 import org.folio.rest.jaxrs.model.RawRecord;
 import org.folio.rest.jooq.tables.mappers.RowMappers;
 import org.folio.rest.jooq.tables.pojos.RawRecordsLb;
@@ -26,6 +28,15 @@ public final class RawRecordDaoUtil {
 
   public static final String RAW_RECORD_CONTENT = "raw_record_content";
 
+  /**
+   * Content of raw record which is stored deduplicated by content hash in raw_record_contents table,
+   * content of raw records saved before deduplication is kept in raw_records_lb table
+   */
+  public static final Field<String> RAW_RECORD_CONTENT_FIELD = DSL.coalesce(RAW_RECORDS_LB.CONTENT,
+    DSL.field(DSL.select(DSL.field(DSL.name("raw_record_contents", "content"), String.class))
+      .from(DSL.table(DSL.name("raw_record_contents")))
+      .where(DSL.field(DSL.name("raw_record_contents", "hash")).eq(DSL.field(DSL.name(RAW_RECORDS_LB.getName(), "content_hash"))))));
+
   private RawRecordDaoUtil() { }
 
   /**
@@ -36,9 +47,10 @@ public final class RawRecordDaoUtil {
    * @return future with optional RawRecord
    */
   public static Future<Optional<RawRecord>> findById(ReactiveClassicGenericQueryExecutor queryExecutor, String id) {
-    return queryExecutor.findOneRow(dsl -> dsl.selectFrom(RAW_RECORDS_LB)
+    return queryExecutor.findOneRow(dsl -> dsl.select(RAW_RECORDS_LB.ID, RAW_RECORD_CONTENT_FIELD.as(RAW_RECORD_CONTENT))
+      .from(RAW_RECORDS_LB)
       .where(RAW_RECORDS_LB.ID.eq(UUID.fromString(id))))
-        .map(RawRecordDaoUtil::toOptionalRawRecord);
+        .map(row -> Objects.nonNull(row) ? Optional.of(toJoinedRawRecord(row)) : Optional.empty());
   }
 
   /**
@@ -55,7 +67,8 @@ public final class RawRecordDaoUtil {
       .onDuplicateKeyUpdate()
       .set(dbRecord)
       .returning())
-        .map(RawRecordDaoUtil::toSingleRawRecord);
+        // content is moved to raw_record_contents table by trigger
+        .map(rows -> toSingleRawRecord(rows).withContent(rawRecord.getContent()));
   }
 
   /**
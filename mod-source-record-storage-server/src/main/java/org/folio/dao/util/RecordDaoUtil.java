@@ -4,6 +4,7 @@ import static com.google.common.base.CaseFormat.LOWER_CAMEL;
 import static com.google.common.base.CaseFormat.LOWER_UNDERSCORE;
 import static java.lang.String.format;
 
+import static org.folio.rest.jooq.Tables.RECORDS_CURRENT;
 import static org.folio.rest.jooq.Tables.RECORDS_LB;
 
 import java.time.ZoneOffset;
@@ -26,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.OrderField;
+import org.jooq.Row2;
 import org.jooq.SortOrder;
 import org.jooq.impl.DSL;
 
@@ -50,6 +52,7 @@ public final class RecordDaoUtil {
 
   private static final String COMMA = ",";
   private static final List<String> DELETED_LEADER_RECORD_STATUS = Arrays.asList("d", "s", "x");
+  private static final List<String> KEYSET_FIELDS = Arrays.asList("order", "updatedDate");
 
   private RecordDaoUtil() {}
 
@@ -65,14 +68,30 @@ public final class RecordDaoUtil {
   }
 
   /**
-   * Get {@link Condition} where in external list ids and {@link IdType}
+   * Get {@link Condition} for provided external id and {@link IdType} resolving the current record
+   * by lookup of records_current projection instead of records history
+   *
+   * @param externalId external id
+   * @param idType     external id type
+   * @return condition
+   */
+  public static Condition getCurrentRecordCondition(String externalId, IdType idType) {
+    return getIdCondition(idType, idField -> RECORDS_LB.ID.in(DSL.select(RECORDS_CURRENT.RECORD_ID)
+      .from(RECORDS_CURRENT)
+      .where(RECORDS_CURRENT.field(idField.getName(), UUID.class).eq(toUUID(externalId)))));
+  }
+
+  /**
+   * Get {@link Condition} where in external list ids and {@link IdType}, ids are bound as a single array parameter
+   * so the statement does not grow with the number of ids
    *
    * @param externalIds list of external id
    * @param idType      external id type
    * @return condition
    */
   public static Condition getExternalIdsCondition(List<String> externalIds, IdType idType) {
-    return getIdCondition(idType, idField -> idField.in(toUUIDs(externalIds)));
+    UUID[] ids = externalIds.stream().map(RecordDaoUtil::toUUID).distinct().toArray(UUID[]::new);
+    return getIdCondition(idType, idField -> idField.eq(DSL.any(ids)));
   }
 
   /**
@@ -539,6 +558,44 @@ public final class RecordDaoUtil {
     return DSL.noCondition();
   }
 
+  /**
+   * Get keyset pagination {@link Condition} to filter records which follow the record with specified id
+   * in order of {@link #toRecordKeysetOrderFields(List)}
+   *
+   * @param lastRecordId id of the last record of previous page
+   * @param orderBy      list of order strings, at most one of 'order' or 'updatedDate' with optional direction
+   * @return condition
+   */
+  public static Condition filterRecordsAfter(String lastRecordId, List<String> orderBy) {
+    if (StringUtils.isEmpty(lastRecordId)) {
+      return DSL.noCondition();
+    }
+    UUID lastId = toUUID(lastRecordId);
+    Field<?> keysetField = toKeysetField(orderBy);
+    boolean descending = isKeysetDescending(orderBy);
+    if (Objects.isNull(keysetField)) {
+      return descending ? RECORDS_LB.ID.lt(lastId) : RECORDS_LB.ID.gt(lastId);
+    }
+    return toKeysetCondition(keysetField, lastId, descending);
+  }
+
+  /**
+   * Convert {@link List} of {@link String} to unique {@link List} of {@link OrderField} used for keyset pagination,
+   * which is the requested field with nulls last followed by record id
+   *
+   * @param orderBy list of order strings, at most one of 'order' or 'updatedDate' with optional direction
+   * @return list of sort fields
+   */
+  @SuppressWarnings("squid:S1452")
+  public static List<OrderField<?>> toRecordKeysetOrderFields(List<String> orderBy) {
+    Field<?> keysetField = toKeysetField(orderBy);
+    SortOrder sortOrder = isKeysetDescending(orderBy) ? SortOrder.DESC : SortOrder.ASC;
+    if (Objects.isNull(keysetField)) {
+      return Arrays.asList(new OrderField<?>[] {RECORDS_LB.ID.sort(sortOrder)});
+    }
+    return Arrays.asList(new OrderField<?>[] {keysetField.sort(sortOrder).nullsLast(), RECORDS_LB.ID.sort(sortOrder)});
+  }
+
   /**
    * Convert {@link List} of {@link String} to {@link List} or {@link OrderField}
    *
@@ -567,6 +624,41 @@ public final class RecordDaoUtil {
       .collect(Collectors.toList());
   }
 
+  private static Field<?> toKeysetField(List<String> orderBy) {
+    if (orderBy.isEmpty()) {
+      return null;
+    }
+    String field = orderBy.get(0).split(COMMA)[0];
+    if (orderBy.size() > 1 || !KEYSET_FIELDS.contains(field)) {
+      throw new BadRequestException(format("Keyset pagination is supported only by one of %s", KEYSET_FIELDS));
+    }
+    return RECORDS_LB.field(LOWER_CAMEL.to(LOWER_UNDERSCORE, field));
+  }
+
+  private static boolean isKeysetDescending(List<String> orderBy) {
+    if (orderBy.isEmpty()) {
+      return false;
+    }
+    String[] order = orderBy.get(0).split(COMMA);
+    try {
+      return order.length > 1 && SortOrder.valueOf(order[1]) == SortOrder.DESC;
+    } catch (Exception e) {
+      throw new BadRequestException(format("Invalid order by %s", orderBy.get(0)));
+    }
+  }
+
+  private static <T> Condition toKeysetCondition(Field<T> keysetField, UUID lastId, boolean descending) {
+    Field<T> lastKey = DSL.field(DSL.select(keysetField)
+      .from(RECORDS_LB)
+      .where(RECORDS_LB.ID.eq(lastId)));
+    Row2<T, UUID> keyset = DSL.row(keysetField, RECORDS_LB.ID);
+    Condition idAfter = descending ? RECORDS_LB.ID.lt(lastId) : RECORDS_LB.ID.gt(lastId);
+    Condition keysetAfter = descending ? keyset.lt(lastKey, DSL.val(lastId)) : keyset.gt(lastKey, DSL.val(lastId));
+    // null keys are ordered last in both directions and are never matched by the row comparison
+    return lastKey.isNotNull().and(keysetAfter.or(keysetField.isNull()))
+      .or(lastKey.isNull().and(keysetField.isNull()).and(idAfter));
+  }
+
   private static Record toSingleRecord(RowSet<Row> rows) {
     return toRecord(rows.iterator().next());
   }
@@ -575,7 +667,14 @@ public final class RecordDaoUtil {
     return rows.rowCount() == 1 ? Optional.of(toRecord(rows.iterator().next())) : Optional.empty();
   }
 
-  private static UUID toUUID(String uuid) {
+  /**
+   * Converts string to {@link UUID}
+   *
+   * @param uuid uuid string
+   * @return uuid
+   * @throws BadRequestException if the string is not a valid uuid
+   */
+  public static UUID toUUID(String uuid) {
     try {
       return UUID.fromString(uuid);
     } catch (Exception e) {
@@ -583,10 +682,6 @@ public final class RecordDaoUtil {
     }
   }
 
-  private static List<UUID> toUUIDs(List<String> uuids) {
-    return uuids.stream().map(RecordDaoUtil::toUUID).collect(Collectors.toList());
-  }
-
   private static RecordType toRecordType(String type) {
     try {
       return RecordType.valueOf(type);
@@ -0,0 +1,51 @@
+package org.folio.dao.util;
+
+import java.util.Objects;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Utility class to encode records to JSON lines with parsed record content spliced as is,
+ * without decoding and encoding it again
+ */
+public final class RecordJsonEncoder {
+
+  private static final String PARSED_RECORD_PREFIX = "\"parsedRecord\":{\"id\":";
+  private static final String CONTENT_PREFIX = ",\"content\":";
+  private static final String OBJECT_END = "}";
+  private static final String COMMA = ",";
+  private static final int EMPTY_OBJECT_LENGTH = 2;
+
+  private RecordJsonEncoder() { }
+
+  /**
+   * Appends JSON of the entity followed by line feed to the buffer. If parsed record content is present
+   * it is added to the entity JSON as parsedRecord property
+   *
+   * @param buffer              buffer to append to
+   * @param entity              entity without parsed record
+   * @param parsedRecordId      parsed record id
+   * @param parsedRecordContent UTF-8 encoded JSON of parsed record content
+   * @return the buffer
+   */
+  public static Buffer appendJsonLine(Buffer buffer, Object entity, String parsedRecordId, Buffer parsedRecordContent) {
+    Buffer entityJson = Json.encodeToBuffer(entity);
+    if (Objects.isNull(parsedRecordContent)) {
+      return buffer.appendBuffer(entityJson).appendString(StringUtils.LF);
+    }
+    buffer.appendBuffer(entityJson, 0, entityJson.length() - 1);
+    if (entityJson.length() > EMPTY_OBJECT_LENGTH) {
+      buffer.appendString(COMMA);
+    }
+    return buffer.appendString(PARSED_RECORD_PREFIX)
+      .appendString(Json.encode(parsedRecordId))
+      .appendString(CONTENT_PREFIX)
+      .appendBuffer(parsedRecordContent)
+      .appendString(OBJECT_END)
+      .appendString(OBJECT_END)
+      .appendString(StringUtils.LF);
+  }
+
+}
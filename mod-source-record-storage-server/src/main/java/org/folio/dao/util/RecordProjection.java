@@ -0,0 +1,18 @@
+package org.folio.dao.util;
+
+/**
+ * Set of record properties to be selected and returned
+ */
+public enum RecordProjection {
+
+  /**
+   * Record along with its raw, parsed and error records
+   */
+  FULL,
+
+  /**
+   * Record ids, state, external ids, additional info and metadata without raw, parsed and error records
+   */
+  METADATA
+
+}
@@ -9,6 +9,9 @@ import java.io.IOException;
 import java.util.Objects;
 import java.util.UUID;
 
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.xlate.edi.stream.EDIStreamException;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
@@ -37,6 +40,11 @@ public enum RecordType implements ParsedRecordType {
       formatMarcRecord(record);
     }
 
+    @Override
+    public void validateRecord(Record record) throws FormatRecordException {
+      validateMarcRecord(record);
+    }
+
     @Override
     public Condition getSourceRecordImplicitCondition() {
       return filterRecordByType(this.name()).and(RECORDS_LB.LEADER_RECORD_STATUS.isNotNull());
@@ -64,6 +72,11 @@ public enum RecordType implements ParsedRecordType {
       formatMarcRecord(record);
     }
 
+    @Override
+    public void validateRecord(Record record) throws FormatRecordException {
+      validateMarcRecord(record);
+    }
+
     @Override
     public Condition getRecordImplicitCondition() {
       return filterRecordByType(this.name());
@@ -91,6 +104,11 @@ public enum RecordType implements ParsedRecordType {
       formatMarcRecord(record);
     }
 
+    @Override
+    public void validateRecord(Record record) throws FormatRecordException {
+      validateMarcRecord(record);
+    }
+
     @Override
     public Condition getRecordImplicitCondition() {
       return filterRecordByType(this.name());
@@ -127,6 +145,12 @@ public enum RecordType implements ParsedRecordType {
       }
     }
 
+    @Override
+    public void validateRecord(Record record) throws FormatRecordException {
+      // raw EDIFACT record can be validated only by parsing, which formats it as well
+      formatRecord(record);
+    }
+
     @Override
     public Condition getRecordImplicitCondition() {
       return filterRecordByType(this.name());
@@ -148,6 +172,11 @@ public enum RecordType implements ParsedRecordType {
     }
   };
 
+  private static final String LEADER = "leader";
+  private static final String FIELDS = "fields";
+  private static final String SUBFIELDS = "subfields";
+  private static final int LEADER_LENGTH = 24;
+
   private String tableName;
 
   RecordType(String tableName) {
@@ -157,7 +186,7 @@ public enum RecordType implements ParsedRecordType {
   private static void formatMarcRecord(Record record) throws FormatRecordException {
     if (Objects.nonNull(record.getRecordType()) && Objects.nonNull(record.getParsedRecord())
       && Objects.nonNull(record.getParsedRecord().getContent())) {
-      String content = ParsedRecordDaoUtil.normalizeContent(record.getParsedRecord());
+      JsonObject content = ParsedRecordDaoUtil.normalizeJsonContent(record.getParsedRecord());
       try {
         record.getParsedRecord().setFormattedContent(MarcUtil.marcJsonToTxtMarc(content));
       } catch (IOException e) {
@@ -166,6 +195,58 @@ public enum RecordType implements ParsedRecordType {
     }
   }
 
+  /*
+   * Checks the structure which is required to format MARC JSON: leader of 24 characters and fields,
+   * each of which has a single tag with either control field value or data field with subfields
+   */
+  private static void validateMarcRecord(Record record) throws FormatRecordException {
+    if (Objects.isNull(record.getParsedRecord()) || Objects.isNull(record.getParsedRecord().getContent())) {
+      return;
+    }
+    JsonObject content;
+    try {
+      content = ParsedRecordDaoUtil.normalizeJsonContent(record.getParsedRecord());
+    } catch (DecodeException | IllegalArgumentException e) {
+      throw new FormatRecordException(e);
+    }
+    Object leader = content.getValue(LEADER);
+    if (Objects.nonNull(leader) && !(leader instanceof String && ((String) leader).length() == LEADER_LENGTH)) {
+      throw new FormatRecordException(String.format("MARC leader must be a string of %d characters", LEADER_LENGTH));
+    }
+    Object fields = content.getValue(FIELDS);
+    if (Objects.isNull(fields)) {
+      return;
+    }
+    if (!(fields instanceof JsonArray)) {
+      throw new FormatRecordException("MARC fields must be an array");
+    }
+    for (Object field : (JsonArray) fields) {
+      if (!(field instanceof JsonObject) || ((JsonObject) field).size() != 1) {
+        throw new FormatRecordException("MARC field must be an object with a single tag");
+      }
+      Object value = ((JsonObject) field).iterator().next().getValue();
+      if (value instanceof JsonObject) {
+        validateMarcSubfields(((JsonObject) value).getValue(SUBFIELDS));
+      } else if (!(value instanceof String)) {
+        throw new FormatRecordException("MARC field must be either control field or data field");
+      }
+    }
+  }
+
+  private static void validateMarcSubfields(Object subfields) throws FormatRecordException {
+    if (Objects.isNull(subfields)) {
+      return;
+    }
+    if (!(subfields instanceof JsonArray)) {
+      throw new FormatRecordException("MARC subfields must be an array");
+    }
+    for (Object subfield : (JsonArray) subfields) {
+      if (!(subfield instanceof JsonObject) || ((JsonObject) subfield).size() != 1) {
+        throw new FormatRecordException("MARC subfield must be an object with a single code");
+      }
+    }
+  }
+
   public String getTableName() {
     return tableName;
   }
@@ -0,0 +1,18 @@
+package org.folio.dao.util;
+
+/**
+ * Strategy used to persist batches of records
+ */
+public enum RecordsSaveMode {
+
+  /**
+   * Batched insert statements
+   */
+  BATCH,
+
+  /**
+   * Binary COPY into transaction scoped staging tables merged with set-based inserts
+   */
+  COPY
+
+}
@@ -0,0 +1,23 @@
+package org.folio.dao.util;
+
+/**
+ * Strategy used to calculate total records number of a collection page
+ */
+public enum TotalRecordsMode {
+
+  /**
+   * Exact number of records matching the query
+   */
+  EXACT,
+
+  /**
+   * Number of records estimated by query planner
+   */
+  ESTIMATED,
+
+  /**
+   * Total records number is not calculated
+   */
+  NONE
+
+}
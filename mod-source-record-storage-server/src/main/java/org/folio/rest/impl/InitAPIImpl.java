@@ -13,7 +13,9 @@ import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.config.ApplicationConfig;
+import org.folio.dao.util.MarcIndexersMode;
 import org.folio.processing.events.EventManager;
+import org.folio.services.MarcIndexersService;
 import org.folio.rest.resource.interfaces.InitAPI;
 import org.folio.services.handlers.AuthorityPostProcessingEventHandler;
 import org.folio.services.handlers.HoldingsPostProcessingEventHandler;
@@ -26,6 +28,7 @@ import org.folio.services.handlers.actions.MarcAuthorityUpdateModifyEventHandler
 import org.folio.services.handlers.actions.MarcBibUpdateModifyEventHandler;
 import org.folio.services.handlers.match.MarcHoldingsMatchEventHandler;
 import org.folio.spring.SpringContextUtil;
+import org.folio.verticle.MarcIndexersVerticle;
 import org.folio.verticle.consumers.DataImportConsumersVerticle;
 import org.folio.verticle.consumers.ParsedRecordChunkConsumersVerticle;
 import org.folio.verticle.consumers.QuickMarcConsumersVerticle;
@@ -67,6 +70,9 @@ public class InitAPIImpl implements InitAPI {
   @Autowired
   private MarcHoldingsUpdateModifyEventHandler marcHoldingsUpdateModifyEventHandler;
 
+  @Autowired
+  private MarcIndexersService marcIndexersService;
+
   @Value("${srs.kafka.ParsedMarcChunkConsumer.instancesNumber:1}")
   private int parsedMarcChunkConsumerInstancesNumber;
 
@@ -76,6 +82,15 @@ public class InitAPIImpl implements InitAPI {
   @Value("${srs.kafka.QuickMarcConsumer.instancesNumber:1}")
   private int quickMarcConsumerInstancesNumber;
 
+  @Value("${srs.marcIndexers.mode:SYNC}")
+  private MarcIndexersMode marcIndexersMode;
+
+  @Value("${srs.marcIndexers.batchSize:5000}")
+  private int marcIndexersBatchSize;
+
+  @Value("${srs.marcIndexers.interval.ms:1000}")
+  private long marcIndexersInterval;
+
   @Override
   public void init(Vertx vertx, Context context, Handler<AsyncResult<Boolean>> handler) {
     try {
@@ -127,7 +142,15 @@ public class InitAPIImpl implements InitAPI {
     vertx.deployVerticle(QuickMarcConsumersVerticle.class.getCanonicalName(),
       new DeploymentOptions().setWorker(true).setInstances(quickMarcConsumerInstancesNumber), deployConsumer3);
 
-    return GenericCompositeFuture.all(List.of(deployConsumer1.future(), deployConsumer2.future(), deployConsumer3.future()));
+    Promise<String> deployMarcIndexers = Promise.promise();
+    if (marcIndexersMode == MarcIndexersMode.ASYNC) {
+      vertx.deployVerticle(new MarcIndexersVerticle(marcIndexersService, marcIndexersBatchSize, marcIndexersInterval), deployMarcIndexers);
+    } else {
+      deployMarcIndexers.complete();
+    }
+
+    return GenericCompositeFuture.all(List.of(deployConsumer1.future(), deployConsumer2.future(), deployConsumer3.future(),
+      deployMarcIndexers.future()));
   }
 
 }
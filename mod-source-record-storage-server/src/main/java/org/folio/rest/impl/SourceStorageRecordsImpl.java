@@ -3,16 +3,22 @@ package org.folio.rest.impl;
 import static java.lang.String.format;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordBySnapshotId;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByState;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordsAfter;
+import static org.folio.dao.util.RecordDaoUtil.toRecordKeysetOrderFields;
 import static org.folio.dao.util.RecordDaoUtil.toRecordOrderFields;
 import static org.folio.rest.util.QueryParamUtil.toExternalIdType;
 import static org.folio.rest.util.QueryParamUtil.toRecordType;
+import static org.folio.rest.util.QueryParamUtil.toRecordProjection;
+import static org.folio.rest.util.QueryParamUtil.toTotalRecordsMode;
 
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 
+import org.apache.commons.lang3.StringUtils;
 import org.folio.dataimport.util.ExceptionHelper;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.Record.State;
@@ -64,15 +70,19 @@ public class SourceStorageRecordsImpl implements SourceStorageRecords {
   }
 
   @Override
-  public void getSourceStorageRecords(String snapshotId, String recordType, String state, List<String> orderBy, int offset, int limit,
-      String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
-      Context vertxContext) {
+  public void getSourceStorageRecords(String snapshotId, String recordType, String state, List<String> orderBy, String totalRecords,
+      String projection, String lastRecordId, int offset, int limit, String lang, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     vertxContext.runOnContext(v -> {
       try {
         Condition condition = filterRecordBySnapshotId(snapshotId)
-          .and(filterRecordByState(state));
-        List<OrderField<?>> orderFields = toRecordOrderFields(orderBy, true);
-        recordService.getRecords(condition, toRecordType(recordType), orderFields, offset, limit, tenantId)
+          .and(filterRecordByState(state))
+          .and(filterRecordsAfter(lastRecordId, orderBy));
+        boolean keyset = StringUtils.isNotEmpty(lastRecordId);
+        List<OrderField<?>> orderFields = keyset ? toRecordKeysetOrderFields(orderBy) : toRecordOrderFields(orderBy, true);
+        checkLastRecordExists(lastRecordId)
+          .compose(v -> recordService.getRecords(condition, toRecordType(recordType), orderFields, keyset ? 0 : offset, limit,
+              toTotalRecordsMode(totalRecords), toRecordProjection(projection), tenantId))
           .map(GetSourceStorageRecordsResponse::respond200WithApplicationJson).map(Response.class::cast)
           .otherwise(ExceptionHelper::mapExceptionToResponse).onComplete(asyncResultHandler);
       } catch (Exception e) {
@@ -164,4 +174,13 @@ public class SourceStorageRecordsImpl implements SourceStorageRecords {
     });
   }
 
+  private Future<Void> checkLastRecordExists(String lastRecordId) {
+    if (StringUtils.isEmpty(lastRecordId)) {
+      return Future.succeededFuture();
+    }
+    return recordService.getRecordById(lastRecordId, tenantId)
+      .compose(optionalRecord -> optionalRecord.isPresent() ? Future.<Void>succeededFuture()
+        : Future.failedFuture(new BadRequestException(format("Record with id '%s' passed as lastRecordId is not found", lastRecordId))));
+  }
+
 }
@@ -10,15 +10,20 @@ import static org.folio.dao.util.RecordDaoUtil.filterRecordByRecordId;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordBySnapshotId;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordBySuppressFromDiscovery;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByUpdatedDateRange;
+import static org.folio.dao.util.RecordDaoUtil.filterRecordsAfter;
+import static org.folio.dao.util.RecordDaoUtil.toRecordKeysetOrderFields;
 import static org.folio.dao.util.RecordDaoUtil.toRecordOrderFields;
 import static org.folio.rest.util.QueryParamUtil.firstNonEmpty;
 import static org.folio.rest.util.QueryParamUtil.toExternalIdType;
 import static org.folio.rest.util.QueryParamUtil.toRecordType;
+import static org.folio.rest.util.QueryParamUtil.toRecordProjection;
+import static org.folio.rest.util.QueryParamUtil.toTotalRecordsMode;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 
@@ -27,6 +32,7 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jooq.Condition;
@@ -61,7 +67,8 @@ public class SourceStorageSourceRecordsImpl implements SourceStorageSourceRecord
                                             String instanceId, String instanceHrid, String holdingsId, String holdingsHrid,
                                             String recordType, Boolean suppressFromDiscovery, Boolean deleted,
                                             String leaderRecordStatus, Date updatedAfter, Date updatedBefore,
-                                            List<String> orderBy, int offset, int limit, Map<String, String> okapiHeaders,
+                                            List<String> orderBy, String totalRecords, String projection,
+                                            String lastRecordId, int offset, int limit, Map<String, String> okapiHeaders,
                                             Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     vertxContext.runOnContext(v -> {
       try {
@@ -72,11 +79,15 @@ public class SourceStorageSourceRecordsImpl implements SourceStorageSourceRecord
           .and(filterRecordBySuppressFromDiscovery(suppressFromDiscovery))
           .and(filterRecordByDeleted(deleted))
           .and(filterRecordByLeaderRecordStatus(leaderRecordStatus))
-          .and(filterRecordByUpdatedDateRange(updatedAfter, updatedBefore));
+          .and(filterRecordByUpdatedDateRange(updatedAfter, updatedBefore))
+          .and(filterRecordsAfter(lastRecordId, orderBy));
 
+        boolean keyset = StringUtils.isNotEmpty(lastRecordId);
         boolean forOffset = offset != 0 || limit != 1;
-        List<OrderField<?>> orderFields = toRecordOrderFields(orderBy, forOffset);
-        recordService.getSourceRecords(condition, toRecordType(recordType), orderFields, offset, limit, tenantId)
+        List<OrderField<?>> orderFields = keyset ? toRecordKeysetOrderFields(orderBy) : toRecordOrderFields(orderBy, forOffset);
+        checkLastRecordExists(lastRecordId)
+          .compose(v -> recordService.getSourceRecords(condition, toRecordType(recordType), orderFields, keyset ? 0 : offset, limit,
+              toTotalRecordsMode(totalRecords), toRecordProjection(projection), tenantId))
           .map(GetSourceStorageSourceRecordsResponse::respond200WithApplicationJson)
           .map(Response.class::cast)
           .otherwise(ExceptionHelper::mapExceptionToResponse)
@@ -89,11 +100,13 @@ public class SourceStorageSourceRecordsImpl implements SourceStorageSourceRecord
   }
 
   @Override
-  public void postSourceStorageSourceRecords(String idType, String recordType, Boolean deleted, List<String> entity, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void postSourceStorageSourceRecords(String idType, String recordType, Boolean deleted, String totalRecords, String projection,
+      List<String> entity,
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     vertxContext.runOnContext(v -> {
       try {
-        recordService.getSourceRecords(entity, toExternalIdType(idType), toRecordType(recordType), deleted, tenantId)
+        recordService.getSourceRecords(entity, toExternalIdType(idType), toRecordType(recordType), deleted,
+            toTotalRecordsMode(totalRecords), toRecordProjection(projection), tenantId)
           .map(GetSourceStorageSourceRecordsResponse::respond200WithApplicationJson)
           .map(Response.class::cast)
           .otherwise(ExceptionHelper::mapExceptionToResponse)
@@ -124,4 +137,13 @@ public class SourceStorageSourceRecordsImpl implements SourceStorageSourceRecord
     });
   }
 
+  private Future<Void> checkLastRecordExists(String lastRecordId) {
+    if (StringUtils.isEmpty(lastRecordId)) {
+      return Future.succeededFuture();
+    }
+    return recordService.getRecordById(lastRecordId, tenantId)
+      .compose(optionalRecord -> optionalRecord.isPresent() ? Future.<Void>succeededFuture()
+        : Future.failedFuture(new BadRequestException(format("Record with id '%s' passed as lastRecordId is not found", lastRecordId))));
+  }
+
 }
@@ -12,8 +12,11 @@ import static org.folio.dao.util.RecordDaoUtil.filterRecordBySnapshotId;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByState;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordBySuppressFromDiscovery;
 import static org.folio.dao.util.RecordDaoUtil.filterRecordByUpdatedDateRange;
+import static org.folio.dao.util.RecordDaoUtil.getExternalIdsCondition;
 import static org.folio.dao.util.RecordDaoUtil.toRecordOrderFields;
 import static org.folio.rest.util.QueryParamUtil.firstNonEmpty;
+import static org.folio.rest.util.QueryParamUtil.toExternalIdType;
+import static org.folio.rest.util.QueryParamUtil.toRecordProjection;
 import static org.folio.rest.util.QueryParamUtil.toRecordType;
 
 import java.util.Date;
@@ -32,23 +35,25 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
-import io.vertx.core.json.Json;
 import io.vertx.core.streams.Pump;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.reactivex.FlowableHelper;
 import io.vertx.sqlclient.Row;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jooq.Condition;
 import org.jooq.OrderField;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
+import org.folio.dao.PostgresClientFactory;
+import org.folio.dao.util.MarcIndexersMode;
 import org.folio.dataimport.util.ExceptionHelper;
 import org.folio.rest.impl.wrapper.SearchRecordIdsWriteStream;
 import org.folio.rest.jaxrs.model.MarcRecordSearchRequest;
 import org.folio.rest.jaxrs.resource.SourceStorageStream;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.services.MarcIndexersService;
 import org.folio.services.RecordSearchParameters;
 import org.folio.services.RecordService;
 import org.folio.spring.SpringContextUtil;
@@ -56,11 +61,24 @@ import org.folio.spring.SpringContextUtil;
 public class SourceStorageStreamImpl implements SourceStorageStream {
 
   private static final Logger LOG = LogManager.getLogger();
+  private static final String MARC_INDEXERS_LAG_HEADER = "X-Marc-Indexers-Lag";
   private final String tenantId;
 
   @Autowired
   private RecordService recordService;
 
+  @Autowired
+  private MarcIndexersService marcIndexersService;
+
+  @Value("${srs.stream.records.fetchSize:1000}")
+  private int recordsFetchSize;
+
+  @Value("${srs.stream.sourceRecords.fetchSize:1000}")
+  private int sourceRecordsFetchSize;
+
+  @Value("${srs.stream.marcRecordIds.fetchSize:10000}")
+  private int marcRecordIdsFetchSize;
+
   public SourceStorageStreamImpl(Vertx vertx, String tenantId) { // NOSONAR
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
     this.tenantId = TenantTool.calculateTenantId(tenantId);
@@ -68,7 +86,7 @@ public class SourceStorageStreamImpl implements SourceStorageStream {
 
   @Override
   public void getSourceStorageStreamRecords(String snapshotId, String recordType, String state, List<String> orderBy,
-                                            @Min(0) @Max(2147483647) int offset, @Min(0) @Max(2147483647) int limit,
+                                            String projection, @Min(0) @Max(2147483647) int offset, @Min(0) @Max(2147483647) int limit,
                                             RoutingContext routingContext,
                                             Map<String, String> okapiHeaders,
                                             Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
@@ -76,9 +94,8 @@ public class SourceStorageStreamImpl implements SourceStorageStream {
     Condition condition = filterRecordBySnapshotId(snapshotId).and(filterRecordByState(state));
     List<OrderField<?>> orderFields = toRecordOrderFields(orderBy, true);
     Flowable<Buffer> flowable = recordService
-      .streamRecords(condition, toRecordType(recordType), orderFields, offset, limit, tenantId)
-      .map(Json::encodeToBuffer)
-      .map(buffer -> buffer.appendString(StringUtils.LF));
+      .streamRecordJsonBatches(condition, toRecordType(recordType), orderFields, offset, limit, recordsFetchSize,
+        toRecordProjection(projection), tenantId);
     processStream(response, flowable, cause -> {
       LOG.warn(cause.getMessage(), cause);
       asyncResultHandler.handle(Future.succeededFuture(ExceptionHelper.mapExceptionToResponse(cause)));
@@ -90,7 +107,7 @@ public class SourceStorageStreamImpl implements SourceStorageStream {
                                                   String instanceId, String instanceHrid, String holdingsId,
                                                   String holdingsHrid, String recordType, Boolean suppressFromDiscovery,
                                                   Boolean deleted, String leaderRecordStatus, Date updatedAfter,
-                                                  Date updatedBefore, List<String> orderBy, int offset, int limit,
+                                                  Date updatedBefore, List<String> orderBy, String projection, int offset, int limit,
                                                   RoutingContext routingContext, Map<String, String> okapiHeaders,
                                                   Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     HttpServerResponse response = prepareStreamResponse(routingContext);
@@ -104,26 +121,64 @@ public class SourceStorageStreamImpl implements SourceStorageStream {
       .and(filterRecordByUpdatedDateRange(updatedAfter, updatedBefore));
     List<OrderField<?>> orderFields = toRecordOrderFields(orderBy, true);
     Flowable<Buffer> flowable = recordService
-      .streamSourceRecords(condition, toRecordType(recordType), orderFields, offset, limit, tenantId)
-      .map(Json::encodeToBuffer)
-      .map(buffer -> buffer.appendString(StringUtils.LF));
+      .streamSourceRecordJsonBatches(condition, toRecordType(recordType), orderFields, offset, limit, sourceRecordsFetchSize,
+        toRecordProjection(projection), tenantId);
     processStream(response, flowable, cause -> {
       LOG.warn(cause.getMessage(), cause);
       asyncResultHandler.handle(Future.succeededFuture(ExceptionHelper.mapExceptionToResponse(cause)));
     });
   }
 
+  @Override
+  public void postSourceStorageStreamSourceRecords(String idType, String recordType, Boolean deleted, String projection,
+                                                   List<String> entity, RoutingContext routingContext, Map<String, String> okapiHeaders,
+                                                   Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    Handler<Throwable> errorHandler = cause -> {
+      LOG.warn(cause.getMessage(), cause);
+      asyncResultHandler.handle(Future.succeededFuture(ExceptionHelper.mapExceptionToResponse(cause)));
+    };
+    try {
+      // ids are bound as one array parameter, records are not counted and are written as they are fetched from the cursor
+      Condition condition = getExternalIdsCondition(entity, toExternalIdType(idType))
+        .and(filterRecordByDeleted(deleted));
+      Flowable<Buffer> flowable = recordService
+        .streamSourceRecordJsonBatches(condition, toRecordType(recordType), List.of(), 0, Integer.MAX_VALUE, sourceRecordsFetchSize,
+          toRecordProjection(projection), tenantId);
+      processStream(prepareStreamResponse(routingContext), flowable, errorHandler);
+    } catch (Exception e) {
+      errorHandler.handle(e);
+    }
+  }
+
   @Override
   public void postSourceStorageStreamMarcRecordIdentifiers(MarcRecordSearchRequest request, RoutingContext routingContext,
                                                            Map<String, String> okapiHeaders,
                                                            Handler<AsyncResult<Response>> asyncResultHandler,
                                                            Context vertxContext) {
     HttpServerResponse response = prepareStreamResponse(routingContext);
-    Flowable<Row> flowable = recordService.streamMarcRecordIds(RecordSearchParameters.from(request), tenantId);
-    processStream(new SearchRecordIdsWriteStream(response), flowable, cause -> {
+    Handler<Throwable> errorHandler = cause -> {
       LOG.warn(cause.getMessage(), cause);
       asyncResultHandler.handle(Future.succeededFuture(ExceptionHelper.mapExceptionToResponse(cause)));
-    });
+    };
+    getMarcIndexersLag()
+      .onSuccess(lag -> {
+        if (lag != null) {
+          response.putHeader(MARC_INDEXERS_LAG_HEADER, String.valueOf(lag));
+        }
+        RecordSearchParameters searchParameters = RecordSearchParameters.from(request);
+        searchParameters.setFetchSize(marcRecordIdsFetchSize);
+        Flowable<Row> flowable = recordService.streamMarcRecordIds(searchParameters, tenantId);
+        processStream(new SearchRecordIdsWriteStream(response), flowable, errorHandler);
+      })
+      .onFailure(errorHandler);
+  }
+
+  /* staleness of marc indexers is only reported when they are populated asynchronously */
+  private Future<Long> getMarcIndexersLag() {
+    if (PostgresClientFactory.getMarcIndexersMode() != MarcIndexersMode.ASYNC) {
+      return Future.succeededFuture();
+    }
+    return marcIndexersService.getIndexingLag(tenantId);
   }
 
   private void processStream(SearchRecordIdsWriteStream responseWrapper, Flowable<Row> flowable,
@@ -8,6 +8,8 @@ import org.codehaus.plexus.util.StringUtils;
 
 import org.folio.dao.util.IdType;
 import org.folio.dao.util.RecordType;
+import org.folio.dao.util.RecordProjection;
+import org.folio.dao.util.TotalRecordsMode;
 
 public final class QueryParamUtil {
 
@@ -47,6 +49,40 @@ public final class QueryParamUtil {
     return RecordType.MARC_BIB;
   }
 
+  /**
+   * Tries to convert string to {@link TotalRecordsMode}. Returns default EXACT if null or empty.
+   *
+   * @param totalRecords total records mode as string
+   * @return total records mode
+   */
+  public static TotalRecordsMode toTotalRecordsMode(String totalRecords) {
+    if (StringUtils.isNotEmpty(totalRecords)) {
+      try {
+        return TotalRecordsMode.valueOf(totalRecords.toUpperCase());
+      } catch (Exception e) {
+        throw new BadRequestException(format("Unknown total records mode %s", totalRecords));
+      }
+    }
+    return TotalRecordsMode.EXACT;
+  }
+
+  /**
+   * Tries to convert string to {@link RecordProjection}. Returns default FULL if null or empty.
+   *
+   * @param projection record projection as string
+   * @return record projection
+   */
+  public static RecordProjection toRecordProjection(String projection) {
+    if (StringUtils.isNotEmpty(projection)) {
+      try {
+        return RecordProjection.valueOf(projection.toUpperCase());
+      } catch (Exception e) {
+        throw new BadRequestException(format("Unknown record projection %s", projection));
+      }
+    }
+    return RecordProjection.FULL;
+  }
+
   /**
    * Returns the first value in the array which is not null.
    * If all the values are null or the array is null or empty then null is returned.
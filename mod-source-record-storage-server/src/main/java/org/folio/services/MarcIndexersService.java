@@ -0,0 +1,25 @@
+package org.folio.services;
+
+import io.vertx.core.Future;
+
+public interface MarcIndexersService {
+
+  /**
+   * Rebuilds marc indexers of MARC records changed in {@link org.folio.dao.util.MarcIndexersMode#ASYNC} mode
+   * until there are no pending records left
+   *
+   * @param batchSize max number of MARC records processed in one transaction
+   * @param tenantId  tenant id
+   * @return future with number of processed MARC records
+   */
+  Future<Integer> processPendingRecords(int batchSize, String tenantId);
+
+  /**
+   * Returns lag of marc indexers and updates the corresponding metric
+   *
+   * @param tenantId tenant id
+   * @return future with lag in milliseconds, 0 if marc indexers are up to date
+   */
+  Future<Long> getIndexingLag(String tenantId);
+
+}
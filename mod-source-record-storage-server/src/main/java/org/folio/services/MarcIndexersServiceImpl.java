@@ -0,0 +1,54 @@
+package org.folio.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.core.Future;
+import org.folio.dao.MarcIndexersDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MarcIndexersServiceImpl implements MarcIndexersService {
+
+  public static final String INDEXING_LAG_METRIC = "srs.marc_indexers.lag";
+  private static final String TENANT_TAG = "tenant";
+
+  /* gauges keep weak references to their state, so the state is held here */
+  private final Map<String, AtomicLong> indexingLags = new ConcurrentHashMap<>();
+
+  private final MarcIndexersDao marcIndexersDao;
+  private final MeterRegistry meterRegistry;
+
+  @Autowired
+  public MarcIndexersServiceImpl(final MarcIndexersDao marcIndexersDao, final MeterRegistry meterRegistry) {
+    this.marcIndexersDao = marcIndexersDao;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Future<Integer> processPendingRecords(int batchSize, String tenantId) {
+    return processPendingRecords(batchSize, 0, tenantId);
+  }
+
+  @Override
+  public Future<Long> getIndexingLag(String tenantId) {
+    return marcIndexersDao.getIndexingLag(tenantId)
+      .onSuccess(lag -> indexingLags.computeIfAbsent(tenantId, this::registerIndexingLagGauge).set(lag));
+  }
+
+  private Future<Integer> processPendingRecords(int batchSize, int processedTotal, String tenantId) {
+    return marcIndexersDao.processOutbox(batchSize, tenantId)
+      .compose(processed -> processed < batchSize
+        ? Future.succeededFuture(processedTotal + processed)
+        : processPendingRecords(batchSize, processedTotal + processed, tenantId));
+  }
+
+  private AtomicLong registerIndexingLagGauge(String tenantId) {
+    return meterRegistry.gauge(INDEXING_LAG_METRIC, Tags.of(TENANT_TAG, tenantId), new AtomicLong());
+  }
+
+}
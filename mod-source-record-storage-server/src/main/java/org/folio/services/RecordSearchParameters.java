@@ -16,6 +16,7 @@ public class RecordSearchParameters {
   private boolean suppressedFromDiscovery;
   private Integer limit;
   private Integer offset;
+  private Integer fetchSize;
 
   public static RecordSearchParameters from(MarcRecordSearchRequest request) {
     if (request == null) {
@@ -88,4 +89,12 @@ public class RecordSearchParameters {
   public void setOffset(Integer offset) {
     this.offset = offset;
   }
+
+  public Integer getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(Integer fetchSize) {
+    this.fetchSize = fetchSize;
+  }
 }
@@ -2,11 +2,14 @@ package org.folio.services;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import io.vertx.sqlclient.Row;
 import org.folio.dao.util.IdType;
+import org.folio.dao.util.RecordProjection;
 import org.folio.dao.util.RecordType;
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.rest.jaxrs.model.MarcBibCollection;
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.ParsedRecordDto;
@@ -22,6 +25,7 @@ import org.jooq.OrderField;
 
 import io.reactivex.Flowable;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 
 public interface RecordService {
 
@@ -38,6 +42,39 @@ public interface RecordService {
    */
   Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit,
+   * total records number is calculated according to {@link TotalRecordsMode}
+   *
+   * @param condition        query where condition
+   * @param recordType       record type
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records calculation mode
+   * @param tenantId         tenant id
+   * @return {@link Future} of {@link RecordCollection}
+   */
+  Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                      TotalRecordsMode totalRecordsMode, String tenantId);
+
+  /**
+   * Searches for {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit,
+   * total records number is calculated according to {@link TotalRecordsMode}, properties are selected according to {@link RecordProjection}
+   *
+   * @param condition        query where condition
+   * @param recordType       record type
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records calculation mode
+   * @param projection       record properties to return
+   * @param tenantId         tenant id
+   * @return {@link Future} of {@link RecordCollection}
+   */
+  Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                      TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId);
+
   /**
    * Stream {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit
    *
@@ -51,6 +88,54 @@ public interface RecordService {
    */
   Flowable<Record> streamRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Stream batches of {@link Record} by {@link Condition} and ordered by collection of {@link OrderField} with offset and limit
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records for pagination
+   * @param fetchSize   max number of records fetched from the database per round trip
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of {@link Record} batches
+   */
+  Flowable<List<Record>> streamRecordBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                             int fetchSize, String tenantId);
+
+  /**
+   * Stream batches of {@link Record} encoded to JSON lines by {@link Condition} and ordered by collection of {@link OrderField}
+   * with offset and limit
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records for pagination
+   * @param fetchSize   max number of records fetched from the database per round trip
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of JSON lines buffers
+   */
+  Flowable<Buffer> streamRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                           int fetchSize, String tenantId);
+
+  /**
+   * Streams batches of {@link Record} encoded to JSON lines, properties are selected according to {@link RecordProjection},
+   * each batch holds rows of one database cursor fetch
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records
+   * @param fetchSize   max number of rows fetched from the cursor per round trip
+   * @param projection  record properties to return
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of JSON lines buffers
+   */
+  Flowable<Buffer> streamRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                           int fetchSize, RecordProjection projection, String tenantId);
+
   /**
    * Searches for record by id
    *
@@ -60,6 +145,15 @@ public interface RecordService {
    */
   Future<Optional<Record>> getRecordById(String id, String tenantId);
 
+  /**
+   * Searches for records by ids
+   *
+   * @param ids      Record ids
+   * @param tenantId tenant id
+   * @return future with map of found {@link Record}s keyed by record id
+   */
+  Future<Map<String, Record>> getRecordsByIds(List<String> ids, String tenantId);
+
   /**
    * Saves record
    *
@@ -100,6 +194,39 @@ public interface RecordService {
    */
   Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Searches for {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit,
+   * total records number is calculated according to {@link TotalRecordsMode}
+   *
+   * @param condition        query where condition
+   * @param recordType       record type
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records calculation mode
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                  TotalRecordsMode totalRecordsMode, String tenantId);
+
+  /**
+   * Searches for {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit,
+   * total records number is calculated according to {@link TotalRecordsMode}, properties are selected according to {@link RecordProjection}
+   *
+   * @param condition        query where condition
+   * @param recordType       record type
+   * @param orderFields      fields to order by
+   * @param offset           starting index in a list of results
+   * @param limit            limit of records for pagination
+   * @param totalRecordsMode total records calculation mode
+   * @param projection       record properties to return
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit,
+                                                  TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId);
+
   /**
    * Stream {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit
    *
@@ -113,6 +240,53 @@ public interface RecordService {
    */
   Flowable<SourceRecord> streamSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId);
 
+  /**
+   * Stream batches of {@link SourceRecord} by {@link Condition} and ordered by order fields with offset and limit
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records for pagination
+   * @param fetchSize   max number of records fetched from the database per round trip
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of {@link SourceRecord} batches
+   */
+  Flowable<List<SourceRecord>> streamSourceRecordBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                         int offset, int limit, int fetchSize, String tenantId);
+
+  /**
+   * Stream batches of {@link SourceRecord} encoded to JSON lines by {@link Condition} and ordered by order fields with offset and limit
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records for pagination
+   * @param fetchSize   max number of records fetched from the database per round trip
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of JSON lines buffers
+   */
+  Flowable<Buffer> streamSourceRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                 int offset, int limit, int fetchSize, String tenantId);
+
+  /**
+   * Stream batches of {@link SourceRecord} encoded to JSON lines, properties are selected according to {@link RecordProjection},
+   * each batch holds rows of one database cursor fetch
+   *
+   * @param condition   query where condition
+   * @param recordType  record type
+   * @param orderFields fields to order by
+   * @param offset      starting index in a list of results
+   * @param limit       limit of records for pagination
+   * @param fetchSize   max number of rows fetched from the cursor per round trip
+   * @param projection  record properties to return
+   * @param tenantId    tenant id
+   * @return {@link Flowable} of JSON lines buffers
+   */
+  Flowable<Buffer> streamSourceRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                 int offset, int limit, int fetchSize, RecordProjection projection, String tenantId);
+
   /**
    * Stream [instanceId, totalCount]  of the marc record by search expressions with offset and limit
    *
@@ -132,6 +306,37 @@ public interface RecordService {
    */
   Future<SourceRecordCollection> getSourceRecords(List<String> ids, IdType idType, RecordType recordType, Boolean deleted, String tenantId);
 
+  /**
+   * Searches for {@link SourceRecord} where id in a list of ids defined by id type. i.e. INSTANCE or RECORD,
+   * total records number is calculated according to {@link TotalRecordsMode}
+   *
+   * @param ids              list of ids
+   * @param idType           id type
+   * @param recordType       record type
+   * @param deleted          filter by state DELETED or leader record status d, s, or x
+   * @param totalRecordsMode total records calculation mode
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(List<String> ids, IdType idType, RecordType recordType, Boolean deleted,
+                                                  TotalRecordsMode totalRecordsMode, String tenantId);
+
+  /**
+   * Searches for {@link SourceRecord} where id in a list of ids defined by id type. i.e. INSTANCE or RECORD,
+   * total records number is calculated according to {@link TotalRecordsMode}, properties are selected according to {@link RecordProjection}
+   *
+   * @param ids              list of ids
+   * @param idType           id type
+   * @param recordType       record type
+   * @param deleted          filter by state DELETED or leader record status d, s, or x
+   * @param totalRecordsMode total records calculation mode
+   * @param projection       record properties to return
+   * @param tenantId         tenant id
+   * @return future with {@link SourceRecordCollection}
+   */
+  Future<SourceRecordCollection> getSourceRecords(List<String> ids, IdType idType, RecordType recordType, Boolean deleted,
+                                                  TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId);
+
   /**
    * Searches for source record by id via specific id type
    *
@@ -160,6 +365,40 @@ public interface RecordService {
    */
   Future<ParsedRecordsBatchResponse> updateParsedRecords(RecordCollection recordCollection, String tenantId);
 
+  /**
+   * Updates parsed records and external relations ids of records from collection in one transaction
+   * the same way as {@link #updateParsedRecord(Record, String)} does for a single record:
+   * parsed records are not validated and external ids of records are replaced, so the missing ones are cleared
+   *
+   * @param recordCollection collection of records from which parsed records and external ids will be updated
+   * @param tenantId         tenant id
+   * @return future with response containing list of successfully updated records and error messages for records that were not updated
+   */
+  Future<ParsedRecordsBatchResponse> updateParsedRecordsAndExternalIds(RecordCollection recordCollection, String tenantId);
+
+  /**
+   * Sets state OLD to records of specified type which have specified external id
+   * and belong to a snapshot other than specified one
+   *
+   * @param externalId external id
+   * @param snapshotId snapshot id of actual record
+   * @param recordType record type
+   * @param tenantId   tenant id
+   * @return future with ids of records which state was set to OLD
+   */
+  Future<List<String>> updatePreviousRecordsState(String externalId, String snapshotId, RecordType recordType, String tenantId);
+
+  /**
+   * Sets state OLD to records of specified type which have one of the external ids
+   * and belong to a snapshot other than the one specified for the external id
+   *
+   * @param snapshotIdsByExternalId snapshot ids of actual records by external ids
+   * @param recordType              record type
+   * @param tenantId                tenant id
+   * @return future with ids of records which state was set to OLD
+   */
+  Future<List<String>> updatePreviousRecordsState(Map<String, String> snapshotIdsByExternalId, RecordType recordType, String tenantId);
+
   /**
    * Searches for Record either by SRS id or external relation id
    *
@@ -10,17 +10,21 @@ import static org.folio.dao.util.SnapshotDaoUtil.SNAPSHOT_NOT_FOUND_TEMPLATE;
 import static org.folio.dao.util.SnapshotDaoUtil.SNAPSHOT_NOT_STARTED_MESSAGE_TEMPLATE;
 import static org.folio.rest.util.QueryParamUtil.toRecordType;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
 
 import io.reactivex.Flowable;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.Promise;
 import io.vertx.sqlclient.Row;
 import org.apache.logging.log4j.LogManager;
@@ -33,7 +37,9 @@ import org.springframework.stereotype.Service;
 
 import org.folio.dao.RecordDao;
 import org.folio.dao.util.IdType;
+import org.folio.dao.util.RecordProjection;
 import org.folio.dao.util.RecordType;
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.dao.util.SnapshotDaoUtil;
 import org.folio.rest.jaxrs.model.MarcBibCollection;
 import org.folio.rest.jaxrs.model.ParsedRecord;
@@ -46,6 +52,7 @@ import org.folio.rest.jaxrs.model.RecordsBatchResponse;
 import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.rest.jaxrs.model.SourceRecord;
 import org.folio.rest.jaxrs.model.SourceRecordCollection;
+import org.folio.services.caches.RecordsCache;
 import org.folio.services.util.parser.ParseFieldsResult;
 import org.folio.services.util.parser.ParseLeaderResult;
 import org.folio.services.util.parser.SearchExpressionParser;
@@ -56,10 +63,16 @@ public class RecordServiceImpl implements RecordService {
   private static final Logger LOG = LogManager.getLogger();
 
   private final RecordDao recordDao;
+  private final RecordsCache recordsCache;
 
-  @Autowired
   public RecordServiceImpl(final RecordDao recordDao) {
+    this(recordDao, null);
+  }
+
+  @Autowired
+  public RecordServiceImpl(final RecordDao recordDao, final RecordsCache recordsCache) {
     this.recordDao = recordDao;
+    this.recordsCache = recordsCache;
   }
 
   @Override
@@ -68,16 +81,51 @@ public class RecordServiceImpl implements RecordService {
     return recordDao.getRecords(condition, recordType, orderFields, offset, limit, tenantId);
   }
 
+  @Override
+  public Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset,
+      int limit, TotalRecordsMode totalRecordsMode, String tenantId) {
+    return recordDao.getRecords(condition, recordType, orderFields, offset, limit, totalRecordsMode, tenantId);
+  }
+
+  @Override
+  public Future<RecordCollection> getRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset,
+      int limit, TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId) {
+    return recordDao.getRecords(condition, recordType, orderFields, offset, limit, totalRecordsMode, projection, tenantId);
+  }
+
   @Override
   public Flowable<Record> streamRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId) {
     return recordDao.streamRecords(condition, recordType, orderFields, offset, limit, tenantId);
   }
 
+  @Override
+  public Flowable<List<Record>> streamRecordBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset,
+                                                    int limit, int fetchSize, String tenantId) {
+    return recordDao.streamRecordBatches(condition, recordType, orderFields, offset, limit, fetchSize, tenantId);
+  }
+
+  @Override
+  public Flowable<Buffer> streamRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset,
+                                                  int limit, int fetchSize, String tenantId) {
+    return recordDao.streamRecordJsonBatches(condition, recordType, orderFields, offset, limit, fetchSize, tenantId);
+  }
+
+  @Override
+  public Flowable<Buffer> streamRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset,
+                                                  int limit, int fetchSize, RecordProjection projection, String tenantId) {
+    return recordDao.streamRecordJsonBatches(condition, recordType, orderFields, offset, limit, fetchSize, projection, tenantId);
+  }
+
   @Override
   public Future<Optional<Record>> getRecordById(String id, String tenantId) {
     return recordDao.getRecordById(id, tenantId);
   }
 
+  @Override
+  public Future<Map<String, Record>> getRecordsByIds(List<String> ids, String tenantId) {
+    return recordDao.getRecordsByIds(ids, tenantId);
+  }
+
   @Override
   public Future<Record> saveRecord(Record record, String tenantId) {
     ensureRecordHasId(record);
@@ -101,10 +149,11 @@ public class RecordServiceImpl implements RecordService {
         if (generation > 0) {
           return recordDao.getRecordByMatchedId(txQE, record.getMatchedId())
             .compose(optionalMatchedRecord -> optionalMatchedRecord
-              .map(matchedRecord -> recordDao.saveUpdatedRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)), matchedRecord.withState(Record.State.OLD)))
-              .orElseGet(() -> recordDao.saveRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)))));
+              .map(matchedRecord -> recordDao.saveUpdatedRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)),
+                matchedRecord.withState(Record.State.OLD), tenantId))
+              .orElseGet(() -> recordDao.saveRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)), tenantId)));
         } else {
-          return recordDao.saveRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)));
+          return recordDao.saveRecord(txQE, ensureRecordForeignKeys(record.withGeneration(generation)), tenantId);
         }
       }), tenantId);
   }
@@ -130,11 +179,41 @@ public class RecordServiceImpl implements RecordService {
     return recordDao.getSourceRecords(condition, recordType, orderFields, offset, limit, tenantId);
   }
 
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+      int offset, int limit, TotalRecordsMode totalRecordsMode, String tenantId) {
+    return recordDao.getSourceRecords(condition, recordType, orderFields, offset, limit, totalRecordsMode, tenantId);
+  }
+
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+      int offset, int limit, TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId) {
+    return recordDao.getSourceRecords(condition, recordType, orderFields, offset, limit, totalRecordsMode, projection, tenantId);
+  }
+
   @Override
   public Flowable<SourceRecord> streamSourceRecords(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields, int offset, int limit, String tenantId) {
     return recordDao.streamSourceRecords(condition, recordType, orderFields, offset, limit, tenantId);
   }
 
+  @Override
+  public Flowable<List<SourceRecord>> streamSourceRecordBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                                int offset, int limit, int fetchSize, String tenantId) {
+    return recordDao.streamSourceRecordBatches(condition, recordType, orderFields, offset, limit, fetchSize, tenantId);
+  }
+
+  @Override
+  public Flowable<Buffer> streamSourceRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                        int offset, int limit, int fetchSize, String tenantId) {
+    return recordDao.streamSourceRecordJsonBatches(condition, recordType, orderFields, offset, limit, fetchSize, tenantId);
+  }
+
+  @Override
+  public Flowable<Buffer> streamSourceRecordJsonBatches(Condition condition, RecordType recordType, Collection<OrderField<?>> orderFields,
+                                                        int offset, int limit, int fetchSize, RecordProjection projection, String tenantId) {
+    return recordDao.streamSourceRecordJsonBatches(condition, recordType, orderFields, offset, limit, fetchSize, projection, tenantId);
+  }
+
   @Override
   public Flowable<Row> streamMarcRecordIds(RecordSearchParameters searchParameters, String tenantId) {
     if (searchParameters.getLeaderSearchExpression() == null && searchParameters.getFieldsSearchExpression() == null) {
@@ -150,9 +229,22 @@ public class RecordServiceImpl implements RecordService {
     return recordDao.getSourceRecords(ids, idType, recordType, deleted, tenantId);
   }
 
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(List<String> ids, IdType idType, RecordType recordType, Boolean deleted,
+      TotalRecordsMode totalRecordsMode, String tenantId) {
+    return recordDao.getSourceRecords(ids, idType, recordType, deleted, totalRecordsMode, tenantId);
+  }
+
+  @Override
+  public Future<SourceRecordCollection> getSourceRecords(List<String> ids, IdType idType, RecordType recordType, Boolean deleted,
+      TotalRecordsMode totalRecordsMode, RecordProjection projection, String tenantId) {
+    return recordDao.getSourceRecords(ids, idType, recordType, deleted, totalRecordsMode, projection, tenantId);
+  }
+
   @Override
   public Future<Optional<SourceRecord>> getSourceRecordById(String id, IdType idType, String tenantId) {
-    return recordDao.getSourceRecordByExternalId(id, idType, tenantId);
+    Supplier<Future<Optional<SourceRecord>>> loader = () -> recordDao.getSourceRecordByExternalId(id, idType, tenantId);
+    return Objects.nonNull(recordsCache) ? recordsCache.getSourceRecord(id, idType, tenantId, loader) : loader.get();
   }
 
   @Override
@@ -170,11 +262,36 @@ public class RecordServiceImpl implements RecordService {
     return recordDao.updateParsedRecords(recordCollection, tenantId);
   }
 
+  @Override
+  public Future<ParsedRecordsBatchResponse> updateParsedRecordsAndExternalIds(RecordCollection recordCollection, String tenantId) {
+    if (recordCollection.getRecords().isEmpty()) {
+      return Future.succeededFuture(new ParsedRecordsBatchResponse().withTotalRecords(0));
+    }
+    return recordDao.updateParsedRecordsAndExternalIds(recordCollection, tenantId);
+  }
+
+  @Override
+  public Future<List<String>> updatePreviousRecordsState(String externalId, String snapshotId, RecordType recordType, String tenantId) {
+    return recordDao.updatePreviousRecordsState(externalId, snapshotId, recordType, tenantId);
+  }
+
+  @Override
+  public Future<List<String>> updatePreviousRecordsState(Map<String, String> snapshotIdsByExternalId, RecordType recordType, String tenantId) {
+    if (snapshotIdsByExternalId.isEmpty()) {
+      return Future.succeededFuture(new ArrayList<>());
+    }
+    return recordDao.updatePreviousRecordsState(snapshotIdsByExternalId, recordType, tenantId);
+  }
+
   @Override
   public Future<Record> getFormattedRecord(String id, IdType idType, String tenantId) {
-    return recordDao.getRecordByExternalId(id, idType, tenantId)
-      .map(optionalRecord -> formatMarcRecord(optionalRecord.orElseThrow(() ->
-        new NotFoundException(format("Couldn't find record with id type %s and id %s", idType, id)))));
+    Supplier<Future<Record>> loader = () -> recordDao.getFormattedRecordByExternalId(id, idType, tenantId)
+      .map(optionalRecord -> optionalRecord.orElseThrow(() ->
+        new NotFoundException(format("Couldn't find record with id type %s and id %s", idType, id))))
+      // records saved before formatted content was stored are formatted on read
+      .map(record -> Objects.nonNull(record.getParsedRecord()) && Objects.nonNull(record.getParsedRecord().getFormattedContent())
+        ? record : formatMarcRecord(record));
+    return Objects.nonNull(recordsCache) ? recordsCache.getFormattedRecord(id, idType, tenantId, loader) : loader.get();
   }
 
   @Override
@@ -208,7 +325,7 @@ public class RecordServiceImpl implements RecordService {
               .withParsedRecord(new ParsedRecord().withId(newRecordId).withContent(parsedRecordDto.getParsedRecord().getContent()))
               .withExternalIdsHolder(parsedRecordDto.getExternalIdsHolder())
               .withAdditionalInfo(parsedRecordDto.getAdditionalInfo())
-              .withMetadata(parsedRecordDto.getMetadata()), existingRecord.withState(Record.State.OLD))))
+              .withMetadata(parsedRecordDto.getMetadata()), existingRecord.withState(Record.State.OLD), tenantId)))
         .orElse(Future.failedFuture(new NotFoundException(
           format(RECORD_NOT_FOUND_TEMPLATE, parsedRecordDto.getId()))))), tenantId);
   }
@@ -2,21 +2,21 @@ package org.folio.services;
 
 import static java.lang.String.format;
 import static org.apache.http.HttpStatus.SC_NO_CONTENT;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordBySnapshotId;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.folio.dao.RecordDao;
-import org.folio.dao.util.RecordDaoUtil;
 import org.folio.dao.util.RecordType;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.dataimport.util.RestUtil;
-import org.folio.rest.jaxrs.model.Record;
-import org.jooq.Condition;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import org.folio.okapi.common.GenericCompositeFuture;
@@ -31,59 +31,87 @@ public class SnapshotRemovalServiceImpl implements SnapshotRemovalService {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  public static final String DELETED_INSTANCES_METRIC = "srs.snapshot_removal.deleted_instances";
+  public static final String DELETED_RECORDS_METRIC = "srs.snapshot_removal.deleted_records";
+  private static final String TENANT_TAG = "tenant";
   private static final String INVENTORY_INSTANCES_PATH = "/inventory/instances/%s";
-  private static final int RECORDS_LIMIT = Integer.parseInt(System.getProperty("RECORDS_READING_LIMIT", "50"));
 
   private SnapshotService snapshotService;
-  private RecordService recordService;
   private RecordDao recordDao;
+  private final MeterRegistry meterRegistry;
+  private final int batchSize;
+  private final int inventoryConcurrency;
+
+  public SnapshotRemovalServiceImpl(SnapshotService snapshotService, RecordDao recordDao, int batchSize, int inventoryConcurrency) {
+    this(snapshotService, recordDao, Metrics.globalRegistry, batchSize, inventoryConcurrency);
+  }
 
   @Autowired
-  public SnapshotRemovalServiceImpl(SnapshotService snapshotService, RecordService recordService, RecordDao recordDao) {
+  public SnapshotRemovalServiceImpl(SnapshotService snapshotService, RecordDao recordDao, MeterRegistry meterRegistry,
+                                    @Value("${srs.snapshot.removal.batchSize:1000}") int batchSize,
+                                    @Value("${srs.snapshot.removal.inventory.concurrency:10}") int inventoryConcurrency) {
     this.snapshotService = snapshotService;
-    this.recordService = recordService;
     this.recordDao = recordDao;
+    this.meterRegistry = meterRegistry;
+    this.batchSize = Math.max(1, batchSize);
+    this.inventoryConcurrency = Math.max(1, inventoryConcurrency);
   }
 
   @Override
   public Future<Boolean> deleteSnapshot(String snapshotId, OkapiConnectionParams params) {
-    return deleteInstancesBySnapshotId(snapshotId, params)
-      .compose(ar -> snapshotService.deleteSnapshot(snapshotId, params.getTenantId()));
+    return deleteInstancesBySnapshotId(snapshotId, null, 0, params)
+      .compose(deletedInstances -> deleteRecordsBySnapshotId(snapshotId, 0, params.getTenantId()))
+      .compose(deletedRecords -> snapshotService.deleteSnapshot(snapshotId, params.getTenantId()));
+  }
+
+  /*
+   * Only instance ids are read by pages which start after the last id of the previous page,
+   * so reading a page does not depend on the number of pages already read
+   */
+  private Future<Integer> deleteInstancesBySnapshotId(String snapshotId, String lastInstanceId, int deletedTotal, OkapiConnectionParams params) {
+    return recordDao.getExternalIdsBySnapshotId(snapshotId, RecordType.MARC_BIB, lastInstanceId, batchSize, params.getTenantId())
+      .compose(instanceIds -> deleteInstances(instanceIds, params)
+        .compose(v -> {
+          int deleted = deletedTotal + instanceIds.size();
+          LOG.info("deleteInstancesBySnapshotId:: Deletion of {} inventory instances of snapshot {} has been requested", deleted, snapshotId);
+          return instanceIds.size() < batchSize
+            ? Future.succeededFuture(deleted)
+            : deleteInstancesBySnapshotId(snapshotId, instanceIds.get(instanceIds.size() - 1), deleted, params);
+        }));
   }
 
-  private Future<Void> deleteInstancesBySnapshotId(String snapshotId, OkapiConnectionParams params) {
-    Condition condition = filterRecordBySnapshotId(snapshotId);
-    return recordDao.executeInTransaction(txQE -> RecordDaoUtil.countByCondition(txQE, condition), params.getTenantId())
-      .compose(totalRecords -> {
-        int totalRequestedRecords = 0;
-        Future<Void> future = Future.succeededFuture();
-
-        while (totalRequestedRecords < totalRecords) {
-          int offset = totalRequestedRecords;
-          future = future.compose(ar -> recordService.getRecords(condition, RecordType.MARC_BIB, Collections.emptyList(), offset, RECORDS_LIMIT, params.getTenantId()))
-            .compose(recordCollection -> deleteInstances(recordCollection.getRecords(), params));
-          totalRequestedRecords += RECORDS_LIMIT;
+  /*
+   * Records are deleted by batches in separate transactions, so a large snapshot does not hold locks on all its records
+   * until the end and the snapshot itself is deleted when it has no records left
+   */
+  private Future<Integer> deleteRecordsBySnapshotId(String snapshotId, int deletedTotal, String tenantId) {
+    return recordDao.purgeRecordsBySnapshotId(snapshotId, batchSize, tenantId)
+      .compose(deleted -> {
+        Counter.builder(DELETED_RECORDS_METRIC).tag(TENANT_TAG, tenantId).register(meterRegistry).increment(deleted);
+        if (deleted < batchSize) {
+          LOG.info("deleteRecordsBySnapshotId:: {} records of snapshot {} have been deleted", deletedTotal + deleted, snapshotId);
+          return Future.succeededFuture(deletedTotal + deleted);
         }
-        return future;
+        LOG.debug("deleteRecordsBySnapshotId:: {} records of snapshot {} have been deleted so far", deletedTotal + deleted, snapshotId);
+        return deleteRecordsBySnapshotId(snapshotId, deletedTotal + deleted, tenantId);
       });
   }
 
-  private Future<Void> deleteInstances(List<Record> records, OkapiConnectionParams params) {
-    List<String> instanceIds = records.stream()
-      .filter(record -> record.getExternalIdsHolder() != null)
-      .map(record -> record.getExternalIdsHolder().getInstanceId())
+  /* instances are deleted by a window of concurrent requests, each request is followed by the next pending one */
+  private Future<Void> deleteInstances(List<String> instanceIds, OkapiConnectionParams params) {
+    Iterator<String> pendingIds = instanceIds.iterator();
+    List<Future<Void>> windows = IntStream.range(0, Math.min(inventoryConcurrency, instanceIds.size()))
+      .mapToObj(i -> deleteNextInstance(pendingIds, params))
       .collect(Collectors.toList());
+    return GenericCompositeFuture.join(windows).mapEmpty();
+  }
 
-    Promise<Void> promise = Promise.promise();
-    List<Future<Boolean>> deleteInstancesFutures = new ArrayList<>();
-    for (String instanceId : instanceIds) {
-      deleteInstancesFutures.add(deleteInstanceById(instanceId, params));
+  private Future<Void> deleteNextInstance(Iterator<String> pendingIds, OkapiConnectionParams params) {
+    if (!pendingIds.hasNext()) {
+      return Future.succeededFuture();
     }
-
-    GenericCompositeFuture.join(deleteInstancesFutures)
-      .onSuccess(ar -> promise.complete())
-      .onFailure(promise::fail);
-    return promise.future();
+    return deleteInstanceById(pendingIds.next(), params)
+      .compose(deleted -> deleteNextInstance(pendingIds, params));
   }
 
   private Future<Boolean> deleteInstanceById(String id, OkapiConnectionParams params) {
@@ -99,6 +127,7 @@ public class SnapshotRemovalServiceImpl implements SnapshotRemovalService {
           LOG.warn("deleteInstanceById:: Failed to delete inventory instance by id '{}', response status: {}", id, responseAr.result().getCode());
           promise.complete(false);
         } else {
+          Counter.builder(DELETED_INSTANCES_METRIC).tag(TENANT_TAG, params.getTenantId()).register(meterRegistry).increment();
           promise.complete(true);
         }
       });
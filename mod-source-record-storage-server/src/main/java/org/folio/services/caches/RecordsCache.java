@@ -0,0 +1,391 @@
+package org.folio.services.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.pubsub.PgSubscriber;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.PostgresClientFactory;
+import org.folio.dao.util.IdType;
+import org.folio.rest.jaxrs.model.ExternalIdsHolder;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.SourceRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per tenant cache of source records and formatted records requested by id. Records are cached encoded to JSON,
+ * so each caller gets its own copy which can be changed without changing the cached record. Cached records are invalidated
+ * by {@link org.folio.dao.RecordDaoImpl} on change, other module instances are notified about changed records
+ * through the database channel which this cache listens to.
+ */
+@Component
+public class RecordsCache {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  public static final String HIT_RATIO_METRIC = "srs.records_cache.hit_ratio";
+  public static final String INVALIDATION_LAG_METRIC = "srs.records_cache.invalidation.lag";
+  private static final String TENANT_TAG = "tenant";
+  private static final String CACHE_TAG = "cache";
+  private static final String SOURCE_RECORDS_CACHE = "source-records";
+  private static final String FORMATTED_RECORDS_CACHE = "formatted-records";
+
+  private static final String TENANT_ID = "tenantId";
+  private static final String IDS = "ids";
+  private static final String TIMESTAMP = "timestamp";
+  /* notification payload is limited by 8000 bytes */
+  private static final int MAX_IDS_PER_NOTIFICATION = 100;
+  private static final long RECONNECT_INTERVAL_MS = 5000;
+
+  @Value("${srs.records-cache.enabled:true}")
+  private boolean enabled = true;
+  @Value("${srs.records-cache.maximum.size:10000}")
+  private long maximumSize = 10000;
+  @Value("${srs.records-cache.expiration.time.seconds:300}")
+  private long cacheExpirationTime = 300;
+  @Value("${srs.records-cache.channel:srs_records_changed}")
+  private String channel = "srs_records_changed";
+
+  private final Map<String, TenantCaches> tenantCaches = new ConcurrentHashMap<>();
+  private final PostgresClientFactory postgresClientFactory;
+  private final MeterRegistry meterRegistry;
+  private final Timer invalidationLag;
+  private PgSubscriber subscriber;
+  private boolean resubscribed;
+
+  public RecordsCache(PostgresClientFactory postgresClientFactory) {
+    this(postgresClientFactory, Metrics.globalRegistry);
+  }
+
+  @Autowired
+  public RecordsCache(PostgresClientFactory postgresClientFactory, MeterRegistry meterRegistry) {
+    this.postgresClientFactory = postgresClientFactory;
+    this.meterRegistry = meterRegistry;
+    this.invalidationLag = meterRegistry.timer(INVALIDATION_LAG_METRIC);
+  }
+
+  @PreDestroy
+  public void close() {
+    if (Objects.nonNull(subscriber)) {
+      subscriber.close();
+    }
+  }
+
+  /**
+   * Get source record by id from cache or load it by provided loader if it is not cached
+   *
+   * @param id       id
+   * @param idType   id type
+   * @param tenantId tenant id
+   * @param loader   source record loader
+   * @return future with optional source record
+   */
+  public Future<Optional<SourceRecord>> getSourceRecord(String id, IdType idType, String tenantId,
+                                                        Supplier<Future<Optional<SourceRecord>>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+    TenantCaches caches = getTenantCaches(tenantId);
+    String key = toKey(id, idType);
+    SourceRecord cachedSourceRecord = caches.sourceRecords.get(key);
+    if (Objects.nonNull(cachedSourceRecord)) {
+      return Future.succeededFuture(Optional.of(cachedSourceRecord));
+    }
+    long version = caches.version.get();
+    return loader.get()
+      .onSuccess(optionalSourceRecord -> optionalSourceRecord
+        .ifPresent(sourceRecord -> caches.put(caches.sourceRecords, key, version, sourceRecord, id, getSourceRecordIds(sourceRecord))));
+  }
+
+  /**
+   * Get formatted record by id from cache or load it by provided loader if it is not cached
+   *
+   * @param id       id
+   * @param idType   id type
+   * @param tenantId tenant id
+   * @param loader   formatted record loader
+   * @return future with formatted record
+   */
+  public Future<Record> getFormattedRecord(String id, IdType idType, String tenantId, Supplier<Future<Record>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+    TenantCaches caches = getTenantCaches(tenantId);
+    String key = toKey(id, idType);
+    Record cachedRecord = caches.formattedRecords.get(key);
+    if (Objects.nonNull(cachedRecord)) {
+      return Future.succeededFuture(cachedRecord);
+    }
+    long version = caches.version.get();
+    return loader.get()
+      .onSuccess(record -> caches.put(caches.formattedRecords, key, version, record, id, getRecordIds(record)));
+  }
+
+  /**
+   * Invalidates cached records of the tenant which have any of provided ids as record id, matched id or external id
+   *
+   * @param tenantId tenant id
+   * @param ids      ids of changed records
+   */
+  public void invalidate(String tenantId, Collection<String> ids) {
+    Optional.ofNullable(tenantCaches.get(tenantId)).ifPresent(caches -> caches.invalidate(ids));
+  }
+
+  /**
+   * Invalidates all cached records of the tenant
+   *
+   * @param tenantId tenant id
+   */
+  public void invalidateAll(String tenantId) {
+    Optional.ofNullable(tenantCaches.get(tenantId)).ifPresent(TenantCaches::invalidateAll);
+  }
+
+  /**
+   * Get name of the database channel which notifications about changed records are sent to
+   *
+   * @return channel name
+   */
+  public String getChannel() {
+    return channel;
+  }
+
+  /**
+   * Converts ids of changed records of the tenant to notification payloads
+   *
+   * @param tenantId tenant id
+   * @param ids      ids of changed records
+   * @return notification payloads
+   */
+  public List<String> toNotifications(String tenantId, Collection<String> ids) {
+    List<String> notifications = new ArrayList<>();
+    List<String> idsList = new ArrayList<>(ids);
+    for (int i = 0; i < idsList.size(); i += MAX_IDS_PER_NOTIFICATION) {
+      notifications.add(new JsonObject()
+        .put(TENANT_ID, tenantId)
+        .put(IDS, new JsonArray(idsList.subList(i, Math.min(i + MAX_IDS_PER_NOTIFICATION, idsList.size()))))
+        .put(TIMESTAMP, System.currentTimeMillis())
+        .encode());
+    }
+    return notifications;
+  }
+
+  /**
+   * Get notification payload to invalidate all records of the tenant
+   *
+   * @param tenantId tenant id
+   * @return notification payload
+   */
+  public String toNotification(String tenantId) {
+    return new JsonObject()
+      .put(TENANT_ID, tenantId)
+      .put(TIMESTAMP, System.currentTimeMillis())
+      .encode();
+  }
+
+  /**
+   * Get ids of record which cached records are looked up and invalidated by
+   *
+   * @param record record
+   * @return record id, matched id and external ids
+   */
+  public static Set<String> getRecordIds(Record record) {
+    return Stream.concat(Stream.of(record.getId(), record.getMatchedId()), getExternalIds(record.getExternalIdsHolder()))
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+  }
+
+  private static Set<String> getSourceRecordIds(SourceRecord sourceRecord) {
+    return Stream.concat(Stream.of(sourceRecord.getRecordId(),
+          Objects.nonNull(sourceRecord.getParsedRecord()) ? sourceRecord.getParsedRecord().getId() : null),
+        getExternalIds(sourceRecord.getExternalIdsHolder()))
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+  }
+
+  private static Stream<String> getExternalIds(ExternalIdsHolder externalIdsHolder) {
+    return Objects.isNull(externalIdsHolder) ? Stream.empty()
+      : Stream.of(externalIdsHolder.getInstanceId(), externalIdsHolder.getHoldingsId(), externalIdsHolder.getAuthorityId());
+  }
+
+  private TenantCaches getTenantCaches(String tenantId) {
+    TenantCaches caches = tenantCaches.get(tenantId);
+    if (Objects.isNull(caches)) {
+      subscribe();
+      caches = tenantCaches.computeIfAbsent(tenantId, TenantCaches::new);
+    }
+    return caches;
+  }
+
+  private synchronized void subscribe() {
+    if (Objects.nonNull(subscriber)) {
+      return;
+    }
+    subscriber = postgresClientFactory.createSubscriber()
+      .reconnectPolicy(retries -> RECONNECT_INTERVAL_MS);
+    subscriber.channel(channel)
+      .subscribeHandler(v -> {
+        LOGGER.info("subscribe:: Listening to '{}' channel", channel);
+        if (resubscribed) {
+          // notifications sent while disconnected are lost
+          tenantCaches.values().forEach(TenantCaches::invalidateAll);
+        }
+        resubscribed = true;
+      })
+      .handler(this::handleNotification);
+    subscriber.connect()
+      .onFailure(e -> LOGGER.warn("subscribe:: Failed to listen to '{}' channel", channel, e));
+  }
+
+  private void handleNotification(String payload) {
+    try {
+      JsonObject notification = new JsonObject(payload);
+      String tenantId = notification.getString(TENANT_ID);
+      JsonArray ids = notification.getJsonArray(IDS);
+      if (Objects.isNull(ids)) {
+        invalidateAll(tenantId);
+      } else {
+        invalidate(tenantId, ids.stream().map(String.class::cast).collect(Collectors.toSet()));
+      }
+      invalidationLag.record(Math.max(0, System.currentTimeMillis() - notification.getLong(TIMESTAMP)), TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      LOGGER.warn("handleNotification:: Failed to handle notification '{}'", payload, e);
+    }
+  }
+
+  private static String toKey(String id, IdType idType) {
+    return idType.name() + ":" + id;
+  }
+
+  private class TenantCaches {
+
+    /* incremented by each invalidation, so records loaded concurrently with invalidation are not cached */
+    private final AtomicLong version = new AtomicLong();
+    private final IndexedCache<SourceRecord> sourceRecords;
+    private final IndexedCache<Record> formattedRecords;
+
+    private TenantCaches(String tenantId) {
+      sourceRecords = new IndexedCache<>(tenantId, SOURCE_RECORDS_CACHE, SourceRecord.class);
+      formattedRecords = new IndexedCache<>(tenantId, FORMATTED_RECORDS_CACHE, Record.class);
+    }
+
+    private <T> void put(IndexedCache<T> cache, String key, long loadedVersion, T value, String id, Set<String> ids) {
+      if (version.get() != loadedVersion) {
+        return;
+      }
+      Set<String> recordIds = new HashSet<>(ids);
+      recordIds.add(id);
+      // record is encoded before the loader future completes, so changes made by the caller are not cached
+      cache.put(key, new CachedRecord(Json.encodeToBuffer(value), recordIds));
+      // invalidation running concurrently with put could miss the record
+      if (version.get() != loadedVersion) {
+        cache.invalidate(key);
+      }
+    }
+
+    private void invalidate(Collection<String> ids) {
+      version.incrementAndGet();
+      sourceRecords.invalidate(ids);
+      formattedRecords.invalidate(ids);
+    }
+
+    private void invalidateAll() {
+      version.incrementAndGet();
+      sourceRecords.invalidateAll();
+      formattedRecords.invalidateAll();
+    }
+  }
+
+  private class IndexedCache<T> {
+
+    private final Cache<String, CachedRecord> cache;
+    /* keys of cached records by ids which the records are invalidated by */
+    private final Map<String, Set<String>> keysById = new ConcurrentHashMap<>();
+    private final Class<T> type;
+
+    private IndexedCache(String tenantId, String name, Class<T> type) {
+      this.type = type;
+      cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+        .recordStats()
+        .evictionListener((String key, CachedRecord cachedRecord, RemovalCause cause) -> unindex(key, cachedRecord))
+        .build();
+      meterRegistry.gauge(HIT_RATIO_METRIC, Tags.of(TENANT_TAG, tenantId, CACHE_TAG, name), cache, c -> c.stats().hitRate());
+    }
+
+    private T get(String key) {
+      CachedRecord cachedRecord = cache.getIfPresent(key);
+      return Objects.isNull(cachedRecord) ? null : Json.decodeValue(cachedRecord.json, type);
+    }
+
+    /* record is indexed before it is put, so it is found by invalidation which starts once it is cached */
+    private void put(String key, CachedRecord cachedRecord) {
+      cachedRecord.ids.forEach(id -> keysById.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(key));
+      cache.put(key, cachedRecord);
+    }
+
+    private void invalidate(Collection<String> ids) {
+      ids.forEach(id -> Optional.ofNullable(keysById.remove(id)).ifPresent(keys -> keys.forEach(this::invalidate)));
+    }
+
+    private void invalidate(String key) {
+      Optional.ofNullable(cache.asMap().remove(key)).ifPresent(cachedRecord -> unindex(key, cachedRecord));
+    }
+
+    private void invalidateAll() {
+      cache.invalidateAll();
+      keysById.clear();
+    }
+
+    private void unindex(String key, CachedRecord cachedRecord) {
+      if (Objects.isNull(cachedRecord)) {
+        return;
+      }
+      cachedRecord.ids.forEach(id -> keysById.computeIfPresent(id, (k, keys) -> {
+        keys.remove(key);
+        return keys.isEmpty() ? null : keys;
+      }));
+    }
+  }
+
+  private static class CachedRecord {
+
+    private final Buffer json;
+    /* ids which the record is invalidated by */
+    private final Set<String> ids;
+
+    private CachedRecord(Buffer json, Set<String> ids) {
+      this.json = json;
+      this.ids = ids;
+    }
+  }
+
+}
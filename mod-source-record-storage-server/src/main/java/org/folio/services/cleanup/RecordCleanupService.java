@@ -1,5 +1,18 @@
 package org.folio.services.cleanup;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -10,41 +23,143 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Purges 'DELETED' records in batches, tenants are processed one after another within the row and time budget
+ * of a run. Batch size is reduced and next batch is delayed when the database responds slower than the target latency,
+ * progress is saved by each batch, so the next run resumes where the previous one stopped.
+ * Raw records contents which are not referenced by raw records anymore are deleted after records of a tenant are purged.
+ */
 @Service
 public class RecordCleanupService {
+  public static final String PURGED_RECORDS_METRIC = "srs.cleanup.purged_records";
+  public static final String PURGE_RATE_METRIC = "srs.cleanup.purge_rate";
+  public static final String PURGED_RAW_RECORD_CONTENTS_METRIC = "srs.cleanup.purged_raw_record_contents";
+  private static final String TENANT_TAG = "tenant";
+  private static final int DEFAULT_BATCH_SIZE = 500;
+  private static final long DEFAULT_TIME_BUDGET_MS = 60000;
+  private static final long DEFAULT_TARGET_LATENCY_MS = 1000;
+
   private static final Logger LOGGER = LogManager.getLogger();
   private final Vertx vertx;
   private final RecordDao recordDao;
+  private final MeterRegistry meterRegistry;
   private final int lastUpdatedDays;
   private final int limit;
+  private final int batchSize;
+  private final long timeBudget;
+  private final long targetLatency;
+  private final AtomicBoolean inProgress = new AtomicBoolean();
+  /* gauges keep weak references to their state, so the state is held here */
+  private final Map<String, AtomicLong> purgeRates = new ConcurrentHashMap<>();
+
+  public RecordCleanupService(int lastUpdatedDays, int limit, Vertx vertx, RecordDao recordDao) {
+    this(lastUpdatedDays, limit, DEFAULT_BATCH_SIZE, DEFAULT_TIME_BUDGET_MS, DEFAULT_TARGET_LATENCY_MS, vertx, recordDao, Metrics.globalRegistry);
+  }
 
+  @Autowired
   public RecordCleanupService(@Value("${srs.cleanup.last.updated.days:7}") int lastUpdatedDays,
-                              @Value("${srs.cleanup.limit:100}") int limit,
-                              @Autowired Vertx vertx,
-                              @Autowired RecordDao recordDao) {
+                              @Value("${srs.cleanup.limit:10000}") int limit,
+                              @Value("${srs.cleanup.batchSize:500}") int batchSize,
+                              @Value("${srs.cleanup.timeBudget.ms:60000}") long timeBudget,
+                              @Value("${srs.cleanup.targetLatency.ms:1000}") long targetLatency,
+                              Vertx vertx,
+                              RecordDao recordDao,
+                              MeterRegistry meterRegistry) {
     this.vertx = vertx;
     this.recordDao = recordDao;
+    this.meterRegistry = meterRegistry;
     this.lastUpdatedDays = lastUpdatedDays;
     this.limit = limit;
+    this.batchSize = Math.max(1, batchSize);
+    this.timeBudget = timeBudget;
+    this.targetLatency = targetLatency;
   }
 
   /**
-   * The method is getting run by the Spring Framework's Scheduler, at 12 am (midnight) every day by default.
+   * The method is getting run by the Spring Framework's Scheduler, every 5 minutes by default.
    * The execution starts automatically after the ApplicationContext setup.
    * The schedule is defined by the cron expression, which allows defining time to run in a fixed format.
+   * Run is skipped if the previous one is still in progress.
    */
-  @Scheduled(cron = "${srs.cleanup.cron.expression:0 0 0 * * ?}")
+  @Scheduled(cron = "${srs.cleanup.cron.expression:0 */5 * * * ?}")
   public void cleanup() {
+    if (!inProgress.compareAndSet(false, true)) {
+      LOGGER.info("cleanup:: Previous records cleanup job is still in progress");
+      return;
+    }
     LOGGER.info("cleanup:: Starting records cleanup job");
     TenantUtil.getModuleTenants(vertx)
       .onFailure(throwable -> LOGGER.warn("cleanup:: Failed to retrieve tenants available for the module, cause: {}", throwable.getMessage()))
-      .onSuccess(tenants -> {
-        for (String tenantId : tenants) {
-          recordDao.deleteRecords(lastUpdatedDays, limit, tenantId)
-            .onFailure(throwable -> LOGGER.warn("cleanup:: Failed to delete records, tenant: {}, cause: {}", tenantId, throwable.getMessage()))
-            .onSuccess(ar -> LOGGER.info("cleanup:: Records has been successfully deleted, tenant: {}", tenantId));
+      .compose(this::cleanup)
+      .onComplete(ar -> inProgress.set(false));
+  }
+
+  private Future<Void> cleanup(List<String> tenants) {
+    Future<Void> future = Future.succeededFuture();
+    for (String tenantId : tenants) {
+      future = future.compose(v -> cleanup(tenantId));
+    }
+    return future;
+  }
+
+  private Future<Void> cleanup(String tenantId) {
+    long start = System.nanoTime();
+    long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudget);
+    return purge(tenantId, deadline, batchSize, 0)
+      .onSuccess(purged -> {
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        purgeRates.computeIfAbsent(tenantId, this::registerPurgeRateGauge).set(purged * 1000L / elapsedMs);
+        LOGGER.info("cleanup:: {} records has been successfully deleted in {} ms, tenant: {}", purged, elapsedMs, tenantId);
+      })
+      .compose(purged -> purgeRawRecordContents(tenantId, deadline, 0))
+      .onSuccess(purged -> LOGGER.info("cleanup:: {} unreferenced raw records contents has been deleted, tenant: {}", purged, tenantId))
+      .<Void>mapEmpty()
+      .recover(throwable -> {
+        LOGGER.warn("cleanup:: Failed to delete records, tenant: {}, cause: {}", tenantId, throwable.getMessage());
+        return Future.succeededFuture();
+      });
+  }
+
+  private Future<Integer> purge(String tenantId, long deadline, int currentBatchSize, int purgedTotal) {
+    int size = limit > 0 ? Math.min(currentBatchSize, limit - purgedTotal) : currentBatchSize;
+    if (size <= 0 || System.nanoTime() >= deadline) {
+      return Future.succeededFuture(purgedTotal);
+    }
+    long batchStart = System.nanoTime();
+    return recordDao.purgeDeletedRecords(lastUpdatedDays, size, tenantId)
+      .compose(purged -> {
+        Counter.builder(PURGED_RECORDS_METRIC).tag(TENANT_TAG, tenantId).register(meterRegistry).increment(purged);
+        if (purged < size) {
+          return Future.succeededFuture(purgedTotal + purged);
         }
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart);
+        // slow batch means the database is busy, so the next one is halved and waits as long as this one took
+        if (latency > targetLatency) {
+          return delay(latency).compose(v -> purge(tenantId, deadline, Math.max(1, size / 2), purgedTotal + purged));
+        }
+        return purge(tenantId, deadline, Math.min(batchSize, size * 2), purgedTotal + purged);
       });
   }
-}
 
+  /* at least one batch is deleted per run, so contents are deleted even if purge of records took the whole time budget */
+  private Future<Integer> purgeRawRecordContents(String tenantId, long deadline, int purgedTotal) {
+    return recordDao.purgeUnreferencedRawRecordContents(batchSize, tenantId)
+      .compose(purged -> {
+        Counter.builder(PURGED_RAW_RECORD_CONTENTS_METRIC).tag(TENANT_TAG, tenantId).register(meterRegistry).increment(purged);
+        if (purged < batchSize || System.nanoTime() >= deadline) {
+          return Future.succeededFuture(purgedTotal + purged);
+        }
+        return purgeRawRecordContents(tenantId, deadline, purgedTotal + purged);
+      });
+  }
+
+  private Future<Void> delay(long delay) {
+    Promise<Void> promise = Promise.promise();
+    vertx.setTimer(delay, id -> promise.complete());
+    return promise.future();
+  }
+
+  private AtomicLong registerPurgeRateGauge(String tenantId) {
+    return meterRegistry.gauge(PURGE_RATE_METRIC, Tags.of(TENANT_TAG, tenantId), new AtomicLong());
+  }
+}
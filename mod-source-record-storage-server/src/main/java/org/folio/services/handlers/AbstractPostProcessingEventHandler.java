@@ -22,24 +22,30 @@ import org.folio.rest.jaxrs.model.AdditionalInfo;
 import org.folio.rest.jaxrs.model.DataImportEventTypes;
 import org.folio.rest.jaxrs.model.EntityType;
 import org.folio.rest.jaxrs.model.ExternalIdsHolder;
+import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
 import org.folio.services.RecordService;
 import org.folio.services.caches.MappingParametersSnapshotCache;
 import org.folio.services.exceptions.PostProcessingException;
+import org.folio.services.util.BatchAccumulator;
 import org.folio.services.util.TypeConnection;
-import org.jooq.Condition;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.lang.String.format;
 import static org.apache.commons.lang.StringUtils.isEmpty;
 import static org.apache.commons.lang.StringUtils.isNotEmpty;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordByExternalId;
-import static org.folio.dao.util.RecordDaoUtil.filterRecordByNotSnapshotId;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_INVENTORY_INSTANCE_UPDATED_READY_FOR_POST_PROCESSING;
 import static org.folio.rest.jaxrs.model.ProfileSnapshotWrapper.ContentType.MAPPING_PROFILE;
 import static org.folio.rest.util.OkapiConnectionParams.OKAPI_TENANT_HEADER;
@@ -71,10 +77,20 @@ public abstract class AbstractPostProcessingEventHandler implements EventHandler
   private static final String DISCOVERY_SUPPRESS_FIELD = "discoverySuppress";
   private static final String FAILED_UPDATE_STATE_MSG = "Error during update records state to OLD";
   private static final String ID_FIELD = "id";
+  private static final String PARSED_RECORD_NOT_UPDATED_MSG = "Parsed Record with id '%s' was not updated";
+  private static final int DEFAULT_BATCH_SIZE = 50;
+  private static final long DEFAULT_BATCH_WINDOW_MS = 20;
   private final KafkaConfig kafkaConfig;
   private final MappingParametersSnapshotCache mappingParamsCache;
   private final Vertx vertx;
   private final RecordService recordService;
+  private BatchAccumulator<Record, Record> recordsAccumulator;
+
+  @Value("${srs.postProcessing.batchSize:50}")
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  @Value("${srs.postProcessing.batchWindow.ms:20}")
+  private long batchWindowMs = DEFAULT_BATCH_WINDOW_MS;
 
   protected AbstractPostProcessingEventHandler(RecordService recordService, KafkaConfig kafkaConfig,
                                                MappingParametersSnapshotCache mappingParamsCache, Vertx vertx) {
@@ -94,7 +110,7 @@ public abstract class AbstractPostProcessingEventHandler implements EventHandler
         .compose(parametersOptional -> parametersOptional
           .map(mappingParams -> prepareRecord(dataImportEventPayload, mappingParams))
           .orElse(Future.failedFuture(format(MAPPING_PARAMS_NOT_FOUND_MSG, jobExecutionId))))
-        .compose(record -> saveRecord(record, dataImportEventPayload.getTenant()))
+        .compose(record -> getRecordsAccumulator().add(record, dataImportEventPayload.getTenant()))
         .onSuccess(record -> {
           sendReplyEvent(dataImportEventPayload, record);
           sendAdditionalEvent(dataImportEventPayload, record);
@@ -219,27 +235,14 @@ public abstract class AbstractPostProcessingEventHandler implements EventHandler
     }
   }
 
-  private Future<Void> updatePreviousRecordsState(String externalId, String snapshotId, String tenantId) {
-    Condition condition = filterRecordByNotSnapshotId(snapshotId)
-      .and(filterRecordByExternalId(externalId));
-
-    return recordService.getRecords(condition, getDbType(), new ArrayList<>(), 0, 999, tenantId)
-      .compose(recordCollection -> {
-        Promise<Void> result = Promise.promise();
-        @SuppressWarnings("squid:S3740")
-        List<Future<Record>> futures = new ArrayList<>();
-        recordCollection.getRecords()
-          .forEach(record -> futures.add(recordService.updateRecord(record.withState(Record.State.OLD), tenantId)));
-        GenericCompositeFuture.all(futures).onComplete(ar -> {
-          if (ar.succeeded()) {
-            result.complete();
-          } else {
-            result.fail(ar.cause());
-            LOG.warn(FAILED_UPDATE_STATE_MSG, ar.cause());
-          }
-        });
-        return result.future();
-      });
+  private Future<Void> updatePreviousRecordsState(List<Record> records, String tenantId) {
+    Map<String, String> snapshotIdsByExternalId = new HashMap<>();
+    records.stream()
+      .filter(record -> isNotEmpty(getExternalId(record)))
+      .forEach(record -> snapshotIdsByExternalId.put(getExternalId(record), record.getSnapshotId()));
+    return recordService.updatePreviousRecordsState(snapshotIdsByExternalId, getDbType(), tenantId)
+      .onFailure(e -> LOG.warn(FAILED_UPDATE_STATE_MSG, e))
+      .mapEmpty();
   }
 
   /**
@@ -276,27 +279,80 @@ public abstract class AbstractPostProcessingEventHandler implements EventHandler
     }
   }
 
+  private synchronized BatchAccumulator<Record, Record> getRecordsAccumulator() {
+    if (recordsAccumulator == null) {
+      recordsAccumulator = new BatchAccumulator<>(vertx, batchSize, batchWindowMs, this::isConflicting, this::saveRecords);
+    }
+    return recordsAccumulator;
+  }
+
+  /* records with the same id or external id are saved in different batches to keep their order */
+  private boolean isConflicting(Record record, Record other) {
+    String externalId = getExternalId(record);
+    return record.getId().equals(other.getId()) || (isNotEmpty(externalId) && externalId.equals(getExternalId(other)));
+  }
+
   /**
-   * Updates specific record. If it doesn't exist - then just save it.
+   * Updates specific records. Records which don't exist are just saved.
+   * Existing records are found and updated by a few statements for the whole batch,
+   * then records of the same external ids from other snapshots are set to OLD state at once.
    *
-   * @param record   - target record
+   * @param records  - target records
    * @param tenantId - tenantId
-   * @return - Future with Record result
+   * @return - futures with Record result in the order of records
    */
-  private Future<Record> saveRecord(Record record, String tenantId) {
-    return recordService.getRecordById(record.getId(), tenantId)
-      .compose(r -> {
-        if (r.isPresent()) {
-          return recordService.updateParsedRecord(record, tenantId).map(record.withGeneration(r.get().getGeneration()));
-        } else {
-          record.getRawRecord().setId(record.getId());
-          return recordService.saveRecord(record, tenantId).map(record);
-        }
-      })
-      .compose(updatedRecord ->
-        updatePreviousRecordsState(getExternalId(updatedRecord), updatedRecord.getSnapshotId(), tenantId)
-          .map(updatedRecord)
-      );
+  private List<Future<Record>> saveRecords(List<Record> records, String tenantId) {
+    List<String> ids = records.stream().map(Record::getId).collect(Collectors.toList());
+    Future<List<Future<Record>>> savedRecords = recordService.getRecordsByIds(ids, tenantId)
+      .compose(existingRecords -> {
+        List<Record> recordsToUpdate = records.stream()
+          .filter(record -> existingRecords.containsKey(record.getId()))
+          .map(record -> record.withGeneration(existingRecords.get(record.getId()).getGeneration()))
+          .collect(Collectors.toList());
+        return updateParsedRecords(recordsToUpdate, tenantId)
+          .map(updatedParsedRecordIds -> records.stream()
+            .map(record -> {
+              if (!existingRecords.containsKey(record.getId())) {
+                record.getRawRecord().setId(record.getId());
+                return recordService.saveRecord(record, tenantId).map(record);
+              }
+              if (updatedParsedRecordIds.contains(record.getParsedRecord().getId())) {
+                return Future.succeededFuture(record);
+              }
+              return Future.<Record>failedFuture(
+                new PostProcessingException(format(PARSED_RECORD_NOT_UPDATED_MSG, record.getParsedRecord().getId())));
+            })
+            .collect(Collectors.toList()));
+      });
+
+    Future<Void> previousRecordsStateUpdate = savedRecords
+      .compose(futures -> GenericCompositeFuture.join(futures)
+        .transform(ar -> updatePreviousRecordsState(futures.stream()
+          .filter(Future::succeeded)
+          .map(Future::result)
+          .collect(Collectors.toList()), tenantId)));
+
+    // if the update of the whole batch fails, the state is updated for each record separately to fail only its own future
+    return IntStream.range(0, records.size())
+      .mapToObj(i -> savedRecords
+        .compose(futures -> futures.get(i))
+        .compose(record -> previousRecordsStateUpdate
+          .recover(e -> updatePreviousRecordsState(List.of(record), tenantId))
+          .map(record)))
+      .collect(Collectors.toList());
+  }
+
+  private Future<Set<String>> updateParsedRecords(List<Record> records, String tenantId) {
+    if (records.isEmpty()) {
+      return Future.succeededFuture(Collections.emptySet());
+    }
+    RecordCollection recordCollection = new RecordCollection()
+      .withRecords(records)
+      .withTotalRecords(records.size());
+    return recordService.updateParsedRecordsAndExternalIds(recordCollection, tenantId)
+      .map(response -> response.getParsedRecords().stream()
+        .map(ParsedRecord::getId)
+        .collect(Collectors.toSet()));
   }
 
   private void sendReplyEvent(DataImportEventPayload dataImportEventPayload, Record record) {
@@ -1,6 +1,7 @@
 package org.folio.services.handlers.match;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang.StringUtils;
@@ -22,8 +23,10 @@ import org.folio.rest.jaxrs.model.MatchExpression;
 import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.services.util.BatchAccumulator;
 import org.folio.services.util.TypeConnection;
 import org.jooq.Condition;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -31,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -51,17 +55,29 @@ public abstract class AbstractMarcMatchEventHandler implements EventHandler {
   private static final String CANNOT_FIND_RECORDS_ERROR_MESSAGE = "Can`t find records matching specified conditions";
   private static final String MATCH_DETAIL_IS_NOT_VALID = "Match detail is not valid: %s";
   private static final String USER_ID_HEADER = "userId";
+  private static final int DEFAULT_BATCH_SIZE = 100;
+  private static final long DEFAULT_BATCH_WINDOW_MS = 10;
 
   private final TypeConnection typeConnection;
   private final RecordDao recordDao;
   private final DataImportEventTypes matchedEventType;
   private final DataImportEventTypes notMatchedEventType;
+  private final Vertx vertx;
+  private BatchAccumulator<MatchField, List<Record>> matchFieldsAccumulator;
 
-  public AbstractMarcMatchEventHandler(TypeConnection typeConnection, RecordDao recordDao, DataImportEventTypes matchedEventType, DataImportEventTypes notMatchedEventType) {
+  @Value("${srs.match.batchSize:100}")
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  @Value("${srs.match.batchWindow.ms:10}")
+  private long batchWindowMs = DEFAULT_BATCH_WINDOW_MS;
+
+  public AbstractMarcMatchEventHandler(TypeConnection typeConnection, RecordDao recordDao, DataImportEventTypes matchedEventType,
+                                       DataImportEventTypes notMatchedEventType, Vertx vertx) {
     this.typeConnection = typeConnection;
     this.recordDao = recordDao;
     this.matchedEventType = matchedEventType;
     this.notMatchedEventType = notMatchedEventType;
+    this.vertx = vertx;
   }
 
   @Override
@@ -86,7 +102,7 @@ public abstract class AbstractMarcMatchEventHandler implements EventHandler {
           .onSuccess(recordCollection -> processSucceededResult(recordCollection.getRecords(), payload, future))
           .onFailure(throwable -> future.completeExceptionally(new MatchingException(throwable)));
       } else {
-        recordDao.getMatchedRecords(matchField, typeConnection, 0, 2, payload.getTenant())
+        getMatchFieldsAccumulator().add(matchField, payload.getTenant())
           .onSuccess(recordList -> processSucceededResult(recordList, payload, future))
           .onFailure(throwable -> future.completeExceptionally(new MatchingException(throwable)));
       }
@@ -121,6 +137,43 @@ public abstract class AbstractMarcMatchEventHandler implements EventHandler {
     return recordDao.getRecords(condition, typeConnection.getDbType(), new ArrayList<>(), 0, 2, tenantId);
   }
 
+  private synchronized BatchAccumulator<MatchField, List<Record>> getMatchFieldsAccumulator() {
+    if (matchFieldsAccumulator == null) {
+      matchFieldsAccumulator = new BatchAccumulator<>(vertx, batchSize, batchWindowMs, (first, second) -> false, this::matchFields);
+    }
+    return matchFieldsAccumulator;
+  }
+
+  /**
+   * Matches accumulated {@link MatchField}s at once. Candidate ids are resolved for all fields, full records are loaded
+   * only for fields with a single matched record. Records matched by fields with multiple matches are returned without content,
+   * since only their number is needed to report an error.
+   */
+  private List<Future<List<Record>>> matchFields(List<MatchField> matchFields, String tenantId) {
+    Future<List<List<String>>> idsFuture = recordDao.getMatchedRecordIds(matchFields, typeConnection, tenantId);
+    Future<Map<String, Record>> recordsFuture = idsFuture.compose(matchedIds -> recordDao.getRecordsByIds(matchedIds.stream()
+      .filter(ids -> ids.size() == 1)
+      .map(ids -> ids.get(0))
+      .distinct()
+      .collect(Collectors.toList()), tenantId));
+    List<Future<List<Record>>> results = new ArrayList<>(matchFields.size());
+    for (int i = 0; i < matchFields.size(); i++) {
+      int index = i;
+      results.add(recordsFuture.map(records -> toMatchedRecords(idsFuture.result().get(index), records)));
+    }
+    return results;
+  }
+
+  private List<Record> toMatchedRecords(List<String> ids, Map<String, Record> records) {
+    if (ids.size() == 1) {
+      Record record = records.get(ids.get(0));
+      return record != null ? List.of(record) : List.of();
+    }
+    return ids.stream()
+      .map(id -> new Record().withId(id))
+      .collect(Collectors.toList());
+  }
+
   /* Verifies a correctness of the given {@link MatchDetail} */
   private boolean isValidMatchDetail(MatchDetail matchDetail) {
     if (matchDetail.getExistingMatchExpression() != null && matchDetail.getExistingMatchExpression().getDataValueType() == VALUE_FROM_RECORD) {
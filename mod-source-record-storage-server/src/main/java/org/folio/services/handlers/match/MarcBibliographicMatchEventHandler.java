@@ -4,6 +4,7 @@ import static org.folio.DataImportEventTypes.DI_SRS_MARC_BIB_RECORD_MATCHED_READ
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_SRS_MARC_BIB_RECORD_MATCHED;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_SRS_MARC_BIB_RECORD_NOT_MATCHED;
 
+import io.vertx.core.Vertx;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -17,8 +18,8 @@ import org.folio.services.util.TypeConnection;
 public class MarcBibliographicMatchEventHandler extends AbstractMarcMatchEventHandler {
 
   @Autowired
-  public MarcBibliographicMatchEventHandler(RecordDao recordDao) {
-    super(TypeConnection.MARC_BIB, recordDao, DI_SRS_MARC_BIB_RECORD_MATCHED, DI_SRS_MARC_BIB_RECORD_NOT_MATCHED);
+  public MarcBibliographicMatchEventHandler(RecordDao recordDao, Vertx vertx) {
+    super(TypeConnection.MARC_BIB, recordDao, DI_SRS_MARC_BIB_RECORD_MATCHED, DI_SRS_MARC_BIB_RECORD_NOT_MATCHED, vertx);
   }
 
   @Override
@@ -3,6 +3,7 @@ package org.folio.services.handlers.match;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_SRS_MARC_HOLDINGS_RECORD_MATCHED;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_SRS_MARC_HOLDINGS_RECORD_NOT_MATCHED;
 
+import io.vertx.core.Vertx;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -16,9 +17,9 @@ import org.folio.services.util.TypeConnection;
 public class MarcHoldingsMatchEventHandler extends AbstractMarcMatchEventHandler {
 
   @Autowired
-  public MarcHoldingsMatchEventHandler(RecordDao recordDao) {
+  public MarcHoldingsMatchEventHandler(RecordDao recordDao, Vertx vertx) {
     super(TypeConnection.MARC_HOLDINGS, recordDao, DI_SRS_MARC_HOLDINGS_RECORD_MATCHED,
-      DI_SRS_MARC_HOLDINGS_RECORD_NOT_MATCHED);
+      DI_SRS_MARC_HOLDINGS_RECORD_NOT_MATCHED, vertx);
   }
 
   @Override
@@ -0,0 +1,167 @@
+package org.folio.services.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.folio.okapi.common.GenericCompositeFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Accumulates items per tenant until batch size is reached or batch window is elapsed and processes
+ * accumulated items at once. Result of each item is delivered to the future returned for the item.
+ * An item which conflicts with an accumulated item is added to the next batch. A batch which has an item conflicting
+ * with an item of a batch in progress of the same tenant is processed after that batch is completed.
+ *
+ * @param <T> item type
+ * @param <R> item result type
+ */
+public class BatchAccumulator<T, R> {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final int batchSize;
+  private final long batchWindowMs;
+  private final BiPredicate<T, T> conflictPredicate;
+  private final BiFunction<List<T>, String, List<Future<R>>> batchProcessor;
+  private final Map<String, Batch> batches = new HashMap<>();
+  private final Map<String, List<Batch>> batchesInProgress = new HashMap<>();
+
+  /**
+   * @param vertx             vertx
+   * @param batchSize         max number of items in a batch
+   * @param batchWindowMs     max time in milliseconds the first item of a batch waits for processing
+   * @param conflictPredicate predicate to check whether two items can not be processed in the same batch
+   * @param batchProcessor    function to process items of a tenant, returns futures of item results in the order of items
+   */
+  public BatchAccumulator(Vertx vertx, int batchSize, long batchWindowMs, BiPredicate<T, T> conflictPredicate,
+                          BiFunction<List<T>, String, List<Future<R>>> batchProcessor) {
+    this.vertx = vertx;
+    this.batchSize = Math.max(1, batchSize);
+    this.batchWindowMs = Math.max(1, batchWindowMs);
+    this.conflictPredicate = conflictPredicate;
+    this.batchProcessor = batchProcessor;
+  }
+
+  /**
+   * Adds item to the batch of the tenant
+   *
+   * @param item     item
+   * @param tenantId tenant id
+   * @return future of the item result
+   */
+  public Future<R> add(T item, String tenantId) {
+    Promise<R> promise = Promise.promise();
+    List<Batch> readyBatches = new ArrayList<>(2);
+    synchronized (this) {
+      Batch batch = batches.get(tenantId);
+      if (batch != null && batch.conflictsWith(item)) {
+        readyBatches.add(remove(tenantId));
+        batch = null;
+      }
+      if (batch == null) {
+        batch = open(tenantId);
+      }
+      batch.items.add(item);
+      batch.promises.add(promise);
+      if (batch.items.size() >= batchSize) {
+        readyBatches.add(remove(tenantId));
+      }
+    }
+    readyBatches.forEach(readyBatch -> process(readyBatch, tenantId));
+    return promise.future();
+  }
+
+  private Batch open(String tenantId) {
+    Batch batch = new Batch();
+    if (batchSize > 1) {
+      batch.timerId = vertx.setTimer(batchWindowMs, id -> onBatchWindowElapsed(tenantId, batch));
+    }
+    batches.put(tenantId, batch);
+    return batch;
+  }
+
+  /* removes accumulated batch of the tenant and registers it as a batch in progress */
+  private Batch remove(String tenantId) {
+    Batch batch = batches.remove(tenantId);
+    if (batch.timerId != null) {
+      vertx.cancelTimer(batch.timerId);
+    }
+    List<Batch> tenantBatchesInProgress = batchesInProgress.computeIfAbsent(tenantId, id -> new ArrayList<>());
+    tenantBatchesInProgress.stream()
+      .filter(batchInProgress -> batchInProgress.conflictsWith(batch))
+      .forEach(batchInProgress -> batch.precedingBatches.add(batchInProgress.completion.future()));
+    tenantBatchesInProgress.add(batch);
+    return batch;
+  }
+
+  private void complete(Batch batch, String tenantId) {
+    synchronized (this) {
+      List<Batch> tenantBatchesInProgress = batchesInProgress.get(tenantId);
+      tenantBatchesInProgress.remove(batch);
+      if (tenantBatchesInProgress.isEmpty()) {
+        batchesInProgress.remove(tenantId);
+      }
+    }
+    batch.completion.complete();
+  }
+
+  private void onBatchWindowElapsed(String tenantId, Batch batch) {
+    synchronized (this) {
+      if (batches.get(tenantId) != batch) {
+        return;
+      }
+      remove(tenantId);
+    }
+    process(batch, tenantId);
+  }
+
+  private void process(Batch batch, String tenantId) {
+    if (batch.precedingBatches.isEmpty()) {
+      execute(batch, tenantId);
+    } else {
+      GenericCompositeFuture.join(batch.precedingBatches).onComplete(ar -> execute(batch, tenantId));
+    }
+  }
+
+  private void execute(Batch batch, String tenantId) {
+    List<Future<R>> results;
+    try {
+      results = batchProcessor.apply(batch.items, tenantId);
+    } catch (Exception e) {
+      LOG.warn("execute:: Failed to process batch of {} items for tenant {}", batch.items.size(), tenantId, e);
+      batch.promises.forEach(promise -> promise.fail(e));
+      complete(batch, tenantId);
+      return;
+    }
+    for (int i = 0; i < batch.promises.size(); i++) {
+      results.get(i).onComplete(batch.promises.get(i));
+    }
+    GenericCompositeFuture.join(results).onComplete(ar -> complete(batch, tenantId));
+  }
+
+  private class Batch {
+    private final List<T> items = new ArrayList<>();
+    private final List<Promise<R>> promises = new ArrayList<>();
+    private final List<Future<Void>> precedingBatches = new ArrayList<>();
+    private final Promise<Void> completion = Promise.promise();
+    private Long timerId;
+
+    private boolean conflictsWith(T item) {
+      return items.stream().anyMatch(batchItem -> conflictPredicate.test(batchItem, item));
+    }
+
+    private boolean conflictsWith(Batch other) {
+      return other.items.stream().anyMatch(this::conflictsWith);
+    }
+  }
+
+}
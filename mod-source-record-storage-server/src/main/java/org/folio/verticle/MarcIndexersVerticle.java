@@ -0,0 +1,78 @@
+package org.folio.verticle;
+
+import java.util.List;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.util.TenantUtil;
+import org.folio.services.MarcIndexersService;
+
+/**
+ * Periodically rebuilds marc indexers of MARC records which have been changed in
+ * {@link org.folio.dao.util.MarcIndexersMode#ASYNC} mode, tenants are processed one after another.
+ */
+public class MarcIndexersVerticle extends AbstractVerticle {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final MarcIndexersService marcIndexersService;
+  private final int batchSize;
+  private final long interval;
+
+  private long timerId;
+
+  private boolean inProgress;
+
+  public MarcIndexersVerticle(MarcIndexersService marcIndexersService, int batchSize, long interval) {
+    this.marcIndexersService = marcIndexersService;
+    this.batchSize = batchSize;
+    this.interval = interval;
+  }
+
+  @Override
+  public void start() {
+    timerId = vertx.setPeriodic(interval, id -> processTenants());
+  }
+
+  @Override
+  public void stop() {
+    vertx.cancelTimer(timerId);
+  }
+
+  private void processTenants() {
+    if (inProgress) {
+      return;
+    }
+    inProgress = true;
+    TenantUtil.getModuleTenants(vertx)
+      .compose(this::processTenants)
+      .onFailure(e -> LOGGER.warn("processTenants:: Failed to rebuild marc indexers", e))
+      .onComplete(ar -> inProgress = false);
+  }
+
+  private Future<Void> processTenants(List<String> tenants) {
+    Future<Void> future = Future.succeededFuture();
+    for (String tenantId : tenants) {
+      future = future.compose(v -> processTenant(tenantId));
+    }
+    return future;
+  }
+
+  private Future<Void> processTenant(String tenantId) {
+    return marcIndexersService.processPendingRecords(batchSize, tenantId)
+      .onSuccess(processed -> {
+        if (processed > 0) {
+          LOGGER.info("processTenant:: Marc indexers of {} records have been rebuilt for tenant {}", processed, tenantId);
+        }
+      })
+      .compose(processed -> marcIndexersService.getIndexingLag(tenantId))
+      .<Void>mapEmpty()
+      .recover(e -> {
+        LOGGER.warn("processTenant:: Failed to rebuild marc indexers for tenant {}", tenantId, e);
+        return Future.succeededFuture();
+      });
+  }
+
+}
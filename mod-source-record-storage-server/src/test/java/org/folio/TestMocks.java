@@ -9,7 +9,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -94,6 +96,26 @@ public class TestMocks {
     return getRecords(RecordType.EDIFACT);
   }
 
+  public static List<Record> generateMarcBibRecords(String snapshotId, int fromOrder, int toOrder) {
+    Record sample = getMarcBibRecord();
+    return IntStream.range(fromOrder, toOrder)
+      .mapToObj(order -> {
+        String id = UUID.randomUUID().toString();
+        return new Record()
+          .withId(id)
+          .withSnapshotId(snapshotId)
+          .withMatchedId(id)
+          .withRecordType(RecordType.MARC_BIB)
+          .withState(Record.State.ACTUAL)
+          .withGeneration(0)
+          .withOrder(order)
+          .withRawRecord(new RawRecord().withId(id).withContent(sample.getRawRecord().getContent()))
+          .withParsedRecord(new ParsedRecord().withId(id).withContent(sample.getParsedRecord().getContent()))
+          .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(UUID.randomUUID().toString()));
+      })
+      .collect(Collectors.toList());
+  }
+
   public static List<ErrorRecord> getErrorRecords() {
     return new ArrayList<>(errorRecords.stream().map(TestMocks::clone).collect(Collectors.toList()));
   }
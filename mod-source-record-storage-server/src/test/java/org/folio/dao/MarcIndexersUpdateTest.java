@@ -0,0 +1,135 @@
+package org.folio.dao;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import org.folio.TestMocks;
+import org.folio.dao.util.MarcIndexersMode;
+import org.folio.dao.util.ParsedRecordDaoUtil;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.services.AbstractLBServiceTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+@RunWith(VertxUnitRunner.class)
+public class MarcIndexersUpdateTest extends AbstractLBServiceTest {
+
+  private static final String SET_MARC_INDEXERS_MODE_SQL = "SELECT set_config('srs.marc_indexers_mode', $1, true)";
+  private static final String UPDATE_CONTENT_SQL = "UPDATE marc_records_lb SET content = $2 WHERE id = $1";
+  private static final String SELECT_MARC_INDEXERS_SQL =
+    "SELECT field_no, ind1, ind2, subfield_no, value FROM marc_indexers WHERE marc_id = $1 " +
+      "UNION ALL SELECT 'leader', p_05, p_06, p_07, p_00_04 || p_08 || p_09 || p_10 || p_11 || p_12_16 || p_17 || p_18 || p_19 || p_20 || p_21 || p_22 " +
+      "FROM marc_indexers_leader WHERE marc_id = $1 " +
+      "ORDER BY 1, 2, 3, 4, 5";
+  private static final String ADDED_FIELD_TAG = "999";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordDao recordDao;
+  private Record record;
+
+  @Before
+  public void setUp(TestContext context) {
+    recordDao = new RecordDaoImpl(postgresClientFactory);
+    record = TestMocks.getMarcBibRecord();
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(save -> recordDao.saveRecord(record, TENANT_ID))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldUpdateMarcIndexersIncrementallyAsFullRebuild(TestContext context) {
+    Async async = context.async();
+    UUID marcId = UUID.fromString(record.getId());
+    JsonObject content = editContent(ParsedRecordDaoUtil.normalizeJsonContent(record.getParsedRecord()));
+
+    updateContent(marcId, content, MarcIndexersMode.INCREMENTAL)
+      .compose(v -> getMarcIndexers(marcId))
+      .compose(incremental -> updateContent(marcId, content, MarcIndexersMode.SYNC)
+        .compose(v -> getMarcIndexers(marcId))
+        .onSuccess(rebuilt -> {
+          context.assertEquals(rebuilt, incremental);
+          context.assertTrue(incremental.stream().anyMatch(indexer -> indexer.get(0).equals(ADDED_FIELD_TAG)));
+        }))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  /* edits value of the first data field, removes the last data field, adds a field and changes leader status */
+  private JsonObject editContent(JsonObject content) {
+    JsonArray fields = content.getJsonArray("fields");
+    List<Integer> dataFieldIndexes = IntStream.range(0, fields.size())
+      .filter(i -> getFieldValue(fields.getJsonObject(i)) instanceof JsonObject)
+      .boxed()
+      .collect(Collectors.toList());
+    JsonObject firstSubfield = ((JsonObject) getFieldValue(fields.getJsonObject(dataFieldIndexes.get(0))))
+      .getJsonArray("subfields").getJsonObject(0);
+    firstSubfield.put(firstSubfield.fieldNames().iterator().next(), "edited value");
+    fields.remove((int) dataFieldIndexes.get(dataFieldIndexes.size() - 1));
+    fields.add(new JsonObject().put(ADDED_FIELD_TAG, new JsonObject()
+      .put("ind1", "f")
+      .put("ind2", "f")
+      .put("subfields", new JsonArray().add(new JsonObject().put("s", UUID.randomUUID().toString())))));
+    String leader = content.getString("leader");
+    return content.put("leader", leader.substring(0, 5) + "c" + leader.substring(6));
+  }
+
+  private Object getFieldValue(JsonObject field) {
+    return field.getValue(field.fieldNames().iterator().next());
+  }
+
+  private Future<Void> updateContent(UUID marcId, JsonObject content, MarcIndexersMode mode) {
+    return postgresClientFactory.getCachedPool(TENANT_ID).getDelegate().withTransaction(connection ->
+      connection.preparedQuery(SET_MARC_INDEXERS_MODE_SQL).execute(Tuple.of(mode.getSettingValue()))
+        .compose(set -> connection.preparedQuery(UPDATE_CONTENT_SQL).execute(Tuple.of(marcId, content)))
+        .mapEmpty());
+  }
+
+  private Future<List<List<String>>> getMarcIndexers(UUID marcId) {
+    return postgresClientFactory.getCachedPool(TENANT_ID).getDelegate()
+      .preparedQuery(SELECT_MARC_INDEXERS_SQL)
+      .execute(Tuple.of(marcId))
+      .map(rows -> StreamSupport.stream(rows.spliterator(), false)
+        .map(this::toIndexer)
+        .collect(Collectors.toList()));
+  }
+
+  private List<String> toIndexer(Row row) {
+    return Arrays.asList(row.getString(0), row.getString(1), row.getString(2), row.getString(3), row.getString(4));
+  }
+
+}
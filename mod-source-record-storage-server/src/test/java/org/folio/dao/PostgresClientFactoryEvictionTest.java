@@ -0,0 +1,77 @@
+package org.folio.dao;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.reactivex.pgclient.PgPool;
+import org.folio.dao.util.MarcIndexersMode;
+import org.folio.rest.tools.utils.Envs;
+import org.folio.services.AbstractLBServiceTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RunWith(VertxUnitRunner.class)
+public class PostgresClientFactoryEvictionTest extends AbstractLBServiceTest {
+
+  private static final long POOL_IDLE_EVICTION_TIME_MS = 100;
+  private static final String EVICTED_TENANT_ID = "eviction_tenant";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private Map<String, String> env;
+  private PostgresClientFactory evictingClientFactory;
+
+  @Before
+  public void setUp() {
+    JsonObject config = PostgresClientFactory.getConfig();
+    env = new HashMap<>(Map.of(
+      "DB_HOST", config.getString(PostgresClientFactory.HOST),
+      "DB_PORT", String.valueOf(config.getInteger(PostgresClientFactory.PORT)),
+      "DB_USERNAME", config.getString(PostgresClientFactory.USERNAME),
+      "DB_PASSWORD", config.getString(PostgresClientFactory.PASSWORD),
+      "DB_DATABASE", config.getString(PostgresClientFactory.DATABASE)));
+    Envs.setEnv(new HashMap<>(env));
+    evictingClientFactory = new PostgresClientFactory(vertx, MarcIndexersMode.SYNC, 256, 0, 0, 2, 0, POOL_IDLE_EVICTION_TIME_MS);
+  }
+
+  @After
+  public void cleanUp() {
+    evictingClientFactory.close();
+    Envs.setEnv(new HashMap<>(env));
+  }
+
+  @Test
+  public void shouldNotCloseEvictedPoolWhileItsConnectionIsInUse(TestContext context) {
+    Async async = context.async();
+    PgPool pool = evictingClientFactory.getCachedPool(EVICTED_TENANT_ID);
+    // pool has no open connections yet, so it is evicted, while the operation which has got it opens a connection afterwards
+    delay(5 * POOL_IDLE_EVICTION_TIME_MS)
+      .onSuccess(v -> context.assertNotEquals(pool, evictingClientFactory.getCachedPool(EVICTED_TENANT_ID)))
+      .compose(v -> pool.getDelegate().withTransaction(connection -> connection.query("SELECT 1").execute()
+        // connection is held for longer than evicted pools are checked
+        .compose(rows -> delay(3000))
+        .compose(ignored -> connection.query("SELECT 2").execute())))
+      .onComplete(context.asyncAssertSuccess(rows -> {
+        context.assertEquals(2, rows.iterator().next().getInteger(0));
+        async.complete();
+      }));
+  }
+
+  private Future<Void> delay(long delay) {
+    Promise<Void> promise = Promise.promise();
+    vertx.setTimer(delay, id -> promise.complete());
+    return promise.future();
+  }
+
+}
@@ -0,0 +1,165 @@
+package org.folio.dao;
+
+import io.reactivex.Flowable;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.TestMocks;
+import org.folio.dao.util.MarcIndexersMode;
+import org.folio.dao.util.RecordType;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.rest.jaxrs.model.SourceRecord;
+import org.folio.rest.tools.utils.Envs;
+import org.folio.services.AbstractLBServiceTest;
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.SortOrder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.folio.rest.jooq.Tables.RECORDS_LB;
+
+@RunWith(VertxUnitRunner.class)
+public class PostgresClientFactoryReaderTest extends AbstractLBServiceTest {
+
+  private static final long READERS_CHECK_INTERVAL_MS = 100;
+  /* name of .invalid domain is never resolved, so the replica is not reachable */
+  private static final String UNREACHABLE_READER_HOST = "unreachable-reader.invalid";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private Map<String, String> env;
+  private String host;
+  private int port;
+  private List<Record> records;
+  private Condition condition;
+  private List<OrderField<?>> orderFields;
+  private PostgresClientFactory readerClientFactory;
+
+  @Before
+  public void setUp(TestContext context) {
+    JsonObject config = PostgresClientFactory.getConfig();
+    host = config.getString(PostgresClientFactory.HOST);
+    port = config.getInteger(PostgresClientFactory.PORT);
+    env = new HashMap<>(Map.of(
+      "DB_HOST", host,
+      "DB_PORT", String.valueOf(port),
+      "DB_USERNAME", config.getString(PostgresClientFactory.USERNAME),
+      "DB_PASSWORD", config.getString(PostgresClientFactory.PASSWORD),
+      "DB_DATABASE", config.getString(PostgresClientFactory.DATABASE)));
+    String snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    records = TestMocks.generateMarcBibRecords(snapshotId, 0, 3);
+    // only records with leader record status are source records
+    records.forEach(record -> record.setLeaderRecordStatus("n"));
+    condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+    orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC));
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(save -> new RecordDaoImpl(postgresClientFactory)
+        .saveRecords(new RecordCollection().withRecords(records).withTotalRecords(records.size()), TENANT_ID))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    if (readerClientFactory != null) {
+      readerClientFactory.close();
+    }
+    Envs.setEnv(new HashMap<>(env));
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldReadFromAvailableReaderOnly(TestContext context) {
+    Async async = context.async();
+    // the test database is a primary, so its lag is 0 and it is used as a read replica
+    readerClientFactory = createFactory(UNREACHABLE_READER_HOST + "," + host);
+    RecordDao recordDao = new RecordDaoImpl(readerClientFactory);
+    awaitAvailableReader(readerClientFactory)
+      .compose(v -> recordDao.getSourceRecords(condition, RecordType.MARC_BIB, orderFields, 0, 10, TENANT_ID))
+      .onSuccess(sourceRecords -> context.assertEquals(getRecordIds(), sourceRecords.getSourceRecords().stream()
+        .map(SourceRecord::getRecordId).collect(Collectors.toList())))
+      .compose(v -> collect(recordDao.streamSourceRecords(condition, RecordType.MARC_BIB, orderFields, 0, 10, TENANT_ID)))
+      .onSuccess(sourceRecords -> context.assertEquals(getRecordIds(), sourceRecords.stream()
+        .map(SourceRecord::getRecordId).collect(Collectors.toList())))
+      .onSuccess(v -> {
+        context.assertTrue(PostgresClientFactory.getReaderConnections(TENANT_ID, host, port) > 0);
+        context.assertEquals(0, PostgresClientFactory.getReaderConnections(TENANT_ID, UNREACHABLE_READER_HOST, port));
+      })
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  @Test
+  public void shouldReadFromPrimaryWhenNoReaderIsAvailable(TestContext context) {
+    Async async = context.async();
+    readerClientFactory = createFactory(UNREACHABLE_READER_HOST);
+    RecordDao recordDao = new RecordDaoImpl(readerClientFactory);
+    Promise<Void> checked = Promise.promise();
+    vertx.setTimer(10 * READERS_CHECK_INTERVAL_MS, id -> checked.complete());
+    checked.future()
+      .onSuccess(v -> context.assertTrue(readerClientFactory.getReaderQueryExecutor(TENANT_ID).isEmpty()))
+      .compose(v -> recordDao.getSourceRecords(condition, RecordType.MARC_BIB, orderFields, 0, 10, TENANT_ID))
+      .onSuccess(sourceRecords -> context.assertEquals(records.size(), sourceRecords.getSourceRecords().size()))
+      .compose(v -> collect(recordDao.streamSourceRecords(condition, RecordType.MARC_BIB, orderFields, 0, 10, TENANT_ID)))
+      .onSuccess(sourceRecords -> context.assertEquals(records.size(), sourceRecords.size()))
+      .onSuccess(v -> context.assertEquals(0, PostgresClientFactory.getReaderConnections(TENANT_ID, UNREACHABLE_READER_HOST, port)))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  private PostgresClientFactory createFactory(String readerHosts) {
+    Map<String, String> readerEnv = new HashMap<>(env);
+    readerEnv.put("DB_HOST_READER", readerHosts);
+    readerEnv.put("DB_PORT_READER", String.valueOf(port));
+    Envs.setEnv(readerEnv);
+    return new PostgresClientFactory(vertx, MarcIndexersMode.SYNC, 256, 5000, READERS_CHECK_INTERVAL_MS, 2, 0, 0);
+  }
+
+  private Future<Void> awaitAvailableReader(PostgresClientFactory factory) {
+    Promise<Void> promise = Promise.promise();
+    vertx.setPeriodic(READERS_CHECK_INTERVAL_MS, id -> {
+      if (factory.getReaderQueryExecutor(TENANT_ID).isPresent()) {
+        vertx.cancelTimer(id);
+        promise.complete();
+      }
+    });
+    return promise.future();
+  }
+
+  private List<String> getRecordIds() {
+    return records.stream().map(Record::getMatchedId).collect(Collectors.toList());
+  }
+
+  private <T> Future<List<T>> collect(Flowable<T> flowable) {
+    Promise<List<T>> promise = Promise.promise();
+    flowable.toList().subscribe(promise::complete, promise::fail);
+    return promise.future();
+  }
+
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.HashMap;
 
+import org.folio.dao.util.MarcIndexersMode;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.Envs;
 import org.junit.AfterClass;
@@ -11,6 +12,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
@@ -21,10 +25,16 @@ import io.vertx.ext.unit.junit.VertxUnitRunner;
 public class PostgresClientFactoryTest {
 
   static Vertx vertx;
+  static SimpleMeterRegistry meterRegistry;
 
   @BeforeClass
   public static void setUpClass(TestContext context) throws Exception {
     vertx = Vertx.vertx();
+    meterRegistry = new SimpleMeterRegistry();
+    Metrics.addRegistry(meterRegistry);
+    // metrics are registered on the registry of the factory once it is created
+    new PostgresClientFactory(vertx).close();
+    PostgresClientFactory.setConfigFilePath(null);
   }
 
   @Test
@@ -66,6 +76,60 @@ public class PostgresClientFactoryTest {
     PostgresClientFactory.setConfigFilePath(null);
   }
 
+  @Test
+  public void shouldLimitPoolSizesByConnectionsBudget() {
+    PostgresClientFactory.setConfigFilePath("/postgres-conf-test.json");
+    int allocatedBefore = (int) getGauge(PostgresClientFactory.ALLOCATED_CONNECTIONS_METRIC).value();
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx, MarcIndexersMode.SYNC, 256, 0, 0, 2, allocatedBefore + 30, 0);
+    postgresClientFactory.getCachedPool("budget_tenant1");
+    postgresClientFactory.getCachedPool("budget_tenant2");
+    postgresClientFactory.getCachedPool("budget_tenant3");
+    assertEquals(15, getPoolSize("budget_tenant1"), 0);
+    assertEquals(7, getPoolSize("budget_tenant2"), 0);
+    assertEquals(4, getPoolSize("budget_tenant3"), 0);
+    assertEquals(allocatedBefore + 26, getGauge(PostgresClientFactory.ALLOCATED_CONNECTIONS_METRIC).value(), 0);
+    postgresClientFactory.close();
+    assertEquals(0, getPoolSize("budget_tenant1"), 0);
+    assertEquals(allocatedBefore, getGauge(PostgresClientFactory.ALLOCATED_CONNECTIONS_METRIC).value(), 0);
+    PostgresClientFactory.setConfigFilePath(null);
+  }
+
+  @Test
+  public void shouldNotExceedConnectionsBudget(TestContext context) throws InterruptedException {
+    Async async = context.async();
+    PostgresClientFactory.setConfigFilePath("/postgres-conf-test.json");
+    int allocatedBefore = (int) getGauge(PostgresClientFactory.ALLOCATED_CONNECTIONS_METRIC).value();
+    int budget = allocatedBefore + 6;
+    PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx, MarcIndexersMode.SYNC, 256, 0, 0, 2, budget, 0);
+    postgresClientFactory.getCachedPool("over_budget_tenant1");
+    Thread.sleep(10);
+    postgresClientFactory.getCachedPool("over_budget_tenant2");
+    assertEquals(3, getPoolSize("over_budget_tenant1"), 0);
+    assertEquals(2, getPoolSize("over_budget_tenant2"), 0);
+    // least recently used idle pool is evicted to give its connections to a new tenant
+    Thread.sleep(1100);
+    postgresClientFactory.getCachedPool("over_budget_tenant3");
+    assertEquals(0, getPoolSize("over_budget_tenant1"), 0);
+    assertEquals(2, getPoolSize("over_budget_tenant2"), 0);
+    assertEquals(2, getPoolSize("over_budget_tenant3"), 0);
+    postgresClientFactory.getCachedPool("over_budget_tenant4");
+    assertEquals(budget, getGauge(PostgresClientFactory.ALLOCATED_CONNECTIONS_METRIC).value(), 0);
+    postgresClientFactory.getCachedPool("over_budget_tenant5");
+    assertEquals(0, getPoolSize("over_budget_tenant2"), 0);
+    assertEquals(2, getPoolSize("over_budget_tenant5"), 0);
+    // pools used recently are not evicted, so the budget is used up and queries of a new tenant fail
+    postgresClientFactory.getQueryExecutor("over_budget_tenant6").execute(dsl -> dsl.selectOne())
+      .onComplete(context.asyncAssertFailure(e -> {
+        context.assertTrue(e instanceof IllegalStateException);
+        context.assertEquals(0d, getPoolSize("over_budget_tenant6"));
+        context.assertEquals((double) budget, getGauge(PostgresClientFactory.ALLOCATED_CONNECTIONS_METRIC).value());
+        postgresClientFactory.close();
+        context.assertEquals((double) allocatedBefore, getGauge(PostgresClientFactory.ALLOCATED_CONNECTIONS_METRIC).value());
+        PostgresClientFactory.setConfigFilePath(null);
+        async.complete();
+      }));
+  }
+
   @Test
   public void shouldSetConfigFilePath() {
     PostgresClientFactory.setConfigFilePath("/postgres-conf-local.json");
@@ -73,8 +137,17 @@ public class PostgresClientFactoryTest {
     PostgresClientFactory.setConfigFilePath(null);
   }
 
+  private static double getPoolSize(String tenantId) {
+    return Metrics.globalRegistry.get(PostgresClientFactory.POOL_SIZE_METRIC).tag("tenant", tenantId).gauge().value();
+  }
+
+  private static Gauge getGauge(String name) {
+    return Metrics.globalRegistry.get(name).gauge();
+  }
+
   @AfterClass
   public static void tearDownClass(TestContext context) {
+    Metrics.removeRegistry(meterRegistry);
     Async async = context.async();
     vertx.close(context.asyncAssertSuccess(res -> {
       async.complete();
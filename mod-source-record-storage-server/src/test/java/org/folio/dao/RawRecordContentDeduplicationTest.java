@@ -0,0 +1,164 @@
+package org.folio.dao;
+
+import io.reactivex.Flowable;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.sqlclient.Tuple;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.TestMocks;
+import org.folio.dao.util.RawRecordDaoUtil;
+import org.folio.dao.util.RecordType;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.services.AbstractLBServiceTest;
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.SortOrder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.folio.rest.jooq.Tables.RECORDS_LB;
+
+@RunWith(VertxUnitRunner.class)
+public class RawRecordContentDeduplicationTest extends AbstractLBServiceTest {
+
+  private static final String COUNT_RAW_RECORD_CONTENTS_SQL =
+    "SELECT count(*) FROM raw_record_contents WHERE hash = sha256(convert_to($1, 'UTF8'))";
+  private static final String COUNT_INLINE_RAW_RECORD_CONTENTS_SQL =
+    "SELECT count(*) FROM raw_records_lb WHERE id = ANY($1) AND content IS NOT NULL";
+  private static final String DELETE_RECORD_SQL = "DELETE FROM records_lb WHERE id = $1";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordDao recordDao;
+  private List<Record> records;
+  private String content;
+  private Condition condition;
+  private List<OrderField<?>> orderFields;
+
+  @Before
+  public void setUp(TestContext context) {
+    recordDao = new RecordDaoImpl(postgresClientFactory);
+    String snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    content = "raw record content " + UUID.randomUUID();
+    records = TestMocks.generateMarcBibRecords(snapshotId, 0, 2);
+    records.forEach(record -> record.getRawRecord().setContent(content));
+    condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+    orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC));
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(save -> recordDao.saveRecord(records.get(0), TENANT_ID))
+      .compose(save -> recordDao.saveRecords(new RecordCollection().withRecords(records.subList(1, 2)).withTotalRecords(1), TENANT_ID))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID))
+      .compose(delete -> recordDao.purgeUnreferencedRawRecordContents(Integer.MAX_VALUE, TENANT_ID))
+      .onComplete(delete -> {
+        if (delete.failed()) {
+          context.fail(delete.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldStoreIdenticalContentOnce(TestContext context) {
+    Async async = context.async();
+    UUID[] ids = records.stream().map(record -> UUID.fromString(record.getId())).toArray(UUID[]::new);
+    count(COUNT_RAW_RECORD_CONTENTS_SQL, Tuple.of(content))
+      .onSuccess(count -> context.assertEquals(1L, count))
+      .compose(v -> count(COUNT_INLINE_RAW_RECORD_CONTENTS_SQL, Tuple.of(ids)))
+      .onSuccess(count -> context.assertEquals(0L, count))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  @Test
+  public void shouldReturnContentByAllReadPaths(TestContext context) {
+    Async async = context.async();
+    String id = records.get(0).getId();
+    RawRecordDaoUtil.findById(postgresClientFactory.getQueryExecutor(TENANT_ID), id)
+      .onSuccess(rawRecord -> context.assertEquals(content, rawRecord.get().getContent()))
+      .compose(v -> recordDao.getRecordById(id, TENANT_ID))
+      .onSuccess(record -> context.assertEquals(content, record.get().getRawRecord().getContent()))
+      .compose(v -> recordDao.getRecordsByIds(List.of(id), TENANT_ID))
+      .onSuccess(recordsById -> context.assertEquals(content, recordsById.get(id).getRawRecord().getContent()))
+      .compose(v -> recordDao.getRecords(condition, RecordType.MARC_BIB, orderFields, 0, 10, TENANT_ID))
+      .onSuccess(collection -> assertContent(context, collection.getRecords().stream()
+        .map(record -> record.getRawRecord().getContent()).collect(Collectors.toList())))
+      .compose(v -> toFuture(recordDao.streamRecordBatches(condition, RecordType.MARC_BIB, orderFields, 0, 10, 1, TENANT_ID)
+        .flatMapIterable(batch -> batch)
+        .map(record -> record.getRawRecord().getContent())))
+      .onSuccess(contents -> assertContent(context, contents))
+      .compose(v -> toFuture(recordDao.streamRecordJsonBatches(condition, RecordType.MARC_BIB, orderFields, 0, 10, 1, TENANT_ID)
+        .flatMapIterable(buffer -> List.of(buffer.toString().split(StringUtils.LF)))
+        .map(line -> new JsonObject(line).getJsonObject("rawRecord").getString("content"))))
+      .onSuccess(contents -> assertContent(context, contents))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  @Test
+  public void shouldPurgeContentOnlyWhenNotReferenced(TestContext context) {
+    Async async = context.async();
+    deleteRecord(records.get(0))
+      .compose(v -> recordDao.purgeUnreferencedRawRecordContents(Integer.MAX_VALUE, TENANT_ID))
+      .compose(v -> count(COUNT_RAW_RECORD_CONTENTS_SQL, Tuple.of(content)))
+      .onSuccess(count -> context.assertEquals(1L, count))
+      .compose(v -> recordDao.getRecordById(records.get(1).getId(), TENANT_ID))
+      .onSuccess(record -> context.assertEquals(content, record.get().getRawRecord().getContent()))
+      .compose(v -> deleteRecord(records.get(1)))
+      .compose(v -> recordDao.purgeUnreferencedRawRecordContents(Integer.MAX_VALUE, TENANT_ID))
+      .onSuccess(purged -> context.assertTrue(purged >= 1))
+      .compose(v -> count(COUNT_RAW_RECORD_CONTENTS_SQL, Tuple.of(content)))
+      .onSuccess(count -> context.assertEquals(0L, count))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  private void assertContent(TestContext context, List<String> contents) {
+    context.assertEquals(records.size(), contents.size());
+    contents.forEach(actual -> context.assertEquals(content, actual));
+  }
+
+  private Future<List<String>> toFuture(Flowable<String> contents) {
+    Promise<List<String>> promise = Promise.promise();
+    contents.toList().subscribe(promise::complete, promise::fail);
+    return promise.future();
+  }
+
+  private Future<Void> deleteRecord(Record record) {
+    return postgresClientFactory.getCachedPool(TENANT_ID).getDelegate()
+      .preparedQuery(DELETE_RECORD_SQL)
+      .execute(Tuple.of(UUID.fromString(record.getId())))
+      .mapEmpty();
+  }
+
+  private Future<Long> count(String sql, Tuple params) {
+    return postgresClientFactory.getCachedPool(TENANT_ID).getDelegate()
+      .preparedQuery(sql)
+      .execute(params)
+      .map(rows -> rows.iterator().next().getLong(0));
+  }
+
+}
@@ -0,0 +1,97 @@
+package org.folio.dao;
+
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.TestMocks;
+import org.folio.dao.util.IdType;
+import org.folio.dao.util.RecordsSaveMode;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jooq.enums.RecordState;
+import org.folio.services.AbstractLBServiceTest;
+import org.folio.services.RecordService;
+import org.folio.services.RecordServiceImpl;
+import org.folio.services.caches.RecordsCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class RecordDaoCacheInvalidationTest extends AbstractLBServiceTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordsCache recordsCache;
+  private RecordDao recordDao;
+  private RecordService recordService;
+  private Record firstGeneration;
+  private Record secondGeneration;
+
+  @Before
+  public void setUp(TestContext context) {
+    recordsCache = new RecordsCache(postgresClientFactory);
+    recordDao = new RecordDaoImpl(postgresClientFactory, RecordsSaveMode.BATCH, recordsCache);
+    recordService = new RecordServiceImpl(recordDao, recordsCache);
+    firstGeneration = TestMocks.generateMarcBibRecords(TestMocks.getSnapshot(0).getJobExecutionId(), 0, 1).get(0)
+      .withState(Record.State.OLD)
+      .withLeaderRecordStatus("n");
+    // id of the record differs from its matched id, so the cached source record is not indexed by matched id
+    secondGeneration = TestMocks.generateMarcBibRecords(TestMocks.getSnapshot(1).getJobExecutionId(), 0, 1).get(0)
+      .withMatchedId(firstGeneration.getMatchedId())
+      .withGeneration(1)
+      .withLeaderRecordStatus("n")
+      .withExternalIdsHolder(firstGeneration.getExternalIdsHolder());
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(v -> recordDao.saveRecord(firstGeneration, TENANT_ID))
+      .compose(v -> recordDao.saveRecord(secondGeneration, TENANT_ID))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    recordsCache.close();
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldNotReturnCachedSourceRecordAfterRecordsStateUpdate(TestContext context) {
+    Async async = context.async();
+    String instanceId = secondGeneration.getExternalIdsHolder().getInstanceId();
+    recordService.getSourceRecordById(instanceId, IdType.INSTANCE, TENANT_ID)
+      .compose(optionalSourceRecord -> {
+        context.assertEquals(secondGeneration.getId(), optionalSourceRecord.orElseThrow().getRecordId());
+        return recordService.getSourceRecordById(secondGeneration.getMatchedId(), IdType.RECORD, TENANT_ID);
+      })
+      .compose(optionalSourceRecord -> {
+        context.assertEquals(secondGeneration.getId(), optionalSourceRecord.orElseThrow().getRecordId());
+        return recordDao.updateRecordsState(secondGeneration.getMatchedId(), RecordState.DELETED, TENANT_ID);
+      })
+      .compose(v -> recordService.getSourceRecordById(instanceId, IdType.INSTANCE, TENANT_ID))
+      .compose(optionalSourceRecord -> {
+        context.assertTrue(optionalSourceRecord.isEmpty());
+        return recordService.getSourceRecordById(secondGeneration.getMatchedId(), IdType.RECORD, TENANT_ID);
+      })
+      .onComplete(context.asyncAssertSuccess(optionalSourceRecord -> {
+        context.assertTrue(optionalSourceRecord.isEmpty());
+        async.complete();
+      }));
+  }
+
+}
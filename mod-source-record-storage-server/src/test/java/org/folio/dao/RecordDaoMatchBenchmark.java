@@ -0,0 +1,168 @@
+package org.folio.dao;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.sqlclient.SqlConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.TestMocks;
+import org.folio.dao.util.MarcIndexersMode;
+import org.folio.dao.util.MatchField;
+import org.folio.dao.util.ParsedRecordDaoUtil;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.services.AbstractLBServiceTest;
+import org.folio.services.util.TypeConnection;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of match queries with and without prepared statement cache, it is not a part of the unit tests
+ * and is run by the benchmark profile: mvn test -Pbenchmark
+ * <p>
+ * Besides the wall clock time of queries, the server side planning time is measured by EXPLAIN ANALYZE
+ * of the query planned for each execution and of the same query prepared once.
+ */
+@RunWith(VertxUnitRunner.class)
+public class RecordDaoMatchBenchmark extends AbstractLBServiceTest {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int BENCHMARK_QUERIES_NUMBER = Integer.getInteger("srs.benchmark.queries.number", 1000);
+  private static final int RECORDS_NUMBER = 10;
+  private static final String CONTROL_FIELD_TAG = "001";
+  private static final String EXPLAIN_ANALYZE = "EXPLAIN (ANALYZE, FORMAT JSON) ";
+  private static final String PLANNING_TIME = "Planning Time";
+  private static final DSLContext DSL_CONTEXT = DSL.using(SQLDialect.POSTGRES);
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private MatchField matchField;
+  private MarcIndexersMode initialMarcIndexersMode;
+  private int initialPreparedStatementCacheSize;
+
+  @Before
+  public void setUp(TestContext context) {
+    initialMarcIndexersMode = PostgresClientFactory.getMarcIndexersMode();
+    initialPreparedStatementCacheSize = PostgresClientFactory.getPreparedStatementCacheSize();
+    Record sample = TestMocks.getMarcBibRecord();
+    JsonObject content = ParsedRecordDaoUtil.normalizeJsonContent(sample.getParsedRecord());
+    String controlFieldValue = content.getJsonArray("fields").stream()
+      .map(JsonObject.class::cast)
+      .filter(field -> field.containsKey(CONTROL_FIELD_TAG))
+      .map(field -> field.getString(CONTROL_FIELD_TAG))
+      .findFirst()
+      .orElseThrow();
+    matchField = new MatchField(CONTROL_FIELD_TAG, "", "", "", controlFieldValue);
+    String snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    List<Record> records = TestMocks.generateMarcBibRecords(snapshotId, 0, RECORDS_NUMBER);
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(save -> new RecordDaoImpl(postgresClientFactory)
+        .saveRecords(new RecordCollection().withRecords(records).withTotalRecords(records.size()), TENANT_ID))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    // restore connection pools with the initial options
+    new PostgresClientFactory(vertx, initialMarcIndexersMode, initialPreparedStatementCacheSize).close();
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldMatchSameRecordsWithAndWithoutPreparedStatementCache(TestContext context) {
+    Async async = context.async();
+    measure(0)
+      .compose(records -> measure(256))
+      .onComplete(context.asyncAssertSuccess(records -> {
+        context.assertEquals(2, records.size());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldPlanMatchQueryOnceWhenItIsPrepared(TestContext context) {
+    Async async = context.async();
+    String sql = DSL_CONTEXT.renderInlined(new RecordDaoImpl(postgresClientFactory)
+      .getMatchedRecordsQuery(DSL_CONTEXT, matchField, TypeConnection.MARC_BIB, 0, 2));
+    postgresClientFactory.getCachedPool(TENANT_ID).getDelegate().withConnection(connection ->
+        // without prepared statement cache the query is parsed and planned for each execution
+        measurePlanningTime(connection, EXPLAIN_ANALYZE + sql, "planned for each execution")
+          .compose(v -> connection.query("PREPARE match_query AS " + sql).execute())
+          // prepared statement reuses its plan, parameters are inlined, so the plan is generic from the first execution
+          .compose(v -> measurePlanningTime(connection, EXPLAIN_ANALYZE + "EXECUTE match_query", "prepared once"))
+          .compose(v -> connection.query("DEALLOCATE match_query").execute()))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  private Future<Void> measurePlanningTime(SqlConnection connection, String explainSql, String description) {
+    return explain(connection, explainSql, BENCHMARK_QUERIES_NUMBER, 0)
+      .onSuccess(planningTime -> LOG.info("Match query {}: {} ms total planning time of {} executions, {} us per execution",
+        description, String.format("%.3f", planningTime), BENCHMARK_QUERIES_NUMBER,
+        String.format("%.1f", planningTime * 1000 / BENCHMARK_QUERIES_NUMBER)))
+      .mapEmpty();
+  }
+
+  /* sums up planning time in ms reported by the server */
+  private Future<Double> explain(SqlConnection connection, String explainSql, int remaining, double planningTime) {
+    Future<Double> future = connection.query(explainSql).execute()
+      .map(rows -> {
+        JsonArray plans = rows.iterator().next().getJsonArray(0);
+        return planningTime + plans.getJsonObject(0).getDouble(PLANNING_TIME);
+      });
+    return remaining > 1 ? future.compose(total -> explain(connection, explainSql, remaining - 1, total)) : future;
+  }
+
+  private Future<List<Record>> measure(int preparedStatementCacheSize) {
+    // pools are reopened with the options of the new factory
+    PostgresClientFactory.closeAll();
+    PostgresClientFactory factory = new PostgresClientFactory(vertx, MarcIndexersMode.SYNC, preparedStatementCacheSize);
+    RecordDao recordDao = new RecordDaoImpl(factory);
+    // the first query opens the connection
+    return recordDao.getMatchedRecords(matchField, TypeConnection.MARC_BIB, 0, 2, TENANT_ID)
+      .compose(records -> {
+        long start = System.nanoTime();
+        return match(recordDao, BENCHMARK_QUERIES_NUMBER)
+          .onSuccess(result -> {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            LOG.info("{} match queries executed with prepared statement cache size {} in {} ms, {} us per query",
+              BENCHMARK_QUERIES_NUMBER, preparedStatementCacheSize, micros / 1000, micros / BENCHMARK_QUERIES_NUMBER);
+          });
+      })
+      .onComplete(ar -> factory.close());
+  }
+
+  private Future<List<Record>> match(RecordDao recordDao, int remaining) {
+    Future<List<Record>> future = recordDao.getMatchedRecords(matchField, TypeConnection.MARC_BIB, 0, 2, TENANT_ID);
+    return remaining > 1 ? future.compose(records -> match(recordDao, remaining - 1)) : future;
+  }
+
+}
@@ -0,0 +1,95 @@
+package org.folio.dao;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.TestMocks;
+import org.folio.dao.util.MatchField;
+import org.folio.dao.util.ParsedRecordDaoUtil;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.services.AbstractLBServiceTest;
+import org.folio.services.util.TypeConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+@RunWith(VertxUnitRunner.class)
+public class RecordDaoMatchTest extends AbstractLBServiceTest {
+
+  private static final int RECORDS_NUMBER = 10;
+  private static final String CONTROL_FIELD_TAG = "001";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private MatchField matchField;
+
+  @Before
+  public void setUp(TestContext context) {
+    Record sample = TestMocks.getMarcBibRecord();
+    JsonObject content = ParsedRecordDaoUtil.normalizeJsonContent(sample.getParsedRecord());
+    String controlFieldValue = content.getJsonArray("fields").stream()
+      .map(JsonObject.class::cast)
+      .filter(field -> field.containsKey(CONTROL_FIELD_TAG))
+      .map(field -> field.getString(CONTROL_FIELD_TAG))
+      .findFirst()
+      .orElseThrow();
+    matchField = new MatchField(CONTROL_FIELD_TAG, "", "", "", controlFieldValue);
+    String snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    List<Record> records = TestMocks.generateMarcBibRecords(snapshotId, 0, RECORDS_NUMBER);
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(save -> new RecordDaoImpl(postgresClientFactory)
+        .saveRecords(new RecordCollection().withRecords(records).withTotalRecords(records.size()), TENANT_ID))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldMatchRecords(TestContext context) {
+    Async async = context.async();
+    new RecordDaoImpl(postgresClientFactory).getMatchedRecords(matchField, TypeConnection.MARC_BIB, 0, 2, TENANT_ID)
+      .onComplete(context.asyncAssertSuccess(records -> {
+        context.assertEquals(2, records.size());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldMatchRecordIdsOfSeveralMatchFields(TestContext context) {
+    Async async = context.async();
+    MatchField notMatchedField = new MatchField(CONTROL_FIELD_TAG, "", "", "", "not matched value");
+    new RecordDaoImpl(postgresClientFactory).getMatchedRecordIds(List.of(matchField, notMatchedField, matchField), TypeConnection.MARC_BIB, TENANT_ID)
+      .onComplete(context.asyncAssertSuccess(matchedIds -> {
+        context.assertEquals(3, matchedIds.size());
+        context.assertEquals(2, matchedIds.get(0).size());
+        context.assertTrue(matchedIds.get(1).isEmpty());
+        context.assertEquals(matchedIds.get(0), matchedIds.get(2));
+        async.complete();
+      }));
+  }
+
+}
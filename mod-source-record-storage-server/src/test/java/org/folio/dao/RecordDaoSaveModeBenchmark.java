@@ -0,0 +1,111 @@
+package org.folio.dao;
+
+import io.vertx.core.Future;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.TestMocks;
+import org.folio.dao.util.RecordDaoUtil;
+import org.folio.dao.util.RecordsSaveMode;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.rest.jaxrs.model.RecordsBatchResponse;
+import org.folio.services.AbstractLBServiceTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.folio.rest.jooq.Tables.RECORDS_LB;
+
+/**
+ * Benchmark of records batch save with batched inserts and with binary COPY, it is not a part of the unit tests
+ * and is run by the benchmark profile: mvn test -Pbenchmark
+ */
+@RunWith(VertxUnitRunner.class)
+public class RecordDaoSaveModeBenchmark extends AbstractLBServiceTest {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int BENCHMARK_RECORDS_NUMBER = Integer.getInteger("srs.benchmark.records.number", 10000);
+  private static final int BENCHMARK_BATCH_SIZE = Integer.getInteger("srs.benchmark.batch.size", 1000);
+  private static final int WARM_UP_RECORDS_NUMBER = 100;
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private String snapshotId;
+
+  @Before
+  public void setUp(TestContext context) {
+    snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots()).onComplete(save -> {
+      if (save.failed()) {
+        context.fail(save.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldSaveSameRecordsInBatchAndCopyModes(TestContext context) {
+    Async async = context.async();
+    measure(RecordsSaveMode.BATCH)
+      .compose(v -> measure(RecordsSaveMode.COPY))
+      .compose(v -> RecordDaoUtil.countByCondition(postgresClientFactory.getQueryExecutor(TENANT_ID),
+        RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId))))
+      .onComplete(context.asyncAssertSuccess(count -> {
+        context.assertEquals((WARM_UP_RECORDS_NUMBER + BENCHMARK_RECORDS_NUMBER) * 2, count);
+        async.complete();
+      }));
+  }
+
+  private Future<Void> measure(RecordsSaveMode saveMode) {
+    RecordDao recordDao = new RecordDaoImpl(postgresClientFactory, saveMode);
+    // records are generated beforehand, so only saving is measured
+    List<Record> records = TestMocks.generateMarcBibRecords(snapshotId, 0, BENCHMARK_RECORDS_NUMBER);
+    // the first batch opens the connection and prepares the statements
+    return save(recordDao, TestMocks.generateMarcBibRecords(snapshotId, 0, WARM_UP_RECORDS_NUMBER), 0)
+      .compose(warmUp -> {
+        long start = System.nanoTime();
+        return save(recordDao, records, 0)
+          .onSuccess(response -> {
+            long millis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+            LOG.info("{} records saved in {} mode by batches of {} in {} ms, {} records/s",
+              BENCHMARK_RECORDS_NUMBER, saveMode, BENCHMARK_BATCH_SIZE, millis, BENCHMARK_RECORDS_NUMBER * 1000L / millis);
+          });
+      })
+      .mapEmpty();
+  }
+
+  private Future<RecordsBatchResponse> save(RecordDao recordDao, List<Record> records, int from) {
+    List<Record> batch = records.subList(from, Math.min(from + BENCHMARK_BATCH_SIZE, records.size()));
+    Future<RecordsBatchResponse> future = recordDao.saveRecords(new RecordCollection()
+      .withRecords(batch)
+      .withTotalRecords(batch.size()), TENANT_ID);
+    int next = from + batch.size();
+    return next < records.size() ? future.compose(response -> save(recordDao, records, next)) : future;
+  }
+
+}
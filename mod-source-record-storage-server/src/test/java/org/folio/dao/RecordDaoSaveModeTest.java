@@ -0,0 +1,123 @@
+package org.folio.dao;
+
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.TestMocks;
+import org.folio.dao.util.RecordDaoUtil;
+import org.folio.dao.util.RecordsSaveMode;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.kafka.exception.DuplicateEventException;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.services.AbstractLBServiceTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.folio.rest.jooq.Tables.RECORDS_LB;
+
+@RunWith(VertxUnitRunner.class)
+public class RecordDaoSaveModeTest extends AbstractLBServiceTest {
+
+  private static final int RECORDS_NUMBER = 100;
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordDao batchRecordDao;
+  private RecordDao copyRecordDao;
+
+  @Before
+  public void setUp(TestContext context) {
+    batchRecordDao = new RecordDaoImpl(postgresClientFactory, RecordsSaveMode.BATCH);
+    copyRecordDao = new RecordDaoImpl(postgresClientFactory, RecordsSaveMode.COPY);
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots()).onComplete(save -> {
+      if (save.failed()) {
+        context.fail(save.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldSaveRecordsInCopyMode(TestContext context) {
+    Async async = context.async();
+    List<Record> records = TestMocks.generateMarcBibRecords(TestMocks.getSnapshot(0).getJobExecutionId(), 0, 10);
+    Record expected = records.get(0);
+
+    copyRecordDao.saveRecords(toRecordCollection(records), TENANT_ID)
+      .compose(batch -> {
+        context.assertEquals(records.size(), batch.getTotalRecords());
+        context.assertEquals(0, batch.getErrorMessages().size());
+        return copyRecordDao.getRecordById(expected.getId(), TENANT_ID);
+      })
+      .onComplete(context.asyncAssertSuccess(optionalRecord -> {
+        context.assertTrue(optionalRecord.isPresent());
+        Record actual = optionalRecord.get();
+        context.assertEquals(expected.getMatchedId(), actual.getMatchedId());
+        context.assertEquals(0, actual.getGeneration());
+        context.assertEquals(expected.getExternalIdsHolder().getInstanceId(), actual.getExternalIdsHolder().getInstanceId());
+        context.assertEquals(expected.getRawRecord().getContent(), actual.getRawRecord().getContent());
+        context.assertNotNull(actual.getParsedRecord());
+        context.assertNotNull(actual.getLeaderRecordStatus());
+        context.assertNotNull(actual.getMetadata().getCreatedDate());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldFailWithDuplicateEventExceptionOnRepeatedSaveInCopyMode(TestContext context) {
+    Async async = context.async();
+    RecordCollection recordCollection = toRecordCollection(TestMocks.generateMarcBibRecords(TestMocks.getSnapshot(0).getJobExecutionId(), 0, 10));
+
+    copyRecordDao.saveRecords(recordCollection, TENANT_ID)
+      .compose(batch -> copyRecordDao.saveRecords(recordCollection, TENANT_ID))
+      .onComplete(context.asyncAssertFailure(e -> {
+        context.assertTrue(e instanceof DuplicateEventException);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldSaveSameRecordsInBatchAndCopyModes(TestContext context) {
+    Async async = context.async();
+    String snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    List<Record> batchRecords = TestMocks.generateMarcBibRecords(snapshotId, 0, RECORDS_NUMBER);
+    List<Record> copyRecords = TestMocks.generateMarcBibRecords(snapshotId, 0, RECORDS_NUMBER);
+
+    batchRecordDao.saveRecords(toRecordCollection(batchRecords), TENANT_ID)
+      .compose(batch -> copyRecordDao.saveRecords(toRecordCollection(copyRecords), TENANT_ID))
+      .compose(batch -> RecordDaoUtil.countByCondition(postgresClientFactory.getQueryExecutor(TENANT_ID),
+        RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId))))
+      .onComplete(context.asyncAssertSuccess(count -> {
+        context.assertEquals(RECORDS_NUMBER * 2, count);
+        async.complete();
+      }));
+  }
+
+  private RecordCollection toRecordCollection(List<Record> records) {
+    return new RecordCollection()
+      .withRecords(records)
+      .withTotalRecords(records.size());
+  }
+
+}
@@ -0,0 +1,125 @@
+package org.folio.dao;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.vertx.core.Future;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.TestMocks;
+import org.folio.dao.util.RecordType;
+import org.folio.dao.util.RecordsSaveMode;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.rest.jaxrs.model.RecordsBatchResponse;
+import org.folio.services.AbstractLBServiceTest;
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.SortOrder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.folio.rest.jooq.Tables.RECORDS_LB;
+
+/**
+ * Benchmark of records streaming with a row per round trip and with the configured fetch size, it is not a part
+ * of the unit tests and is run by the benchmark profile: mvn test -Pbenchmark
+ */
+@RunWith(VertxUnitRunner.class)
+public class RecordDaoStreamBenchmark extends AbstractLBServiceTest {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int BENCHMARK_RECORDS_NUMBER = Integer.getInteger("srs.benchmark.records.number", 50000);
+  private static final int CONFIGURED_FETCH_SIZE = Integer.getInteger("srs.stream.records.fetchSize", 1000);
+  private static final int SAVE_BATCH_SIZE = 1000;
+  private static final int WARM_UP_RECORDS_NUMBER = 100;
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordDao recordDao;
+  private Condition condition;
+  private List<OrderField<?>> orderFields;
+
+  @Before
+  public void setUp(TestContext context) {
+    recordDao = new RecordDaoImpl(postgresClientFactory, RecordsSaveMode.COPY);
+    String snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+    orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC), RECORDS_LB.ID.sort(SortOrder.ASC));
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(save -> save(snapshotId, 0))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldStreamSameRecordsWithSingleRowAndConfiguredFetchSizes(TestContext context) {
+    Async async = context.async();
+    Flowable.just(1, CONFIGURED_FETCH_SIZE)
+      .concatMapSingle(this::measure)
+      .toList()
+      .subscribe(counts -> {
+        context.assertEquals(List.of((long) BENCHMARK_RECORDS_NUMBER, (long) BENCHMARK_RECORDS_NUMBER), counts);
+        async.complete();
+      }, context::fail);
+  }
+
+  private Single<Long> measure(int fetchSize) {
+    // the first stream opens the connection and prepares the statement
+    return countStreamedRecords(WARM_UP_RECORDS_NUMBER, fetchSize)
+      .flatMap(warmUp -> {
+        long start = System.nanoTime();
+        return countStreamedRecords(BENCHMARK_RECORDS_NUMBER, fetchSize)
+          .doOnSuccess(count -> {
+            long millis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+            LOG.info("{} records streamed with fetch size {} in {} ms, {} records/s",
+              count, fetchSize, millis, count * 1000 / millis);
+          });
+      });
+  }
+
+  private Single<Long> countStreamedRecords(int limit, int fetchSize) {
+    return recordDao.streamRecordBatches(condition, RecordType.MARC_BIB, orderFields, 0, limit, fetchSize, TENANT_ID)
+      .flatMapIterable(batch -> batch)
+      .count();
+  }
+
+  private Future<RecordsBatchResponse> save(String snapshotId, int from) {
+    int to = Math.min(from + SAVE_BATCH_SIZE, BENCHMARK_RECORDS_NUMBER);
+    List<Record> records = TestMocks.generateMarcBibRecords(snapshotId, from, to);
+    Future<RecordsBatchResponse> future = recordDao.saveRecords(new RecordCollection()
+      .withRecords(records)
+      .withTotalRecords(records.size()), TENANT_ID);
+    return to < BENCHMARK_RECORDS_NUMBER ? future.compose(response -> save(snapshotId, to)) : future;
+  }
+
+}
@@ -0,0 +1,144 @@
+package org.folio.dao;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.TestMocks;
+import org.folio.dao.util.ParsedRecordDaoUtil;
+import org.folio.dao.util.RecordType;
+import org.folio.dao.util.RecordsSaveMode;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.services.AbstractLBServiceTest;
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.SortOrder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.folio.rest.jooq.Tables.RECORDS_LB;
+
+@RunWith(VertxUnitRunner.class)
+public class RecordDaoStreamTest extends AbstractLBServiceTest {
+
+  private static final int RECORDS_NUMBER = 300;
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordDao recordDao;
+  private String snapshotId;
+  private Condition condition;
+  private List<OrderField<?>> orderFields;
+
+  @Before
+  public void setUp(TestContext context) {
+    recordDao = new RecordDaoImpl(postgresClientFactory, RecordsSaveMode.COPY);
+    snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+    orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC), RECORDS_LB.ID.sort(SortOrder.ASC));
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(save -> {
+        List<Record> records = TestMocks.generateMarcBibRecords(snapshotId, 0, RECORDS_NUMBER);
+        return recordDao.saveRecords(new RecordCollection().withRecords(records).withTotalRecords(records.size()), TENANT_ID);
+      })
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldStreamRecordBatchesInOrder(TestContext context) {
+    Async async = context.async();
+    int limit = 250;
+    recordDao.streamRecordBatches(condition, RecordType.MARC_BIB, orderFields, 0, limit, 100, TENANT_ID)
+      .toList()
+      .subscribe(batches -> {
+        context.assertTrue(batches.stream().allMatch(batch -> batch.size() <= 100));
+        List<Record> records = batches.stream().flatMap(List::stream).collect(Collectors.toList());
+        context.assertEquals(limit, records.size());
+        for (int i = 0; i < records.size(); i++) {
+          context.assertEquals(i, records.get(i).getOrder());
+          context.assertNotNull(records.get(i).getParsedRecord());
+        }
+        async.complete();
+      }, context::fail);
+  }
+
+  @Test
+  public void shouldStreamSourceRecordBatches(TestContext context) {
+    Async async = context.async();
+    recordDao.streamSourceRecordBatches(condition, RecordType.MARC_BIB, orderFields, 0, RECORDS_NUMBER, 1000, TENANT_ID)
+      .flatMapIterable(batch -> batch)
+      .count()
+      .subscribe(count -> {
+        context.assertEquals((long) RECORDS_NUMBER, count);
+        async.complete();
+      }, context::fail);
+  }
+
+  @Test
+  public void shouldStreamRecordJsonBatches(TestContext context) {
+    Async async = context.async();
+    recordDao.streamRecordJsonBatches(condition, RecordType.MARC_BIB, orderFields, 0, RECORDS_NUMBER, 1000, TENANT_ID)
+      .flatMapIterable(buffer -> List.of(buffer.toString().split(StringUtils.LF)))
+      .toList()
+      .subscribe(lines -> {
+        context.assertEquals(RECORDS_NUMBER, lines.size());
+        JsonObject first = new JsonObject(lines.get(0));
+        context.assertEquals(0, first.getInteger("order"));
+        context.assertEquals(first.getString("id"), first.getJsonObject("parsedRecord").getString("id"));
+        context.assertEquals(ParsedRecordDaoUtil.normalizeJsonContent(TestMocks.getMarcBibRecord().getParsedRecord()),
+          first.getJsonObject("parsedRecord").getJsonObject("content"));
+        context.assertNotNull(first.getJsonObject("rawRecord"));
+        async.complete();
+      }, context::fail);
+  }
+
+  @Test
+  public void shouldStreamSameRecordsWithDifferentFetchSizes(TestContext context) {
+    Async async = context.async();
+    Flowable.just(1, 100, RECORDS_NUMBER)
+      .concatMapSingle(this::countStreamedRecords)
+      .toList()
+      .subscribe(counts -> {
+        context.assertEquals(List.of((long) RECORDS_NUMBER, (long) RECORDS_NUMBER, (long) RECORDS_NUMBER), counts);
+        async.complete();
+      }, context::fail);
+  }
+
+  private Single<Long> countStreamedRecords(int fetchSize) {
+    return recordDao.streamRecordBatches(condition, RecordType.MARC_BIB, orderFields, 0, RECORDS_NUMBER, fetchSize, TENANT_ID)
+      .flatMapIterable(batch -> batch)
+      .count();
+  }
+
+}
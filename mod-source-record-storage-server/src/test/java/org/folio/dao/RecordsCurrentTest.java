@@ -0,0 +1,136 @@
+package org.folio.dao;
+
+import io.vertx.core.Future;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.sqlclient.Row;
+import org.folio.TestMocks;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jooq.enums.RecordState;
+import org.folio.services.AbstractLBServiceTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+import static org.folio.rest.jooq.Tables.RECORDS_CURRENT;
+import static org.folio.rest.jooq.Tables.RECORDS_LB;
+
+@RunWith(VertxUnitRunner.class)
+public class RecordsCurrentTest extends AbstractLBServiceTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordDao recordDao;
+  private Record firstGeneration;
+  private Record secondGeneration;
+
+  @Before
+  public void setUp(TestContext context) {
+    recordDao = new RecordDaoImpl(postgresClientFactory);
+    firstGeneration = TestMocks.generateMarcBibRecords(TestMocks.getSnapshot(0).getJobExecutionId(), 0, 1).get(0);
+    secondGeneration = TestMocks.generateMarcBibRecords(TestMocks.getSnapshot(1).getJobExecutionId(), 0, 1).get(0)
+      .withMatchedId(firstGeneration.getMatchedId())
+      .withGeneration(1);
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots()).onComplete(save -> {
+      if (save.failed()) {
+        context.fail(save.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldProjectInsertedRecord(TestContext context) {
+    Async async = context.async();
+    recordDao.saveRecord(firstGeneration, TENANT_ID)
+      .compose(saved -> getCurrentRecord(firstGeneration.getMatchedId()))
+      .onComplete(context.asyncAssertSuccess(current -> {
+        assertCurrentRecord(context, firstGeneration, current);
+        context.assertEquals(RecordState.ACTUAL.getLiteral(), current.getString(RECORDS_CURRENT.STATE.getName()));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldProjectNewGeneration(TestContext context) {
+    Async async = context.async();
+    recordDao.saveRecord(firstGeneration, TENANT_ID)
+      .compose(saved -> recordDao.saveRecord(secondGeneration, TENANT_ID))
+      .compose(saved -> updateState(firstGeneration, RecordState.OLD))
+      .compose(updated -> getCurrentRecord(firstGeneration.getMatchedId()))
+      .onComplete(context.asyncAssertSuccess(current -> {
+        assertCurrentRecord(context, secondGeneration, current);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldProjectPreviousGenerationOnStateChange(TestContext context) {
+    Async async = context.async();
+    recordDao.saveRecord(firstGeneration, TENANT_ID)
+      .compose(saved -> recordDao.saveRecord(secondGeneration, TENANT_ID))
+      .compose(saved -> updateState(secondGeneration, RecordState.OLD))
+      .compose(updated -> getCurrentRecord(firstGeneration.getMatchedId()))
+      .onComplete(context.asyncAssertSuccess(current -> {
+        assertCurrentRecord(context, firstGeneration, current);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldProjectPreviousGenerationOnDelete(TestContext context) {
+    Async async = context.async();
+    recordDao.saveRecord(firstGeneration, TENANT_ID)
+      .compose(saved -> recordDao.saveRecord(secondGeneration, TENANT_ID))
+      .compose(saved -> SnapshotDaoUtil.delete(postgresClientFactory.getQueryExecutor(TENANT_ID), secondGeneration.getSnapshotId()))
+      .compose(deleted -> getCurrentRecord(firstGeneration.getMatchedId()))
+      .compose(current -> {
+        assertCurrentRecord(context, firstGeneration, current);
+        return SnapshotDaoUtil.delete(postgresClientFactory.getQueryExecutor(TENANT_ID), firstGeneration.getSnapshotId());
+      })
+      .compose(deleted -> getCurrentRecord(firstGeneration.getMatchedId()))
+      .onComplete(context.asyncAssertSuccess(current -> {
+        context.assertNull(current);
+        async.complete();
+      }));
+  }
+
+  private Future<Integer> updateState(Record record, RecordState state) {
+    return postgresClientFactory.getQueryExecutor(TENANT_ID).execute(dsl -> dsl.update(RECORDS_LB)
+      .set(RECORDS_LB.STATE, state)
+      .where(RECORDS_LB.ID.eq(UUID.fromString(record.getId()))));
+  }
+
+  private Future<Row> getCurrentRecord(String matchedId) {
+    return postgresClientFactory.getQueryExecutor(TENANT_ID).findOneRow(dsl -> dsl.selectFrom(RECORDS_CURRENT)
+      .where(RECORDS_CURRENT.MATCHED_ID.eq(UUID.fromString(matchedId))));
+  }
+
+  private void assertCurrentRecord(TestContext context, Record expected, Row current) {
+    context.assertNotNull(current);
+    context.assertEquals(UUID.fromString(expected.getId()), current.getUUID(RECORDS_CURRENT.RECORD_ID.getName()));
+    context.assertEquals(UUID.fromString(expected.getSnapshotId()), current.getUUID(RECORDS_CURRENT.SNAPSHOT_ID.getName()));
+    context.assertEquals(expected.getGeneration(), current.getInteger(RECORDS_CURRENT.GENERATION.getName()));
+  }
+
+}
@@ -0,0 +1,163 @@
+package org.folio.dao;
+
+import io.vertx.core.Future;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.pgclient.PgException;
+import io.vertx.sqlclient.Tuple;
+import org.folio.TestMocks;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.folio.services.AbstractLBServiceTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+
+@RunWith(VertxUnitRunner.class)
+public class RecordsPartitioningTest extends AbstractLBServiceTest {
+
+  private static final int RECORDS_NUMBER = 20;
+  private static final String SELECT_RELKIND_SQL = "SELECT relkind::text FROM pg_class WHERE oid = 'records_lb'::regclass";
+  private static final String COUNT_PARTITIONS_SQL = "SELECT count(*) FROM pg_inherits WHERE inhparent = 'records_lb'::regclass";
+  private static final String COUNT_SQL = "SELECT count(*) FROM %s";
+  private static final String INSERT_RECORD_COPY_SQL =
+    "INSERT INTO records_lb (id, snapshot_id, matched_id, generation, record_type, state, created_date, updated_date) " +
+      "SELECT $1, snapshot_id, $2, generation, record_type, state, null, null FROM records_lb WHERE id = $3 RETURNING created_date";
+  private static final String SELECT_MATCHED_ID_SQL = "SELECT matched_id FROM records_lb WHERE id = $1";
+  private static final String PREPARE_SQL = "SELECT prepare_records_partitioning(4)";
+  private static final String COPY_SQL = "SELECT copy_records_to_partitioned(5)";
+  private static final String SWITCH_SQL = "SELECT switch_to_partitioned_records()";
+  private static final String DROP_LEGACY_SQL = "DROP TABLE records_lb_legacy, raw_records_lb_legacy, marc_records_lb_legacy, " +
+    "edifact_records_lb_legacy, error_records_lb_legacy";
+  /* rebuilds records tables as plain tables with their triggers, as they are in a tenant populated before partitioning */
+  private static final String UNPARTITION_SQL =
+    "DO $$ " +
+      "DECLARE tbl text; trg record; tables text[] := array[]::text[]; names text[] := array[]::text[]; defs text[] := array[]::text[]; " +
+      "BEGIN " +
+      "  FOREACH tbl IN ARRAY array['records_lb', 'raw_records_lb', 'marc_records_lb', 'edifact_records_lb', 'error_records_lb'] LOOP " +
+      "    FOR trg IN SELECT tgname AS name, pg_get_triggerdef(oid) AS def FROM pg_trigger " +
+      "               WHERE tgrelid IN (tbl::regclass, (tbl || '_p0')::regclass) AND NOT tgisinternal " +
+      "                 AND tgname <> 'update_records_generations_trigger' LOOP " +
+      "      tables := tables || tbl; names := names || trg.name::text; " +
+      "      defs := defs || regexp_replace(trg.def, ' ON (\\S+\\.)?' || tbl || '(_p0)? ', ' ON ' || tbl || ' '); " +
+      "    END LOOP; " +
+      "    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING INDEXES)', tbl || '_plain', tbl); " +
+      "    EXECUTE format('INSERT INTO %I SELECT * FROM %I', tbl || '_plain', tbl); " +
+      "  END LOOP; " +
+      "  DROP TABLE records_lb, raw_records_lb, marc_records_lb, edifact_records_lb, error_records_lb CASCADE; " +
+      "  FOREACH tbl IN ARRAY array['records_lb', 'raw_records_lb', 'marc_records_lb', 'edifact_records_lb', 'error_records_lb'] LOOP " +
+      "    EXECUTE format('ALTER TABLE %I RENAME TO %I', tbl || '_plain', tbl); " +
+      "  END LOOP; " +
+      "  FOR i IN 1 .. array_length(names, 1) LOOP " +
+      "    PERFORM create_records_table_trigger(tables[i], names[i], defs[i]); " +
+      "  END LOOP; " +
+      "END $$";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordDao recordDao;
+  private List<Record> records;
+
+  @Before
+  public void setUp(TestContext context) {
+    recordDao = new RecordDaoImpl(postgresClientFactory);
+    records = TestMocks.generateMarcBibRecords(TestMocks.getSnapshot(0).getJobExecutionId(), 0, RECORDS_NUMBER);
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots())
+      .compose(save -> recordDao.saveRecords(new RecordCollection().withRecords(records).withTotalRecords(records.size()), TENANT_ID))
+      .onComplete(save -> {
+        if (save.failed()) {
+          context.fail(save.cause());
+        }
+        async.complete();
+      });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldPartitionEmptyTenantTables(TestContext context) {
+    Async async = context.async();
+    execute(SELECT_RELKIND_SQL)
+      .onSuccess(relkind -> context.assertEquals("p", relkind))
+      .compose(v -> execute(COUNT_PARTITIONS_SQL))
+      .onSuccess(partitions -> context.assertEquals(16L, partitions))
+      .compose(v -> verifyTriggers(context))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  @Test
+  public void shouldMigratePopulatedTenantTables(TestContext context) {
+    Async async = context.async();
+    Record savedAfterPrepare = TestMocks.generateMarcBibRecords(TestMocks.getSnapshot(0).getJobExecutionId(), RECORDS_NUMBER, 1).get(0);
+    execute(UNPARTITION_SQL)
+      .compose(v -> execute(SELECT_RELKIND_SQL))
+      .onSuccess(relkind -> context.assertEquals("r", relkind))
+      .compose(v -> execute(PREPARE_SQL))
+      .compose(v -> execute(COPY_SQL))
+      .compose(v -> recordDao.saveRecord(savedAfterPrepare, TENANT_ID))
+      .compose(v -> execute(SWITCH_SQL))
+      .compose(v -> execute(DROP_LEGACY_SQL))
+      .compose(v -> execute(SELECT_RELKIND_SQL))
+      .onSuccess(relkind -> context.assertEquals("p", relkind))
+      .compose(v -> execute(COUNT_PARTITIONS_SQL))
+      .onSuccess(partitions -> context.assertEquals(4L, partitions))
+      .compose(v -> execute(String.format(COUNT_SQL, "records_lb")))
+      .onSuccess(count -> context.assertEquals(RECORDS_NUMBER + 1L, count))
+      .compose(v -> execute(String.format(COUNT_SQL, "marc_records_lb")))
+      .onSuccess(count -> context.assertEquals(RECORDS_NUMBER + 1L, count))
+      .compose(v -> execute(String.format(COUNT_SQL, "records_generations")))
+      .onSuccess(count -> context.assertEquals(RECORDS_NUMBER + 1L, count))
+      .compose(v -> recordDao.getRecordById(savedAfterPrepare.getId(), TENANT_ID))
+      .onSuccess(record -> context.assertTrue(record.isPresent()))
+      .compose(v -> verifyTriggers(context))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  private Future<Void> verifyTriggers(TestContext context) {
+    UUID recordId = UUID.fromString(records.get(0).getId());
+    UUID copyId = UUID.randomUUID();
+    return postgresClientFactory.getCachedPool(TENANT_ID).getDelegate()
+      .preparedQuery(INSERT_RECORD_COPY_SQL)
+      .execute(Tuple.of(copyId, copyId, recordId))
+      .onSuccess(rows -> context.assertNotNull(rows.iterator().next().getOffsetDateTime(0)))
+      .compose(v -> postgresClientFactory.getCachedPool(TENANT_ID).getDelegate()
+        .preparedQuery(SELECT_MATCHED_ID_SQL)
+        .execute(Tuple.of(recordId)))
+      .compose(rows -> postgresClientFactory.getCachedPool(TENANT_ID).getDelegate()
+        .preparedQuery(INSERT_RECORD_COPY_SQL)
+        .execute(Tuple.of(UUID.randomUUID(), rows.iterator().next().getUUID(0), recordId)))
+      .transform(ar -> {
+        context.assertTrue(ar.failed(), "Record with duplicate matched id and generation is saved");
+        context.assertTrue(ar.cause() instanceof PgException);
+        context.assertEquals("23505", ((PgException) ar.cause()).getCode());
+        return Future.succeededFuture();
+      });
+  }
+
+  private Future<Object> execute(String sql) {
+    return postgresClientFactory.getCachedPool(TENANT_ID).getDelegate()
+      .query(sql)
+      .execute()
+      .map(rows -> rows.size() == 0 ? null : rows.iterator().next().getValue(0));
+  }
+
+}
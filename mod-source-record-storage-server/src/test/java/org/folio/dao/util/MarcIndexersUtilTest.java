@@ -0,0 +1,71 @@
+package org.folio.dao.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import io.vertx.core.json.JsonObject;
+import org.folio.dao.util.MarcIndexersUtil.MarcIndexer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class MarcIndexersUtilTest {
+
+  private static final String MARC_CONTENT = "{\"leader\":\"00914cam  22002778a 4500\",\"fields\":["
+    + "{\"001\":\"in00000000001\"},"
+    + "{\"020\":{\"ind1\":\" \",\"ind2\":\" \",\"subfields\":[{\"a\":\"0-19-877306-4\"},{\"a\":\"0-19-877306-4\"}]}},"
+    + "{\"245\":{\"ind1\":\"1\",\"ind2\":\"0\",\"subfields\":[{\"a\":\"\\\"Quoted\\\" title\"},{\"b\":\"subtitle\"}]}},"
+    + "{\"LDR\":\"invalid tag\"},"
+    + "{\"999\":{\"ind1\":\"ff\",\"ind2\":\"f\",\"subfields\":[{\"s\":\"skipped\"}]}}"
+    + "]}";
+
+  @Test
+  public void shouldComputeMarcIndexers() {
+    Set<MarcIndexer> indexers = MarcIndexersUtil.toMarcIndexers(new JsonObject(MARC_CONTENT));
+
+    assertEquals(4, indexers.size());
+    assertTrue(indexers.contains(new MarcIndexer("001", "#", "#", "0", "in00000000001")));
+    assertTrue(indexers.contains(new MarcIndexer("020", "#", "#", "a", "0-19-877306-4")));
+    assertTrue(indexers.contains(new MarcIndexer("245", "1", "0", "a", "\\\"Quoted\\\" title")));
+    assertTrue(indexers.contains(new MarcIndexer("245", "1", "0", "b", "subtitle")));
+    assertFalse(indexers.stream().anyMatch(indexer -> indexer.getFieldNo().equals("999")));
+  }
+
+  @Test
+  public void shouldComputeLeaderPositions() {
+    List<String> leader = MarcIndexersUtil.toLeaderPositions(new JsonObject(MARC_CONTENT));
+
+    assertEquals(15, leader.size());
+    assertEquals("00914", leader.get(0));
+    assertEquals("c", leader.get(1));
+    assertEquals("a", leader.get(2));
+    assertEquals("m", leader.get(3));
+    assertEquals("#", leader.get(4));
+    assertEquals("#", leader.get(5));
+    assertEquals("00277", leader.get(8));
+    assertEquals("8", leader.get(9));
+    assertEquals("0", leader.get(14));
+  }
+
+  @Test
+  public void shouldReturnEmptyPositionsForShortLeader() {
+    List<String> leader = MarcIndexersUtil.toLeaderPositions(new JsonObject().put("leader", "00914"));
+
+    assertEquals("00914", leader.get(0));
+    assertEquals("", leader.get(1));
+    assertEquals("", leader.get(14));
+  }
+
+  @Test
+  public void shouldReturnNullIfLeaderIsAbsent() {
+    assertNull(MarcIndexersUtil.toLeaderPositions(new JsonObject()));
+    assertTrue(MarcIndexersUtil.toMarcIndexers(new JsonObject()).isEmpty());
+  }
+
+}
@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.common.Json;
 
+import io.vertx.core.json.JsonObject;
 import org.folio.rest.jaxrs.model.SourceRecord;
 import org.junit.Before;
 import org.junit.Test;
@@ -65,4 +66,19 @@ public class MarcUtilTest {
     assertEquals(sourceRecord.getParsedRecord().getFormattedContent().trim(), txtMarc.trim());
   }
 
+  @Test
+  public void shouldConvertMarcJsonObjectToTxtMarc() throws IOException, MarcException {
+    String marcJson = new ObjectMapper().writeValueAsString(sourceRecord.getParsedRecord().getContent());
+    String txtMarc = MarcUtil.marcJsonToTxtMarc(new JsonObject(marcJson));
+    assertEquals(MarcUtil.marcJsonToTxtMarc(marcJson), txtMarc);
+  }
+
+  @Test
+  public void shouldConvertMarcJsonObjectWithUncommonStructureToTxtMarc() throws IOException, MarcException {
+    String marcJson = "{\"leader\":\"01542ccm a2200361   4500\",\"fields\":[{\"005\":\"20141107001016.0\"},{\"001\":\"393893\"},"
+      + "{\"245\":{\"subfields\":[{\"a\":\"Title\"}]}},{\"abc\":\"skipped\"},{\"246\":{\"ind1\":\"1\",\"ind2\":\"0\",\"subfields\":[{\"a\":1}]}}]}";
+    String txtMarc = MarcUtil.marcJsonToTxtMarc(new JsonObject(marcJson));
+    assertEquals(MarcUtil.marcJsonToTxtMarc(marcJson), txtMarc);
+  }
+
 }
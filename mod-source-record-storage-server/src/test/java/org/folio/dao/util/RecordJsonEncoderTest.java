@@ -0,0 +1,46 @@
+package org.folio.dao.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class RecordJsonEncoderTest {
+
+  private static final String ID = "0f0fe962-d502-4a4f-9e74-7732bec94ee8";
+  private static final String PARSED_CONTENT = "{\"leader\": \"00914cam  22002778a 4500\", \"fields\": [{\"001\": \"in001\"}]}";
+
+  @Test
+  public void shouldSpliceParsedRecordContent() {
+    Buffer buffer = Buffer.buffer();
+    RecordJsonEncoder.appendJsonLine(buffer, Map.of("recordId", ID, "order", 1), ID, Buffer.buffer(PARSED_CONTENT));
+    RecordJsonEncoder.appendJsonLine(buffer, Map.of("recordId", ID), ID, null);
+
+    String[] lines = buffer.toString().split("\n");
+    assertEquals(2, lines.length);
+    JsonObject actual = new JsonObject(lines[0]);
+    assertEquals(ID, actual.getString("recordId"));
+    assertEquals(1, actual.getInteger("order").intValue());
+    assertEquals(ID, actual.getJsonObject("parsedRecord").getString("id"));
+    assertEquals(new JsonObject(PARSED_CONTENT), actual.getJsonObject("parsedRecord").getJsonObject("content"));
+    assertTrue(new JsonObject(lines[1]).fieldNames().contains("recordId"));
+    assertTrue(buffer.toString().endsWith("\n"));
+  }
+
+  @Test
+  public void shouldSpliceParsedRecordContentToEmptyEntity() {
+    Buffer buffer = RecordJsonEncoder.appendJsonLine(Buffer.buffer(), Map.of(), ID, Buffer.buffer(PARSED_CONTENT));
+
+    JsonObject actual = new JsonObject(buffer.toString().trim());
+    assertEquals(1, actual.size());
+    assertEquals(new JsonObject(PARSED_CONTENT), actual.getJsonObject("parsedRecord").getJsonObject("content"));
+  }
+
+}
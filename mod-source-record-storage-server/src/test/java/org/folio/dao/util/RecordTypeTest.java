@@ -0,0 +1,61 @@
+package org.folio.dao.util;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import org.folio.TestMocks;
+import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.folio.rest.jaxrs.model.Record;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class RecordTypeTest {
+
+  @Test
+  public void shouldValidateMarcRecordWithoutFormatting() throws FormatRecordException {
+    Record record = TestMocks.getMarcBibRecord();
+    record.getParsedRecord().setFormattedContent(null);
+    RecordType.MARC_BIB.validateRecord(record);
+    assertNull(record.getParsedRecord().getFormattedContent());
+  }
+
+  @Test
+  public void shouldNotValidateMarcRecordWithInvalidLeader() {
+    Record record = toMarcBibRecord(new JsonObject().put("leader", "00000nam").put("fields", new JsonArray()));
+    assertThrows(FormatRecordException.class, () -> RecordType.MARC_BIB.validateRecord(record));
+  }
+
+  @Test
+  public void shouldNotValidateMarcRecordWithFieldOfSeveralTags() {
+    JsonObject field = new JsonObject().put("001", "in00000000001").put("003", "OCoLC");
+    Record record = toMarcBibRecord(new JsonObject().put("fields", new JsonArray().add(field)));
+    assertThrows(FormatRecordException.class, () -> RecordType.MARC_BIB.validateRecord(record));
+  }
+
+  @Test
+  public void shouldNotValidateMarcRecordWithInvalidSubfields() {
+    JsonObject dataField = new JsonObject().put("ind1", " ").put("ind2", " ").put("subfields", "a");
+    Record record = toMarcBibRecord(new JsonObject().put("fields", new JsonArray().add(new JsonObject().put("245", dataField))));
+    assertThrows(FormatRecordException.class, () -> RecordType.MARC_BIB.validateRecord(record));
+  }
+
+  @Test
+  public void shouldNotValidateMarcRecordWithContentWhichIsNotJson() {
+    Record record = new Record()
+      .withRecordType(Record.RecordType.MARC_BIB)
+      .withParsedRecord(new ParsedRecord().withContent("Duis aute irure dolor in reprehenderit"));
+    assertThrows(FormatRecordException.class, () -> RecordType.MARC_BIB.validateRecord(record));
+  }
+
+  private Record toMarcBibRecord(JsonObject content) {
+    return new Record()
+      .withRecordType(Record.RecordType.MARC_BIB)
+      .withParsedRecord(new ParsedRecord().withContent(content.encode()));
+  }
+
+}
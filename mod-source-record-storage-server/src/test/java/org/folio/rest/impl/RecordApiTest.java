@@ -303,6 +303,21 @@ public class RecordApiTest extends AbstractRestVerticleTest {
     async.complete();
   }
 
+  @Test
+  public void shouldReturnBadRequestOnGetByUnknownLastRecordId(TestContext testContext) {
+    postSnapshots(testContext, snapshot_1);
+    postRecords(testContext, record_1);
+
+    Async async = testContext.async();
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_RECORDS_PATH + "?orderBy=order,ASC&lastRecordId=" + UUID.randomUUID())
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST);
+    async.complete();
+  }
+
   @Test
   public void shouldReturnMarcAuthorityRecordsOnGetBySpecifiedSnapshotId(TestContext testContext) {
     shouldReturnMarcRecordsOnGetBySpecifiedSnapshotId(testContext, RecordType.MARC_AUTHORITY, record_7);
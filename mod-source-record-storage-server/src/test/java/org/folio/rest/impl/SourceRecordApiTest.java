@@ -953,6 +953,72 @@ public class SourceRecordApiTest extends AbstractRestVerticleTest {
     async.complete();
   }
 
+  @Test
+  public void shouldReturnSourceRecordsMetadataOnGetWithMetadataProjection(TestContext testContext) {
+    postSnapshots(testContext, snapshot_1, snapshot_2);
+    postRecords(testContext, record_1, record_2, record_3, record_4, record_6);
+
+    String query = "?orderBy=order&limit=10";
+    SourceRecordCollection fullCollection = RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + query)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().as(SourceRecordCollection.class);
+    SourceRecordCollection metadataCollection = RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + query + "&projection=metadata")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("sourceRecords*.parsedRecord", everyItem(nullValue()))
+      .body("sourceRecords*.rawRecord", everyItem(nullValue()))
+      .extract().as(SourceRecordCollection.class);
+
+    assertThat(fullCollection.getSourceRecords().size(), is(3));
+    assertMetadataProjection(fullCollection, metadataCollection);
+  }
+
+  @Test
+  public void shouldReturnSourceRecordsMetadataOnPostWithMetadataProjection(TestContext testContext) {
+    postSnapshots(testContext, snapshot_1, snapshot_2);
+    postRecords(testContext, record_1, record_2, record_3, record_4, record_6);
+
+    List<String> ids = List.of(record_2.getId(), record_4.getId(), record_6.getId());
+    SourceRecordCollection fullCollection = RestAssured.given()
+      .spec(spec)
+      .body(ids)
+      .when()
+      .post(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?idType=RECORD")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().as(SourceRecordCollection.class);
+    SourceRecordCollection metadataCollection = RestAssured.given()
+      .spec(spec)
+      .body(ids)
+      .when()
+      .post(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?idType=RECORD&projection=metadata")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("sourceRecords*.parsedRecord", everyItem(nullValue()))
+      .body("sourceRecords*.rawRecord", everyItem(nullValue()))
+      .extract().as(SourceRecordCollection.class);
+
+    assertThat(fullCollection.getSourceRecords().size(), is(ids.size()));
+    assertMetadataProjection(fullCollection, metadataCollection);
+  }
+
+  @Test
+  public void shouldReturnBadRequestOnGetWithUnknownProjection() {
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_SOURCE_RECORDS_PATH + "?projection=content")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST);
+  }
+
   @Test
   public void shouldReturnEmptyListOnGetResultsIfNoRecordsExist() {
     RestAssured.given()
@@ -1254,6 +1320,25 @@ public class SourceRecordApiTest extends AbstractRestVerticleTest {
     async.complete();
   }
 
+  /* metadata projection returns the same source records as full one, without parsed records */
+  private void assertMetadataProjection(SourceRecordCollection fullCollection, SourceRecordCollection metadataCollection) {
+    assertThat(metadataCollection.getTotalRecords(), is(fullCollection.getTotalRecords()));
+    assertThat(metadataCollection.getSourceRecords().size(), is(fullCollection.getSourceRecords().size()));
+    for (int i = 0; i < fullCollection.getSourceRecords().size(); i++) {
+      SourceRecord full = fullCollection.getSourceRecords().get(i);
+      SourceRecord metadata = metadataCollection.getSourceRecords().get(i);
+      assertThat(full.getParsedRecord(), notNullValue());
+      assertThat(metadata.getRecordId(), is(full.getRecordId()));
+      assertThat(metadata.getSnapshotId(), is(full.getSnapshotId()));
+      assertThat(metadata.getRecordType(), is(full.getRecordType()));
+      assertThat(metadata.getOrder(), is(full.getOrder()));
+      assertThat(metadata.getExternalIdsHolder().getInstanceId(), is(full.getExternalIdsHolder().getInstanceId()));
+      assertThat(metadata.getAdditionalInfo().getSuppressDiscovery(), is(full.getAdditionalInfo().getSuppressDiscovery()));
+      assertThat(metadata.getMetadata().getCreatedDate(), is(full.getMetadata().getCreatedDate()));
+      assertThat(metadata.getParsedRecord(), nullValue());
+    }
+  }
+
   private void shouldReturnSpecificMarcRecordSourceRecordOnGetByRecordId(TestContext testContext, RecordType recordType,
                                                                          Record record, Snapshot snapshot) {
     postSnapshots(testContext, snapshot_1, snapshot_2, snapshot_3, snapshot);
@@ -982,6 +982,73 @@ public class SourceStorageBatchApiTest extends AbstractRestVerticleTest {
     async.complete();
   }
 
+  @Test
+  public void shouldUpdateFoundParsedRecordsAndReturnErrorMessagesForNotFound(TestContext testContext) {
+    postSnapshots(testContext, snapshot_1);
+
+    Async async = testContext.async();
+
+    Record record1 = new Record()
+      .withId(UUID.randomUUID().toString())
+      .withMatchedId(UUID.randomUUID().toString())
+      .withSnapshotId(snapshot_1.getJobExecutionId())
+      .withRecordType(Record.RecordType.MARC_BIB)
+      .withRawRecord(rawRecord)
+      .withParsedRecord(marcRecord);
+
+    RecordCollection recordCollection = new RecordCollection()
+      .withRecords(List.of(record1))
+      .withTotalRecords(1);
+
+    RestAssured.given()
+      .spec(spec)
+      .body(recordCollection)
+      .when()
+      .post(SOURCE_STORAGE_BATCH_RECORDS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_CREATED)
+      .body("errorMessages.size()", is(0));
+    async.complete();
+
+    async = testContext.async();
+
+    record1.setParsedRecord(new ParsedRecord()
+      .withContent(marcRecord.getContent())
+      .withId(record1.getId()));
+
+    Record record2 = new Record()
+      .withId(UUID.randomUUID().toString())
+      .withMatchedId(UUID.randomUUID().toString())
+      .withSnapshotId(snapshot_1.getJobExecutionId())
+      .withRecordType(Record.RecordType.MARC_BIB)
+      .withRawRecord(rawRecord)
+      .withParsedRecord(new ParsedRecord()
+        .withContent(marcRecord.getContent())
+        .withId(UUID.randomUUID().toString()));
+
+    recordCollection = new RecordCollection()
+      .withRecords(Arrays.asList(record1, record2))
+      .withTotalRecords(2);
+
+    ParsedRecordsBatchResponse updatedParsedRecordCollection = RestAssured.given()
+      .spec(spec)
+      .body(recordCollection)
+      .when()
+      .put(SOURCE_STORAGE_BATCH_PARSED_RECORDS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .body("parsedRecords.size()", is(1))
+      .body("totalRecords", is(1))
+      .body("errorMessages.size()", is(2))
+      .extract().response().body().as(ParsedRecordsBatchResponse.class);
+
+    testContext.assertEquals(record1.getParsedRecord().getId(), updatedParsedRecordCollection.getParsedRecords().get(0).getId());
+    testContext.assertEquals(format("Record with id %s was not updated", record2.getId()), updatedParsedRecordCollection.getErrorMessages().get(0));
+    testContext.assertEquals(format("Parsed Record with id '%s' was not updated", record2.getParsedRecord().getId()), updatedParsedRecordCollection.getErrorMessages().get(1));
+
+    async.complete();
+  }
+
   @Test
   public void shouldReturnBadRequestOnPutWhenNoParsedRecordsInRecordCollection(TestContext testContext) {
     Async async = testContext.async();
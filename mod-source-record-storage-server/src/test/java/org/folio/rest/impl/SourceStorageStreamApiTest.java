@@ -3,7 +3,9 @@ package org.folio.rest.impl;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -863,6 +865,160 @@ public class SourceStorageStreamApiTest extends AbstractRestVerticleTest {
         .subscribe();
   }
 
+  @Test
+  public void shouldStreamSourceRecordsOnPostByInstanceIds(TestContext testContext) {
+    postSnapshots(testContext, snapshot_2);
+
+    Async async = testContext.async();
+    Record firstRecord = new Record().withId(FIRST_UUID)
+      .withSnapshotId(snapshot_2.getJobExecutionId())
+      .withRecordType(Record.RecordType.MARC_BIB)
+      .withRawRecord(rawRecord)
+      .withParsedRecord(marcRecord)
+      .withMatchedId(FIRST_UUID)
+      .withState(Record.State.ACTUAL)
+      .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(THIRD_UUID));
+
+    Record secondRecord = new Record().withId(SECOND_UUID)
+      .withSnapshotId(snapshot_2.getJobExecutionId())
+      .withRecordType(Record.RecordType.MARC_BIB)
+      .withRawRecord(rawRecord)
+      .withParsedRecord(marcRecord)
+      .withMatchedId(SECOND_UUID)
+      .withState(Record.State.ACTUAL)
+      .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(FOURTH_UUID));
+
+    RestAssured.given()
+      .spec(spec)
+      .body(firstRecord)
+      .when()
+      .post(SOURCE_STORAGE_RECORDS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_CREATED);
+
+    RestAssured.given()
+      .spec(spec)
+      .body(secondRecord)
+      .when()
+      .post(SOURCE_STORAGE_RECORDS_PATH)
+      .then()
+      .statusCode(HttpStatus.SC_CREATED);
+    async.complete();
+
+    final Async finalAsync = testContext.async();
+    InputStream response = RestAssured.given()
+      .spec(spec)
+      .body(List.of(THIRD_UUID, UUID.randomUUID().toString()))
+      .when()
+      .post(SOURCE_STORAGE_STREAM_SOURCE_RECORDS_PATH + "?idType=INSTANCE")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().response().asInputStream();
+
+    List<SourceRecord> actual = new ArrayList<>();
+    flowableInputStreamScanner(response)
+      .map(r -> Json.decodeValue(r, SourceRecord.class))
+      .doFinally(() -> {
+        testContext.assertEquals(1, actual.size());
+        testContext.assertEquals(FIRST_UUID, actual.get(0).getRecordId());
+        testContext.assertEquals(THIRD_UUID, actual.get(0).getExternalIdsHolder().getInstanceId());
+        finalAsync.complete();
+      }).collect(() -> actual, (a, r) -> a.add(r))
+        .subscribe();
+  }
+
+  @Test
+  public void shouldStreamRecordsMetadataOnGetWithMetadataProjection(TestContext testContext) {
+    postSnapshots(testContext, snapshot_1, snapshot_2);
+    postRecords(testContext, marc_bib_record_2, marc_bib_record_3, marc_bib_record_4);
+
+    InputStream response = RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_STREAM_RECORDS_PATH + "?orderBy=order&projection=metadata")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().response().asInputStream();
+
+    List<JsonObject> actual = toJsonLines(response);
+    assertEquals(3, actual.size());
+    for (JsonObject record : actual) {
+      assertFalse(record.containsKey("rawRecord"));
+      assertFalse(record.containsKey("parsedRecord"));
+      assertFalse(record.containsKey("errorRecord"));
+      assertThat(record.getString("id"), is(record.getString("matchedId")));
+      assertThat(record.getString("recordType"), is(RecordType.MARC_BIB.name()));
+      assertThat(record.getString("state"), is(Record.State.ACTUAL.name()));
+      assertThat(record.getJsonObject("additionalInfo").getBoolean("suppressDiscovery"), is(false));
+      assertThat(record.getJsonObject("metadata").getString("createdDate"), notNullValue());
+    }
+    JsonObject record_2 = actual.stream().filter(record -> SECOND_UUID.equals(record.getString("id"))).findFirst().orElseThrow();
+    assertThat(record_2.getString("snapshotId"), is(marc_bib_record_2.getSnapshotId()));
+    assertThat(record_2.getInteger("order"), is(marc_bib_record_2.getOrder()));
+    assertThat(record_2.getJsonObject("externalIdsHolder").getString("instanceId"),
+      is(marc_bib_record_2.getExternalIdsHolder().getInstanceId()));
+  }
+
+  @Test
+  public void shouldStreamSourceRecordsMetadataOnGetWithMetadataProjection(TestContext testContext) {
+    postSnapshots(testContext, snapshot_1, snapshot_2);
+    postRecords(testContext, marc_bib_record_2, marc_bib_record_3, marc_bib_record_4);
+
+    InputStream fullResponse = RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_STREAM_SOURCE_RECORDS_PATH + "?orderBy=order")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().response().asInputStream();
+    InputStream metadataResponse = RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_STREAM_SOURCE_RECORDS_PATH + "?orderBy=order&projection=metadata")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().response().asInputStream();
+
+    assertSourceRecordsMetadataProjection(toJsonLines(fullResponse), toJsonLines(metadataResponse), 2);
+  }
+
+  @Test
+  public void shouldStreamSourceRecordsMetadataOnPostWithMetadataProjection(TestContext testContext) {
+    postSnapshots(testContext, snapshot_1, snapshot_2);
+    postRecords(testContext, marc_bib_record_2, marc_bib_record_3, marc_bib_record_4);
+
+    List<String> instanceIds = List.of(marc_bib_record_2.getExternalIdsHolder().getInstanceId(),
+      marc_bib_record_4.getExternalIdsHolder().getInstanceId());
+    InputStream fullResponse = RestAssured.given()
+      .spec(spec)
+      .body(instanceIds)
+      .when()
+      .post(SOURCE_STORAGE_STREAM_SOURCE_RECORDS_PATH + "?idType=INSTANCE")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().response().asInputStream();
+    InputStream metadataResponse = RestAssured.given()
+      .spec(spec)
+      .body(instanceIds)
+      .when()
+      .post(SOURCE_STORAGE_STREAM_SOURCE_RECORDS_PATH + "?idType=INSTANCE&projection=metadata")
+      .then()
+      .statusCode(HttpStatus.SC_OK)
+      .extract().response().asInputStream();
+
+    assertSourceRecordsMetadataProjection(toJsonLines(fullResponse), toJsonLines(metadataResponse), instanceIds.size());
+  }
+
+  @Test
+  public void shouldReturnBadRequestOnStreamWithUnknownProjection() {
+    RestAssured.given()
+      .spec(spec)
+      .when()
+      .get(SOURCE_STORAGE_STREAM_RECORDS_PATH + "?projection=content")
+      .then()
+      .statusCode(HttpStatus.SC_BAD_REQUEST);
+  }
+
   @Test
   public void shouldReturnBadRequestOnSearchMarcRecordIdsWhenExpressionsAreMissing(TestContext testContext) {
     // given
@@ -1350,6 +1506,29 @@ public class SourceStorageStreamApiTest extends AbstractRestVerticleTest {
     async.complete();
   }
 
+  /* metadata projection streams the same source records as full one, lines are written without parsed record */
+  private void assertSourceRecordsMetadataProjection(List<JsonObject> fullLines, List<JsonObject> metadataLines, int expectedSize) {
+    assertEquals(expectedSize, fullLines.size());
+    assertEquals(expectedSize, metadataLines.size());
+    for (int i = 0; i < expectedSize; i++) {
+      JsonObject full = fullLines.get(i);
+      JsonObject metadata = metadataLines.get(i);
+      assertThat(full.getJsonObject("parsedRecord").getValue("content"), notNullValue());
+      assertFalse(metadata.containsKey("rawRecord"));
+      assertFalse(metadata.containsKey("parsedRecord"));
+      full.remove("parsedRecord");
+      full.remove("rawRecord");
+      assertEquals(full, metadata);
+    }
+  }
+
+  private List<JsonObject> toJsonLines(InputStream response) {
+    return flowableInputStreamScanner(response)
+      .map(JsonObject::new)
+      .toList()
+      .blockingGet();
+  }
+
   private Flowable<String> flowableInputStreamScanner(InputStream inputStream) {
     return Flowable.create(subscriber -> {
       try (Scanner scanner = new Scanner(inputStream, "UTF-8")) {
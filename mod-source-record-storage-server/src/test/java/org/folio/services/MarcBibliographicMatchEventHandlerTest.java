@@ -72,7 +72,7 @@ public class MarcBibliographicMatchEventHandlerTest extends AbstractLBServiceTes
     MockitoAnnotations.initMocks(this);
 
     recordDao = new RecordDaoImpl(postgresClientFactory);
-    handler = new MarcBibliographicMatchEventHandler(recordDao);
+    handler = new MarcBibliographicMatchEventHandler(recordDao, vertx);
     Async async = context.async();
 
     Snapshot existingRecordSnapshot = new Snapshot()
@@ -20,6 +20,7 @@ import org.folio.rest.jaxrs.model.ExternalIdsHolder;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.rest.jaxrs.model.Snapshot;
 import org.folio.services.cleanup.RecordCleanupService;
+import org.jooq.impl.DSL;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,6 +37,7 @@ import static org.folio.rest.jaxrs.model.Record.State.DELETED;
  */
 @RunWith(VertxUnitRunner.class)
 public class RecordCleanupServiceTest extends AbstractLBServiceTest {
+  private static final String COUNT_RAW_RECORD_CONTENTS_SQL = "SELECT count(*) FROM raw_record_contents WHERE hash = sha256(convert_to({0}, 'UTF8'))";
   private final RecordDao recordDao = new RecordDaoImpl(postgresClientFactory);
   private final RecordService recordService = new RecordServiceImpl(recordDao);
   private final Snapshot snapshot;
@@ -112,6 +114,7 @@ public class RecordCleanupServiceTest extends AbstractLBServiceTest {
           verifyRecordIsPurged(deletedRecordGen1.getId(), context),
           verifyRecordIsPurged(deletedRecordGen0.getId(), context)
         )
+        .compose(ar -> verifyRawRecordContentsCount(0, context))
         .onSuccess(ar -> async.complete())
         .onFailure(context::fail)
     );
@@ -133,11 +136,36 @@ public class RecordCleanupServiceTest extends AbstractLBServiceTest {
           verifyRecordIsPurged(deletedRecordGen1.getId(), context),
           verifyRecordIsPresent(deletedRecordGen0.getId(), context)
         )
+        .compose(ar -> verifyRawRecordContentsCount(1, context))
         .onSuccess(ar -> async.complete())
         .onFailure(context::fail)
     );
   }
 
+  /*
+      The test verifies whether the purge is resumed by the next cleanup run, the DELETED record generation1 is purged
+      by the first run limited to 1 record and the record generation0 by the second one.
+  */
+  @Test
+  public void shouldPurgeRemainingRecordOnNextRun_limitIs1(TestContext context) {
+    // given
+    Async async = context.async();
+    RecordCleanupService service = new RecordCleanupService(0, 1, vertx, recordDao);
+    // when
+    service.cleanup();
+    vertx.setTimer(1_000, firstTimerHandler -> {
+      service.cleanup();
+      // then
+      vertx.setTimer(1_000, timerHandler -> CompositeFuture.all(
+            verifyRecordIsPurged(deletedRecordGen1.getId(), context),
+            verifyRecordIsPurged(deletedRecordGen0.getId(), context)
+          )
+          .onSuccess(ar -> async.complete())
+          .onFailure(context::fail)
+      );
+    });
+  }
+
   /*
       The test verifies whether the records are stay in DB when cleanup is done, because 'lastUpdatedDays' = 10 means
       the only records updated more than 10 are getting purged.
@@ -159,6 +187,14 @@ public class RecordCleanupServiceTest extends AbstractLBServiceTest {
     );
   }
 
+  /* raw content of both records is the same, so it is stored once and deleted when none of the records refers to it */
+  private Future<Void> verifyRawRecordContentsCount(long expectedCount, TestContext testContext) {
+    ReactiveClassicGenericQueryExecutor queryExecutor = postgresClientFactory.getQueryExecutor(TENANT_ID);
+    return queryExecutor.findOneRow(dsl -> dsl.resultQuery(COUNT_RAW_RECORD_CONTENTS_SQL, DSL.val(deletedRecordGen0.getRawRecord().getContent())))
+      .onSuccess(row -> testContext.assertEquals(expectedCount, row.getLong(0)))
+      .mapEmpty();
+  }
+
   private Future<Void> verifyRecordIsPurged(String recordId, TestContext testContext) {
     Promise<Void> promise = Promise.promise();
     ReactiveClassicGenericQueryExecutor queryExecutor = postgresClientFactory.getQueryExecutor(TENANT_ID);
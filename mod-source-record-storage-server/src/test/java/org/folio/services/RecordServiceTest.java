@@ -1,5 +1,6 @@
 package org.folio.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.reactivex.Flowable;
 import io.vertx.core.Future;
 import io.vertx.core.AsyncResult;
@@ -16,8 +17,11 @@ import org.folio.kafka.exception.DuplicateEventException;
 import org.folio.dao.util.IdType;
 import org.folio.dao.util.ParsedRecordDaoUtil;
 import org.folio.dao.util.RecordDaoUtil;
+import org.folio.dao.util.RecordProjection;
 import org.folio.dao.util.RecordType;
+import org.folio.dao.util.RecordsSaveMode;
 import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.dao.util.TotalRecordsMode;
 import org.folio.okapi.common.GenericCompositeFuture;
 import org.folio.rest.jaxrs.model.AdditionalInfo;
 import org.folio.rest.jaxrs.model.ErrorRecord;
@@ -46,7 +50,9 @@ import org.junit.runner.RunWith;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -121,6 +127,177 @@ public class RecordServiceTest extends AbstractLBServiceTest {
     });
   }
 
+  @Test
+  public void shouldGetMarcBibRecordsBySnapshotIdByKeysetWithoutTotalRecords(TestContext context) {
+    Async async = context.async();
+    List<Record> records = TestMocks.getRecords();
+    saveRecords(records).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      String snapshotId = "ee561342-3098-47a8-ab6e-0f3eba120b04";
+      List<String> orderBy = List.of("order,ASC");
+      List<Record> expected = records.stream()
+        .filter(r -> r.getRecordType().equals(Record.RecordType.MARC_BIB))
+        .filter(r -> r.getSnapshotId().equals(snapshotId))
+        .sorted(comparing(Record::getOrder))
+        .collect(Collectors.toList());
+      Condition condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId))
+        .and(RecordDaoUtil.filterRecordsAfter(expected.get(0).getId(), orderBy));
+      recordService.getRecords(condition, RecordType.MARC_BIB, RecordDaoUtil.toRecordKeysetOrderFields(orderBy), 0, 1,
+        TotalRecordsMode.NONE, TENANT_ID).onComplete(get -> {
+          if (get.failed()) {
+            context.fail(get.cause());
+          }
+          context.assertNull(get.result().getTotalRecords());
+          context.assertEquals(1, get.result().getRecords().size());
+          compareRecords(context, expected.get(1), get.result().getRecords().get(0));
+          async.complete();
+        });
+    });
+  }
+
+  @Test
+  public void shouldGetMarcBibSourceRecordsWithTotalRecordsOfFullPageInEstimatedMode(TestContext context) {
+    Async async = context.async();
+    List<Record> records = TestMocks.getRecords();
+    saveRecords(records).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      String snapshotId = "ee561342-3098-47a8-ab6e-0f3eba120b04";
+      Condition condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+      List<OrderField<?>> orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC));
+      recordService.getSourceRecords(condition, RecordType.MARC_BIB, orderFields, 1, 1, TotalRecordsMode.ESTIMATED, TENANT_ID)
+        .onComplete(get -> {
+          if (get.failed()) {
+            context.fail(get.cause());
+          }
+          context.assertEquals(1, get.result().getSourceRecords().size());
+          // more records may follow the full page, whatever the planner estimates
+          context.assertTrue(get.result().getTotalRecords() >= 3);
+          async.complete();
+        });
+    });
+  }
+
+  @Test
+  public void shouldGetMarcBibRecordsWithDefaultLimitWithoutTotalRecords(TestContext context) {
+    Async async = context.async();
+    List<Record> records = TestMocks.getRecords();
+    saveRecords(records).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      String snapshotId = "ee561342-3098-47a8-ab6e-0f3eba120b04";
+      Condition condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+      List<OrderField<?>> orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC));
+      recordService.getRecords(condition, RecordType.MARC_BIB, orderFields, 0, 0, TotalRecordsMode.NONE, TENANT_ID)
+        .onComplete(get -> {
+          if (get.failed()) {
+            context.fail(get.cause());
+          }
+          context.assertNull(get.result().getTotalRecords());
+          context.assertEquals(1, get.result().getRecords().size());
+          async.complete();
+        });
+    });
+  }
+
+  @Test
+  public void shouldGetMarcBibSourceRecordsWithTotalRecordsOfLastPageInEstimatedMode(TestContext context) {
+    Async async = context.async();
+    List<Record> records = TestMocks.getRecords();
+    saveRecords(records).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      String snapshotId = "ee561342-3098-47a8-ab6e-0f3eba120b04";
+      Condition condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+      List<OrderField<?>> orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC));
+      recordService.getSourceRecords(condition, RecordType.MARC_BIB, orderFields, 1, 10, TotalRecordsMode.ESTIMATED, TENANT_ID)
+        .onComplete(get -> {
+          if (get.failed()) {
+            context.fail(get.cause());
+          }
+          context.assertFalse(get.result().getSourceRecords().isEmpty());
+          context.assertEquals(1 + get.result().getSourceRecords().size(), get.result().getTotalRecords());
+          async.complete();
+        });
+    });
+  }
+
+  @Test
+  public void shouldGetMarcBibRecordsWithoutOrderLastByKeyset(TestContext context) {
+    Async async = context.async();
+    List<Record> records = TestMocks.getRecords();
+    String snapshotId = "ee561342-3098-47a8-ab6e-0f3eba120b04";
+    List<String> expectedIds = records.stream()
+      .filter(r -> r.getRecordType().equals(Record.RecordType.MARC_BIB))
+      .filter(r -> r.getSnapshotId().equals(snapshotId))
+      .sorted(comparing(Record::getOrder))
+      .map(Record::getId)
+      .collect(Collectors.toList());
+    String withoutOrderId = expectedIds.remove(0);
+    expectedIds.add(withoutOrderId);
+    records.stream().filter(r -> r.getId().equals(withoutOrderId)).forEach(r -> r.setOrder(null));
+    Condition condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+
+    saveRecords(records)
+      .compose(v -> getRecordsByKeyset(condition, List.of("order,ASC"), null, new ArrayList<>()))
+      .onSuccess(ids -> context.assertEquals(expectedIds, ids))
+      .compose(v -> getRecordsByKeyset(condition, List.of("order,DESC"), null, new ArrayList<>()))
+      .onSuccess(ids -> {
+        List<String> expectedDescIds = new ArrayList<>(expectedIds.subList(0, expectedIds.size() - 1));
+        Collections.reverse(expectedDescIds);
+        expectedDescIds.add(withoutOrderId);
+        context.assertEquals(expectedDescIds, ids);
+      })
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  @Test
+  public void shouldGetMarcBibRecordsAndSourceRecordsWithoutContentInMetadataProjection(TestContext context) {
+    Async async = context.async();
+    List<Record> records = TestMocks.getRecords();
+    saveRecords(records).onComplete(batch -> {
+      if (batch.failed()) {
+        context.fail(batch.cause());
+      }
+      String snapshotId = "ee561342-3098-47a8-ab6e-0f3eba120b04";
+      long expected = records.stream()
+        .filter(r -> r.getRecordType().equals(Record.RecordType.MARC_BIB))
+        .filter(r -> r.getSnapshotId().equals(snapshotId))
+        .count();
+      Condition condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+      List<OrderField<?>> orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC));
+      recordService.getRecords(condition, RecordType.MARC_BIB, orderFields, 0, 10, TotalRecordsMode.EXACT, RecordProjection.METADATA, TENANT_ID)
+        .compose(recordCollection -> {
+          context.assertEquals((int) expected, recordCollection.getTotalRecords());
+          recordCollection.getRecords().forEach(record -> {
+            context.assertNotNull(record.getId());
+            context.assertNotNull(record.getMatchedId());
+            context.assertNull(record.getRawRecord());
+            context.assertNull(record.getParsedRecord());
+            context.assertNull(record.getErrorRecord());
+          });
+          return recordService.getSourceRecords(condition, RecordType.MARC_BIB, orderFields, 0, 10, TotalRecordsMode.NONE,
+            RecordProjection.METADATA, TENANT_ID);
+        })
+        .onComplete(get -> {
+          if (get.failed()) {
+            context.fail(get.cause());
+          }
+          context.assertFalse(get.result().getSourceRecords().isEmpty());
+          get.result().getSourceRecords().forEach(sourceRecord -> {
+            context.assertNotNull(sourceRecord.getRecordId());
+            context.assertNull(sourceRecord.getParsedRecord());
+          });
+          async.complete();
+        });
+    });
+  }
+
   @Test
   public void shouldGetMarcAuthorityRecordsBySnapshotId(TestContext context) {
     getRecordsBySnapshotId(context, "ee561342-3098-47a8-ab6e-0f3eba120b04", RecordType.MARC_AUTHORITY,
@@ -228,6 +405,83 @@ public class RecordServiceTest extends AbstractLBServiceTest {
     });
   }
 
+  @Test
+  public void shouldUpdatePreviousRecordsState(TestContext context) {
+    Async async = context.async();
+    String instanceId = UUID.randomUUID().toString();
+    Record previous = createMarcBibRecord(TestMocks.getSnapshot(0).getJobExecutionId(), instanceId);
+    Record actual = createMarcBibRecord(TestMocks.getSnapshot(1).getJobExecutionId(), instanceId);
+    recordDao.saveRecord(previous, TENANT_ID)
+      .compose(saved -> recordDao.saveRecord(actual, TENANT_ID))
+      .compose(saved -> recordService.updatePreviousRecordsState(instanceId, actual.getSnapshotId(), RecordType.MARC_BIB, TENANT_ID))
+      .compose(updatedIds -> {
+        context.assertEquals(List.of(previous.getId()), updatedIds);
+        return recordService.updatePreviousRecordsState(instanceId, actual.getSnapshotId(), RecordType.MARC_BIB, TENANT_ID);
+      })
+      .compose(updatedIds -> {
+        context.assertTrue(updatedIds.isEmpty());
+        return recordService.getRecordsByIds(List.of(previous.getId(), actual.getId()), TENANT_ID);
+      })
+      .onComplete(get -> {
+        if (get.failed()) {
+          context.fail(get.cause());
+        }
+        context.assertEquals(State.OLD, get.result().get(previous.getId()).getState());
+        context.assertEquals(State.ACTUAL, get.result().get(actual.getId()).getState());
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldUpdatePreviousRecordsStateForSeveralExternalIds(TestContext context) {
+    Async async = context.async();
+    String previousSnapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    String actualSnapshotId = TestMocks.getSnapshot(1).getJobExecutionId();
+    String firstInstanceId = UUID.randomUUID().toString();
+    String secondInstanceId = UUID.randomUUID().toString();
+    List<Record> previous = List.of(createMarcBibRecord(previousSnapshotId, firstInstanceId),
+      createMarcBibRecord(previousSnapshotId, secondInstanceId));
+    Record actual = createMarcBibRecord(actualSnapshotId, firstInstanceId);
+    saveRecords(List.of(previous.get(0), previous.get(1), actual))
+      .compose(saved -> recordService.updatePreviousRecordsState(
+        Map.of(firstInstanceId, actualSnapshotId, secondInstanceId, actualSnapshotId), RecordType.MARC_BIB, TENANT_ID))
+      .onComplete(update -> {
+        if (update.failed()) {
+          context.fail(update.cause());
+        }
+        context.assertEquals(2, update.result().size());
+        context.assertTrue(update.result().containsAll(List.of(previous.get(0).getId(), previous.get(1).getId())));
+        async.complete();
+      });
+  }
+
+  @Test
+  public void shouldGetRecordsByIds(TestContext context) {
+    Async async = context.async();
+    Record marcBibRecord = TestMocks.getMarcBibRecord();
+    Record edifactRecord = TestMocks.getEdifactRecord();
+    String notExistingId = UUID.randomUUID().toString();
+    recordDao.saveRecord(marcBibRecord, TENANT_ID)
+      .compose(saved -> recordDao.saveRecord(edifactRecord, TENANT_ID))
+      .compose(saved -> recordService.getRecordsByIds(List.of(marcBibRecord.getId(), edifactRecord.getId(), notExistingId), TENANT_ID))
+      .onComplete(get -> {
+        if (get.failed()) {
+          context.fail(get.cause());
+        }
+        context.assertEquals(2, get.result().size());
+        context.assertFalse(get.result().containsKey(notExistingId));
+        Record actualMarcBibRecord = get.result().get(marcBibRecord.getId());
+        context.assertNotNull(actualMarcBibRecord.getRawRecord());
+        context.assertNotNull(actualMarcBibRecord.getParsedRecord());
+        compareRecords(context, marcBibRecord, actualMarcBibRecord);
+        Record actualEdifactRecord = get.result().get(edifactRecord.getId());
+        context.assertNotNull(actualEdifactRecord.getRawRecord());
+        context.assertNotNull(actualEdifactRecord.getParsedRecord());
+        compareRecords(context, edifactRecord, actualEdifactRecord);
+        async.complete();
+      });
+  }
+
   @Test
   public void shouldSaveMarcBibRecord(TestContext context) {
     saveMarcRecord(context, TestMocks.getMarcBibRecord(), Record.RecordType.MARC_BIB);
@@ -555,6 +809,31 @@ public class RecordServiceTest extends AbstractLBServiceTest {
     updateParsedMarcRecords(context, Record.RecordType.MARC_HOLDING);
   }
 
+  @Test
+  public void shouldSkipWritesOfParsedRecordsWithUnchangedContent(TestContext context) {
+    Async async = context.async();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    RecordService meteredRecordService = new RecordServiceImpl(new RecordDaoImpl(postgresClientFactory, RecordsSaveMode.BATCH, null, meterRegistry));
+    List<Record> original = TestMocks.getRecords().stream()
+      .filter(record -> record.getRecordType().equals(Record.RecordType.MARC_BIB))
+      .collect(Collectors.toList());
+    RecordCollection recordCollection = new RecordCollection()
+      .withRecords(original)
+      .withTotalRecords(original.size());
+    saveRecords(recordCollection.getRecords())
+      .compose(v -> meteredRecordService.updateParsedRecords(recordCollection, TENANT_ID))
+      .onComplete(update -> {
+        if (update.failed()) {
+          context.fail(update.cause());
+        }
+        context.assertEquals(0, update.result().getErrorMessages().size());
+        context.assertEquals(original.size(), update.result().getTotalRecords());
+        context.assertEquals((double) original.size(), meterRegistry.get(ParsedRecordDaoUtil.SKIPPED_WRITES_METRIC)
+          .tag("record_type", RecordType.MARC_BIB.name()).counter().count());
+        async.complete();
+      });
+  }
+
   @Test
   public void shouldUpdateParsedMarcBibRecordsAndGetOnlyActualRecord(TestContext context) {
     updateParsedMarcRecordsAndGetOnlyActualRecord(context, TestMocks.getMarcBibRecord());
@@ -1354,6 +1633,32 @@ public class RecordServiceTest extends AbstractLBServiceTest {
     });
   }
 
+  private Record createMarcBibRecord(String snapshotId, String instanceId) {
+    Record sample = TestMocks.getMarcBibRecord();
+    String id = UUID.randomUUID().toString();
+    return sample
+      .withId(id)
+      .withMatchedId(id)
+      .withSnapshotId(snapshotId)
+      .withState(State.ACTUAL)
+      .withRawRecord(sample.getRawRecord().withId(id))
+      .withParsedRecord(sample.getParsedRecord().withId(id))
+      .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(instanceId));
+  }
+
+  private Future<List<String>> getRecordsByKeyset(Condition condition, List<String> orderBy, String lastRecordId, List<String> ids) {
+    return recordService.getRecords(condition.and(RecordDaoUtil.filterRecordsAfter(lastRecordId, orderBy)), RecordType.MARC_BIB,
+        RecordDaoUtil.toRecordKeysetOrderFields(orderBy), 0, 1, TotalRecordsMode.NONE, TENANT_ID)
+      .compose(collection -> {
+        if (collection.getRecords().isEmpty()) {
+          return Future.succeededFuture(ids);
+        }
+        String id = collection.getRecords().get(0).getId();
+        ids.add(id);
+        return getRecordsByKeyset(condition, orderBy, id, ids);
+      });
+  }
+
   private CompositeFuture saveRecords(List<Record> records) {
     return GenericCompositeFuture.all(records.stream()
       .map(record -> recordService.saveRecord(record, AbstractLBServiceTest.TENANT_ID))
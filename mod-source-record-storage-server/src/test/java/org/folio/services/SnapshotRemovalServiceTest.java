@@ -0,0 +1,146 @@
+package org.folio.services;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.folio.rest.jooq.Tables.RECORDS_LB;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import io.vertx.core.Future;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.TestMocks;
+import org.folio.dao.RecordDao;
+import org.folio.dao.RecordDaoImpl;
+import org.folio.dao.SnapshotDaoImpl;
+import org.folio.dao.util.RecordType;
+import org.folio.dao.util.SnapshotDaoUtil;
+import org.folio.dataimport.util.OkapiConnectionParams;
+import org.folio.dataimport.util.RestUtil;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.rest.jaxrs.model.RecordCollection;
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.SortOrder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class SnapshotRemovalServiceTest extends AbstractLBServiceTest {
+
+  private static final String INVENTORY_INSTANCES_PATH = "/inventory/instances/";
+  private static final int BATCH_SIZE = 3;
+  private static final int INVENTORY_CONCURRENCY = 2;
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  @Rule
+  public WireMockRule mockServer = new WireMockRule(
+    WireMockConfiguration.wireMockConfig()
+      .dynamicPort()
+      .notifier(new Slf4jNotifier(true)));
+
+  private RecordDao recordDao;
+  private SnapshotService snapshotService;
+  private SnapshotRemovalService snapshotRemovalService;
+  private OkapiConnectionParams params;
+  private String snapshotId;
+  private String otherSnapshotId;
+
+  @Before
+  public void setUp(TestContext context) {
+    WireMock.stubFor(WireMock.delete(urlPathMatching(INVENTORY_INSTANCES_PATH + ".*"))
+      .willReturn(WireMock.noContent()));
+    recordDao = new RecordDaoImpl(postgresClientFactory);
+    snapshotService = new SnapshotServiceImpl(new SnapshotDaoImpl(postgresClientFactory));
+    snapshotRemovalService = new SnapshotRemovalServiceImpl(snapshotService, recordDao, BATCH_SIZE, INVENTORY_CONCURRENCY);
+    params = new OkapiConnectionParams(Map.of(
+      RestUtil.OKAPI_TENANT_HEADER, TENANT_ID,
+      RestUtil.OKAPI_TOKEN_HEADER, TOKEN,
+      RestUtil.OKAPI_URL_HEADER, mockServer.baseUrl()
+    ), vertx);
+    snapshotId = TestMocks.getSnapshot(0).getJobExecutionId();
+    otherSnapshotId = TestMocks.getSnapshot(1).getJobExecutionId();
+
+    Async async = context.async();
+    SnapshotDaoUtil.save(postgresClientFactory.getQueryExecutor(TENANT_ID), TestMocks.getSnapshots()).onComplete(save -> {
+      if (save.failed()) {
+        context.fail(save.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @After
+  public void cleanUp(TestContext context) {
+    Async async = context.async();
+    SnapshotDaoUtil.deleteAll(postgresClientFactory.getQueryExecutor(TENANT_ID)).onComplete(delete -> {
+      if (delete.failed()) {
+        context.fail(delete.cause());
+      }
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldDeleteSnapshotLargerThanBatch(TestContext context) {
+    shouldDeleteSnapshot(context, 3 * BATCH_SIZE + 1);
+  }
+
+  @Test
+  public void shouldDeleteSnapshotOfWholeBatches(TestContext context) {
+    shouldDeleteSnapshot(context, 3 * BATCH_SIZE);
+  }
+
+  private void shouldDeleteSnapshot(TestContext context, int recordsNumber) {
+    Async async = context.async();
+    List<Record> records = TestMocks.generateMarcBibRecords(snapshotId, 0, recordsNumber);
+    List<Record> otherRecords = TestMocks.generateMarcBibRecords(otherSnapshotId, 0, BATCH_SIZE);
+
+    saveRecords(records)
+      .compose(v -> saveRecords(otherRecords))
+      .compose(v -> snapshotRemovalService.deleteSnapshot(snapshotId, params))
+      .map(deleted -> {
+        context.assertTrue(deleted);
+        // every instance is deleted exactly once although pages and request windows are smaller than the snapshot
+        verify(recordsNumber, deleteRequestedFor(urlPathMatching(INVENTORY_INSTANCES_PATH + ".*")));
+        records.forEach(record -> verify(1,
+          deleteRequestedFor(urlPathEqualTo(INVENTORY_INSTANCES_PATH + record.getExternalIdsHolder().getInstanceId()))));
+        return deleted;
+      })
+      .compose(v -> countRecords(snapshotId))
+      .onSuccess(count -> context.assertEquals(0, count))
+      .compose(v -> countRecords(otherSnapshotId))
+      .onSuccess(count -> context.assertEquals(otherRecords.size(), count))
+      .compose(v -> snapshotService.getSnapshotById(snapshotId, TENANT_ID))
+      .onSuccess(snapshot -> context.assertTrue(snapshot.isEmpty()))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  private Future<Void> saveRecords(List<Record> records) {
+    return recordDao.saveRecords(new RecordCollection().withRecords(records).withTotalRecords(records.size()), TENANT_ID)
+      .mapEmpty();
+  }
+
+  private Future<Integer> countRecords(String snapshotId) {
+    Condition condition = RECORDS_LB.SNAPSHOT_ID.eq(UUID.fromString(snapshotId));
+    List<OrderField<?>> orderFields = List.of(RECORDS_LB.ORDER.sort(SortOrder.ASC));
+    return recordDao.getRecords(condition, RecordType.MARC_BIB, orderFields, 0, Integer.MAX_VALUE, TENANT_ID)
+      .map(RecordCollection::getTotalRecords);
+  }
+
+}
@@ -0,0 +1,183 @@
+package org.folio.services.caches;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.dao.util.IdType;
+import org.folio.rest.jaxrs.model.ExternalIdsHolder;
+import org.folio.rest.jaxrs.model.SourceRecord;
+import org.folio.services.AbstractLBServiceTest;
+import org.jooq.impl.DSL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class RecordsCacheTest extends AbstractLBServiceTest {
+
+  private static final int NOTIFICATION_ATTEMPTS = 50;
+  private static final long NOTIFICATION_INTERVAL_MS = 100;
+  private static final String OTHER_TENANT_ID = "other";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private RecordsCache recordsCache;
+  private SourceRecord sourceRecord;
+  private AtomicInteger loads;
+
+  @Before
+  public void setUp() {
+    recordsCache = new RecordsCache(postgresClientFactory);
+    sourceRecord = new SourceRecord()
+      .withRecordId(UUID.randomUUID().toString())
+      .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(UUID.randomUUID().toString()));
+    loads = new AtomicInteger();
+  }
+
+  @After
+  public void tearDown() {
+    recordsCache.close();
+  }
+
+  @Test
+  public void shouldReturnCachedSourceRecordUntilInvalidated(TestContext context) {
+    Async async = context.async();
+    String instanceId = sourceRecord.getExternalIdsHolder().getInstanceId();
+    getSourceRecord(instanceId)
+      .compose(optionalSourceRecord -> getSourceRecord(instanceId))
+      .compose(optionalSourceRecord -> {
+        context.assertEquals(1, loads.get());
+        context.assertEquals(sourceRecord.getRecordId(), optionalSourceRecord.orElseThrow().getRecordId());
+        recordsCache.invalidate(TENANT_ID, List.of(sourceRecord.getRecordId()));
+        return getSourceRecord(instanceId);
+      })
+      .compose(optionalSourceRecord -> {
+        context.assertEquals(2, loads.get());
+        recordsCache.invalidateAll(TENANT_ID);
+        return getSourceRecord(instanceId);
+      })
+      .onComplete(context.asyncAssertSuccess(optionalSourceRecord -> {
+        context.assertEquals(3, loads.get());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldNotChangeCachedSourceRecordWhenReturnedRecordIsChanged(TestContext context) {
+    Async async = context.async();
+    String recordId = sourceRecord.getRecordId();
+    String instanceId = sourceRecord.getExternalIdsHolder().getInstanceId();
+    getSourceRecord(instanceId)
+      .compose(optionalSourceRecord -> {
+        optionalSourceRecord.orElseThrow().setRecordId(UUID.randomUUID().toString());
+        return getSourceRecord(instanceId);
+      })
+      .compose(optionalSourceRecord -> {
+        optionalSourceRecord.orElseThrow().getExternalIdsHolder().setInstanceId(UUID.randomUUID().toString());
+        return getSourceRecord(instanceId);
+      })
+      .onComplete(context.asyncAssertSuccess(optionalSourceRecord -> {
+        context.assertEquals(1, loads.get());
+        context.assertEquals(recordId, optionalSourceRecord.orElseThrow().getRecordId());
+        context.assertEquals(instanceId, optionalSourceRecord.orElseThrow().getExternalIdsHolder().getInstanceId());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldInvalidateSourceRecordOfTenantOnly(TestContext context) {
+    Async async = context.async();
+    String instanceId = sourceRecord.getExternalIdsHolder().getInstanceId();
+    getSourceRecord(instanceId)
+      .compose(optionalSourceRecord -> getSourceRecord(OTHER_TENANT_ID, instanceId))
+      .compose(optionalSourceRecord -> {
+        context.assertEquals(2, loads.get());
+        recordsCache.invalidate(OTHER_TENANT_ID, List.of(instanceId));
+        return getSourceRecord(instanceId);
+      })
+      .compose(optionalSourceRecord -> {
+        context.assertEquals(2, loads.get());
+        return getSourceRecord(OTHER_TENANT_ID, instanceId);
+      })
+      .onComplete(context.asyncAssertSuccess(optionalSourceRecord -> {
+        context.assertEquals(3, loads.get());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldNotCacheSourceRecordLoadedConcurrentlyWithInvalidation(TestContext context) {
+    Async async = context.async();
+    String instanceId = sourceRecord.getExternalIdsHolder().getInstanceId();
+    recordsCache.getSourceRecord(instanceId, IdType.INSTANCE, TENANT_ID, () -> {
+        loads.incrementAndGet();
+        // invalidation of other tenant does not prevent caching, invalidation of the same tenant does
+        recordsCache.invalidate(OTHER_TENANT_ID, List.of(sourceRecord.getRecordId()));
+        recordsCache.invalidate(TENANT_ID, List.of(UUID.randomUUID().toString()));
+        return Future.succeededFuture(Optional.of(sourceRecord));
+      })
+      .compose(optionalSourceRecord -> getSourceRecord(instanceId))
+      .compose(optionalSourceRecord -> {
+        context.assertEquals(2, loads.get());
+        return getSourceRecord(instanceId);
+      })
+      .onComplete(context.asyncAssertSuccess(optionalSourceRecord -> {
+        context.assertEquals(2, loads.get());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldInvalidateSourceRecordOnNotification(TestContext context) {
+    Async async = context.async();
+    String instanceId = sourceRecord.getExternalIdsHolder().getInstanceId();
+    getSourceRecord(instanceId)
+      .compose(optionalSourceRecord -> notifyUntilInvalidated(instanceId, NOTIFICATION_ATTEMPTS))
+      .onComplete(context.asyncAssertSuccess(invalidated -> {
+        context.assertTrue(invalidated);
+        async.complete();
+      }));
+  }
+
+  private Future<Optional<SourceRecord>> getSourceRecord(String instanceId) {
+    return getSourceRecord(TENANT_ID, instanceId);
+  }
+
+  private Future<Optional<SourceRecord>> getSourceRecord(String tenantId, String instanceId) {
+    return recordsCache.getSourceRecord(instanceId, IdType.INSTANCE, tenantId, () -> {
+      loads.incrementAndGet();
+      return Future.succeededFuture(Optional.of(sourceRecord));
+    });
+  }
+
+  // channel is being subscribed asynchronously, so notification is repeated until the record is invalidated
+  private Future<Boolean> notifyUntilInvalidated(String instanceId, int attempts) {
+    int loadsBefore = loads.get();
+    String notification = recordsCache.toNotifications(TENANT_ID, List.of(instanceId)).get(0);
+    return postgresClientFactory.getQueryExecutor(TENANT_ID)
+      .execute(dsl -> dsl.select(DSL.field("pg_notify({0}, {1})", DSL.val(recordsCache.getChannel()), DSL.val(notification))))
+      .compose(v -> delay())
+      .compose(v -> getSourceRecord(instanceId))
+      .compose(optionalSourceRecord -> loads.get() > loadsBefore || attempts <= 1
+        ? Future.succeededFuture(loads.get() > loadsBefore)
+        : notifyUntilInvalidated(instanceId, attempts - 1));
+  }
+
+  private Future<Void> delay() {
+    Promise<Void> promise = Promise.promise();
+    vertx.setTimer(NOTIFICATION_INTERVAL_MS, id -> promise.complete());
+    return promise.future();
+  }
+
+}
@@ -331,6 +331,32 @@ public class InstancePostProcessingEventHandlerTest extends AbstractPostProcessi
     });
   }
 
+  @Test
+  public void shouldClearInstanceHridOfExistingRecordWhenInstanceHasNoHrid(TestContext context) {
+    Async async = context.async();
+    String instanceId = UUID.randomUUID().toString();
+    Record existingRecord = JsonObject.mapFrom(record).mapTo(Record.class)
+      .withExternalIdsHolder(new ExternalIdsHolder().withInstanceId(instanceId).withInstanceHrid("in00000000001"));
+
+    HashMap<String, String> payloadContext = new HashMap<>();
+    payloadContext.put(INSTANCE.value(), createExternalEntity(instanceId, null).encode());
+    payloadContext.put(MARC_BIBLIOGRAPHIC.value(), Json.encode(record));
+
+    DataImportEventPayload dataImportEventPayload =
+      createDataImportEventPayload(payloadContext, DI_INVENTORY_INSTANCE_CREATED_READY_FOR_POST_PROCESSING);
+
+    recordDao.saveRecord(existingRecord, TENANT_ID)
+      .compose(v -> Future.fromCompletionStage(handler.handle(dataImportEventPayload)))
+      .compose(v -> recordDao.getRecordById(existingRecord.getId(), TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(optionalRecord -> {
+        context.assertTrue(optionalRecord.isPresent());
+        ExternalIdsHolder externalIdsHolder = optionalRecord.get().getExternalIdsHolder();
+        context.assertEquals(instanceId, externalIdsHolder.getInstanceId());
+        context.assertNull(externalIdsHolder.getInstanceHrid());
+        async.complete();
+      }));
+  }
+
   @Test
   public void shouldSetInstanceIdToParsedRecordWhenContentHasField999(TestContext context) {
     Async async = context.async();
@@ -0,0 +1,138 @@
+package org.folio.services.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class BatchAccumulatorTest {
+
+  private static final String TENANT_ID = "diku";
+
+  private Vertx vertx;
+  private List<List<String>> processedBatches;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    processedBatches = new ArrayList<>();
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldProcessBatchWhenBatchSizeIsReached(TestContext context) {
+    BatchAccumulator<String, String> accumulator = createAccumulator(2, 60000);
+
+    Future<String> first = accumulator.add("a", TENANT_ID);
+    Future<String> second = accumulator.add("b", TENANT_ID);
+
+    context.assertTrue(first.succeeded());
+    context.assertEquals("A", first.result());
+    context.assertEquals("B", second.result());
+    context.assertEquals(List.of(List.of("a", "b")), processedBatches);
+  }
+
+  @Test
+  public void shouldProcessBatchWhenBatchWindowIsElapsed(TestContext context) {
+    Async async = context.async();
+    BatchAccumulator<String, String> accumulator = createAccumulator(10, 10);
+
+    Future<String> first = accumulator.add("a", TENANT_ID);
+    accumulator.add("b", TENANT_ID)
+      .onComplete(context.asyncAssertSuccess(result -> {
+        context.assertEquals("A", first.result());
+        context.assertEquals("B", result);
+        context.assertEquals(List.of(List.of("a", "b")), processedBatches);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldAddConflictingItemToNextBatch(TestContext context) {
+    BatchAccumulator<String, String> accumulator = createAccumulator(2, 60000);
+
+    accumulator.add("a", TENANT_ID);
+    accumulator.add("a", TENANT_ID);
+    accumulator.add("b", TENANT_ID);
+
+    context.assertEquals(List.of(List.of("a"), List.of("a", "b")), processedBatches);
+  }
+
+  @Test
+  public void shouldProcessConflictingBatchAfterBatchInProgressIsCompleted(TestContext context) {
+    List<Promise<String>> pendingResults = new ArrayList<>();
+    BatchAccumulator<String, String> accumulator = new BatchAccumulator<>(vertx, 1, 60000, Objects::equals, (items, tenantId) -> {
+      processedBatches.add(new ArrayList<>(items));
+      return items.stream()
+        .map(item -> {
+          Promise<String> result = Promise.promise();
+          pendingResults.add(result);
+          return result.future();
+        })
+        .collect(Collectors.toList());
+    });
+
+    Future<String> first = accumulator.add("a", TENANT_ID);
+    Future<String> second = accumulator.add("a", TENANT_ID);
+    accumulator.add("b", TENANT_ID);
+
+    context.assertEquals(List.of(List.of("a"), List.of("b")), processedBatches);
+    pendingResults.get(0).complete("A1");
+    context.assertEquals("A1", first.result());
+    context.assertFalse(second.isComplete());
+    context.assertEquals(List.of(List.of("a"), List.of("b"), List.of("a")), processedBatches);
+    pendingResults.get(2).complete("A2");
+    context.assertEquals("A2", second.result());
+  }
+
+  @Test
+  public void shouldCompleteItemFuturesIndividually(TestContext context) {
+    BatchAccumulator<String, String> accumulator = createAccumulator(2, 60000);
+
+    Future<String> first = accumulator.add("a", TENANT_ID);
+    Future<String> second = accumulator.add("fail", TENANT_ID);
+
+    context.assertTrue(first.succeeded());
+    context.assertTrue(second.failed());
+    context.assertEquals("fail", second.cause().getMessage());
+  }
+
+  @Test
+  public void shouldAccumulateItemsOfDifferentTenantsSeparately(TestContext context) {
+    BatchAccumulator<String, String> accumulator = createAccumulator(2, 60000);
+
+    accumulator.add("a", TENANT_ID);
+    accumulator.add("b", "other");
+    accumulator.add("c", TENANT_ID);
+
+    context.assertEquals(List.of(List.of("a", "c")), processedBatches);
+  }
+
+  private BatchAccumulator<String, String> createAccumulator(int batchSize, long batchWindowMs) {
+    return new BatchAccumulator<>(vertx, batchSize, batchWindowMs, Objects::equals, (items, tenantId) -> {
+      processedBatches.add(new ArrayList<>(items));
+      return items.stream()
+        .map(item -> "fail".equals(item)
+          ? Future.<String>failedFuture(item)
+          : Future.succeededFuture(item.toUpperCase()))
+        .collect(Collectors.toList());
+    });
+  }
+
+}